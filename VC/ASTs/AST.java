@@ -6,19 +6,107 @@ package VC.ASTs;
 
 import VC.Scanner.SourcePosition;
 
-public abstract class AST {
+public abstract class AST implements Cloneable {
+
+  // Every node carries the kind of its class, so that a pass can
+  // dispatch with a switch on kind rather than through visit; see
+  // Nodes. DEFERRED is for a node that stands for another one built on
+  // demand (resolve() returns that node).
+
+  public static final int
+    PROGRAM            = 0,
+    EMPTYDECLLIST      = 1,
+    EMPTYSTMTLIST      = 2,
+    EMPTYEXPRLIST      = 3,
+    EMPTYPARALIST      = 4,
+    EMPTYARGLIST       = 5,
+    DECLLIST           = 6,
+    FUNCDECL           = 7,
+    GLOBALVARDECL      = 8,
+    LOCALVARDECL       = 9,
+    STMTLIST           = 10,
+    IFSTMT             = 11,
+    WHILESTMT          = 12,
+    FORSTMT            = 13,
+    BREAKSTMT          = 14,
+    CONTINUESTMT       = 15,
+    RETURNSTMT         = 16,
+    COMPOUNDSTMT       = 17,
+    EXPRSTMT           = 18,
+    EMPTYCOMPSTMT      = 19,
+    EMPTYSTMT          = 20,
+    INTEXPR            = 21,
+    FLOATEXPR          = 22,
+    BOOLEANEXPR        = 23,
+    STRINGEXPR         = 24,
+    UNARYEXPR          = 25,
+    BINARYEXPR         = 26,
+    INITEXPR           = 27,
+    EXPRLIST           = 28,
+    ARRAYEXPR          = 29,
+    VAREXPR            = 30,
+    CALLEXPR           = 31,
+    ASSIGNEXPR         = 32,
+    EMPTYEXPR          = 33,
+    INTLITERAL         = 34,
+    FLOATLITERAL       = 35,
+    BOOLEANLITERAL     = 36,
+    STRINGLITERAL      = 37,
+    IDENT              = 38,
+    OPERATOR           = 39,
+    PARALIST           = 40,
+    PARADECL           = 41,
+    ARGLIST            = 42,
+    ARG                = 43,
+    VOIDTYPE           = 44,
+    BOOLEANTYPE        = 45,
+    INTTYPE            = 46,
+    FLOATTYPE          = 47,
+    STRINGTYPE         = 48,
+    ARRAYTYPE          = 49,
+    ERRORTYPE          = 50,
+    SIMPLEVAR          = 51,
+    FLATLIST           = 52,
+    DEFERRED           = 53;
+
+  public static final int NUM_KINDS = 54;
 
   public SourcePosition	position;
+  // set by the constructors, but meaningless for a shared node; a pass
+  // that must go up the tree reliably can use a ParentMap instead
   public AST parent;
+  public final int kind;
  
-  public AST (SourcePosition Position) {
+  public AST (SourcePosition Position, int kind) {
     position = Position;
+    this.kind = kind;
   }
 
   public SourcePosition getPosition() {
     return position;
   }
 
+  public AST resolve() {
+    return this;
+  }
+
+  // A shallow copy, sharing the children, with no parent; see
+  // Nodes.copy.
+
+  AST copy() {
+    try {
+      AST copy = (AST) super.clone();
+      copy.parent = null;
+      return copy;
+    } catch (CloneNotSupportedException e) {
+      throw new AssertionError(e);
+    }
+  }
+
   public abstract Object visit(Visitor v, Object o);
 
+  public abstract <R, A> R accept(TypedVisitor<R, A> v, A arg);
+
+  public abstract <A> int accept(IntVisitor<A> v, A arg);
+
 }
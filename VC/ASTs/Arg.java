@@ -11,7 +11,7 @@ public class Arg extends Expr {
   public Expr E;
 
   public Arg (Expr eAST, SourcePosition position) {
-    super (position);
+    super (position, ARG);
     E = eAST;
     eAST.parent = this;
   }
@@ -20,4 +20,12 @@ public class Arg extends Expr {
     return v.visitArg(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitArg(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitArg(this, arg);
+  }
+
 }
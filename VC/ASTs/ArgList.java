@@ -11,7 +11,7 @@ public class ArgList extends List {
   public List AL;
 
   public ArgList(Arg aAST, List alAST, SourcePosition thePosition) {
-    super (thePosition);
+    super (thePosition, ARGLIST);
     A = aAST;
     AL = alAST;
     A.parent = AL.parent = this;
@@ -21,4 +21,12 @@ public class ArgList extends List {
     return v.visitArgList(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitArgList(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitArgList(this, arg);
+  }
+
 }
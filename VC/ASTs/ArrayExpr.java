@@ -12,7 +12,7 @@ public class ArrayExpr extends Expr {
   public Expr E; // index of array var
 
   public ArrayExpr (Var idAST, Expr indexAST, SourcePosition position) {
-    super (position);
+    super (position, ARRAYEXPR);
     V = idAST;
     E = indexAST;
     V.parent = E.parent = this;
@@ -22,4 +22,12 @@ public class ArrayExpr extends Expr {
     return v.visitArrayExpr(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitArrayExpr(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitArrayExpr(this, arg);
+  }
+
 }
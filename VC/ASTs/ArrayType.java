@@ -12,16 +12,26 @@ public class ArrayType extends Type {
   public Expr E;
 
   public ArrayType (Type tAST, Expr dAST, SourcePosition Position) {
-    super (Position);
+    super (Position, ARRAYTYPE);
     T = tAST;
     E = dAST;
-    T.parent = E.parent = this;
+    E.parent = this;
+    if (!T.isShared())
+      T.parent = this;
   }
 
   public Object visit (Visitor v, Object o) {
     return v.visitArrayType(this, o);
   }
 
+  public <R, A> R accept (TypedVisitor<R, A> v, A arg) {
+    return v.visitArrayType(this, arg);
+  }
+
+  public <A> int accept (IntVisitor<A> v, A arg) {
+    return v.visitArrayType(this, arg);
+  }
+
   public boolean equals(Object obj) {
     return false; // An array name cannot appear alone in VC.
                   // For example, a = b is not allowed if a and b are
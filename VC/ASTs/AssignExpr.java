@@ -11,7 +11,7 @@ public class AssignExpr extends Expr {
   public Expr E1, E2;
 
   public AssignExpr (Expr e1AST, Expr e2AST, SourcePosition Position) {
-    super (Position);
+    super (Position, ASSIGNEXPR);
     E1 = e1AST;
     E2 = e2AST;
     E1.parent = E2.parent = this;
@@ -21,4 +21,12 @@ public class AssignExpr extends Expr {
     return v.visitAssignExpr(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitAssignExpr(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitAssignExpr(this, arg);
+  }
+
 }
@@ -13,7 +13,7 @@ public class BinaryExpr extends Expr {
   public Operator O;
 
   public BinaryExpr(Expr e1AST, Operator oAST, Expr e2AST, SourcePosition Position) {
-    super (Position);
+    super (Position, BINARYEXPR);
     O = oAST;
     E1 = e1AST;
     E2 = e2AST;
@@ -24,4 +24,12 @@ public class BinaryExpr extends Expr {
     return v.visitBinaryExpr(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitBinaryExpr(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitBinaryExpr(this, arg);
+  }
+
 }
@@ -16,7 +16,7 @@ public class BooleanExpr extends Expr {
   public AST trueSuccessor, falseSuccessor;
 
   public BooleanExpr(BooleanLiteral blAST, SourcePosition position) {
-    super (position);
+    super (position, BOOLEANEXPR);
     BL = blAST;
     BL.parent = this;
   }
@@ -25,4 +25,12 @@ public class BooleanExpr extends Expr {
     return v.visitBooleanExpr(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitBooleanExpr(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitBooleanExpr(this, arg);
+  }
+
 }
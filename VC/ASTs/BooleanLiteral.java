@@ -9,11 +9,19 @@ import VC.Scanner.SourcePosition;
 public class BooleanLiteral extends Terminal {
 
   public BooleanLiteral (String value, SourcePosition position) {
-    super (value, position);
+    super (value, position, BOOLEANLITERAL);
   }
 
   public Object visit(Visitor v, Object o) {
     return v.visitBooleanLiteral(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitBooleanLiteral(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitBooleanLiteral(this, arg);
+  }
+
 }
@@ -9,11 +9,19 @@ import VC.Scanner.SourcePosition;
 public class BreakStmt extends Stmt {
 
   public BreakStmt(SourcePosition Position) {
-    super (Position);
+    super (Position, BREAKSTMT);
   }
 
   public Object visit(Visitor v, Object o) {
     return v.visitBreakStmt(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitBreakStmt(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitBreakStmt(this, arg);
+  }
+
 }
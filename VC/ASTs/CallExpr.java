@@ -12,7 +12,7 @@ public class CallExpr extends Expr {
   public List AL;
 
   public CallExpr(Ident id, List aplAST, SourcePosition Position) {
-    super (Position);
+    super (Position, CALLEXPR);
     I = id;
     AL = aplAST;
     I.parent = AL.parent = this;
@@ -22,4 +22,12 @@ public class CallExpr extends Expr {
     return v.visitCallExpr(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitCallExpr(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitCallExpr(this, arg);
+  }
+
 }
@@ -12,7 +12,7 @@ public class CompoundStmt extends Stmt {
   public List SL;
 
   public CompoundStmt(List dlAST, List slAST, SourcePosition position) {
-    super (position);
+    super (position, COMPOUNDSTMT);
     DL = dlAST;
     SL = slAST;
     DL.parent = SL.parent = this;
@@ -22,4 +22,12 @@ public class CompoundStmt extends Stmt {
     return v.visitCompoundStmt(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitCompoundStmt(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitCompoundStmt(this, arg);
+  }
+
 }
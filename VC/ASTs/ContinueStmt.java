@@ -9,11 +9,19 @@ import VC.Scanner.SourcePosition;
 public class ContinueStmt extends Stmt {
 
   public ContinueStmt(SourcePosition Position) {
-    super (Position);
+    super (Position, CONTINUESTMT);
   }
 
   public Object visit(Visitor v, Object o) {
     return v.visitContinueStmt(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitContinueStmt(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitContinueStmt(this, arg);
+  }
+
 }
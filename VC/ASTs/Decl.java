@@ -15,8 +15,8 @@ public abstract class Decl extends AST {
   // See page 72, the JVM spec, 2nd edition.
   public int index; 
 
-  public Decl(SourcePosition Position) {
-    super (Position);
+  public Decl(SourcePosition Position, int kind) {
+    super (Position, kind);
   }
 
   // The following methods will be used in Assignments 4 and 5.
@@ -12,7 +12,7 @@ public class DeclList extends List {
   public List DL;
 
   public DeclList(Decl dAST, List dlAST, SourcePosition position) {
-    super (position);
+    super (position, DECLLIST);
     D = dAST;
     DL = dlAST;
     D.parent = DL.parent = this;
@@ -22,4 +22,12 @@ public class DeclList extends List {
     return v.visitDeclList(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitDeclList(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitDeclList(this, arg);
+  }
+
 }
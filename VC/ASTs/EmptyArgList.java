@@ -9,11 +9,19 @@ import VC.Scanner.SourcePosition;
 public class EmptyArgList extends List {
 
   public EmptyArgList(SourcePosition position) {
-    super (position);
+    super (position, EMPTYARGLIST);
   }
 
   public Object visit(Visitor v, Object o) {
     return v.visitEmptyArgList(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitEmptyArgList(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitEmptyArgList(this, arg);
+  }
+
 }
@@ -9,10 +9,18 @@ import VC.Scanner.SourcePosition;
 public class EmptyCompStmt extends Stmt {
 
   public EmptyCompStmt(SourcePosition Position) {
-    super (Position);
+    super (Position, EMPTYCOMPSTMT);
   }
 
   public Object visit(Visitor v, Object o) {
     return v.visitEmptyCompStmt(this, o);
   }
+
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitEmptyCompStmt(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitEmptyCompStmt(this, arg);
+  }
 }
@@ -9,11 +9,19 @@ import VC.Scanner.SourcePosition;
 public class EmptyDeclList extends List {
 
   public EmptyDeclList(SourcePosition Position) {
-    super (Position);
+    super (Position, EMPTYDECLLIST);
   }
 
   public Object visit(Visitor v, Object o) {
     return v.visitEmptyDeclList(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitEmptyDeclList(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitEmptyDeclList(this, arg);
+  }
+
 }
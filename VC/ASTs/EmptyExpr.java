@@ -9,10 +9,18 @@ import VC.Scanner.SourcePosition;
 public class EmptyExpr extends Expr {
 
   public EmptyExpr (SourcePosition thePosition) {
-    super (thePosition);
+    super (thePosition, EMPTYEXPR);
   }
 
   public Object visit(Visitor v, Object o) {
     return v.visitEmptyExpr(this, o);
   }
+
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitEmptyExpr(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitEmptyExpr(this, arg);
+  }
 }
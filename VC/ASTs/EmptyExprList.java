@@ -9,11 +9,19 @@ import VC.Scanner.SourcePosition;
 public class EmptyExprList extends List {
 
   public EmptyExprList(SourcePosition Position) {
-    super (Position);
+    super (Position, EMPTYEXPRLIST);
   }
 
   public Object visit(Visitor v, Object o) {
     return v.visitEmptyExprList(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitEmptyExprList(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitEmptyExprList(this, arg);
+  }
+
 }
@@ -9,11 +9,19 @@ import VC.Scanner.SourcePosition;
 public class EmptyParaList extends List {
 
   public EmptyParaList(SourcePosition Position) {
-    super (Position);
+    super (Position, EMPTYPARALIST);
   }
 
   public Object visit(Visitor v, Object o) {
     return v.visitEmptyParaList(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitEmptyParaList(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitEmptyParaList(this, arg);
+  }
+
 }
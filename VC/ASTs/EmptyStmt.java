@@ -9,11 +9,19 @@ import VC.Scanner.SourcePosition;
 public class EmptyStmt extends Stmt {
 
   public EmptyStmt(SourcePosition Position) {
-    super (Position);
+    super (Position, EMPTYSTMT);
   }
 
   public Object visit(Visitor v, Object o) {
     return v.visitEmptyStmt(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitEmptyStmt(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitEmptyStmt(this, arg);
+  }
+
 }
@@ -9,11 +9,19 @@ import VC.Scanner.SourcePosition;
 public class EmptyStmtList extends List {
 
   public EmptyStmtList(SourcePosition Position) {
-    super (Position);
+    super (Position, EMPTYSTMTLIST);
   }
 
   public Object visit(Visitor v, Object o) {
     return v.visitEmptyStmtList(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitEmptyStmtList(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitEmptyStmtList(this, arg);
+  }
+
 }
@@ -9,13 +9,21 @@ import VC.Scanner.SourcePosition;
 public class ErrorType extends Type {
 
   public ErrorType(SourcePosition thePosition) {
-    super (thePosition);
+    super (thePosition, ERRORTYPE);
   }
 
   public Object visit (Visitor v, Object o) {
     return v.visitErrorType(this, o);
   }
 
+  public <R, A> R accept (TypedVisitor<R, A> v, A arg) {
+    return v.visitErrorType(this, arg);
+  }
+
+  public <A> int accept (IntVisitor<A> v, A arg) {
+    return v.visitErrorType(this, arg);
+  }
+
   public boolean equals (Object obj) {
     return true;
   }
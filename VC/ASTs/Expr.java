@@ -12,12 +12,23 @@ public abstract class Expr extends AST {
 
   public Type type;
 
-  public Expr (SourcePosition Position) {
-    super (Position);
+  public Expr (SourcePosition Position, int kind) {
+    super (Position, kind);
     type = null;
   }
 
 
+  // Structural hash and equality, which ignore positions, types and
+  // links; see ExprTable.
+
+  public int structuralHash() {
+    return ExprTable.hash(this);
+  }
+
+  public boolean structurallyEquals(Expr e) {
+    return ExprTable.equal(this, e);
+  }
+
   // The following method will be used in Assignments 4 and 5.
 
   public boolean isEmptyExpr() {
@@ -14,7 +14,7 @@ public class ExprList extends List {
   public int index;
 
   public ExprList(Expr eAST, List elAST, SourcePosition thePosition) {
-    super (thePosition);
+    super (thePosition, EXPRLIST);
     E = eAST;
     EL = elAST;
     E.parent = EL.parent = this;
@@ -24,4 +24,12 @@ public class ExprList extends List {
     return v.visitExprList(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitExprList(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitExprList(this, arg);
+  }
+
 }
@@ -11,7 +11,7 @@ public class ExprStmt extends Stmt {
   public Expr E;
 
   public ExprStmt (Expr eAST, SourcePosition Position) {
-    super (Position);
+    super (Position, EXPRSTMT);
     E = eAST;
     E.parent = this;
   }
@@ -20,4 +20,12 @@ public class ExprStmt extends Stmt {
     return v.visitExprStmt(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitExprStmt(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitExprStmt(this, arg);
+  }
+
 }
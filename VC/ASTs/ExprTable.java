@@ -0,0 +1,219 @@
+/*
+ * ExprTable.java
+ *
+ * Hash-consing of expression subtrees: a table of shared nodes, at most
+ * one for each distinct subtree. Two subtrees are the same if their
+ * nodes have the same kinds and spellings, child by child; positions,
+ * types and links such as Ident.decl are ignored. The parser, with
+ * Parser.enableHashConsing, builds each expression bottom-up and
+ * replaces it by the table's node, so that repeated subexpressions
+ * such as a[i] or n - 1 are held once.
+ *
+ * A node is shared by share only once its children are, so a lookup
+ * compares the children by identity and takes constant time. Two
+ * subtrees shared by one table are therefore structurally equal iff
+ * they are the same node.
+ *
+ * A shared node keeps the position of its first occurrence, and, as
+ * with the shared primitive types, its parent link is meaningless.
+ * Passes that annotate the tree, like a checker setting Expr.type or
+ * Ident.decl, must not run on a tree with shared subtrees. A table is
+ * not thread-safe.
+ *
+ * The static methods hash and equal compare any two subtrees by
+ * structure, shared or not, without recursion.
+ */
+
+package VC.ASTs;
+
+import java.util.Arrays;
+
+public final class ExprTable {
+
+  private AST[] nodes = new AST[256];
+  private int[] hashes = new int[256];
+  private int size;
+
+  public int size() {
+    return size;
+  }
+
+  // Returns the table's node for ast, whose children must have been
+  // shared already; ast itself is entered if there is none.
+
+  @SuppressWarnings("unchecked")
+  public <T extends AST> T share(T ast) {
+    int h = shallowHash(ast);
+    int mask = nodes.length - 1;
+    int i = h & mask;
+    for (AST node; (node = nodes[i]) != null; i = (i + 1) & mask)
+      if (hashes[i] == h && sameNode(node, ast))
+        return (T) node;
+    nodes[i] = ast;
+    hashes[i] = h;
+    if (++size * 2 > nodes.length)
+      grow();
+    return ast;
+  }
+
+  // Shares every node of the subtree rooted at ast, bottom-up, making
+  // the children of each node the table's. Returns the table's node
+  // for ast.
+
+  public AST intern(AST ast) {
+    Interner interner = new Interner();
+    new TreeWalker().walk(ast, interner);
+    return interner.result;
+  }
+
+  // true if ast is the table's node for its subtree
+
+  public boolean contains(AST ast) {
+    int h = shallowHash(ast);
+    int mask = nodes.length - 1;
+    for (int i = h & mask; nodes[i] != null; i = (i + 1) & mask)
+      if (nodes[i] == ast)
+        return true;
+    return false;
+  }
+
+  // Structural equality, in constant time if both are in the table.
+
+  public boolean same(AST a, AST b) {
+    if (a == b)
+      return true;
+    if (contains(a) && contains(b))
+      return false;
+    return equal(a, b);
+  }
+
+  private void grow() {
+    AST[] oldNodes = nodes;
+    int[] oldHashes = hashes;
+    nodes = new AST[2 * oldNodes.length];
+    hashes = new int[2 * oldNodes.length];
+    int mask = nodes.length - 1;
+    for (int j = 0; j < oldNodes.length; j++)
+      if (oldNodes[j] != null) {
+        int i = oldHashes[j] & mask;
+        while (nodes[i] != null)
+          i = (i + 1) & mask;
+        nodes[i] = oldNodes[j];
+        hashes[i] = oldHashes[j];
+      }
+  }
+
+  // what a node holds besides its children
+
+  private static int label(AST ast) {
+    int h = ast.kind;
+    if (ast instanceof Terminal)
+      h = 31 * h + ((Terminal) ast).spelling.hashCode();
+    else if (ast.kind == AST.FLATLIST)
+      h = 31 * h + ((FlatList) ast).listKind;
+    return h;
+  }
+
+  private static boolean sameLabel(AST a, AST b) {
+    if (a.kind != b.kind)
+      return false;
+    if (a instanceof Terminal)
+      return ((Terminal) a).spelling.equals(((Terminal) b).spelling);
+    if (a.kind == AST.FLATLIST)
+      return ((FlatList) a).listKind == ((FlatList) b).listKind
+          && ((FlatList) a).size() == ((FlatList) b).size();
+    return true;
+  }
+
+  private static int shallowHash(AST ast) {
+    int h = label(ast);
+    int n = Nodes.childCount(ast);
+    for (int i = 0; i < n; i++)
+      h = 31 * h + System.identityHashCode(Nodes.child(ast, i));
+    return h ^ (h >>> 16);
+  }
+
+  private static boolean sameNode(AST a, AST b) {
+    if (!sameLabel(a, b))
+      return false;
+    int n = Nodes.childCount(a);
+    for (int i = 0; i < n; i++)
+      if (Nodes.child(a, i) != Nodes.child(b, i))
+        return false;
+    return true;
+  }
+
+  // A hash of the subtree rooted at ast that depends only on its
+  // structure, so structurally equal subtrees hash alike.
+
+  public static int hash(AST ast) {
+    Hasher hasher = new Hasher();
+    new TreeWalker().walk(ast, hasher);
+    return hasher.stack[0];
+  }
+
+  public static boolean equal(AST a, AST b) {
+    AST[] stack = new AST[64];
+    int top = 0;
+    stack[top++] = a;
+    stack[top++] = b;
+    while (top > 0) {
+      AST y = stack[--top], x = stack[--top];
+      while (x.kind == AST.DEFERRED)
+        x = x.resolve();
+      while (y.kind == AST.DEFERRED)
+        y = y.resolve();
+      if (x == y)
+        continue;
+      if (!sameLabel(x, y))
+        return false;
+      int n = Nodes.childCount(x);
+      if (n != Nodes.childCount(y))
+        return false;
+      for (int i = n - 1; i >= 0; i--) {
+        if (top + 2 > stack.length)
+          stack = Arrays.copyOf(stack, 2 * stack.length);
+        stack[top++] = Nodes.child(x, i);
+        stack[top++] = Nodes.child(y, i);
+      }
+    }
+    return true;
+  }
+
+  // Computes the hashes bottom-up on a stack: a node's children leave
+  // theirs on top, and the node replaces them by its own.
+
+  private static final class Hasher extends WalkAdapter {
+
+    int[] stack = new int[64];
+    int top;
+
+    public void exit(AST ast, Object o) {
+      int n = Nodes.childCount(ast);
+      int h = label(ast);
+      for (int i = top - n; i < top; i++)
+        h = 31 * h + stack[i];
+      top -= n;
+      if (top == stack.length)
+        stack = Arrays.copyOf(stack, 2 * top);
+      stack[top++] = h;
+    }
+  }
+
+  // Shares the nodes bottom-up, replacing each child by the table's.
+
+  private final class Interner extends WalkAdapter {
+
+    AST result;
+
+    public void afterChild(AST ast, int i, Object o) {
+      if (Nodes.child(ast, i) != result)
+        Nodes.setChild(ast, i, result);
+    }
+
+    public void exit(AST ast, Object o) {
+      result = share(ast);
+    }
+  }
+
+}
@@ -0,0 +1,182 @@
+/*
+ * FlatList.java
+ *
+ * A list held in an array instead of a right-nested chain of
+ * DeclList/StmtList/ExprList/ParaList/ArgList cells ending in an empty
+ * list. It saves a node and a SourcePosition per element, and a
+ * visitor can walk it with a loop instead of one recursive call per
+ * element.
+ *
+ * A visitor that implements FlatListVisitor is handed the FlatList
+ * itself. Any other visitor is handed the equivalent nested list,
+ * built on first use and cached, so that it sees exactly the AST the
+ * parser builds without flat lists. Building the nested view makes
+ * the elements' parents its cells, as those visitors expect.
+ */
+
+package VC.ASTs;
+
+import java.util.Arrays;
+
+import VC.Scanner.SourcePosition;
+
+public class FlatList extends List {
+
+  // the kinds of list, named after their elements
+  public static final int DECLS = 0, STMTS = 1, EXPRS = 2, PARAS = 3, ARGS = 4;
+
+  private static final AST[] NO_ELEMENTS = new AST[0];
+
+  public final int listKind;
+
+  private AST[] elements = NO_ELEMENTS;
+  private int size;
+  private List nested;
+
+  public FlatList(int listKind, SourcePosition position) {
+    super (position, FLATLIST);
+    this.listKind = listKind;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public AST get(int i) {
+    if (i >= size)
+      throw new IndexOutOfBoundsException("index " + i + ", size " + size);
+    return elements[i];
+  }
+
+  public void set(int i, AST ast) {
+    if (i >= size)
+      throw new IndexOutOfBoundsException("index " + i + ", size " + size);
+    elements[i] = ast;
+    ast.parent = this;
+    nested = null;
+  }
+
+  // set without making this list the parent of ast; see Nodes.copy
+
+  void store(int i, AST ast) {
+    elements[i] = ast;
+    nested = null;
+  }
+
+  // a copy with its own array of the same elements
+  AST copy() {
+    FlatList copy = (FlatList) super.copy();
+    copy.elements = Arrays.copyOf(elements, size);
+    copy.nested = null;
+    return copy;
+  }
+
+  public void add(AST ast) {
+    if (size == elements.length)
+      elements = Arrays.copyOf(elements, Math.max(4, 2 * size));
+    elements[size++] = ast;
+    ast.parent = this;
+    nested = null;
+  }
+
+  // Appends the elements of list, which must be of the same kind.
+
+  public void addAll(FlatList list) {
+    if (list.listKind != listKind)
+      throw new IllegalArgumentException("list kinds differ");
+    for (int i = 0; i < list.size; i++)
+      add(list.elements[i]);
+  }
+
+  public boolean isEmptyArgList() {
+    return size == 0 && listKind == ARGS;
+  }
+
+  public boolean isEmptyParaList() {
+    return size == 0 && listKind == PARAS;
+  }
+
+  public boolean isEmptyStmtList() {
+    return size == 0 && listKind == STMTS;
+  }
+
+  public boolean isEmptyExprList() {
+    return size == 0 && listKind == EXPRS;
+  }
+
+  public boolean isEmptyDeclList() {
+    return size == 0 && listKind == DECLS;
+  }
+
+  // the kind of empty list that ends the nested view
+
+  public List emptyList() {
+    SourcePosition pos = new SourcePosition();
+    switch (listKind) {
+      case DECLS:
+        return new EmptyDeclList(pos);
+      case STMTS:
+        return new EmptyStmtList(pos);
+      case EXPRS:
+        return new EmptyExprList(pos);
+      case PARAS:
+        return new EmptyParaList(pos);
+      default:
+        return new EmptyArgList(pos);
+    }
+  }
+
+  // The list as a chain of cells. Each cell spans from its element to
+  // the end of the list.
+
+  public synchronized List nested() {
+    if (nested == null) {
+      List list = emptyList();
+      for (int i = size - 1; i >= 0; i--) {
+        AST element = elements[i];
+        SourcePosition pos = new SourcePosition();
+        pos.lineStart = element.position.lineStart;
+        pos.charStart = element.position.charStart;
+        pos.lineFinish = position.lineFinish;
+        pos.charFinish = position.charFinish;
+        switch (listKind) {
+          case DECLS:
+            list = new DeclList((Decl) element, list, pos);
+            break;
+          case STMTS:
+            list = new StmtList((Stmt) element, list, pos);
+            break;
+          case EXPRS:
+            list = new ExprList((Expr) element, list, pos);
+            ((ExprList) list).index = i;
+            break;
+          case PARAS:
+            list = new ParaList((ParaDecl) element, list, pos);
+            break;
+          default:
+            list = new ArgList((Arg) element, list, pos);
+            break;
+        }
+      }
+      list.parent = parent;
+      nested = list;
+    }
+    return nested;
+  }
+
+  public Object visit(Visitor v, Object o) {
+    if (v instanceof FlatListVisitor)
+      return ((FlatListVisitor) v).visitFlatList(this, o);
+    else
+      return nested().visit(v, o);
+  }
+
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitFlatList(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitFlatList(this, arg);
+  }
+
+}
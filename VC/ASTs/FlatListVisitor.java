@@ -0,0 +1,14 @@
+/*
+ * FlatListVisitor.java
+ *
+ * Implemented by the visitors that walk a FlatList directly rather
+ * than through its nested view.
+ */
+
+package VC.ASTs;
+
+public interface FlatListVisitor extends Visitor {
+
+  public abstract Object visitFlatList(FlatList ast, Object o);
+
+}
@@ -11,7 +11,7 @@ public class FloatExpr extends Expr {
   public FloatLiteral FL;
 
   public FloatExpr(FloatLiteral flAST, SourcePosition Position) {
-    super (Position);
+    super (Position, FLOATEXPR);
     FL = flAST;
     FL.parent = this;
   }
@@ -20,4 +20,12 @@ public class FloatExpr extends Expr {
     return v.visitFloatExpr(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitFloatExpr(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitFloatExpr(this, arg);
+  }
+
 }
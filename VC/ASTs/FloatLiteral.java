@@ -9,11 +9,19 @@ import VC.Scanner.SourcePosition;
 public class FloatLiteral extends Terminal {
 
   public FloatLiteral (String value, SourcePosition position) {
-    super (value, position);
+    super (value, position, FLOATLITERAL);
   }
 
   public Object visit(Visitor v, Object o) {
     return v.visitFloatLiteral(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitFloatLiteral(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitFloatLiteral(this, arg);
+  }
+
 }
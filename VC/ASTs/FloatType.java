@@ -9,15 +9,25 @@ import VC.Scanner.SourcePosition;
 public class FloatType extends Type {
 
   public FloatType (SourcePosition Position) {
-    super (Position);
+    super (Position, FLOATTYPE);
   }
 
   public Object visit (Visitor v, Object o) {
     return v.visitFloatType(this, o);
   }
 
+  public <R, A> R accept (TypedVisitor<R, A> v, A arg) {
+    return v.visitFloatType(this, arg);
+  }
+
+  public <A> int accept (IntVisitor<A> v, A arg) {
+    return v.visitFloatType(this, arg);
+  }
+
   public boolean equals(Object obj) {
-    if (obj != null && obj instanceof ErrorType)
+    if (obj == this)
+      return true;
+    else if (obj != null && obj instanceof ErrorType)
       return true;
     else    
       return (obj != null && obj instanceof FloatType);
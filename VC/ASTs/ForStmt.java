@@ -11,7 +11,7 @@ public class ForStmt extends Stmt {
 
   public ForStmt(Expr e1AST, Expr e2AST, Expr e3AST, Stmt sAST,
                                               SourcePosition Position) {
-    super (Position);
+    super (Position, FORSTMT);
     E1 = e1AST;
     E2 = e2AST;
     E3 = e3AST;
@@ -21,4 +21,12 @@ public class ForStmt extends Stmt {
   public Object visit(Visitor v, Object o) {
     return v.visitForStmt(this, o);
   }
+
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitForStmt(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitForStmt(this, arg);
+  }
 }
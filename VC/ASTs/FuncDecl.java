@@ -15,16 +15,26 @@ public class FuncDecl extends Decl {
 
   public FuncDecl(Type tAST, Ident idAST, List fplAST, 
          Stmt cAST, SourcePosition Position) {
-    super (Position);
+    super (Position, FUNCDECL);
     T = tAST;
     I = idAST;
     PL = fplAST;
     S = cAST;
-    T.parent = I.parent = PL.parent = S.parent = this;
+    I.parent = PL.parent = S.parent = this;
+    if (!T.isShared())
+      T.parent = this;
   }
 
   public Object visit (Visitor v, Object o) {
     return v.visitFuncDecl(this, o);
   }
 
+  public <R, A> R accept (TypedVisitor<R, A> v, A arg) {
+    return v.visitFuncDecl(this, arg);
+  }
+
+  public <A> int accept (IntVisitor<A> v, A arg) {
+    return v.visitFuncDecl(this, arg);
+  }
+
 }
@@ -11,15 +11,25 @@ public class GlobalVarDecl extends Decl {
   public Expr E;
 
   public GlobalVarDecl(Type tAST, Ident iAST, Expr eAST, SourcePosition position) {
-    super (position);
+    super (position, GLOBALVARDECL);
     T = tAST;
     I = iAST;
     E = eAST;
-    T.parent = I.parent = E.parent = this;
+    I.parent = E.parent = this;
+    if (!T.isShared())
+      T.parent = this;
   }
 
   public Object visit(Visitor v, Object o) {
     return v.visitGlobalVarDecl(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitGlobalVarDecl(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitGlobalVarDecl(this, arg);
+  }
+
 }
@@ -11,7 +11,7 @@ public class Ident extends Terminal {
   public AST decl; 
 
   public Ident(String value , SourcePosition position) {
-    super (value, position);
+    super (value, position, IDENT);
     decl = null;
   }
 
@@ -19,4 +19,12 @@ public class Ident extends Terminal {
     return v.visitIdent(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitIdent(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitIdent(this, arg);
+  }
+
 }
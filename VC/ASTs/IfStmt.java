@@ -16,7 +16,7 @@ public class IfStmt extends Stmt {
   public AST trueSuccessor, falseSuccessor;
 
   public IfStmt(Expr eAST, Stmt sAST, SourcePosition position) {
-    super (position);
+    super (position, IFSTMT);
     E = eAST;
     S1 = sAST;
     S2 = new EmptyStmt(new SourcePosition());
@@ -24,7 +24,7 @@ public class IfStmt extends Stmt {
   }
 
   public IfStmt(Expr eAST, Stmt s1AST, Stmt s2AST, SourcePosition Position) {
-    super (Position);
+    super (Position, IFSTMT);
     E = eAST;
     S1 = s1AST;
     S2 = s2AST;
@@ -35,4 +35,12 @@ public class IfStmt extends Stmt {
     return v.visitIfStmt(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitIfStmt(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitIfStmt(this, arg);
+  }
+
 }
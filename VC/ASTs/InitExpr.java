@@ -11,7 +11,7 @@ public class InitExpr extends Expr {
   public List IL;
 
   public InitExpr (List ilAST, SourcePosition position) {
-    super (position);
+    super (position, INITEXPR);
     IL = ilAST;
     IL.parent = this;
   }
@@ -20,4 +20,12 @@ public class InitExpr extends Expr {
     return v.visitInitExpr(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitInitExpr(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitInitExpr(this, arg);
+  }
+
 }
@@ -11,7 +11,7 @@ public class IntExpr extends Expr {
   public IntLiteral IL;
 
   public IntExpr(IntLiteral ilAST, SourcePosition Position) {
-    super (Position);
+    super (Position, INTEXPR);
     IL = ilAST;
     IL.parent = this;
   }
@@ -20,4 +20,12 @@ public class IntExpr extends Expr {
     return v.visitIntExpr(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitIntExpr(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitIntExpr(this, arg);
+  }
+
 }
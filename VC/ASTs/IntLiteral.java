@@ -9,11 +9,19 @@ import VC.Scanner.SourcePosition;
 public class IntLiteral extends Terminal {
 
   public IntLiteral (String value, SourcePosition position) {
-    super (value, position);
+    super (value, position, INTLITERAL);
   }
 
   public Object visit(Visitor v, Object o) {
     return v.visitIntLiteral(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitIntLiteral(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitIntLiteral(this, arg);
+  }
+
 }
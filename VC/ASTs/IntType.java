@@ -9,15 +9,25 @@ import VC.Scanner.SourcePosition;
 public class IntType extends Type {
 
   public IntType (SourcePosition Position) {
-    super (Position);
+    super (Position, INTTYPE);
   }
 
   public Object visit (Visitor v, Object o) {
     return v.visitIntType(this, o);
   }
 
+  public <R, A> R accept (TypedVisitor<R, A> v, A arg) {
+    return v.visitIntType(this, arg);
+  }
+
+  public <A> int accept (IntVisitor<A> v, A arg) {
+    return v.visitIntType(this, arg);
+  }
+
   public boolean equals(Object obj) {
-    if (obj != null && obj instanceof ErrorType)
+    if (obj == this)
+      return true;
+    else if (obj != null && obj instanceof ErrorType)
       return true;
     else    
       return (obj != null && obj instanceof IntType);
@@ -0,0 +1,90 @@
+/*
+ * IntVisitor.java
+ *
+ * The counterpart of TypedVisitor for int results, which are returned
+ * unboxed; e.g., for evaluating integer expressions.
+ */
+
+package VC.ASTs;
+
+public interface IntVisitor<A> {
+
+  // Programs
+  public abstract int visitProgram(Program ast, A arg);
+
+  // Lists for denoting the null reference
+
+  public abstract int visitEmptyDeclList(EmptyDeclList ast, A arg);
+  public abstract int visitEmptyStmtList(EmptyStmtList ast, A arg);
+  public abstract int visitEmptyExprList(EmptyExprList ast, A arg);
+  public abstract int visitEmptyParaList(EmptyParaList ast, A arg);
+  public abstract int visitEmptyArgList(EmptyArgList ast, A arg);
+
+  // Declarations
+  public abstract int visitDeclList(DeclList ast, A arg);
+  public abstract int visitFuncDecl(FuncDecl ast, A arg);
+  public abstract int visitGlobalVarDecl(GlobalVarDecl ast, A arg);
+  public abstract int visitLocalVarDecl(LocalVarDecl ast, A arg);
+
+  // Stmts
+  public abstract int visitStmtList(StmtList ast, A arg);
+  public abstract int visitIfStmt(IfStmt ast, A arg);
+  public abstract int visitWhileStmt(WhileStmt ast, A arg);
+  public abstract int visitForStmt(ForStmt ast, A arg);
+  public abstract int visitBreakStmt(BreakStmt ast, A arg);
+  public abstract int visitContinueStmt(ContinueStmt ast, A arg);
+  public abstract int visitReturnStmt(ReturnStmt ast, A arg);
+  public abstract int visitCompoundStmt(CompoundStmt ast, A arg);
+  public abstract int visitExprStmt(ExprStmt ast, A arg);
+  public abstract int visitEmptyCompStmt(EmptyCompStmt ast, A arg);
+  public abstract int visitEmptyStmt(EmptyStmt ast, A arg);
+
+  // Expressions
+  public abstract int visitIntExpr(IntExpr ast, A arg);
+  public abstract int visitFloatExpr(FloatExpr ast, A arg);
+  public abstract int visitBooleanExpr(BooleanExpr ast, A arg);
+  public abstract int visitStringExpr(StringExpr ast, A arg);
+  public abstract int visitUnaryExpr(UnaryExpr ast, A arg);
+  public abstract int visitBinaryExpr(BinaryExpr ast, A arg);
+  public abstract int visitInitExpr(InitExpr ast, A arg);
+  public abstract int visitExprList(ExprList ast, A arg);
+  public abstract int visitArrayExpr(ArrayExpr ast, A arg);
+  public abstract int visitVarExpr(VarExpr ast, A arg);
+  public abstract int visitCallExpr(CallExpr ast, A arg);
+  public abstract int visitAssignExpr(AssignExpr ast, A arg);
+  public abstract int visitEmptyExpr(EmptyExpr ast, A arg);
+
+  // Literals and identifiers
+  public abstract int visitIntLiteral(IntLiteral ast, A arg);
+  public abstract int visitFloatLiteral(FloatLiteral ast, A arg);
+  public abstract int visitBooleanLiteral(BooleanLiteral ast, A arg);
+  public abstract int visitStringLiteral(StringLiteral ast, A arg);
+  public abstract int visitIdent(Ident ast, A arg);
+  public abstract int visitOperator(Operator ast, A arg);
+
+  // Parameters
+
+  public abstract int visitParaList(ParaList ast, A arg);
+  public abstract int visitParaDecl(ParaDecl ast, A arg);
+
+  // Arguments
+  public abstract int visitArgList(ArgList ast, A arg);
+  public abstract int visitArg(Arg ast, A arg);
+
+  // Types 
+  public abstract int visitVoidType(VoidType ast, A arg);
+  public abstract int visitBooleanType(BooleanType ast, A arg);
+  public abstract int visitIntType(IntType ast, A arg);
+  public abstract int visitFloatType(FloatType ast, A arg);
+  public abstract int visitStringType(StringType ast, A arg);
+  public abstract int visitArrayType(ArrayType ast, A arg);
+  public abstract int visitErrorType(ErrorType ast, A arg);
+
+
+  // Variables 
+  public abstract int visitSimpleVar(SimpleVar ast, A arg);
+
+  // Flat lists
+  public abstract int visitFlatList(FlatList ast, A arg);
+
+}
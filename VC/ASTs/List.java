@@ -9,8 +9,8 @@ import VC.Scanner.SourcePosition;
 
 public abstract class List extends AST {
 
-  public List (SourcePosition position) {
-    super (position);
+  public List (SourcePosition position, int kind) {
+    super (position, kind);
   }
 
 
@@ -11,15 +11,25 @@ public class LocalVarDecl extends Decl {
   public Expr E;
 
   public LocalVarDecl(Type tAST, Ident iAST, Expr eAST, SourcePosition position) {
-    super (position);
+    super (position, LOCALVARDECL);
     T = tAST;
     I = iAST;
     E = eAST;
-    T.parent = I.parent = E.parent = this;
+    I.parent = E.parent = this;
+    if (!T.isShared())
+      T.parent = this;
   }
 
   public Object visit(Visitor v, Object o) {
     return v.visitLocalVarDecl(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitLocalVarDecl(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitLocalVarDecl(this, arg);
+  }
+
 }
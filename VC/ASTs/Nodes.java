@@ -0,0 +1,696 @@
+/*
+ * Nodes.java
+ *
+ * The children of a node, found by a switch on its kind rather than
+ * through a visitor, for passes that walk the AST with a loop or a
+ * switch of their own. Children come in the order in which Printer
+ * visits them; setChild replaces one, and make builds a node from
+ * them. A DEFERRED node is resolved first, and stands for the node it
+ * resolves to.
+ */
+
+package VC.ASTs;
+
+import VC.Scanner.SourcePosition;
+
+public final class Nodes {
+
+  private Nodes() { }
+
+  public static int childCount(AST ast) {
+    switch (ast.kind) {
+      case AST.FLATLIST:
+        return ((FlatList) ast).size();
+      case AST.DEFERRED:
+        return childCount(ast.resolve());
+      default:
+        return arity(ast.kind);
+    }
+  }
+
+  // The number of children of every node of a kind, or -1 for
+  // FLATLIST and DEFERRED, whose nodes differ.
+
+  public static int arity(int kind) {
+    switch (kind) {
+      case AST.PROGRAM:
+      case AST.RETURNSTMT:
+      case AST.EXPRSTMT:
+      case AST.INTEXPR:
+      case AST.FLOATEXPR:
+      case AST.BOOLEANEXPR:
+      case AST.STRINGEXPR:
+      case AST.INITEXPR:
+      case AST.VAREXPR:
+      case AST.ARG:
+      case AST.SIMPLEVAR:
+        return 1;
+      case AST.DECLLIST:
+      case AST.STMTLIST:
+      case AST.WHILESTMT:
+      case AST.COMPOUNDSTMT:
+      case AST.UNARYEXPR:
+      case AST.EXPRLIST:
+      case AST.ARRAYEXPR:
+      case AST.CALLEXPR:
+      case AST.ASSIGNEXPR:
+      case AST.PARALIST:
+      case AST.PARADECL:
+      case AST.ARGLIST:
+      case AST.ARRAYTYPE:
+        return 2;
+      case AST.GLOBALVARDECL:
+      case AST.LOCALVARDECL:
+      case AST.IFSTMT:
+      case AST.BINARYEXPR:
+        return 3;
+      case AST.FUNCDECL:
+      case AST.FORSTMT:
+        return 4;
+      case AST.FLATLIST:
+      case AST.DEFERRED:
+        return -1;
+      default:
+        return 0;
+    }
+  }
+
+  // The i-th child of ast, 0 <= i < childCount(ast).
+
+  public static AST child(AST ast, int i) {
+    switch (ast.kind) {
+      case AST.PROGRAM: {
+        Program n = (Program) ast;
+        if (i == 0)
+          return n.FL;
+        break;
+      }
+      case AST.DECLLIST: {
+        DeclList n = (DeclList) ast;
+        switch (i) {
+          case 0: return n.D;
+          case 1: return n.DL;
+        }
+        break;
+      }
+      case AST.FUNCDECL: {
+        FuncDecl n = (FuncDecl) ast;
+        switch (i) {
+          case 0: return n.T;
+          case 1: return n.I;
+          case 2: return n.PL;
+          case 3: return n.S;
+        }
+        break;
+      }
+      case AST.GLOBALVARDECL: {
+        GlobalVarDecl n = (GlobalVarDecl) ast;
+        switch (i) {
+          case 0: return n.T;
+          case 1: return n.I;
+          case 2: return n.E;
+        }
+        break;
+      }
+      case AST.LOCALVARDECL: {
+        LocalVarDecl n = (LocalVarDecl) ast;
+        switch (i) {
+          case 0: return n.T;
+          case 1: return n.I;
+          case 2: return n.E;
+        }
+        break;
+      }
+      case AST.STMTLIST: {
+        StmtList n = (StmtList) ast;
+        switch (i) {
+          case 0: return n.S;
+          case 1: return n.SL;
+        }
+        break;
+      }
+      case AST.IFSTMT: {
+        IfStmt n = (IfStmt) ast;
+        switch (i) {
+          case 0: return n.E;
+          case 1: return n.S1;
+          case 2: return n.S2;
+        }
+        break;
+      }
+      case AST.WHILESTMT: {
+        WhileStmt n = (WhileStmt) ast;
+        switch (i) {
+          case 0: return n.E;
+          case 1: return n.S;
+        }
+        break;
+      }
+      case AST.FORSTMT: {
+        ForStmt n = (ForStmt) ast;
+        switch (i) {
+          case 0: return n.E1;
+          case 1: return n.E2;
+          case 2: return n.E3;
+          case 3: return n.S;
+        }
+        break;
+      }
+      case AST.RETURNSTMT: {
+        ReturnStmt n = (ReturnStmt) ast;
+        if (i == 0)
+          return n.E;
+        break;
+      }
+      case AST.COMPOUNDSTMT: {
+        CompoundStmt n = (CompoundStmt) ast;
+        switch (i) {
+          case 0: return n.DL;
+          case 1: return n.SL;
+        }
+        break;
+      }
+      case AST.EXPRSTMT: {
+        ExprStmt n = (ExprStmt) ast;
+        if (i == 0)
+          return n.E;
+        break;
+      }
+      case AST.INTEXPR: {
+        IntExpr n = (IntExpr) ast;
+        if (i == 0)
+          return n.IL;
+        break;
+      }
+      case AST.FLOATEXPR: {
+        FloatExpr n = (FloatExpr) ast;
+        if (i == 0)
+          return n.FL;
+        break;
+      }
+      case AST.BOOLEANEXPR: {
+        BooleanExpr n = (BooleanExpr) ast;
+        if (i == 0)
+          return n.BL;
+        break;
+      }
+      case AST.STRINGEXPR: {
+        StringExpr n = (StringExpr) ast;
+        if (i == 0)
+          return n.SL;
+        break;
+      }
+      case AST.UNARYEXPR: {
+        UnaryExpr n = (UnaryExpr) ast;
+        switch (i) {
+          case 0: return n.O;
+          case 1: return n.E;
+        }
+        break;
+      }
+      case AST.BINARYEXPR: {
+        BinaryExpr n = (BinaryExpr) ast;
+        switch (i) {
+          case 0: return n.E1;
+          case 1: return n.O;
+          case 2: return n.E2;
+        }
+        break;
+      }
+      case AST.INITEXPR: {
+        InitExpr n = (InitExpr) ast;
+        if (i == 0)
+          return n.IL;
+        break;
+      }
+      case AST.EXPRLIST: {
+        ExprList n = (ExprList) ast;
+        switch (i) {
+          case 0: return n.E;
+          case 1: return n.EL;
+        }
+        break;
+      }
+      case AST.ARRAYEXPR: {
+        ArrayExpr n = (ArrayExpr) ast;
+        switch (i) {
+          case 0: return n.V;
+          case 1: return n.E;
+        }
+        break;
+      }
+      case AST.VAREXPR: {
+        VarExpr n = (VarExpr) ast;
+        if (i == 0)
+          return n.V;
+        break;
+      }
+      case AST.CALLEXPR: {
+        CallExpr n = (CallExpr) ast;
+        switch (i) {
+          case 0: return n.I;
+          case 1: return n.AL;
+        }
+        break;
+      }
+      case AST.ASSIGNEXPR: {
+        AssignExpr n = (AssignExpr) ast;
+        switch (i) {
+          case 0: return n.E1;
+          case 1: return n.E2;
+        }
+        break;
+      }
+      case AST.PARALIST: {
+        ParaList n = (ParaList) ast;
+        switch (i) {
+          case 0: return n.P;
+          case 1: return n.PL;
+        }
+        break;
+      }
+      case AST.PARADECL: {
+        ParaDecl n = (ParaDecl) ast;
+        switch (i) {
+          case 0: return n.T;
+          case 1: return n.I;
+        }
+        break;
+      }
+      case AST.ARGLIST: {
+        ArgList n = (ArgList) ast;
+        switch (i) {
+          case 0: return n.A;
+          case 1: return n.AL;
+        }
+        break;
+      }
+      case AST.ARG: {
+        Arg n = (Arg) ast;
+        if (i == 0)
+          return n.E;
+        break;
+      }
+      case AST.ARRAYTYPE: {
+        ArrayType n = (ArrayType) ast;
+        switch (i) {
+          case 0: return n.T;
+          case 1: return n.E;
+        }
+        break;
+      }
+      case AST.SIMPLEVAR: {
+        SimpleVar n = (SimpleVar) ast;
+        if (i == 0)
+          return n.I;
+        break;
+      }
+      case AST.FLATLIST:
+        return ((FlatList) ast).get(i);
+      case AST.DEFERRED:
+        return child(ast.resolve(), i);
+    }
+    throw new IndexOutOfBoundsException("child " + i + " of a node of kind " + ast.kind);
+  }
+
+  // Makes child the i-th child of ast, 0 <= i < childCount(ast), and
+  // ast its parent, unless child is a shared type (see Type).
+
+  public static void setChild(AST ast, int i, AST child) {
+    if (ast.kind == AST.DEFERRED) {
+      setChild(ast.resolve(), i, child);
+      return;
+    }
+    if (i < 0 || i >= childCount(ast))
+      throw new IndexOutOfBoundsException("child " + i + " of a node of kind " + ast.kind);
+    store(ast, i, child);
+    if (!(child instanceof Type && ((Type) child).isShared()))
+      child.parent = ast;
+  }
+
+  // Makes child the i-th child of ast, leaving its parent link alone.
+
+  private static void store(AST ast, int i, AST child) {
+    switch (ast.kind) {
+      case AST.PROGRAM:
+        ((Program) ast).FL = (List) child;
+        break;
+      case AST.DECLLIST: {
+        DeclList n = (DeclList) ast;
+        switch (i) {
+          case 0: n.D = (Decl) child; break;
+          case 1: n.DL = (List) child; break;
+        }
+        break;
+      }
+      case AST.FUNCDECL: {
+        FuncDecl n = (FuncDecl) ast;
+        switch (i) {
+          case 0: n.T = (Type) child; break;
+          case 1: n.I = (Ident) child; break;
+          case 2: n.PL = (List) child; break;
+          case 3: n.S = (Stmt) child; break;
+        }
+        break;
+      }
+      case AST.GLOBALVARDECL: {
+        GlobalVarDecl n = (GlobalVarDecl) ast;
+        switch (i) {
+          case 0: n.T = (Type) child; break;
+          case 1: n.I = (Ident) child; break;
+          case 2: n.E = (Expr) child; break;
+        }
+        break;
+      }
+      case AST.LOCALVARDECL: {
+        LocalVarDecl n = (LocalVarDecl) ast;
+        switch (i) {
+          case 0: n.T = (Type) child; break;
+          case 1: n.I = (Ident) child; break;
+          case 2: n.E = (Expr) child; break;
+        }
+        break;
+      }
+      case AST.STMTLIST: {
+        StmtList n = (StmtList) ast;
+        switch (i) {
+          case 0: n.S = (Stmt) child; break;
+          case 1: n.SL = (List) child; break;
+        }
+        break;
+      }
+      case AST.IFSTMT: {
+        IfStmt n = (IfStmt) ast;
+        switch (i) {
+          case 0: n.E = (Expr) child; break;
+          case 1: n.S1 = (Stmt) child; break;
+          case 2: n.S2 = (Stmt) child; break;
+        }
+        break;
+      }
+      case AST.WHILESTMT: {
+        WhileStmt n = (WhileStmt) ast;
+        switch (i) {
+          case 0: n.E = (Expr) child; break;
+          case 1: n.S = (Stmt) child; break;
+        }
+        break;
+      }
+      case AST.FORSTMT: {
+        ForStmt n = (ForStmt) ast;
+        switch (i) {
+          case 0: n.E1 = (Expr) child; break;
+          case 1: n.E2 = (Expr) child; break;
+          case 2: n.E3 = (Expr) child; break;
+          case 3: n.S = (Stmt) child; break;
+        }
+        break;
+      }
+      case AST.RETURNSTMT:
+        ((ReturnStmt) ast).E = (Expr) child;
+        break;
+      case AST.COMPOUNDSTMT: {
+        CompoundStmt n = (CompoundStmt) ast;
+        switch (i) {
+          case 0: n.DL = (List) child; break;
+          case 1: n.SL = (List) child; break;
+        }
+        break;
+      }
+      case AST.EXPRSTMT:
+        ((ExprStmt) ast).E = (Expr) child;
+        break;
+      case AST.INTEXPR:
+        ((IntExpr) ast).IL = (IntLiteral) child;
+        break;
+      case AST.FLOATEXPR:
+        ((FloatExpr) ast).FL = (FloatLiteral) child;
+        break;
+      case AST.BOOLEANEXPR:
+        ((BooleanExpr) ast).BL = (BooleanLiteral) child;
+        break;
+      case AST.STRINGEXPR:
+        ((StringExpr) ast).SL = (StringLiteral) child;
+        break;
+      case AST.UNARYEXPR: {
+        UnaryExpr n = (UnaryExpr) ast;
+        switch (i) {
+          case 0: n.O = (Operator) child; break;
+          case 1: n.E = (Expr) child; break;
+        }
+        break;
+      }
+      case AST.BINARYEXPR: {
+        BinaryExpr n = (BinaryExpr) ast;
+        switch (i) {
+          case 0: n.E1 = (Expr) child; break;
+          case 1: n.O = (Operator) child; break;
+          case 2: n.E2 = (Expr) child; break;
+        }
+        break;
+      }
+      case AST.INITEXPR:
+        ((InitExpr) ast).IL = (List) child;
+        break;
+      case AST.EXPRLIST: {
+        ExprList n = (ExprList) ast;
+        switch (i) {
+          case 0: n.E = (Expr) child; break;
+          case 1: n.EL = (List) child; break;
+        }
+        break;
+      }
+      case AST.ARRAYEXPR: {
+        ArrayExpr n = (ArrayExpr) ast;
+        switch (i) {
+          case 0: n.V = (Var) child; break;
+          case 1: n.E = (Expr) child; break;
+        }
+        break;
+      }
+      case AST.VAREXPR:
+        ((VarExpr) ast).V = (Var) child;
+        break;
+      case AST.CALLEXPR: {
+        CallExpr n = (CallExpr) ast;
+        switch (i) {
+          case 0: n.I = (Ident) child; break;
+          case 1: n.AL = (List) child; break;
+        }
+        break;
+      }
+      case AST.ASSIGNEXPR: {
+        AssignExpr n = (AssignExpr) ast;
+        switch (i) {
+          case 0: n.E1 = (Expr) child; break;
+          case 1: n.E2 = (Expr) child; break;
+        }
+        break;
+      }
+      case AST.PARALIST: {
+        ParaList n = (ParaList) ast;
+        switch (i) {
+          case 0: n.P = (ParaDecl) child; break;
+          case 1: n.PL = (List) child; break;
+        }
+        break;
+      }
+      case AST.PARADECL: {
+        ParaDecl n = (ParaDecl) ast;
+        switch (i) {
+          case 0: n.T = (Type) child; break;
+          case 1: n.I = (Ident) child; break;
+        }
+        break;
+      }
+      case AST.ARGLIST: {
+        ArgList n = (ArgList) ast;
+        switch (i) {
+          case 0: n.A = (Arg) child; break;
+          case 1: n.AL = (List) child; break;
+        }
+        break;
+      }
+      case AST.ARG:
+        ((Arg) ast).E = (Expr) child;
+        break;
+      case AST.ARRAYTYPE: {
+        ArrayType n = (ArrayType) ast;
+        switch (i) {
+          case 0: n.T = (Type) child; break;
+          case 1: n.E = (Expr) child; break;
+        }
+        break;
+      }
+      case AST.SIMPLEVAR:
+        ((SimpleVar) ast).I = (Ident) child;
+        break;
+      case AST.FLATLIST:
+        ((FlatList) ast).store(i, child);
+        break;
+    }
+  }
+
+  // A new node of the given kind, with the given children. spelling
+  // is for a Terminal and listKind for a FlatList. The primitive types
+  // are the shared ones.
+
+  public static AST make(int kind, String spelling, int listKind,
+                         SourcePosition pos, AST[] c) {
+    switch (kind) {
+      case AST.PROGRAM:
+        return new Program((List) c[0], pos);
+      case AST.EMPTYDECLLIST:
+        return new EmptyDeclList(pos);
+      case AST.EMPTYSTMTLIST:
+        return new EmptyStmtList(pos);
+      case AST.EMPTYEXPRLIST:
+        return new EmptyExprList(pos);
+      case AST.EMPTYPARALIST:
+        return new EmptyParaList(pos);
+      case AST.EMPTYARGLIST:
+        return new EmptyArgList(pos);
+      case AST.DECLLIST:
+        return new DeclList((Decl) c[0], (List) c[1], pos);
+      case AST.FUNCDECL:
+        return new FuncDecl((Type) c[0], (Ident) c[1], (List) c[2], (Stmt) c[3], pos);
+      case AST.GLOBALVARDECL:
+        return new GlobalVarDecl((Type) c[0], (Ident) c[1], (Expr) c[2], pos);
+      case AST.LOCALVARDECL:
+        return new LocalVarDecl((Type) c[0], (Ident) c[1], (Expr) c[2], pos);
+      case AST.STMTLIST:
+        return new StmtList((Stmt) c[0], (List) c[1], pos);
+      case AST.IFSTMT:
+        return new IfStmt((Expr) c[0], (Stmt) c[1], (Stmt) c[2], pos);
+      case AST.WHILESTMT:
+        return new WhileStmt((Expr) c[0], (Stmt) c[1], pos);
+      case AST.FORSTMT:
+        return new ForStmt((Expr) c[0], (Expr) c[1], (Expr) c[2], (Stmt) c[3], pos);
+      case AST.BREAKSTMT:
+        return new BreakStmt(pos);
+      case AST.CONTINUESTMT:
+        return new ContinueStmt(pos);
+      case AST.RETURNSTMT:
+        return new ReturnStmt((Expr) c[0], pos);
+      case AST.COMPOUNDSTMT:
+        return new CompoundStmt((List) c[0], (List) c[1], pos);
+      case AST.EXPRSTMT:
+        return new ExprStmt((Expr) c[0], pos);
+      case AST.EMPTYCOMPSTMT:
+        return new EmptyCompStmt(pos);
+      case AST.EMPTYSTMT:
+        return new EmptyStmt(pos);
+      case AST.INTEXPR:
+        return new IntExpr((IntLiteral) c[0], pos);
+      case AST.FLOATEXPR:
+        return new FloatExpr((FloatLiteral) c[0], pos);
+      case AST.BOOLEANEXPR:
+        return new BooleanExpr((BooleanLiteral) c[0], pos);
+      case AST.STRINGEXPR:
+        return new StringExpr((StringLiteral) c[0], pos);
+      case AST.UNARYEXPR:
+        return new UnaryExpr((Operator) c[0], (Expr) c[1], pos);
+      case AST.BINARYEXPR:
+        return new BinaryExpr((Expr) c[0], (Operator) c[1], (Expr) c[2], pos);
+      case AST.INITEXPR:
+        return new InitExpr((List) c[0], pos);
+      case AST.EXPRLIST:
+        return new ExprList((Expr) c[0], (List) c[1], pos);
+      case AST.ARRAYEXPR:
+        return new ArrayExpr((Var) c[0], (Expr) c[1], pos);
+      case AST.VAREXPR:
+        return new VarExpr((Var) c[0], pos);
+      case AST.CALLEXPR:
+        return new CallExpr((Ident) c[0], (List) c[1], pos);
+      case AST.ASSIGNEXPR:
+        return new AssignExpr((Expr) c[0], (Expr) c[1], pos);
+      case AST.EMPTYEXPR:
+        return new EmptyExpr(pos);
+      case AST.INTLITERAL:
+        return new IntLiteral(spelling, pos);
+      case AST.FLOATLITERAL:
+        return new FloatLiteral(spelling, pos);
+      case AST.BOOLEANLITERAL:
+        return new BooleanLiteral(spelling, pos);
+      case AST.STRINGLITERAL:
+        return new StringLiteral(spelling, pos);
+      case AST.IDENT:
+        return new Ident(spelling, pos);
+      case AST.OPERATOR:
+        return new Operator(spelling, pos);
+      case AST.PARALIST:
+        return new ParaList((ParaDecl) c[0], (List) c[1], pos);
+      case AST.PARADECL:
+        return new ParaDecl((Type) c[0], (Ident) c[1], pos);
+      case AST.ARGLIST:
+        return new ArgList((Arg) c[0], (List) c[1], pos);
+      case AST.ARG:
+        return new Arg((Expr) c[0], pos);
+      case AST.VOIDTYPE:
+        return Type.voidType;
+      case AST.BOOLEANTYPE:
+        return Type.booleanType;
+      case AST.INTTYPE:
+        return Type.intType;
+      case AST.FLOATTYPE:
+        return Type.floatType;
+      case AST.STRINGTYPE:
+        return Type.stringType;
+      case AST.ARRAYTYPE:
+        return new ArrayType((Type) c[0], (Expr) c[1], pos);
+      case AST.ERRORTYPE:
+        return Type.errorType;
+      case AST.SIMPLEVAR:
+        return new SimpleVar((Ident) c[0], pos);
+      case AST.FLATLIST: {
+        FlatList list = new FlatList(listKind, pos);
+        for (int i = 0; i < c.length; i++)
+          list.add(c[i]);
+        return list;
+      }
+    }
+    throw new IllegalArgumentException("cannot make a node of kind " + kind);
+  }
+
+  // A copy of ast with the children c, of the same kinds and number as
+  // its own. The copy keeps ast's position and annotations (Expr.type,
+  // Ident.decl, Decl.index, ...), and its parent link is null. Unlike
+  // make, it writes no parent link, so the children may be shared with
+  // a tree that other threads are reading. A DEFERRED node is resolved
+  // first; a primitive type, being shared, is returned as it is.
+
+  public static AST copy(AST ast, AST[] c) {
+    ast = ast.resolve();
+    if (ast instanceof Type && childCount(ast) == 0)
+      return ast;
+    if (c.length != childCount(ast))
+      throw new IllegalArgumentException("a node of kind " + ast.kind
+                                         + " has " + childCount(ast) + " children");
+    AST copy = ast.copy();
+    for (int i = 0; i < c.length; i++)
+      store(copy, i, c[i]);
+    return copy;
+  }
+
+  // The elements of a list, whether a FlatList or a chain of cells. A
+  // list of statements may hold declarations as well, in DeclList cells.
+
+  public static AST[] elements(List list) {
+    if (list.kind == AST.FLATLIST) {
+      FlatList flat = (FlatList) list;
+      AST[] elements = new AST[flat.size()];
+      for (int i = 0; i < elements.length; i++)
+        elements[i] = flat.get(i);
+      return elements;
+    }
+    int n = 0;
+    for (AST cell = list; childCount(cell) == 2; cell = child(cell, 1))
+      n++;
+    AST[] elements = new AST[n];
+    AST cell = list;
+    for (int i = 0; i < n; i++, cell = child(cell, 1))
+      elements[i] = child(cell, 0);
+    return elements;
+  }
+
+}
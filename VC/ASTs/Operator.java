@@ -9,11 +9,19 @@ import VC.Scanner.SourcePosition;
 public class Operator extends Terminal {
 
   public Operator (String value, SourcePosition position) {
-    super (value, position);
+    super (value, position, OPERATOR);
   }
 
   public Object visit(Visitor v, Object o) {
     return v.visitOperator(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitOperator(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitOperator(this, arg);
+  }
+
 }
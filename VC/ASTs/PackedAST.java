@@ -0,0 +1,379 @@
+/*
+ * PackedAST.java
+ *
+ * An AST stored outside the Java heap, for tools that keep many parsed
+ * programs at once: however many nodes it has, a PackedAST is a few
+ * objects to the garbage collector.
+ *
+ * Each node is a fixed-width record of RECORD ints in a direct
+ * ByteBuffer, numbered in post-order, so that the nodes of a subtree
+ * are numbered consecutively and every child comes before its parent:
+ *
+ *   kind        the kind of the node (AST.PROGRAM, ...)
+ *   value       the id of its spelling if it is a Terminal, its list
+ *               kind if it is a FlatList, and -1 otherwise
+ *   lineStart, charStart, lineFinish, charFinish
+ *   parent      the number of its parent, -1 for the root
+ *   childCount  the number of its children, as in Nodes
+ *   children    the index in the child table of the numbers of its
+ *               children, in order
+ *
+ * The spellings are stored once each, in a second direct buffer, and
+ * two Terminals have the same spelling iff they have the same id.
+ *
+ * Only the tree is stored: no parent links of shared nodes, types,
+ * Ident.decl or other annotations. A DEFERRED node is stored as the
+ * node it resolves to. unpack rebuilds a subtree on the heap, with
+ * the shared primitive types, so that a visitor can run on one
+ * function at a time; a Cursor moves over the nodes without building
+ * any.
+ *
+ * Java 17's Foreign Memory API is still incubating, so the records are
+ * held in ByteBuffers; they are no less off the heap.
+ */
+
+package VC.ASTs;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import VC.Scanner.SourcePosition;
+
+public final class PackedAST {
+
+  // the fields of a record, in ints
+  static final int KIND = 0, VALUE = 1, LINE_START = 2, CHAR_START = 3,
+    LINE_FINISH = 4, CHAR_FINISH = 5, PARENT = 6, CHILD_COUNT = 7,
+    CHILDREN = 8, RECORD = 9;
+
+  private final ByteBuffer records;  // the records, then the child table
+  private final ByteBuffer strings;  // count, offsets, UTF-8 bytes
+  private final int nodeCount;
+  private final int stringCount;
+
+  PackedAST(ByteBuffer records, ByteBuffer strings, int nodeCount) {
+    this.records = records;
+    this.strings = strings;
+    this.nodeCount = nodeCount;
+    stringCount = strings.getInt(0);
+  }
+
+  public static PackedAST pack(AST root) {
+    Counter counter = new Counter();
+    new TreeWalker().walk(root, counter);
+    int nodes = counter.nodes;
+
+    ByteBuffer records = ByteBuffer.allocateDirect(4 * (RECORD * nodes + nodes - 1))
+                                   .order(ByteOrder.nativeOrder());
+    Packer packer = new Packer(records, nodes);
+    new TreeWalker().walk(root, packer);
+
+    int bytes = 0;
+    byte[][] encoded = new byte[packer.spellings.length][];
+    for (int i = 0; i < packer.stringCount; i++) {
+      encoded[i] = packer.spellings[i].getBytes(StandardCharsets.UTF_8);
+      bytes += encoded[i].length;
+    }
+    int count = packer.stringCount;
+    ByteBuffer strings = ByteBuffer.allocateDirect(4 * (count + 2) + bytes)
+                                   .order(ByteOrder.nativeOrder());
+    strings.putInt(count);
+    int offset = 4 * (count + 2);
+    for (int i = 0; i < count; i++) {
+      strings.putInt(offset);
+      offset += encoded[i].length;
+    }
+    strings.putInt(offset);
+    for (int i = 0; i < count; i++)
+      strings.put(encoded[i]);
+    return new PackedAST(records, strings, nodes);
+  }
+
+  public int nodeCount() {
+    return nodeCount;
+  }
+
+  public int root() {
+    return nodeCount - 1;
+  }
+
+  // the bytes held off the heap
+
+  public long size() {
+    return records.capacity() + strings.capacity();
+  }
+
+  public int kind(int node) {
+    return field(node, KIND);
+  }
+
+  public int parent(int node) {
+    return field(node, PARENT);
+  }
+
+  public int childCount(int node) {
+    return field(node, CHILD_COUNT);
+  }
+
+  public int child(int node, int i) {
+    if (i < 0 || i >= childCount(node))
+      throw new IndexOutOfBoundsException("child " + i + " of node " + node);
+    return records.getInt(4 * (RECORD * nodeCount + field(node, CHILDREN) + i));
+  }
+
+  public int lineStart(int node) {
+    return field(node, LINE_START);
+  }
+
+  public int charStart(int node) {
+    return field(node, CHAR_START);
+  }
+
+  public int lineFinish(int node) {
+    return field(node, LINE_FINISH);
+  }
+
+  public int charFinish(int node) {
+    return field(node, CHAR_FINISH);
+  }
+
+  // the id of the spelling of a Terminal, -1 for other nodes
+
+  public int spellingId(int node) {
+    return isTerminal(kind(node)) ? field(node, VALUE) : -1;
+  }
+
+  public String spelling(int node) {
+    int id = spellingId(node);
+    return (id < 0) ? null : string(id);
+  }
+
+  public String string(int id) {
+    if (id < 0 || id >= stringCount)
+      throw new IndexOutOfBoundsException("string " + id);
+    int from = strings.getInt(4 * (id + 1)), to = strings.getInt(4 * (id + 2));
+    byte[] bytes = new byte[to - from];
+    for (int i = 0; i < bytes.length; i++)
+      bytes[i] = strings.get(from + i);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  public int stringCount() {
+    return stringCount;
+  }
+
+  // the list kind of a FlatList, -1 for other nodes
+
+  public int listKind(int node) {
+    return (kind(node) == AST.FLATLIST) ? field(node, VALUE) : -1;
+  }
+
+  public SourcePosition position(int node) {
+    SourcePosition pos = new SourcePosition();
+    pos.lineStart = lineStart(node);
+    pos.charStart = charStart(node);
+    pos.lineFinish = lineFinish(node);
+    pos.charFinish = charFinish(node);
+    return pos;
+  }
+
+  public Cursor cursor() {
+    return new Cursor(root());
+  }
+
+  public AST unpack() {
+    return unpack(root());
+  }
+
+  // Builds the subtree rooted at node on the heap, children first.
+
+  public AST unpack(int node) {
+    int first = node;
+    while (childCount(first) > 0)
+      first = child(first, 0);
+    AST[] built = new AST[node - first + 1];
+    for (int n = first; n <= node; n++) {
+      int count = childCount(n);
+      AST[] c = new AST[count];
+      for (int i = 0; i < count; i++)
+        c[i] = built[child(n, i) - first];
+      AST ast = Nodes.make(kind(n), spelling(n), listKind(n), position(n), c);
+      built[n - first] = ast;
+      for (int i = 0; i < count; i++)
+        built[child(n, i) - first] = null; // only the root is kept
+    }
+    return built[node - first];
+  }
+
+  private int field(int node, int field) {
+    if (node < 0 || node >= nodeCount)
+      throw new IndexOutOfBoundsException("node " + node);
+    return records.getInt(4 * (RECORD * node + field));
+  }
+
+  static boolean isTerminal(int kind) {
+    return kind >= AST.INTLITERAL && kind <= AST.OPERATOR;
+  }
+
+  // A flyweight over the nodes: one object that moves from node to
+  // node and reads each field from the buffer when asked.
+
+  public final class Cursor {
+
+    private int node;
+
+    Cursor(int node) {
+      this.node = node;
+    }
+
+    public int node() {
+      return node;
+    }
+
+    public Cursor moveTo(int node) {
+      if (node < 0 || node >= nodeCount)
+        throw new IndexOutOfBoundsException("node " + node);
+      this.node = node;
+      return this;
+    }
+
+    public Cursor toChild(int i) {
+      node = child(node, i);
+      return this;
+    }
+
+    // false, without moving, at the root
+
+    public boolean toParent() {
+      int p = parent(node);
+      if (p < 0)
+        return false;
+      node = p;
+      return true;
+    }
+
+    public int kind() {
+      return PackedAST.this.kind(node);
+    }
+
+    public int childCount() {
+      return PackedAST.this.childCount(node);
+    }
+
+    public int spellingId() {
+      return PackedAST.this.spellingId(node);
+    }
+
+    public String spelling() {
+      return PackedAST.this.spelling(node);
+    }
+
+    public int lineStart() {
+      return PackedAST.this.lineStart(node);
+    }
+
+    public int charStart() {
+      return PackedAST.this.charStart(node);
+    }
+
+    public int lineFinish() {
+      return PackedAST.this.lineFinish(node);
+    }
+
+    public int charFinish() {
+      return PackedAST.this.charFinish(node);
+    }
+
+    // Visits the subtree at the cursor, built on the heap for the
+    // visit only.
+
+    public Object visit(Visitor v, Object o) {
+      return unpack(node).visit(v, o);
+    }
+
+    public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+      return unpack(node).accept(v, arg);
+    }
+  }
+
+  // counts the nodes to size the buffer
+
+  private static final class Counter extends WalkAdapter {
+
+    int nodes;
+
+    public void exit(AST ast, Object o) {
+      nodes++;
+    }
+  }
+
+  // Writes the records in post-order. The numbers of the children of
+  // the nodes on the current path wait on a stack for their parent.
+
+  private static final class Packer extends WalkAdapter {
+
+    final ByteBuffer records;
+    final int childTable; // where the child table starts, in ints
+    int next, nextChild;
+    int[] stack = new int[64];
+    int top;
+
+    HashMap<String, Integer> ids = new HashMap<String, Integer>();
+    String[] spellings = new String[64];
+    int stringCount;
+
+    Packer(ByteBuffer records, int nodes) {
+      this.records = records;
+      childTable = RECORD * nodes;
+    }
+
+    public void exit(AST ast, Object o) {
+      int node = next++;
+      int n = Nodes.childCount(ast);
+      int value = -1;
+      if (ast instanceof Terminal)
+        value = id(((Terminal) ast).spelling);
+      else if (ast.kind == AST.FLATLIST)
+        value = ((FlatList) ast).listKind;
+
+      SourcePosition pos = ast.position;
+      put(node, KIND, ast.kind);
+      put(node, VALUE, value);
+      put(node, LINE_START, pos.lineStart);
+      put(node, CHAR_START, pos.charStart);
+      put(node, LINE_FINISH, pos.lineFinish);
+      put(node, CHAR_FINISH, pos.charFinish);
+      put(node, PARENT, -1);
+      put(node, CHILD_COUNT, n);
+      put(node, CHILDREN, nextChild);
+      for (int i = top - n; i < top; i++) {
+        records.putInt(4 * (childTable + nextChild++), stack[i]);
+        put(stack[i], PARENT, node);
+      }
+      top -= n;
+      if (top == stack.length)
+        stack = Arrays.copyOf(stack, 2 * top);
+      stack[top++] = node;
+    }
+
+    private void put(int node, int field, int value) {
+      records.putInt(4 * (RECORD * node + field), value);
+    }
+
+    private int id(String spelling) {
+      Integer id = ids.get(spelling);
+      if (id == null) {
+        id = stringCount;
+        ids.put(spelling, id);
+        if (stringCount == spellings.length)
+          spellings = Arrays.copyOf(spellings, 2 * stringCount);
+        spellings[stringCount++] = spelling;
+      }
+      return id;
+    }
+  }
+
+}
@@ -9,14 +9,24 @@ import VC.Scanner.SourcePosition;
 public class ParaDecl extends Decl {
 
   public ParaDecl (Type tAST, Ident idAST, SourcePosition position) {
-    super (position);
+    super (position, PARADECL);
     T = tAST;
     I = idAST;
-    T.parent = I.parent = this;
+    I.parent = this;
+    if (!T.isShared())
+      T.parent = this;
   }
 
   public Object visit(Visitor v, Object o) {
     return v.visitParaDecl(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitParaDecl(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitParaDecl(this, arg);
+  }
+
 }
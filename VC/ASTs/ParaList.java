@@ -12,7 +12,7 @@ public class ParaList extends List {
 
   public ParaList(ParaDecl pAST, List plAST,
                                    SourcePosition thePosition) {
-    super (thePosition);
+    super (thePosition, PARALIST);
     P = pAST;
     PL = plAST;
     P.parent = PL.parent = this;
@@ -22,4 +22,12 @@ public class ParaList extends List {
     return v.visitParaList(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitParaList(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitParaList(this, arg);
+  }
+
 }
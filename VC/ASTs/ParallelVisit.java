@@ -0,0 +1,112 @@
+/*
+ * ParallelVisit.java
+ *
+ * Visits independent parts of an AST, such as the top-level
+ * declarations of a program, on the threads of a ForkJoinPool.
+ *
+ * The units to visit are split in halves until at most grain of them
+ * are left (by default, enough for about four tasks per thread of the
+ * pool), and each such task visits its units in order with a state
+ * of its own (a Printer, a TreeWalker, a symbol table, ...) made by
+ * newState(). The results of the units are merged pairwise, always the
+ * left one before the right one, so the result is the same as that of
+ * visiting the units one after another, however the work is scheduled.
+ *
+ * visit may itself call visitStmts on a large statement list; the
+ * statements are then split among the threads as well.
+ */
+
+package VC.ASTs;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+public abstract class ParallelVisit<S, R> {
+
+  private ForkJoinPool pool;
+  private int grain; // 0: from the parallelism of the pool
+
+  public ParallelVisit() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  public ParallelVisit(ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  // the largest number of units visited by one task
+
+  public void setGrain(int units) {
+    if (units < 1)
+      throw new IllegalArgumentException("grain " + units);
+    grain = units;
+  }
+
+  // the state of one task, used for all the units it visits
+  protected abstract S newState();
+
+  protected abstract R visit(AST unit, S state);
+
+  // The result of left followed by right. It may be left itself, with
+  // right added to it; left is not used again.
+  protected abstract R merge(R left, R right);
+
+  // the result when there is nothing to visit
+  protected R empty() {
+    return null;
+  }
+
+  public final R visitDecls(Program program) {
+    return visitAll(Nodes.elements(program.FL));
+  }
+
+  public final R visitStmts(List stmtList) {
+    return visitAll(Nodes.elements(stmtList));
+  }
+
+  public final R visitAll(AST[] units) {
+    if (units.length == 0)
+      return empty();
+    int g = grain;
+    if (g == 0)
+      g = Math.max(1, units.length / (4 * pool.getParallelism()));
+    Task task = new Task(units, 0, units.length, g);
+    if (ForkJoinTask.inForkJoinPool())
+      return task.invoke(); // called from visit: stay on this thread's pool
+    else
+      return pool.invoke(task);
+  }
+
+  private final class Task extends RecursiveTask<R> {
+
+    private static final long serialVersionUID = 1L;
+
+    private AST[] units;
+    private int from, to;
+    private int grain;
+
+    Task(AST[] units, int from, int to, int grain) {
+      this.units = units;
+      this.from = from;
+      this.to = to;
+      this.grain = grain;
+    }
+
+    protected R compute() {
+      if (to - from <= grain) {
+        S state = newState();
+        R result = visit(units[from], state);
+        for (int i = from + 1; i < to; i++)
+          result = merge(result, visit(units[i], state));
+        return result;
+      }
+      int mid = (from + to) >>> 1;
+      Task left = new Task(units, from, mid, grain);
+      left.fork();
+      R right = new Task(units, mid, to, grain).compute();
+      return merge(left.join(), right);
+    }
+  }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * ParentMap.java
+ *
+ * The parent of every node of a tree, found by one walk rather than
+ * read from AST.parent. A pass that needs to go up the tree can build
+ * a ParentMap when it starts and so does not depend on the parent
+ * links the constructors set, which are wrong for a node shared
+ * between places, such as the primitive types or an expression of a
+ * hash-consed tree (ExprTable), and which a rewrite that moves
+ * subtrees may leave stale.
+ *
+ * The walk numbers the nodes in pre-order from 0, the root, and keeps
+ * the number of each node's parent in an array indexed by node number;
+ * a node is found by an identity hash table. A node reached by more
+ * than one path is numbered, and its children walked, once only: its
+ * parent is the first one in pre-order. DEFERRED nodes are resolved
+ * first, as by TreeWalker.
+ *
+ * The map is of the tree as it was when built; build it again after
+ * changing the tree.
+ */
+
+package VC.ASTs;
+
+import java.util.Arrays;
+
+public final class ParentMap {
+
+  // the nodes in pre-order and the number of the parent of each, -1
+  // for the root
+  private AST[] nodes = new AST[256];
+  private int[] parents = new int[256];
+  private int size;
+
+  // identity hash table from node to number, -1 where free
+  private AST[] keys = new AST[512];
+  private int[] ids = new int[512];
+
+  public ParentMap(AST root) {
+    final TreeWalker walker = new TreeWalker();
+    walker.walk(root, new WalkAdapter() {
+      public boolean enter(AST ast, Object o) {
+        if (id(ast) >= 0)
+          return false;
+        int parent = walker.depth() > 1 ? id(walker.ancestor(1)) : -1;
+        add(ast, parent);
+        return true;
+      }
+    });
+  }
+
+  // the number of nodes in the tree
+  public int size() {
+    return size;
+  }
+
+  // The parent of ast, or null if ast is the root or not in the tree.
+
+  public AST parentOf(AST ast) {
+    int id = id(ast);
+    if (id < 0 || parents[id] < 0)
+      return null;
+    return nodes[parents[id]];
+  }
+
+  // The number of ast, or -1 if it is not in the tree.
+
+  public int id(AST ast) {
+    while (ast.kind == AST.DEFERRED)
+      ast = ast.resolve();
+    int mask = keys.length - 1;
+    for (int i = hash(ast) & mask; keys[i] != null; i = (i + 1) & mask)
+      if (keys[i] == ast)
+        return ids[i];
+    return -1;
+  }
+
+  public AST node(int id) {
+    return nodes[id];
+  }
+
+  // the number of the parent of node id, -1 for the root
+  public int parent(int id) {
+    return parents[id];
+  }
+
+  // The nearest proper ancestor of ast that is an instance of c, or
+  // null.
+
+  public <T extends AST> T enclosing(AST ast, Class<T> c) {
+    int id = id(ast);
+    if (id < 0)
+      return null;
+    for (id = parents[id]; id >= 0; id = parents[id])
+      if (c.isInstance(nodes[id]))
+        return c.cast(nodes[id]);
+    return null;
+  }
+
+  private void add(AST ast, int parent) {
+    if (size == nodes.length) {
+      nodes = Arrays.copyOf(nodes, 2 * size);
+      parents = Arrays.copyOf(parents, 2 * size);
+    }
+    nodes[size] = ast;
+    parents[size] = parent;
+    if ((size + 1) * 2 > keys.length)
+      rehash(2 * keys.length);
+    int mask = keys.length - 1;
+    int i = hash(ast) & mask;
+    while (keys[i] != null)
+      i = (i + 1) & mask;
+    keys[i] = ast;
+    ids[i] = size;
+    size++;
+  }
+
+  private void rehash(int length) {
+    keys = new AST[length];
+    ids = new int[length];
+    int mask = length - 1;
+    for (int id = 0; id < size; id++) {
+      int i = hash(nodes[id]) & mask;
+      while (keys[i] != null)
+        i = (i + 1) & mask;
+      keys[i] = nodes[id];
+      ids[i] = id;
+    }
+  }
+
+  // identity hash codes are poorly spread in their low bits
+  private static int hash(AST ast) {
+    int h = System.identityHashCode(ast) * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+}
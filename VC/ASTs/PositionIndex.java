@@ -0,0 +1,404 @@
+/*
+ * PositionIndex.java
+ *
+ * Finds the node at a given line and column without walking the AST.
+ *
+ * The spans of the nodes, from (lineStart, charStart) to (lineFinish,
+ * charFinish) inclusive, nest, so their starts and ends cut the program
+ * into segments within each of which the innermost node, statement and
+ * function declaration are the same. The index holds the segments in
+ * source order and answers a query by a search, in O(log n) time for n
+ * nodes. It is built by one walk and one sort.
+ *
+ * Nodes without a position of their own, such as empty lists and the
+ * shared primitive types, are not indexed. A node that starts where
+ * its parent does and ends before it (the first child of a list, say)
+ * is innermost over its own span, and the parent over the rest.
+ *
+ * The segments are kept in a treap, a binary search tree balanced by
+ * random priorities, whose subtrees may carry a pending move by some
+ * lines and columns. So an edit re-indexes the subtree it replaced and
+ * moves everything after it in O(m + log n) expected time, for m nodes
+ * in the new subtree, however many follow. A query only reads the
+ * treap and may run alongside other queries.
+ *
+ * The index follows the text as edited; the positions in the tree are
+ * never changed. After an edit, the nodes that follow it keep their
+ * old positions, so the span of the next edit must be given in the
+ * current text, as an editor knows it, not read from those nodes.
+ */
+
+package VC.ASTs;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import VC.Scanner.SourcePosition;
+
+public final class PositionIndex {
+
+  // One segment: it starts at (line, column) and lasts until the next
+  // one starts. The segments of a subtree are still to be moved by
+  // lineDelta lines and columnDelta columns; its root has been moved.
+
+  private static final class Segment {
+    int line, column;
+    AST node;
+    Stmt stmt;
+    FuncDecl func;
+    int priority;
+    Segment left, right;
+    int lineDelta, columnDelta;
+
+    Segment(long start, AST node, Stmt stmt, FuncDecl func, int priority) {
+      line = (int) (start >>> 32);
+      column = (int) start;
+      this.node = node;
+      this.stmt = stmt;
+      this.func = func;
+      this.priority = priority;
+    }
+  }
+
+  private Segment root;
+  private int seed = 0x2545F491;
+
+  // the result of split
+  private Segment lower, upper;
+
+  public PositionIndex(AST root) {
+    Builder builder = new Builder(null, null);
+    new TreeWalker().walk(root, builder);
+    builder.sweep();
+    this.root = build(builder, builder.size);
+  }
+
+  // the innermost node whose span includes the given column of line
+
+  public AST nodeAt(int line, int column) {
+    Segment s = find(key(line, column));
+    return (s == null) ? null : s.node;
+  }
+
+  // the innermost statement, e.g., an ExprStmt or CompoundStmt
+
+  public Stmt stmtAt(int line, int column) {
+    Segment s = find(key(line, column));
+    return (s == null) ? null : s.stmt;
+  }
+
+  public FuncDecl funcDeclAt(int line, int column) {
+    Segment s = find(key(line, column));
+    return (s == null) ? null : s.func;
+  }
+
+  // Re-indexes after the subtree that spanned oldSpan, in the text as
+  // the index knows it, has been replaced by newAST. newAST must start
+  // where oldSpan did; stmt and func are the innermost statement and
+  // function declaration enclosing newAST, or null. What followed
+  // oldSpan is moved to follow newAST, e.g., by the lines the edit
+  // added or removed.
+
+  public void replace(SourcePosition oldSpan, AST newAST, Stmt stmt, FuncDecl func) {
+    long from = key(oldSpan.lineStart, oldSpan.charStart);
+    long oldEnd = end(oldSpan);
+    long newEnd = end(newAST.position);
+    if (key(newAST.position.lineStart, newAST.position.charStart) != from)
+      throw new IllegalArgumentException("the new subtree starts elsewhere");
+
+    cut(from);
+    cut(oldEnd);
+    split(root, from);
+    Segment before = lower;
+    split(upper, oldEnd);
+    Segment after = upper;
+
+    Builder builder = new Builder(stmt, func);
+    new TreeWalker().walk(newAST, builder);
+    builder.sweep();
+    int count = builder.size;
+    if (count > 0 && builder.starts[count - 1] == newEnd)
+      count--; // the segment after newAST is the one after oldSpan
+
+    // move the rest: the line of oldSpan's end by the change in both
+    // line and column, and the lines after it by the change in line
+    int oldLine = (int) (oldEnd >>> 32), newLine = (int) (newEnd >>> 32);
+    split(after, key(oldLine + 1, 0));
+    Segment rest = upper;
+    move(lower, newLine - oldLine, (int) newEnd - (int) oldEnd);
+    move(rest, newLine - oldLine, 0);
+    after = merge(lower, rest);
+
+    root = merge(merge(before, build(builder, count)), after);
+  }
+
+  private static long key(int line, int column) {
+    return ((long) line << 32) | (column & 0xffffffffL);
+  }
+
+  // the position just after a span
+  private static long end(SourcePosition pos) {
+    return key(pos.lineFinish, pos.charFinish + 1);
+  }
+
+  private int random() {
+    seed ^= seed << 13;
+    seed ^= seed >>> 17;
+    seed ^= seed << 5;
+    return seed;
+  }
+
+  // Makes a treap of the first count segments of builder, which are in
+  // order, in O(count) time: each segment goes on the right spine, below
+  // the last segment on it of higher priority.
+
+  private Segment build(Builder builder, int count) {
+    Segment[] spine = new Segment[16];
+    int top = 0;
+    for (int i = 0; i < count; i++) {
+      Segment s = new Segment(builder.starts[i], builder.nodes[i],
+                              builder.stmts[i], builder.funcs[i], random());
+      Segment last = null;
+      while (top > 0 && spine[top - 1].priority < s.priority)
+        last = spine[--top];
+      s.left = last;
+      if (top > 0)
+        spine[top - 1].right = s;
+      if (top == spine.length)
+        spine = Arrays.copyOf(spine, 2 * top);
+      spine[top++] = s;
+    }
+    return (top == 0) ? null : spine[0];
+  }
+
+  // the segment that includes k, or null if k is before the first one.
+  // The moves pending on the way down are added up rather than done.
+
+  private Segment find(long k) {
+    Segment best = null;
+    int lineDelta = 0, columnDelta = 0;
+    Segment s = root;
+    while (s != null) {
+      long start = key(s.line + lineDelta, s.column + columnDelta);
+      lineDelta += s.lineDelta;
+      columnDelta += s.columnDelta;
+      if (start <= k) {
+        best = s;
+        s = s.right;
+      } else
+        s = s.left;
+    }
+    return best;
+  }
+
+  // makes k the start of a segment
+
+  private void cut(long k) {
+    split(root, k);
+    Segment before = lower, after = upper;
+    Segment next = first(after);
+    if (before != null && (next == null || key(next.line, next.column) != k)) {
+      Segment s = last(before);
+      after = merge(new Segment(k, s.node, s.stmt, s.func, random()), after);
+    }
+    root = merge(before, after);
+  }
+
+  private static Segment first(Segment t) {
+    if (t != null)
+      for (push(t); t.left != null; push(t))
+        t = t.left;
+    return t;
+  }
+
+  private static Segment last(Segment t) {
+    if (t != null)
+      for (push(t); t.right != null; push(t))
+        t = t.right;
+    return t;
+  }
+
+  private static void move(Segment t, int lineDelta, int columnDelta) {
+    if (t != null) {
+      t.line += lineDelta;
+      t.column += columnDelta;
+      t.lineDelta += lineDelta;
+      t.columnDelta += columnDelta;
+    }
+  }
+
+  // passes the move pending on t's subtree on to its children
+
+  private static void push(Segment t) {
+    if (t.lineDelta != 0 || t.columnDelta != 0) {
+      move(t.left, t.lineDelta, t.columnDelta);
+      move(t.right, t.lineDelta, t.columnDelta);
+      t.lineDelta = t.columnDelta = 0;
+    }
+  }
+
+  // splits t into lower, the segments starting before k, and upper
+
+  private void split(Segment t, long k) {
+    if (t == null) {
+      lower = upper = null;
+      return;
+    }
+    push(t);
+    if (key(t.line, t.column) < k) {
+      split(t.right, k);
+      t.right = lower;
+      lower = t;
+    } else {
+      split(t.left, k);
+      t.left = upper;
+      upper = t;
+    }
+  }
+
+  // joins a and b, all of whose segments follow those of a
+
+  private static Segment merge(Segment a, Segment b) {
+    if (a == null)
+      return b;
+    if (b == null)
+      return a;
+    if (a.priority > b.priority) {
+      push(a);
+      a.right = merge(a.right, b);
+      return a;
+    }
+    push(b);
+    b.left = merge(a, b.left);
+    return b;
+  }
+
+  // Collects the spans of a subtree, with the innermost statement and
+  // function declaration of each node, then cuts them into segments.
+
+  private static final class Builder extends WalkAdapter {
+
+    // the spans, in the order of the walk
+    long[] from = new long[64], to = new long[64];
+    AST[] spanNodes = new AST[64];
+    Stmt[] spanStmts = new Stmt[64];
+    FuncDecl[] spanFuncs = new FuncDecl[64];
+    int spans;
+
+    // the enclosing statements and functions of the current node
+    Stmt[] stmtPath = new Stmt[16];
+    FuncDecl[] funcPath = new FuncDecl[16];
+    int stmtDepth, funcDepth;
+
+    // the segments
+    long[] starts;
+    AST[] nodes;
+    Stmt[] stmts;
+    FuncDecl[] funcs;
+    int size;
+
+    Builder(Stmt stmt, FuncDecl func) {
+      if (stmt != null)
+        stmtPath[stmtDepth++] = stmt;
+      if (func != null)
+        funcPath[funcDepth++] = func;
+    }
+
+    public boolean enter(AST ast, Object o) {
+      if (ast instanceof Stmt) {
+        if (stmtDepth == stmtPath.length)
+          stmtPath = Arrays.copyOf(stmtPath, 2 * stmtDepth);
+        stmtPath[stmtDepth++] = (Stmt) ast;
+      } else if (ast instanceof FuncDecl) {
+        if (funcDepth == funcPath.length)
+          funcPath = Arrays.copyOf(funcPath, 2 * funcDepth);
+        funcPath[funcDepth++] = (FuncDecl) ast;
+      }
+
+      SourcePosition pos = ast.position;
+      if (pos == null || pos.lineStart <= 0)
+        return true;
+      long start = key(pos.lineStart, pos.charStart), end = end(pos);
+      if (start >= end)
+        return true;
+      if (spans == from.length) {
+        int length = 2 * spans;
+        from = Arrays.copyOf(from, length);
+        to = Arrays.copyOf(to, length);
+        spanNodes = Arrays.copyOf(spanNodes, length);
+        spanStmts = Arrays.copyOf(spanStmts, length);
+        spanFuncs = Arrays.copyOf(spanFuncs, length);
+      }
+      from[spans] = start;
+      to[spans] = end;
+      spanNodes[spans] = ast;
+      spanStmts[spans] = (stmtDepth > 0) ? stmtPath[stmtDepth - 1] : null;
+      spanFuncs[spans] = (funcDepth > 0) ? funcPath[funcDepth - 1] : null;
+      spans++;
+      return true;
+    }
+
+    public void exit(AST ast, Object o) {
+      if (ast instanceof Stmt)
+        stmtPath[--stmtDepth] = null;
+      else if (ast instanceof FuncDecl)
+        funcPath[--funcDepth] = null;
+    }
+
+    // Sweeps the starts and ends in order, with the spans that include
+    // the current point on a stack, innermost on top. A span is popped
+    // once it has ended and is on top.
+
+    void sweep() {
+      // by start, then outer spans first, then in walk order
+      Integer[] order = new Integer[spans];
+      for (int i = 0; i < spans; i++)
+        order[i] = i;
+      Arrays.sort(order, new Comparator<Integer>() {
+        public int compare(Integer a, Integer b) {
+          if (from[a] != from[b])
+            return Long.compare(from[a], from[b]);
+          if (to[a] != to[b])
+            return Long.compare(to[b], to[a]);
+          return Integer.compare(a, b);
+        }
+      });
+
+      long[] points = new long[2 * spans];
+      for (int i = 0; i < spans; i++) {
+        points[2 * i] = from[i];
+        points[2 * i + 1] = to[i];
+      }
+      Arrays.sort(points);
+
+      starts = new long[Math.max(1, 2 * spans)];
+      nodes = new AST[starts.length];
+      stmts = new Stmt[starts.length];
+      funcs = new FuncDecl[starts.length];
+      int[] stack = new int[16];
+      int top = 0, next = 0;
+      for (int p = 0; p < points.length; p++) {
+        long point = points[p];
+        if (p > 0 && point == points[p - 1])
+          continue;
+        while (next < spans && from[order[next]] == point) {
+          if (top == stack.length)
+            stack = Arrays.copyOf(stack, 2 * top);
+          stack[top++] = order[next++];
+        }
+        while (top > 0 && to[stack[top - 1]] <= point)
+          top--;
+        int span = (top > 0) ? stack[top - 1] : -1;
+        AST node = (span < 0) ? null : spanNodes[span];
+        if (size > 0 && nodes[size - 1] == node)
+          continue;
+        starts[size] = point;
+        nodes[size] = node;
+        stmts[size] = (span < 0) ? null : spanStmts[span];
+        funcs[size] = (span < 0) ? null : spanFuncs[span];
+        size++;
+      }
+    }
+  }
+
+}
@@ -11,7 +11,7 @@ public class Program extends AST {
   public List FL;
 
   public Program (List dlAST, SourcePosition position) {
-    super (position);
+    super (position, PROGRAM);
     FL = dlAST;
     FL.parent = this;
   }
@@ -20,4 +20,12 @@ public class Program extends AST {
     return v.visitProgram(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitProgram(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitProgram(this, arg);
+  }
+
 }
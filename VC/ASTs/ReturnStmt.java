@@ -11,7 +11,7 @@ public class ReturnStmt extends Stmt {
   public Expr E;
 
   public ReturnStmt(Expr eAST, SourcePosition Position) {
-    super (Position);
+    super (Position, RETURNSTMT);
     E = eAST;
     E.parent = this;
   }
@@ -20,4 +20,12 @@ public class ReturnStmt extends Stmt {
     return v.visitReturnStmt(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitReturnStmt(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitReturnStmt(this, arg);
+  }
+
 }
@@ -0,0 +1,142 @@
+/*
+ * Rewriter.java
+ *
+ * Persistent rewriting of an AST: a pass returns a new root and leaves
+ * the tree it was given as it was, so that readers of the old version
+ * (a drawer, a printer, a query) may go on using it, even while the
+ * pass runs in another thread.
+ *
+ * A node is never changed in place. When a child of a node is
+ * replaced, the node is copied with its new children, and so on up to
+ * the root (path copying); every subtree in which nothing is replaced
+ * is shared by the old and the new version. A rewrite thus allocates
+ * only the nodes on the paths from the root to the replaced ones.
+ *
+ * A subclass overrides rewrite(AST), which is called for every node
+ * after its children (post-order) and returns the node to put in its
+ * place, the node itself for none; e.g., a constant folder returns an
+ * IntExpr for a BinaryExpr whose children are both IntExprs. The node
+ * it is given is a copy if one of its children was replaced, so it can
+ * look at the new children. enter may skip a subtree, which is then
+ * kept as it is. The tree is walked by a TreeWalker, so trees of any
+ * depth can be rewritten.
+ *
+ * replace substitutes a single node, given a ParentMap of the tree,
+ * copying only its ancestors.
+ *
+ * A copy keeps the position of the node copied, and its annotations
+ * (Expr.type, Ident.decl, Decl.index); links such as Ident.decl still
+ * refer to the nodes of the version in which they were set. Copies are
+ * made by Nodes.copy, which writes no parent link, so no node of the
+ * old version is written, not even a parent link; the parent link of a
+ * copy is null, and a reader of either version that must go up the
+ * tree uses a ParentMap of the version read. A lazily parsed function
+ * body is parsed when walked, but stays deferred in the old version
+ * (see LazyCompoundStmt); the new version holds the parsed body if
+ * the function had to be copied.
+ */
+
+package VC.ASTs;
+
+import java.util.Arrays;
+
+public abstract class Rewriter {
+
+  private TreeWalker walker = new TreeWalker();
+
+  // the rewritten children of the nodes on the path being walked
+  private AST[] results = new AST[64];
+  private int count;
+  private int[] bases = new int[64];
+
+  // Returns the node to put in the place of ast, whose children have
+  // been rewritten, or ast itself.
+
+  protected abstract AST rewrite(AST ast);
+
+  // Called before the children of ast are walked. Returns false to
+  // leave the subtree rooted at ast as it is, rewrite(ast) aside.
+
+  protected boolean enter(AST ast) {
+    return true;
+  }
+
+  // Returns the rewritten tree, root itself if nothing was replaced.
+
+  public AST rewriteTree(AST root) {
+    int base = count;
+    walker.walk(root, new WalkAdapter() {
+      public boolean enter(AST ast, Object o) {
+        int depth = walker.depth();
+        if (depth == bases.length)
+          bases = Arrays.copyOf(bases, 2 * depth);
+        bases[depth - 1] = count;
+        return Rewriter.this.enter(ast);
+      }
+
+      public void exit(AST ast, Object o) {
+        int from = bases[walker.depth()];
+        AST node = ast;
+        if (count > from) {
+          AST[] c = Arrays.copyOfRange(results, from, count);
+          Arrays.fill(results, from, count, null);
+          count = from;
+          for (int i = 0; i < c.length; i++)
+            if (c[i] != Nodes.child(ast, i).resolve()) {
+              node = copy(ast, c);
+              break;
+            }
+        }
+        push(rewrite(node));
+      }
+    });
+    AST result = results[base];
+    results[base] = null;
+    count = base;
+    return result;
+  }
+
+  // Returns a new version of the tree map was built from, with
+  // replacement in the place of old, which must be in that tree. Only
+  // the ancestors of old are copied.
+
+  public static AST replace(ParentMap map, AST old, AST replacement) {
+    int id = map.id(old);
+    if (id < 0)
+      throw new IllegalArgumentException("the node is not in the tree");
+    AST node = map.node(id), result = replacement;
+    for (int p = map.parent(id); p >= 0; p = map.parent(p)) {
+      AST parent = map.node(p);
+      AST[] c = children(parent);
+      for (int i = 0; i < c.length; i++)
+        if (c[i] == node) {
+          c[i] = result;
+          break;
+        }
+      node = parent;
+      result = copy(parent, c);
+    }
+    return result;
+  }
+
+  // A copy of ast with the children c, of the same kinds as its own.
+
+  public static AST copy(AST ast, AST[] c) {
+    return Nodes.copy(ast, c);
+  }
+
+  // the children of ast, resolved
+  private static AST[] children(AST ast) {
+    AST[] c = new AST[Nodes.childCount(ast)];
+    for (int i = 0; i < c.length; i++)
+      c[i] = Nodes.child(ast, i).resolve();
+    return c;
+  }
+
+  private void push(AST ast) {
+    if (count == results.length)
+      results = Arrays.copyOf(results, 2 * count);
+    results[count++] = ast;
+  }
+
+}
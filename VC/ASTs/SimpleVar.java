@@ -11,7 +11,7 @@ public class SimpleVar extends Var {
   public Ident I;
 
   public SimpleVar(Ident idAST, SourcePosition thePosition) {
-    super (thePosition);
+    super (thePosition, SIMPLEVAR);
     I = idAST;
     I.parent = this;
   }
@@ -20,4 +20,12 @@ public class SimpleVar extends Var {
     return v.visitSimpleVar(this, o);
   }
 
+  public <R, A> R accept (TypedVisitor<R, A> v, A arg) {
+    return v.visitSimpleVar(this, arg);
+  }
+
+  public <A> int accept (IntVisitor<A> v, A arg) {
+    return v.visitSimpleVar(this, arg);
+  }
+
 }
@@ -8,8 +8,8 @@ import VC.Scanner.SourcePosition;
 
 public abstract class Stmt extends AST {
 
-  public Stmt (SourcePosition Position) {
-    super (Position);
+  public Stmt (SourcePosition Position, int kind) {
+    super (Position, kind);
   }
 
   // The following methods will be used in Assignments 4 and 5.
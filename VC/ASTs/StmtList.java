@@ -12,7 +12,7 @@ public class StmtList extends List {
   public List SL;
 
   public StmtList(Stmt sAST, List slAST, SourcePosition Position) {
-    super (Position);
+    super (Position, STMTLIST);
     S = sAST;
     SL = slAST;
     S.parent = SL.parent = this;
@@ -22,4 +22,12 @@ public class StmtList extends List {
     return v.visitStmtList(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitStmtList(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitStmtList(this, arg);
+  }
+
 }
@@ -12,7 +12,7 @@ public class StringExpr extends Expr {
   public StringLiteral SL;
 
   public StringExpr(StringLiteral slAST, SourcePosition position) {
-    super (position);
+    super (position, STRINGEXPR);
     SL = slAST;
     SL.parent = this;
   }
@@ -21,4 +21,12 @@ public class StringExpr extends Expr {
     return v.visitStringExpr(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitStringExpr(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitStringExpr(this, arg);
+  }
+
 }
@@ -9,11 +9,19 @@ import VC.Scanner.SourcePosition;
 public class StringLiteral extends Terminal {
 
   public StringLiteral (String value, SourcePosition position) {
-    super (value, position);
+    super (value, position, STRINGLITERAL);
   }
 
   public Object visit(Visitor v, Object o) {
     return v.visitStringLiteral(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitStringLiteral(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitStringLiteral(this, arg);
+  }
+
 }
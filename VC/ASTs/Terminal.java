@@ -10,8 +10,8 @@ abstract public class Terminal extends AST {
 
   public String spelling;
 
-  public Terminal (String value, SourcePosition Position) {
-    super (Position);
+  public Terminal (String value, SourcePosition Position, int kind) {
+    super (Position, kind);
     spelling = value;
   }
 
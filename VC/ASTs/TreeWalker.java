@@ -0,0 +1,106 @@
+/*
+ * TreeWalker.java
+ *
+ * Walks an AST without recursion, so that its depth is bounded only by
+ * the heap: a long StmtList or DeclList chain, or an expression such as
+ * a+b+c+... (a left-deep BinaryExpr), is as deep as the program is long
+ * and overflows the Java stack of a recursive visitor.
+ *
+ * The walker keeps the path from the root to the current node on an
+ * explicit stack and calls a WalkListener on the way down and up. The
+ * children of a node are those of Nodes, in the same order. A DEFERRED
+ * node is replaced by the node it resolves to before it is entered.
+ *
+ * A TreeWalker reuses its stack from one walk to the next, so it is
+ * not thread-safe; a listener may start a nested walk on the same
+ * walker, though.
+ */
+
+package VC.ASTs;
+
+import java.util.Arrays;
+
+public final class TreeWalker {
+
+  // returned by WalkListener.child to skip a child
+  public static final Object SKIP = new Object();
+
+  // the path being walked: node, its argument, its number of children
+  // to walk and the index of the next one
+  private AST[] nodes = new AST[64];
+  private Object[] args = new Object[64];
+  private int[] counts = new int[64];
+  private int[] next = new int[64];
+  private int depth;
+
+  public void walk(AST root, WalkListener listener) {
+    walk(root, listener, null);
+  }
+
+  public void walk(AST root, WalkListener listener, Object o) {
+    int base = depth;
+    push(root, listener, o);
+
+    try {
+      while (depth > base) {
+        int top = depth - 1;
+        AST ast = nodes[top];
+        if (next[top] < counts[top]) {
+          int i = next[top]++;
+          Object arg = listener.child(ast, i, args[top]);
+          if (arg != SKIP)
+            push(Nodes.child(ast, i), listener, arg);
+        } else {
+          Object arg = args[top];
+          nodes[top] = null;
+          args[top] = null;
+          depth--;
+          listener.exit(ast, arg);
+          if (depth > base) {
+            int parent = depth - 1;
+            listener.afterChild(nodes[parent], next[parent] - 1, args[parent]);
+          }
+        }
+      }
+    } finally {
+      // an exception leaves nothing on the stack for the next walk
+      while (depth > base) {
+        depth--;
+        nodes[depth] = null;
+        args[depth] = null;
+      }
+    }
+  }
+
+  // the number of nodes on the path from the root to the current node
+
+  public int depth() {
+    return depth;
+  }
+
+  // the node n levels above the current node, e.g., its parent for n = 1
+
+  public AST ancestor(int n) {
+    return nodes[depth - 1 - n];
+  }
+
+  private void push(AST ast, WalkListener listener, Object o) {
+    while (ast.kind == AST.DEFERRED)
+      ast = ast.resolve();
+    if (depth == nodes.length) {
+      int length = 2 * depth;
+      nodes = Arrays.copyOf(nodes, length);
+      args = Arrays.copyOf(args, length);
+      counts = Arrays.copyOf(counts, length);
+      next = Arrays.copyOf(next, length);
+    }
+    nodes[depth] = ast;
+    args[depth] = o;
+    next[depth] = 0;
+    counts[depth] = 0;
+    depth++;
+    if (listener.enter(ast, o))
+      counts[depth - 1] = Nodes.childCount(ast);
+  }
+
+}
@@ -8,8 +8,29 @@ import VC.Scanner.SourcePosition;
 
 public abstract class Type extends AST {
 
-  public Type(SourcePosition Position) {
-    super (Position);
+  // The primitive types are shared: the parser uses these instances for
+  // every declaration rather than allocating one per declaration, so
+  // their position is a dummy and their parent is null (the declaration
+  // carries the position). The constructors of the nodes holding them
+  // leave their parent alone, as parsers in several threads would
+  // otherwise write it at once. Primitive types can therefore be
+  // compared with ==, although equals still accepts other instances.
+
+  public static final Type booleanType = new BooleanType(new SourcePosition());
+  public static final Type intType = new IntType(new SourcePosition());
+  public static final Type floatType = new FloatType(new SourcePosition());
+  public static final Type stringType = new StringType(new SourcePosition());
+  public static final Type voidType = new VoidType(new SourcePosition());
+  public static final Type errorType = new ErrorType(new SourcePosition());
+
+  public Type(SourcePosition Position, int kind) {
+    super (Position, kind);
+  }
+
+  // whether this is one of the shared instances above
+  public boolean isShared() {
+    return this == booleanType || this == intType || this == floatType
+        || this == stringType || this == voidType || this == errorType;
   }
 
   // The following methods will be used in Assignments 4 and 5.
@@ -0,0 +1,93 @@
+/*
+ * TypedVisitor.java
+ *
+ * A Visitor whose methods return an R and take an A, so that callers
+ * need neither casts nor boxing of their own. The nodes are visited
+ * through AST.accept. A class may implement both this and Visitor,
+ * e.g. TypedVisitor<DrawingTree, Object>, and serve both kinds of
+ * caller with one set of methods.
+ */
+
+package VC.ASTs;
+
+public interface TypedVisitor<R, A> {
+
+  // Programs
+  public abstract R visitProgram(Program ast, A arg);
+
+  // Lists for denoting the null reference
+
+  public abstract R visitEmptyDeclList(EmptyDeclList ast, A arg);
+  public abstract R visitEmptyStmtList(EmptyStmtList ast, A arg);
+  public abstract R visitEmptyExprList(EmptyExprList ast, A arg);
+  public abstract R visitEmptyParaList(EmptyParaList ast, A arg);
+  public abstract R visitEmptyArgList(EmptyArgList ast, A arg);
+
+  // Declarations
+  public abstract R visitDeclList(DeclList ast, A arg);
+  public abstract R visitFuncDecl(FuncDecl ast, A arg);
+  public abstract R visitGlobalVarDecl(GlobalVarDecl ast, A arg);
+  public abstract R visitLocalVarDecl(LocalVarDecl ast, A arg);
+
+  // Stmts
+  public abstract R visitStmtList(StmtList ast, A arg);
+  public abstract R visitIfStmt(IfStmt ast, A arg);
+  public abstract R visitWhileStmt(WhileStmt ast, A arg);
+  public abstract R visitForStmt(ForStmt ast, A arg);
+  public abstract R visitBreakStmt(BreakStmt ast, A arg);
+  public abstract R visitContinueStmt(ContinueStmt ast, A arg);
+  public abstract R visitReturnStmt(ReturnStmt ast, A arg);
+  public abstract R visitCompoundStmt(CompoundStmt ast, A arg);
+  public abstract R visitExprStmt(ExprStmt ast, A arg);
+  public abstract R visitEmptyCompStmt(EmptyCompStmt ast, A arg);
+  public abstract R visitEmptyStmt(EmptyStmt ast, A arg);
+
+  // Expressions
+  public abstract R visitIntExpr(IntExpr ast, A arg);
+  public abstract R visitFloatExpr(FloatExpr ast, A arg);
+  public abstract R visitBooleanExpr(BooleanExpr ast, A arg);
+  public abstract R visitStringExpr(StringExpr ast, A arg);
+  public abstract R visitUnaryExpr(UnaryExpr ast, A arg);
+  public abstract R visitBinaryExpr(BinaryExpr ast, A arg);
+  public abstract R visitInitExpr(InitExpr ast, A arg);
+  public abstract R visitExprList(ExprList ast, A arg);
+  public abstract R visitArrayExpr(ArrayExpr ast, A arg);
+  public abstract R visitVarExpr(VarExpr ast, A arg);
+  public abstract R visitCallExpr(CallExpr ast, A arg);
+  public abstract R visitAssignExpr(AssignExpr ast, A arg);
+  public abstract R visitEmptyExpr(EmptyExpr ast, A arg);
+
+  // Literals and identifiers
+  public abstract R visitIntLiteral(IntLiteral ast, A arg);
+  public abstract R visitFloatLiteral(FloatLiteral ast, A arg);
+  public abstract R visitBooleanLiteral(BooleanLiteral ast, A arg);
+  public abstract R visitStringLiteral(StringLiteral ast, A arg);
+  public abstract R visitIdent(Ident ast, A arg);
+  public abstract R visitOperator(Operator ast, A arg);
+
+  // Parameters
+
+  public abstract R visitParaList(ParaList ast, A arg);
+  public abstract R visitParaDecl(ParaDecl ast, A arg);
+
+  // Arguments
+  public abstract R visitArgList(ArgList ast, A arg);
+  public abstract R visitArg(Arg ast, A arg);
+
+  // Types 
+  public abstract R visitVoidType(VoidType ast, A arg);
+  public abstract R visitBooleanType(BooleanType ast, A arg);
+  public abstract R visitIntType(IntType ast, A arg);
+  public abstract R visitFloatType(FloatType ast, A arg);
+  public abstract R visitStringType(StringType ast, A arg);
+  public abstract R visitArrayType(ArrayType ast, A arg);
+  public abstract R visitErrorType(ErrorType ast, A arg);
+
+
+  // Variables 
+  public abstract R visitSimpleVar(SimpleVar ast, A arg);
+
+  // Flat lists
+  public abstract R visitFlatList(FlatList ast, A arg);
+
+}
@@ -12,7 +12,7 @@ public class UnaryExpr extends Expr {
   public Expr E;
 
   public UnaryExpr(Operator oAST, Expr eAST, SourcePosition Position) {
-    super (Position);
+    super (Position, UNARYEXPR);
     O = oAST;
     E = eAST;
     O.parent = E.parent = this;
@@ -22,4 +22,12 @@ public class UnaryExpr extends Expr {
     return v.visitUnaryExpr(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitUnaryExpr(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitUnaryExpr(this, arg);
+  }
+
 }
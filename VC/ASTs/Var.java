@@ -10,8 +10,8 @@ public abstract class Var extends AST {
 
   public Type type;
 
-  public Var (SourcePosition Position) {
-    super (Position);
+  public Var (SourcePosition Position, int kind) {
+    super (Position, kind);
     type = null;
   }
 
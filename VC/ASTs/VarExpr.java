@@ -11,7 +11,7 @@ public class VarExpr extends Expr {
   public Var V;
 
   public VarExpr (Var vAST, SourcePosition position) {
-    super (position);
+    super (position, VAREXPR);
     V = vAST;
     V.parent = this;
   }
@@ -20,4 +20,12 @@ public class VarExpr extends Expr {
     return v.visitVarExpr(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitVarExpr(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitVarExpr(this, arg);
+  }
+
 }
@@ -9,15 +9,25 @@ import VC.Scanner.SourcePosition;
 public class VoidType extends Type {
 
   public VoidType (SourcePosition Position) {
-    super (Position);
+    super (Position, VOIDTYPE);
   }
 
   public Object visit (Visitor v, Object o) {
     return v.visitVoidType(this, o);
   }
 
+  public <R, A> R accept (TypedVisitor<R, A> v, A arg) {
+    return v.visitVoidType(this, arg);
+  }
+
+  public <A> int accept (IntVisitor<A> v, A arg) {
+    return v.visitVoidType(this, arg);
+  }
+
   public boolean equals(Object obj) {
-    if (obj != null && obj instanceof ErrorType)
+    if (obj == this)
+      return true;
+    else if (obj != null && obj instanceof ErrorType)
       return true;
     else    
       return (obj != null && obj instanceof VoidType);
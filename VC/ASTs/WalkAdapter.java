@@ -0,0 +1,26 @@
+/*
+ * WalkAdapter.java
+ *
+ * A WalkListener that walks every node, passing each node's argument
+ * on to its children, and does nothing else.
+ */
+
+package VC.ASTs;
+
+public abstract class WalkAdapter implements WalkListener {
+
+  public boolean enter(AST ast, Object o) {
+    return true;
+  }
+
+  public Object child(AST ast, int i, Object o) {
+    return o;
+  }
+
+  public void afterChild(AST ast, int i, Object o) {
+  }
+
+  public void exit(AST ast, Object o) {
+  }
+
+}
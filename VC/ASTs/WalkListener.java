@@ -0,0 +1,27 @@
+/*
+ * WalkListener.java
+ *
+ * The callbacks of a TreeWalker. Like the Object argument of a Visitor,
+ * each node is walked with an argument o, which the listener chooses
+ * for each child in child().
+ */
+
+package VC.ASTs;
+
+public interface WalkListener {
+
+  // Called before the children of ast are walked (pre-order). Returns
+  // false to skip all of them; exit is called either way.
+  public abstract boolean enter(AST ast, Object o);
+
+  // Called before the i-th child of ast is walked. Returns the argument
+  // to walk it with, or TreeWalker.SKIP to leave it out.
+  public abstract Object child(AST ast, int i, Object o);
+
+  // Called after the i-th child of ast has been walked (in-order).
+  public abstract void afterChild(AST ast, int i, Object o);
+
+  // Called after the children of ast (post-order).
+  public abstract void exit(AST ast, Object o);
+
+}
@@ -17,7 +17,7 @@ public class WhileStmt extends Stmt {
   public AST trueSuccessor, falseSuccessor;
 
   public WhileStmt (Expr eAST, Stmt sAST, SourcePosition Position) {
-    super (Position);
+    super (Position, WHILESTMT);
     E = eAST;
     S = sAST;
     E.parent = S.parent = this;
@@ -27,4 +27,12 @@ public class WhileStmt extends Stmt {
     return v.visitWhileStmt(this, o);
   }
 
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return v.visitWhileStmt(this, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return v.visitWhileStmt(this, arg);
+  }
+
 }
@@ -0,0 +1,53 @@
+/*
+ * AppendableWriter.java
+ *
+ * A Writer that passes everything written to it on to an Appendable
+ * such as a StringBuilder, so that the tree printer and unparser can
+ * write into memory. Closing it does not close the Appendable, and it
+ * can be pointed at another Appendable with setOut.
+ */
+
+package VC;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+public class AppendableWriter extends Writer {
+
+  private Appendable out;
+
+  public AppendableWriter(Appendable out) {
+    this.out = out;
+  }
+
+  public void setOut(Appendable out) {
+    this.out = out;
+  }
+
+  public void write(int c) throws IOException {
+    out.append((char) c);
+  }
+
+  public void write(char[] cbuf, int off, int len) throws IOException {
+    for (int i = off; i < off + len; i++)
+      out.append(cbuf[i]);
+  }
+
+  public void write(String str, int off, int len) throws IOException {
+    if (out instanceof Writer)
+      ((Writer) out).write(str, off, len); // no substring
+    else
+      out.append(str, off, off + len);
+  }
+
+  public void flush() throws IOException {
+    if (out instanceof Flushable)
+      ((Flushable) out).flush();
+  }
+
+  public void close() throws IOException {
+    flush();
+  }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * BinaryASTBenchmark.java
+ *
+ * Compares getting the AST of the given programs by parsing their
+ * source with reading it back from the binary form ASTWriter writes,
+ * both from memory. Every tree read back is first checked to be
+ * structurally the same as the parsed one.
+ *
+ * Usage: java VC.Benchmarks.BinaryASTBenchmark [-n iterations] file.vc ...
+ */
+
+package VC.Benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+
+import VC.ASTs.*;
+import VC.BinaryAST.ASTReader;
+import VC.BinaryAST.ASTWriter;
+import VC.Parser.Parser;
+import VC.Scanner.Scanner;
+import VC.Scanner.SourceFile;
+
+public class BinaryASTBenchmark {
+
+  private static final int WARMUP = 200;
+
+  private static int sink;
+
+  public static void main(String[] args) throws IOException {
+    int iterations = 2000;
+    int i = 0;
+
+    if (i + 1 < args.length && args[i].equals("-n")) {
+      iterations = Integer.parseInt(args[i + 1]);
+      i += 2;
+    }
+    if (i == args.length) {
+      System.out.println("Usage: java VC.Benchmarks.BinaryASTBenchmark [-n iterations] file.vc ...");
+      System.exit(1);
+    }
+
+    ArrayList<byte[]> sources = new ArrayList<byte[]>();
+    ArrayList<byte[]> binaries = new ArrayList<byte[]>();
+    for (; i < args.length; i++) {
+      byte[] program = Files.readAllBytes(Paths.get(args[i]));
+      AST ast = parse(program);
+      if (ast == null)
+        continue;
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      ASTWriter writer = new ASTWriter(bytes);
+      writer.write(ast);
+      writer.flush();
+      byte[] binary = bytes.toByteArray();
+      if (!ExprTable.equal(ast, read(binary)))
+        throw new AssertionError("the tree read back differs: " + args[i]);
+      sources.add(program);
+      binaries.add(binary);
+    }
+    if (sources.isEmpty()) {
+      System.out.println("no program could be parsed");
+      System.exit(1);
+    }
+
+    run(sources, binaries, WARMUP, false);
+    run(sources, binaries, WARMUP, true);
+
+    long parseNanos = run(sources, binaries, iterations, false);
+    long readNanos = run(sources, binaries, iterations, true);
+
+    long sourceBytes = 0, binaryBytes = 0;
+    for (int p = 0; p < sources.size(); p++) {
+      sourceBytes += sources.get(p).length;
+      binaryBytes += binaries.get(p).length;
+    }
+    double files = iterations * (double) sources.size();
+    System.out.printf("source %8d bytes, binary %8d bytes%n", sourceBytes, binaryBytes);
+    System.out.printf("parse  %10.0f programs/s%n", files / (parseNanos / 1e9));
+    System.out.printf("read   %10.0f programs/s%n", files / (readNanos / 1e9));
+    System.out.printf("speedup: %.2fx%n", (double) parseNanos / readNanos);
+    if (sink == 42) System.out.println();
+  }
+
+  private static long run(ArrayList<byte[]> sources, ArrayList<byte[]> binaries,
+                          int iterations, boolean binary) throws IOException {
+    long start = System.nanoTime();
+    for (int n = 0; n < iterations; n++)
+      for (int p = 0; p < sources.size(); p++) {
+        AST ast = binary ? read(binaries.get(p)) : parse(sources.get(p));
+        sink += ast.kind;
+      }
+    return System.nanoTime() - start;
+  }
+
+  private static AST parse(byte[] program) {
+    QuietReporter reporter = new QuietReporter();
+    Parser parser = new Parser(new Scanner(SourceFile.fromBytes(program), reporter), reporter);
+    return parser.parseProgram();
+  }
+
+  private static AST read(byte[] binary) throws IOException {
+    return new ASTReader(new ByteArrayInputStream(binary)).read();
+  }
+
+}
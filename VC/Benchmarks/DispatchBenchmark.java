@@ -0,0 +1,516 @@
+/*
+ * DispatchBenchmark.java
+ *
+ * Counts the nodes of parsed ASTs in three ways: through double
+ * dispatch (AST.accept calling an IntVisitor, so nothing is boxed),
+ * through one switch on AST.kind per node, as a hand-written pass
+ * would do it, and through the generic Nodes.childCount/child. All
+ * three are recursive, so only the dispatch differs. The programs are
+ * parsed once, with flat lists, before anything is timed.
+ *
+ * Usage: java VC.Benchmarks.DispatchBenchmark [-n iterations] file.vc ...
+ */
+
+package VC.Benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+
+import VC.ASTs.*;
+import VC.Parser.Parser;
+import VC.Scanner.Scanner;
+import VC.Scanner.SourceFile;
+
+public class DispatchBenchmark {
+
+  private static final int WARMUP = 2000;
+
+  private static int sink;
+
+  public static void main(String[] args) throws IOException {
+    int iterations = 20000;
+    int i = 0;
+
+    if (i + 1 < args.length && args[i].equals("-n")) {
+      iterations = Integer.parseInt(args[i + 1]);
+      i += 2;
+    }
+    if (i == args.length) {
+      System.out.println("Usage: java VC.Benchmarks.DispatchBenchmark [-n iterations] file.vc ...");
+      System.exit(1);
+    }
+
+    ArrayList<AST> trees = new ArrayList<AST>();
+    QuietReporter reporter = new QuietReporter();
+    for (; i < args.length; i++) {
+      byte[] program = Files.readAllBytes(Paths.get(args[i]));
+      Parser parser = new Parser(new Scanner(SourceFile.fromBytes(program), reporter), reporter);
+      parser.enableFlatLists();
+      Program ast = parser.parseProgram();
+      if (ast != null)
+        trees.add(ast);
+    }
+    if (trees.isEmpty()) {
+      System.out.println("no program could be parsed");
+      System.exit(1);
+    }
+    AST[] programs = trees.toArray(new AST[trees.size()]);
+
+    for (int p = 0; p < programs.length; p++) {
+      int count = countByVisitor(programs[p]);
+      if (countBySwitch(programs[p]) != count || countByNodes(programs[p]) != count)
+        throw new AssertionError("the counts differ");
+    }
+
+    for (int way = VISITOR; way <= NODES; way++)
+      run(programs, WARMUP, way);
+
+    long visitorNanos = run(programs, iterations, VISITOR);
+    long switchNanos = run(programs, iterations, SWITCH);
+    long nodesNanos = run(programs, iterations, NODES);
+
+    double files = iterations * (double) programs.length;
+    System.out.printf("visitor %10.0f programs/s%n", files / (visitorNanos / 1e9));
+    System.out.printf("switch  %10.0f programs/s (%.2fx)%n",
+                      files / (switchNanos / 1e9), (double) visitorNanos / switchNanos);
+    System.out.printf("Nodes   %10.0f programs/s (%.2fx)%n",
+                      files / (nodesNanos / 1e9), (double) visitorNanos / nodesNanos);
+    if (sink == 42) System.out.println();
+  }
+
+  private static final int VISITOR = 0, SWITCH = 1, NODES = 2;
+
+  private static long run(AST[] programs, int iterations, int way) {
+    long start = System.nanoTime();
+    for (int n = 0; n < iterations; n++)
+      for (int p = 0; p < programs.length; p++) {
+        if (way == VISITOR)
+          sink += countByVisitor(programs[p]);
+        else if (way == SWITCH)
+          sink += countBySwitch(programs[p]);
+        else
+          sink += countByNodes(programs[p]);
+      }
+    return System.nanoTime() - start;
+  }
+
+  private static final NodeCounter counter = new NodeCounter();
+
+  private static int countByVisitor(AST ast) {
+    return ast.accept(counter, null);
+  }
+
+  // a switch on the kind, reading the children straight from the fields
+
+  private static int countBySwitch(AST ast) {
+    switch (ast.kind) {
+      case AST.PROGRAM:
+        return 1 + countBySwitch(((Program) ast).FL);
+      case AST.DECLLIST: {
+        DeclList n = (DeclList) ast;
+        return 1
+          + countBySwitch(n.D)
+          + countBySwitch(n.DL);
+      }
+      case AST.FUNCDECL: {
+        FuncDecl n = (FuncDecl) ast;
+        return 1
+          + countBySwitch(n.T)
+          + countBySwitch(n.I)
+          + countBySwitch(n.PL)
+          + countBySwitch(n.S);
+      }
+      case AST.GLOBALVARDECL: {
+        GlobalVarDecl n = (GlobalVarDecl) ast;
+        return 1
+          + countBySwitch(n.T)
+          + countBySwitch(n.I)
+          + countBySwitch(n.E);
+      }
+      case AST.LOCALVARDECL: {
+        LocalVarDecl n = (LocalVarDecl) ast;
+        return 1
+          + countBySwitch(n.T)
+          + countBySwitch(n.I)
+          + countBySwitch(n.E);
+      }
+      case AST.STMTLIST: {
+        StmtList n = (StmtList) ast;
+        return 1
+          + countBySwitch(n.S)
+          + countBySwitch(n.SL);
+      }
+      case AST.IFSTMT: {
+        IfStmt n = (IfStmt) ast;
+        return 1
+          + countBySwitch(n.E)
+          + countBySwitch(n.S1)
+          + countBySwitch(n.S2);
+      }
+      case AST.WHILESTMT: {
+        WhileStmt n = (WhileStmt) ast;
+        return 1
+          + countBySwitch(n.E)
+          + countBySwitch(n.S);
+      }
+      case AST.FORSTMT: {
+        ForStmt n = (ForStmt) ast;
+        return 1
+          + countBySwitch(n.E1)
+          + countBySwitch(n.E2)
+          + countBySwitch(n.E3)
+          + countBySwitch(n.S);
+      }
+      case AST.RETURNSTMT:
+        return 1 + countBySwitch(((ReturnStmt) ast).E);
+      case AST.COMPOUNDSTMT: {
+        CompoundStmt n = (CompoundStmt) ast;
+        return 1
+          + countBySwitch(n.DL)
+          + countBySwitch(n.SL);
+      }
+      case AST.EXPRSTMT:
+        return 1 + countBySwitch(((ExprStmt) ast).E);
+      case AST.INTEXPR:
+        return 1 + countBySwitch(((IntExpr) ast).IL);
+      case AST.FLOATEXPR:
+        return 1 + countBySwitch(((FloatExpr) ast).FL);
+      case AST.BOOLEANEXPR:
+        return 1 + countBySwitch(((BooleanExpr) ast).BL);
+      case AST.STRINGEXPR:
+        return 1 + countBySwitch(((StringExpr) ast).SL);
+      case AST.UNARYEXPR: {
+        UnaryExpr n = (UnaryExpr) ast;
+        return 1
+          + countBySwitch(n.O)
+          + countBySwitch(n.E);
+      }
+      case AST.BINARYEXPR: {
+        BinaryExpr n = (BinaryExpr) ast;
+        return 1
+          + countBySwitch(n.E1)
+          + countBySwitch(n.O)
+          + countBySwitch(n.E2);
+      }
+      case AST.INITEXPR:
+        return 1 + countBySwitch(((InitExpr) ast).IL);
+      case AST.EXPRLIST: {
+        ExprList n = (ExprList) ast;
+        return 1
+          + countBySwitch(n.E)
+          + countBySwitch(n.EL);
+      }
+      case AST.ARRAYEXPR: {
+        ArrayExpr n = (ArrayExpr) ast;
+        return 1
+          + countBySwitch(n.V)
+          + countBySwitch(n.E);
+      }
+      case AST.VAREXPR:
+        return 1 + countBySwitch(((VarExpr) ast).V);
+      case AST.CALLEXPR: {
+        CallExpr n = (CallExpr) ast;
+        return 1
+          + countBySwitch(n.I)
+          + countBySwitch(n.AL);
+      }
+      case AST.ASSIGNEXPR: {
+        AssignExpr n = (AssignExpr) ast;
+        return 1
+          + countBySwitch(n.E1)
+          + countBySwitch(n.E2);
+      }
+      case AST.PARALIST: {
+        ParaList n = (ParaList) ast;
+        return 1
+          + countBySwitch(n.P)
+          + countBySwitch(n.PL);
+      }
+      case AST.PARADECL: {
+        ParaDecl n = (ParaDecl) ast;
+        return 1
+          + countBySwitch(n.T)
+          + countBySwitch(n.I);
+      }
+      case AST.ARGLIST: {
+        ArgList n = (ArgList) ast;
+        return 1
+          + countBySwitch(n.A)
+          + countBySwitch(n.AL);
+      }
+      case AST.ARG:
+        return 1 + countBySwitch(((Arg) ast).E);
+      case AST.ARRAYTYPE: {
+        ArrayType n = (ArrayType) ast;
+        return 1
+          + countBySwitch(n.T)
+          + countBySwitch(n.E);
+      }
+      case AST.SIMPLEVAR:
+        return 1 + countBySwitch(((SimpleVar) ast).I);
+      case AST.FLATLIST: {
+        FlatList n = (FlatList) ast;
+        int count = 1;
+        for (int i = 0; i < n.size(); i++)
+          count += countBySwitch(n.get(i));
+        return count;
+      }
+      case AST.DEFERRED:
+        return countBySwitch(ast.resolve());
+      default:
+        return 1;
+    }
+  }
+
+  // the generic child access of Nodes
+
+  private static int countByNodes(AST ast) {
+    int count = 1;
+    int n = Nodes.childCount(ast);
+    for (int i = 0; i < n; i++)
+      count += countByNodes(Nodes.child(ast, i));
+    return count;
+  }
+
+  private static final class NodeCounter implements IntVisitor<Object> {
+
+    public int visitProgram(Program ast, Object o) {
+      return 1 + ast.FL.accept(this, o);
+    }
+
+    public int visitEmptyDeclList(EmptyDeclList ast, Object o) {
+      return 1;
+    }
+
+    public int visitEmptyStmtList(EmptyStmtList ast, Object o) {
+      return 1;
+    }
+
+    public int visitEmptyExprList(EmptyExprList ast, Object o) {
+      return 1;
+    }
+
+    public int visitEmptyParaList(EmptyParaList ast, Object o) {
+      return 1;
+    }
+
+    public int visitEmptyArgList(EmptyArgList ast, Object o) {
+      return 1;
+    }
+
+    public int visitDeclList(DeclList ast, Object o) {
+      return 1 + ast.D.accept(this, o) + ast.DL.accept(this, o);
+    }
+
+    public int visitFuncDecl(FuncDecl ast, Object o) {
+      return 1
+        + ast.T.accept(this, o)
+        + ast.I.accept(this, o)
+        + ast.PL.accept(this, o)
+        + ast.S.accept(this, o);
+    }
+
+    public int visitGlobalVarDecl(GlobalVarDecl ast, Object o) {
+      return 1
+        + ast.T.accept(this, o)
+        + ast.I.accept(this, o)
+        + ast.E.accept(this, o);
+    }
+
+    public int visitLocalVarDecl(LocalVarDecl ast, Object o) {
+      return 1
+        + ast.T.accept(this, o)
+        + ast.I.accept(this, o)
+        + ast.E.accept(this, o);
+    }
+
+    public int visitStmtList(StmtList ast, Object o) {
+      return 1 + ast.S.accept(this, o) + ast.SL.accept(this, o);
+    }
+
+    public int visitIfStmt(IfStmt ast, Object o) {
+      return 1
+        + ast.E.accept(this, o)
+        + ast.S1.accept(this, o)
+        + ast.S2.accept(this, o);
+    }
+
+    public int visitWhileStmt(WhileStmt ast, Object o) {
+      return 1 + ast.E.accept(this, o) + ast.S.accept(this, o);
+    }
+
+    public int visitForStmt(ForStmt ast, Object o) {
+      return 1
+        + ast.E1.accept(this, o)
+        + ast.E2.accept(this, o)
+        + ast.E3.accept(this, o)
+        + ast.S.accept(this, o);
+    }
+
+    public int visitBreakStmt(BreakStmt ast, Object o) {
+      return 1;
+    }
+
+    public int visitContinueStmt(ContinueStmt ast, Object o) {
+      return 1;
+    }
+
+    public int visitReturnStmt(ReturnStmt ast, Object o) {
+      return 1 + ast.E.accept(this, o);
+    }
+
+    public int visitCompoundStmt(CompoundStmt ast, Object o) {
+      return 1 + ast.DL.accept(this, o) + ast.SL.accept(this, o);
+    }
+
+    public int visitExprStmt(ExprStmt ast, Object o) {
+      return 1 + ast.E.accept(this, o);
+    }
+
+    public int visitEmptyCompStmt(EmptyCompStmt ast, Object o) {
+      return 1;
+    }
+
+    public int visitEmptyStmt(EmptyStmt ast, Object o) {
+      return 1;
+    }
+
+    public int visitIntExpr(IntExpr ast, Object o) {
+      return 1 + ast.IL.accept(this, o);
+    }
+
+    public int visitFloatExpr(FloatExpr ast, Object o) {
+      return 1 + ast.FL.accept(this, o);
+    }
+
+    public int visitBooleanExpr(BooleanExpr ast, Object o) {
+      return 1 + ast.BL.accept(this, o);
+    }
+
+    public int visitStringExpr(StringExpr ast, Object o) {
+      return 1 + ast.SL.accept(this, o);
+    }
+
+    public int visitUnaryExpr(UnaryExpr ast, Object o) {
+      return 1 + ast.O.accept(this, o) + ast.E.accept(this, o);
+    }
+
+    public int visitBinaryExpr(BinaryExpr ast, Object o) {
+      return 1
+        + ast.E1.accept(this, o)
+        + ast.O.accept(this, o)
+        + ast.E2.accept(this, o);
+    }
+
+    public int visitInitExpr(InitExpr ast, Object o) {
+      return 1 + ast.IL.accept(this, o);
+    }
+
+    public int visitExprList(ExprList ast, Object o) {
+      return 1 + ast.E.accept(this, o) + ast.EL.accept(this, o);
+    }
+
+    public int visitArrayExpr(ArrayExpr ast, Object o) {
+      return 1 + ast.V.accept(this, o) + ast.E.accept(this, o);
+    }
+
+    public int visitVarExpr(VarExpr ast, Object o) {
+      return 1 + ast.V.accept(this, o);
+    }
+
+    public int visitCallExpr(CallExpr ast, Object o) {
+      return 1 + ast.I.accept(this, o) + ast.AL.accept(this, o);
+    }
+
+    public int visitAssignExpr(AssignExpr ast, Object o) {
+      return 1 + ast.E1.accept(this, o) + ast.E2.accept(this, o);
+    }
+
+    public int visitEmptyExpr(EmptyExpr ast, Object o) {
+      return 1;
+    }
+
+    public int visitIntLiteral(IntLiteral ast, Object o) {
+      return 1;
+    }
+
+    public int visitFloatLiteral(FloatLiteral ast, Object o) {
+      return 1;
+    }
+
+    public int visitBooleanLiteral(BooleanLiteral ast, Object o) {
+      return 1;
+    }
+
+    public int visitStringLiteral(StringLiteral ast, Object o) {
+      return 1;
+    }
+
+    public int visitIdent(Ident ast, Object o) {
+      return 1;
+    }
+
+    public int visitOperator(Operator ast, Object o) {
+      return 1;
+    }
+
+    public int visitParaList(ParaList ast, Object o) {
+      return 1 + ast.P.accept(this, o) + ast.PL.accept(this, o);
+    }
+
+    public int visitParaDecl(ParaDecl ast, Object o) {
+      return 1 + ast.T.accept(this, o) + ast.I.accept(this, o);
+    }
+
+    public int visitArgList(ArgList ast, Object o) {
+      return 1 + ast.A.accept(this, o) + ast.AL.accept(this, o);
+    }
+
+    public int visitArg(Arg ast, Object o) {
+      return 1 + ast.E.accept(this, o);
+    }
+
+    public int visitVoidType(VoidType ast, Object o) {
+      return 1;
+    }
+
+    public int visitBooleanType(BooleanType ast, Object o) {
+      return 1;
+    }
+
+    public int visitIntType(IntType ast, Object o) {
+      return 1;
+    }
+
+    public int visitFloatType(FloatType ast, Object o) {
+      return 1;
+    }
+
+    public int visitStringType(StringType ast, Object o) {
+      return 1;
+    }
+
+    public int visitArrayType(ArrayType ast, Object o) {
+      return 1 + ast.T.accept(this, o) + ast.E.accept(this, o);
+    }
+
+    public int visitErrorType(ErrorType ast, Object o) {
+      return 1;
+    }
+
+    public int visitSimpleVar(SimpleVar ast, Object o) {
+      return 1 + ast.I.accept(this, o);
+    }
+
+    public int visitFlatList(FlatList ast, Object o) {
+      int count = 1;
+      for (int i = 0; i < ast.size(); i++)
+        count += ast.get(i).accept(this, o);
+      return count;
+    }
+
+  }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * LauncherBenchmark.java
+ *
+ * Compares two ways of running the given programs: in this JVM with a
+ * Launcher, which emits, defines and runs each program's class from
+ * memory, and by writing the class file to disk and starting a JVM for
+ * it, as a test farm would otherwise. The programs are parsed and
+ * checked once, before anything is timed, and run with no input; the
+ * output of each is first checked to be the same both ways.
+ *
+ * Usage: java VC.Benchmarks.LauncherBenchmark [-n iterations] [-p launches] file.vc ...
+ *
+ * iterations is the number of runs of each program in this JVM,
+ * launches the number of JVMs started for each.
+ */
+
+package VC.Benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+
+import VC.ASTs.*;
+import VC.Checker.Checker;
+import VC.CodeGen.Emitter;
+import VC.CodeGen.Launcher;
+import VC.Parser.Parser;
+import VC.Scanner.Scanner;
+import VC.Scanner.SourceFile;
+
+public class LauncherBenchmark {
+
+  private static final int WARMUP = 200;
+
+  private static int sink;
+
+  public static void main(String[] args) throws IOException, InterruptedException {
+    int iterations = 2000;
+    int launches = 3;
+    int i = 0;
+
+    while (i + 1 < args.length && (args[i].equals("-n") || args[i].equals("-p"))) {
+      if (args[i].equals("-n"))
+        iterations = Integer.parseInt(args[i + 1]);
+      else
+        launches = Integer.parseInt(args[i + 1]);
+      i += 2;
+    }
+    if (i == args.length) {
+      System.out.println("Usage: java VC.Benchmarks.LauncherBenchmark [-n iterations] [-p launches] file.vc ...");
+      System.exit(1);
+    }
+
+    ArrayList<Program> trees = new ArrayList<Program>();
+    for (; i < args.length; i++) {
+      byte[] program = Files.readAllBytes(Paths.get(args[i]));
+      QuietReporter reporter = new QuietReporter();
+      Parser parser = new Parser(new Scanner(SourceFile.fromBytes(program), reporter), reporter);
+      Program ast = parser.parseProgram();
+      if (ast == null || reporter.numErrors != 0)
+        continue;
+      new Checker(reporter).check(ast);
+      if (reporter.numErrors == 0)
+        trees.add(ast);
+    }
+    if (trees.isEmpty()) {
+      System.out.println("no program could be compiled");
+      System.exit(1);
+    }
+    Program[] programs = trees.toArray(new Program[trees.size()]);
+
+    Path dir = Files.createTempDirectory("vc");
+    Emitter emitter = new Emitter();
+    for (int p = 0; p < programs.length; p++) {
+      FileOutputStream out = new FileOutputStream(new File(dir.toFile(), "P" + p + ".class"));
+      emitter.emit(programs[p], "P" + p, out);
+      out.close();
+    }
+
+    Launcher launcher = new Launcher();
+    for (int p = 0; p < programs.length; p++)
+      if (!runHere(launcher, programs[p]).equals(launch(dir, p)))
+        throw new AssertionError("program " + p + " prints other output in this JVM");
+
+    run(launcher, programs, WARMUP);
+
+    long hereNanos = run(launcher, programs, iterations);
+    long start = System.nanoTime();
+    for (int n = 0; n < launches; n++)
+      for (int p = 0; p < programs.length; p++)
+        sink += launch(dir, p).length();
+    long launchNanos = System.nanoTime() - start;
+
+    for (int p = 0; p < programs.length; p++)
+      Files.delete(dir.resolve("P" + p + ".class"));
+    Files.delete(dir);
+
+    double here = iterations * (double) programs.length / (hereNanos / 1e9);
+    double launched = launches * (double) programs.length / (launchNanos / 1e9);
+    System.out.printf("in this JVM %10.1f runs/s%n", here);
+    System.out.printf("one JVM each %9.1f runs/s%n", launched);
+    System.out.printf("speedup: %.0fx%n", here / launched);
+    if (sink == 42) System.out.println();
+  }
+
+  private static long run(Launcher launcher, Program[] programs, int iterations) {
+    long start = System.nanoTime();
+    for (int n = 0; n < iterations; n++)
+      for (int p = 0; p < programs.length; p++)
+        sink += runHere(launcher, programs[p]).length();
+    return System.nanoTime() - start;
+  }
+
+  // the output of a program run by launcher, up to an exception if it
+  // throws one
+
+  private static String runHere(Launcher launcher, Program program) {
+    StringBuilder output = new StringBuilder();
+    try {
+      launcher.run(program, "", output);
+    } catch (RuntimeException | Error e) {
+    }
+    return output.toString();
+  }
+
+  // the output of P<p> run in a JVM of its own
+
+  private static String launch(Path dir, int p) throws IOException, InterruptedException {
+    String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+    String classPath = dir + File.pathSeparator + System.getProperty("java.class.path");
+    ProcessBuilder builder = new ProcessBuilder(java, "-cp", classPath, "P" + p);
+    builder.redirectError(ProcessBuilder.Redirect.DISCARD);
+    Process process = builder.start();
+    process.getOutputStream().close();
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    InputStream in = process.getInputStream();
+    byte[] buffer = new byte[8192];
+    for (int n; (n = in.read(buffer)) > 0; )
+      output.write(buffer, 0, n);
+    process.waitFor();
+    return output.toString(StandardCharsets.UTF_8);
+  }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * OutlineBenchmark.java
+ *
+ * Measures an "outline" parse, which only needs the top-level
+ * declarations, done by an eager Parser and by one in lazy mode
+ * (function bodies brace-matched but not parsed).
+ *
+ * Usage: java VC.Benchmarks.OutlineBenchmark [-n iterations] file.vc ...
+ */
+
+package VC.Benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import VC.ASTs.*;
+import VC.ErrorReporter;
+import VC.Parser.Parser;
+import VC.Scanner.Scanner;
+import VC.Scanner.SourceFile;
+
+public class OutlineBenchmark {
+
+  private static final int WARMUP = 2000;
+
+  private static int sink;
+
+  public static void main(String[] args) throws IOException {
+    int iterations = 20000;
+    int i = 0;
+
+    if (i + 1 < args.length && args[i].equals("-n")) {
+      iterations = Integer.parseInt(args[i + 1]);
+      i += 2;
+    }
+    if (i == args.length) {
+      System.out.println("Usage: java VC.Benchmarks.OutlineBenchmark [-n iterations] file.vc ...");
+      System.exit(1);
+    }
+
+    byte[][] programs = new byte[args.length - i][];
+    for (int p = 0; p < programs.length; p++)
+      programs[p] = Files.readAllBytes(Paths.get(args[i + p]));
+
+    run(programs, WARMUP, false);
+    run(programs, WARMUP, true);
+
+    long eagerNanos = run(programs, iterations, false);
+    long lazyNanos = run(programs, iterations, true);
+
+    double files = iterations * (double) programs.length;
+    System.out.printf("eager %10.0f programs/s%n", files / (eagerNanos / 1e9));
+    System.out.printf("lazy  %10.0f programs/s%n", files / (lazyNanos / 1e9));
+    System.out.printf("speedup: %.2fx%n", (double) eagerNanos / lazyNanos);
+    if (sink == 42) System.out.println();
+  }
+
+  private static long run(byte[][] programs, int iterations, boolean lazy) {
+    ErrorReporter reporter = new QuietReporter();
+    long start = System.nanoTime();
+    for (int n = 0; n < iterations; n++)
+      for (int p = 0; p < programs.length; p++) {
+        reporter.numErrors = 0;
+        Parser parser = new Parser(new Scanner(SourceFile.fromBytes(programs[p]), reporter), reporter);
+        if (lazy)
+          parser.enableLazyParsing();
+        Program program = parser.parseProgram();
+        if (program != null)
+          sink += countFunctions(program.FL);
+      }
+    return System.nanoTime() - start;
+  }
+
+  private static int countFunctions(List list) {
+    int count = 0;
+    while (list instanceof DeclList) {
+      if (((DeclList) list).D instanceof FuncDecl)
+        count++;
+      list = ((DeclList) list).DL;
+    }
+    return count;
+  }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * PackedASTBenchmark.java
+ *
+ * Keeps many parsed copies of the given programs alive, once as heap
+ * ASTs and once as PackedASTs, and reports for each the heap in use
+ * and the time a full collection takes with them resident. Each copy
+ * is parsed anew, so the heap ASTs share nothing but the primitive
+ * types.
+ *
+ * Usage: java VC.Benchmarks.PackedASTBenchmark [-c copies] file.vc ...
+ */
+
+package VC.Benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+
+import VC.ASTs.*;
+import VC.Parser.Parser;
+import VC.Scanner.Scanner;
+import VC.Scanner.SourceFile;
+
+public class PackedASTBenchmark {
+
+  public static void main(String[] args) throws IOException {
+    int copies = 2000;
+    int i = 0;
+
+    if (i + 1 < args.length && args[i].equals("-c")) {
+      copies = Integer.parseInt(args[i + 1]);
+      i += 2;
+    }
+    if (i == args.length) {
+      System.out.println("Usage: java VC.Benchmarks.PackedASTBenchmark [-c copies] file.vc ...");
+      System.exit(1);
+    }
+
+    ArrayList<byte[]> programs = new ArrayList<byte[]>();
+    for (; i < args.length; i++)
+      programs.add(Files.readAllBytes(Paths.get(args[i])));
+
+    long base = usedHeap();
+    fullGCMillis();
+    double baseGC = fullGCMillis();
+
+    ArrayList<Program> trees = new ArrayList<Program>();
+    for (int c = 0; c < copies; c++)
+      for (byte[] program : programs) {
+        Program ast = parse(program);
+        if (ast != null)
+          trees.add(ast);
+      }
+    if (trees.isEmpty()) {
+      System.out.println("no program could be parsed");
+      System.exit(1);
+    }
+    long treeHeap = usedHeap() - base;
+    double treeGC = fullGCMillis();
+
+    ArrayList<PackedAST> packed = new ArrayList<PackedAST>(trees.size());
+    long offHeap = 0;
+    for (int t = 0; t < trees.size(); t++) {
+      PackedAST p = PackedAST.pack(trees.get(t));
+      if (t < programs.size() && !ExprTable.equal(trees.get(t), p.unpack()))
+        throw new AssertionError("the unpacked tree differs");
+      offHeap += p.size();
+      packed.add(p);
+    }
+    int count = trees.size();
+    trees = null;
+    long packedHeap = usedHeap() - base;
+    double packedGC = fullGCMillis();
+
+    System.out.printf("trees          %d%n", count);
+    System.out.printf("heap ASTs      %8.1f MB on the heap, full GC %6.1f ms%n",
+                      treeHeap / 1e6, treeGC - baseGC);
+    System.out.printf("PackedASTs     %8.1f MB on the heap, full GC %6.1f ms, %8.1f MB off it%n",
+                      packedHeap / 1e6, packedGC - baseGC, offHeap / 1e6);
+    if (packed.size() == 42) System.out.println();
+  }
+
+  private static Program parse(byte[] program) {
+    QuietReporter reporter = new QuietReporter();
+    Parser parser = new Parser(new Scanner(SourceFile.fromBytes(program), reporter), reporter);
+    return parser.parseProgram();
+  }
+
+  private static long usedHeap() {
+    fullGCMillis();
+    Runtime runtime = Runtime.getRuntime();
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  private static double fullGCMillis() {
+    long start = System.nanoTime();
+    System.gc();
+    return (System.nanoTime() - start) / 1e6;
+  }
+
+}
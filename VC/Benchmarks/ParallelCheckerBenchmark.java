@@ -0,0 +1,100 @@
+/*
+ * ParallelCheckerBenchmark.java
+ *
+ * Checks the given programs, once with a Checker and once with a
+ * ParallelChecker over the common ForkJoinPool, and checks that both
+ * report as many errors. The programs are parsed once, with flat
+ * lists, before anything is timed; checking a tree again overwrites
+ * its decorations.
+ *
+ * Usage: java VC.Benchmarks.ParallelCheckerBenchmark [-n iterations] file.vc ...
+ */
+
+package VC.Benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+
+import VC.ASTs.*;
+import VC.Checker.Checker;
+import VC.Checker.ParallelChecker;
+import VC.Parser.Parser;
+import VC.Scanner.Scanner;
+import VC.Scanner.SourceFile;
+
+public class ParallelCheckerBenchmark {
+
+  private static final int WARMUP = 100;
+
+  private static int sink;
+
+  public static void main(String[] args) throws IOException {
+    int iterations = 500;
+    int i = 0;
+
+    if (i + 1 < args.length && args[i].equals("-n")) {
+      iterations = Integer.parseInt(args[i + 1]);
+      i += 2;
+    }
+    if (i == args.length) {
+      System.out.println("Usage: java VC.Benchmarks.ParallelCheckerBenchmark [-n iterations] file.vc ...");
+      System.exit(1);
+    }
+
+    ArrayList<Program> trees = new ArrayList<Program>();
+    for (; i < args.length; i++) {
+      byte[] program = Files.readAllBytes(Paths.get(args[i]));
+      QuietReporter reporter = new QuietReporter();
+      Parser parser = new Parser(new Scanner(SourceFile.fromBytes(program), reporter), reporter);
+      parser.enableFlatLists();
+      Program ast = parser.parseProgram();
+      if (ast != null && reporter.numErrors == 0)
+        trees.add(ast);
+    }
+    if (trees.isEmpty()) {
+      System.out.println("no program could be parsed");
+      System.exit(1);
+    }
+    Program[] programs = trees.toArray(new Program[trees.size()]);
+
+    for (int p = 0; p < programs.length; p++)
+      if (check(programs[p], false) != check(programs[p], true))
+        throw new AssertionError("the parallel checker reports other errors");
+
+    run(programs, WARMUP, false);
+    run(programs, WARMUP, true);
+
+    long serialNanos = run(programs, iterations, false);
+    long parallelNanos = run(programs, iterations, true);
+
+    double files = iterations * (double) programs.length;
+    System.out.printf("threads  %d%n", ForkJoinPool.commonPool().getParallelism());
+    System.out.printf("serial   %10.0f programs/s%n", files / (serialNanos / 1e9));
+    System.out.printf("parallel %10.0f programs/s%n", files / (parallelNanos / 1e9));
+    System.out.printf("speedup: %.2fx%n", (double) serialNanos / parallelNanos);
+    if (sink == 42) System.out.println();
+  }
+
+  private static long run(Program[] programs, int iterations, boolean parallel) {
+    long start = System.nanoTime();
+    for (int n = 0; n < iterations; n++)
+      for (int p = 0; p < programs.length; p++)
+        sink += check(programs[p], parallel);
+    return System.nanoTime() - start;
+  }
+
+  // the number of errors reported
+
+  private static int check(Program program, boolean parallel) {
+    QuietReporter reporter = new QuietReporter();
+    if (parallel)
+      new ParallelChecker(reporter).check(program);
+    else
+      new Checker(reporter).check(program);
+    return reporter.numErrors;
+  }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * ParallelVisitBenchmark.java
+ *
+ * Unparses every top-level declaration of the given programs, once
+ * one after another and once with a ParallelVisit over the common
+ * ForkJoinPool, and checks that both give the same text. The programs
+ * are parsed once, with flat lists, before anything is timed.
+ *
+ * Usage: java VC.Benchmarks.ParallelVisitBenchmark [-n iterations] file.vc ...
+ */
+
+package VC.Benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+
+import VC.ASTs.*;
+import VC.Parser.Parser;
+import VC.Scanner.Scanner;
+import VC.Scanner.SourceFile;
+import VC.UnParser.UnParser;
+
+public class ParallelVisitBenchmark {
+
+  private static final int WARMUP = 200;
+
+  private static int sink;
+
+  // Each task unparses its declarations with an UnParser of its own.
+
+  private static final class Unparse extends ParallelVisit<Unparse.State, StringBuilder> {
+
+    static final class State {
+      StringBuilder text = new StringBuilder();
+      UnParser unparser = new UnParser(text);
+    }
+
+    protected State newState() {
+      return new State();
+    }
+
+    protected StringBuilder visit(AST unit, State state) {
+      state.text.setLength(0);
+      state.unparser.reset(state.text);
+      state.unparser.unparse(unit);
+      return new StringBuilder(state.text).append('\n');
+    }
+
+    protected StringBuilder merge(StringBuilder left, StringBuilder right) {
+      return left.append(right);
+    }
+
+    protected StringBuilder empty() {
+      return new StringBuilder();
+    }
+  }
+
+  public static void main(String[] args) throws IOException {
+    int iterations = 2000;
+    int i = 0;
+
+    if (i + 1 < args.length && args[i].equals("-n")) {
+      iterations = Integer.parseInt(args[i + 1]);
+      i += 2;
+    }
+    if (i == args.length) {
+      System.out.println("Usage: java VC.Benchmarks.ParallelVisitBenchmark [-n iterations] file.vc ...");
+      System.exit(1);
+    }
+
+    ArrayList<Program> trees = new ArrayList<Program>();
+    QuietReporter reporter = new QuietReporter();
+    for (; i < args.length; i++) {
+      byte[] program = Files.readAllBytes(Paths.get(args[i]));
+      Parser parser = new Parser(new Scanner(SourceFile.fromBytes(program), reporter), reporter);
+      parser.enableFlatLists();
+      Program ast = parser.parseProgram();
+      if (ast != null)
+        trees.add(ast);
+    }
+    if (trees.isEmpty()) {
+      System.out.println("no program could be parsed");
+      System.exit(1);
+    }
+    Program[] programs = trees.toArray(new Program[trees.size()]);
+
+    Unparse unparse = new Unparse();
+    for (int p = 0; p < programs.length; p++)
+      if (!serial(unparse, programs[p]).equals(unparse.visitDecls(programs[p]).toString()))
+        throw new AssertionError("the parallel result differs");
+
+    run(unparse, programs, WARMUP, false);
+    run(unparse, programs, WARMUP, true);
+
+    long serialNanos = run(unparse, programs, iterations, false);
+    long parallelNanos = run(unparse, programs, iterations, true);
+
+    double files = iterations * (double) programs.length;
+    System.out.printf("threads  %d%n", ForkJoinPool.commonPool().getParallelism());
+    System.out.printf("serial   %10.0f programs/s%n", files / (serialNanos / 1e9));
+    System.out.printf("parallel %10.0f programs/s%n", files / (parallelNanos / 1e9));
+    System.out.printf("speedup: %.2fx%n", (double) serialNanos / parallelNanos);
+    if (sink == 42) System.out.println();
+  }
+
+  private static long run(Unparse unparse, Program[] programs, int iterations,
+                          boolean parallel) {
+    long start = System.nanoTime();
+    for (int n = 0; n < iterations; n++)
+      for (int p = 0; p < programs.length; p++) {
+        if (parallel)
+          sink += unparse.visitDecls(programs[p]).length();
+        else
+          sink += serial(unparse, programs[p]).length();
+      }
+    return System.nanoTime() - start;
+  }
+
+  // the same declarations, one after another on this thread
+
+  private static String serial(Unparse unparse, Program program) {
+    Unparse.State state = unparse.newState();
+    StringBuilder text = new StringBuilder();
+    AST[] decls = Nodes.elements(program.FL);
+    for (int d = 0; d < decls.length; d++)
+      text.append(unparse.visit(decls[d], state));
+    return text.toString();
+  }
+
+}
@@ -0,0 +1,22 @@
+/*
+ * QuietReporter.java
+ *
+ * Counts errors without printing them, so that benchmarks measure
+ * parsing rather than console output.
+ */
+
+package VC.Benchmarks;
+
+import VC.ErrorReporter;
+import VC.Scanner.SourcePosition;
+
+class QuietReporter extends ErrorReporter {
+
+  public void reportError(String message, String tokenName, SourcePosition pos) {
+    numErrors++;
+  }
+
+  public void reportRestriction(String message) {
+  }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * ValidatorBenchmark.java
+ *
+ * Measures the throughput of the syntax-only Validator against a full
+ * parse (Scanner + Parser building the AST) over the same programs,
+ * all held in memory so that no file I/O is timed.
+ *
+ * Usage: java VC.Benchmarks.ValidatorBenchmark [-n iterations] file.vc ...
+ */
+
+package VC.Benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import VC.ErrorReporter;
+import VC.Parser.Parser;
+import VC.Recogniser.Validator;
+import VC.Scanner.Scanner;
+import VC.Scanner.SourceFile;
+import VC.Scanner.SourcePosition;
+
+public class ValidatorBenchmark {
+
+  private static final int WARMUP = 2000;
+
+  // the result of every run is folded in here so that the JIT
+  // cannot discard the work being measured
+  private static int sink;
+
+  public static void main(String[] args) throws IOException {
+    int iterations = 20000;
+    int i = 0;
+
+    if (i + 1 < args.length && args[i].equals("-n")) {
+      iterations = Integer.parseInt(args[i + 1]);
+      i += 2;
+    }
+    if (i == args.length) {
+      System.out.println("Usage: java VC.Benchmarks.ValidatorBenchmark [-n iterations] file.vc ...");
+      System.exit(1);
+    }
+
+    byte[][] programs = new byte[args.length - i][];
+    long bytes = 0;
+    for (int p = 0; p < programs.length; p++) {
+      programs[p] = Files.readAllBytes(Paths.get(args[i + p]));
+      bytes += programs[p].length;
+    }
+
+    runValidator(programs, WARMUP);
+    runParser(programs, WARMUP);
+
+    long validatorNanos = runValidator(programs, iterations);
+    long parserNanos = runParser(programs, iterations);
+
+    report("Validator", validatorNanos, iterations, programs.length, bytes);
+    report("Parser", parserNanos, iterations, programs.length, bytes);
+    System.out.printf("speedup: %.2fx%n", (double) parserNanos / validatorNanos);
+    if (sink == 42) System.out.println();
+  }
+
+  private static long runValidator(byte[][] programs, int iterations) {
+    long start = System.nanoTime();
+    for (int n = 0; n < iterations; n++)
+      for (int p = 0; p < programs.length; p++) {
+        SourcePosition pos = Validator.check(programs[p]);
+        sink += (pos == null) ? 1 : pos.lineStart;
+      }
+    return System.nanoTime() - start;
+  }
+
+  private static long runParser(byte[][] programs, int iterations) {
+    ErrorReporter reporter = new QuietReporter();
+    long start = System.nanoTime();
+    for (int n = 0; n < iterations; n++)
+      for (int p = 0; p < programs.length; p++) {
+        reporter.numErrors = 0;
+        Scanner scanner = new Scanner(SourceFile.fromBytes(programs[p]), reporter);
+        Parser parser = new Parser(scanner, reporter);
+        sink += (parser.parseProgram() == null) ? 0 : 1;
+      }
+    return System.nanoTime() - start;
+  }
+
+  private static void report(String name, long nanos, int iterations,
+                             int files, long bytes) {
+    double seconds = nanos / 1e9;
+    System.out.printf("%-10s %10.0f programs/s %8.2f MB/s%n", name,
+                      iterations * (double) files / seconds,
+                      iterations * (double) bytes / seconds / (1 << 20));
+  }
+
+}
@@ -0,0 +1,245 @@
+/*
+ * ASTReader.java
+ *
+ * Reads the trees an ASTWriter wrote, one at a time, either building
+ * each as VC.ASTs nodes or reporting its nodes to a NodeListener. The
+ * reader keeps the nodes on the path to the current one on a stack
+ * of its own, so trees of any depth can be read.
+ *
+ * A stream that does not start with the right magic bytes, or is of
+ * another VERSION, is refused with an IOException.
+ */
+
+package VC.BinaryAST;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import VC.ASTs.*;
+import VC.Scanner.SourcePosition;
+
+public class ASTReader {
+
+  private InputStream in;
+  private byte[] buffer = new byte[8192];
+  private int pos, limit;
+  private boolean started;
+
+  private ArrayList<String> strings = new ArrayList<String>();
+  private SourcePosition position = new SourcePosition();
+
+  // the nodes whose children are being read, and how many are left
+  private int[] kinds = new int[64];
+  private int[] left = new int[64];
+  private int depth;
+
+  private Builder builder = new Builder();
+
+  public ASTReader(InputStream in) {
+    this.in = in;
+  }
+
+  // Returns the next tree, or null at the end of the stream.
+
+  public AST read() throws IOException {
+    if (!read(builder))
+      return null;
+    return builder.take();
+  }
+
+  // Reports the nodes of the next tree to listener. Returns false,
+  // reporting nothing, at the end of the stream.
+
+  public boolean read(NodeListener listener) throws IOException {
+    if (!started) {
+      readHeader();
+      started = true;
+    }
+    if (!fill())
+      return false;
+
+    depth = 0;
+    int lastLine = 0, lastChar = 0, lastLineFinish = 0, lastCharFinish = 0;
+    do {
+      int kind = readVarint();
+      if (kind < 0 || kind >= AST.NUM_KINDS || kind == AST.DEFERRED)
+        throw new IOException("bad node kind " + kind);
+
+      int start = readVarint();
+      if (start == ASTWriter.DUMMY) {
+        position.lineStart = position.charStart = 0;
+        position.lineFinish = position.charFinish = 0;
+      } else {
+        if (start != ASTWriter.SAME) {
+          int n = start - ASTWriter.DELTA;
+          int lineDelta = (n >>> 1) ^ -(n & 1);
+          lastLine += lineDelta;
+          lastChar = (lineDelta == 0) ? lastChar + readSigned() : readSigned();
+          int lines = readSigned();
+          lastLineFinish = lastLine + lines;
+          lastCharFinish = (lines == 0) ? lastChar + readSigned() : readSigned();
+        }
+        position.lineStart = lastLine;
+        position.charStart = lastChar;
+        position.lineFinish = lastLineFinish;
+        position.charFinish = lastCharFinish;
+      }
+
+      String spelling = null;
+      int listKind = -1;
+      int children = Nodes.arity(kind);
+      if (kind >= AST.INTLITERAL && kind <= AST.OPERATOR)
+        spelling = readString();
+      else if (kind == AST.FLATLIST) {
+        listKind = readVarint();
+        children = readVarint();
+      }
+
+      listener.enter(kind, spelling, listKind, position, children);
+      if (children > 0) {
+        if (depth == kinds.length) {
+          kinds = Arrays.copyOf(kinds, 2 * depth);
+          left = Arrays.copyOf(left, 2 * depth);
+        }
+        kinds[depth] = kind;
+        left[depth] = children;
+        depth++;
+      } else {
+        listener.exit(kind);
+        // the nodes whose last child this was are complete as well
+        while (depth > 0 && --left[depth - 1] == 0) {
+          depth--;
+          listener.exit(kinds[depth]);
+        }
+      }
+    } while (depth > 0);
+    return true;
+  }
+
+  private void readHeader() throws IOException {
+    for (int i = 0; i < ASTWriter.MAGIC.length; i++)
+      if (readByte() != ASTWriter.MAGIC[i])
+        throw new IOException("not a binary AST stream");
+    int version = readVarint();
+    if (version != ASTWriter.VERSION)
+      throw new IOException("binary AST version " + version + ", expected "
+                            + ASTWriter.VERSION);
+  }
+
+  private String readString() throws IOException {
+    int s = readVarint();
+    if (s > 0) {
+      if (s > strings.size())
+        throw new IOException("bad string " + (s - 1));
+      return strings.get(s - 1);
+    }
+    int length = readVarint();
+    if (length < 0)
+      throw new IOException("bad string length " + length);
+    byte[] bytes = new byte[length];
+    for (int i = 0; i < length; i++)
+      bytes[i] = (byte) readByte();
+    String string = new String(bytes, StandardCharsets.UTF_8);
+    strings.add(string);
+    return string;
+  }
+
+  private int readSigned() throws IOException {
+    int n = readVarint();
+    return (n >>> 1) ^ -(n & 1);
+  }
+
+  private int readVarint() throws IOException {
+    int n = 0;
+    for (int shift = 0; shift < 35; shift += 7) {
+      int b = readByte();
+      n |= (b & 0x7f) << shift;
+      if ((b & 0x80) == 0)
+        return n;
+    }
+    throw new IOException("bad varint");
+  }
+
+  private int readByte() throws IOException {
+    if (!fill())
+      throw new EOFException("binary AST stream ends within a tree");
+    return buffer[pos++] & 0xff;
+  }
+
+  // false at the end of the stream
+
+  private boolean fill() throws IOException {
+    while (pos == limit) {
+      int n = in.read(buffer, 0, buffer.length);
+      if (n < 0)
+        return false;
+      pos = 0;
+      limit = n;
+    }
+    return true;
+  }
+
+  // Builds the nodes bottom-up: a node is made on exit, from the
+  // children waiting on the stack.
+
+  private static final class Builder implements NodeListener {
+
+    private int[] kinds = new int[64], listKinds = new int[64], bases = new int[64];
+    private String[] spellings = new String[64];
+    private SourcePosition[] positions = new SourcePosition[64];
+    private int depth;
+
+    private AST[] children = new AST[64];
+    private int childCount;
+
+    public void enter(int kind, String spelling, int listKind,
+                      SourcePosition position, int count) {
+      if (depth == kinds.length) {
+        int length = 2 * depth;
+        kinds = Arrays.copyOf(kinds, length);
+        listKinds = Arrays.copyOf(listKinds, length);
+        bases = Arrays.copyOf(bases, length);
+        spellings = Arrays.copyOf(spellings, length);
+        positions = Arrays.copyOf(positions, length);
+      }
+      SourcePosition pos = new SourcePosition();
+      pos.lineStart = position.lineStart;
+      pos.charStart = position.charStart;
+      pos.lineFinish = position.lineFinish;
+      pos.charFinish = position.charFinish;
+      kinds[depth] = kind;
+      listKinds[depth] = listKind;
+      spellings[depth] = spelling;
+      positions[depth] = pos;
+      bases[depth] = childCount;
+      depth++;
+    }
+
+    public void exit(int kind) {
+      depth--;
+      int base = bases[depth];
+      AST[] c = Arrays.copyOfRange(children, base, childCount);
+      Arrays.fill(children, base, childCount, null);
+      childCount = base;
+      AST ast = Nodes.make(kind, spellings[depth], listKinds[depth], positions[depth], c);
+      spellings[depth] = null;
+      positions[depth] = null;
+      if (childCount == children.length)
+        children = Arrays.copyOf(children, 2 * childCount);
+      children[childCount++] = ast;
+    }
+
+    // the tree just read
+    AST take() {
+      AST ast = children[0];
+      children[0] = null;
+      childCount = 0;
+      return ast;
+    }
+  }
+
+}
@@ -0,0 +1,178 @@
+/*
+ * ASTWriter.java
+ *
+ * Writes ASTs to a stream in a compact binary form that ASTReader
+ * reads back much faster than the program can be parsed again.
+ *
+ * A stream starts with the four bytes "VCAB" and the format VERSION,
+ * followed by any number of trees. A tree is its nodes in pre-order,
+ * each written as
+ *
+ *   kind         a varint (AST.PROGRAM, ...)
+ *   position     a varint SAME if it is that of the previous node
+ *                written with a position of its own, DUMMY if it is
+ *                all zeros (as for empty lists), and otherwise DELTA
+ *                plus the zigzag-encoded change in lineStart from that
+ *                node, followed by three zigzag varints: charStart as
+ *                the change from that node's if on the same line,
+ *                lineFinish as the change from lineStart, and
+ *                charFinish as the change from charStart if on the
+ *                same line; a column on another line than the one it
+ *                is relative to is written as it is
+ *   spelling     for a Terminal, a varint s: 0 means that a new
+ *                string follows (its length in bytes, as a varint, and
+ *                its UTF-8 bytes), and s > 0 the (s-1)-th string of the
+ *                stream
+ *   list kind    for a FlatList, a varint, then its size as a varint
+ *
+ * and then its children. The number of children of any other node is
+ * fixed by its kind (Nodes.arity). A DEFERRED node is written as the
+ * node it resolves to; annotations such as types are not written.
+ *
+ * The writer walks the tree with a TreeWalker, so trees of any depth
+ * can be written, and it buffers its output; call flush or close.
+ */
+
+package VC.BinaryAST;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+
+import VC.ASTs.*;
+import VC.Scanner.SourcePosition;
+
+public class ASTWriter extends WalkAdapter {
+
+  public static final int VERSION = 1;
+  static final byte[] MAGIC = { 'V', 'C', 'A', 'B' };
+
+  // how a position starts
+  static final int SAME = 0, DUMMY = 1, DELTA = 2;
+
+  private OutputStream out;
+  private byte[] buffer = new byte[8192];
+  private int count;
+  private boolean started;
+
+  private HashMap<String, Integer> strings = new HashMap<String, Integer>();
+  private TreeWalker walker = new TreeWalker();
+  private int lastLine, lastChar, lastLineFinish, lastCharFinish;
+  private IOException failure;
+
+  public ASTWriter(OutputStream out) {
+    this.out = out;
+  }
+
+  public void write(AST ast) throws IOException {
+    if (!started) {
+      writeBytes(MAGIC, 0, MAGIC.length);
+      writeVarint(VERSION);
+      started = true;
+    }
+    lastLine = lastChar = lastLineFinish = lastCharFinish = 0;
+    walker.walk(ast, this);
+    if (failure != null) {
+      IOException e = failure;
+      failure = null;
+      throw e;
+    }
+  }
+
+  public void flush() throws IOException {
+    out.write(buffer, 0, count);
+    count = 0;
+    out.flush();
+  }
+
+  public void close() throws IOException {
+    flush();
+    out.close();
+  }
+
+  public boolean enter(AST ast, Object o) {
+    if (failure != null)
+      return false;
+    try {
+      writeVarint(ast.kind);
+
+      SourcePosition pos = ast.position;
+      if (pos.lineStart == 0 && pos.charStart == 0
+          && pos.lineFinish == 0 && pos.charFinish == 0)
+        writeVarint(DUMMY);
+      else if (pos.lineStart == lastLine && pos.charStart == lastChar
+               && pos.lineFinish == lastLineFinish && pos.charFinish == lastCharFinish)
+        writeVarint(SAME);
+      else {
+        int lineDelta = pos.lineStart - lastLine;
+        writeVarint(DELTA + ((lineDelta << 1) ^ (lineDelta >> 31)));
+        writeSigned(lineDelta == 0 ? pos.charStart - lastChar : pos.charStart);
+        int lines = pos.lineFinish - pos.lineStart;
+        writeSigned(lines);
+        writeSigned(lines == 0 ? pos.charFinish - pos.charStart : pos.charFinish);
+        lastLine = pos.lineStart;
+        lastChar = pos.charStart;
+        lastLineFinish = pos.lineFinish;
+        lastCharFinish = pos.charFinish;
+      }
+
+      if (ast instanceof Terminal)
+        writeString(((Terminal) ast).spelling);
+      else if (ast.kind == AST.FLATLIST) {
+        FlatList list = (FlatList) ast;
+        writeVarint(list.listKind);
+        writeVarint(list.size());
+      }
+    } catch (IOException e) {
+      failure = e;
+      return false;
+    }
+    return true;
+  }
+
+  private void writeString(String s) throws IOException {
+    Integer id = strings.get(s);
+    if (id != null) {
+      writeVarint(id + 1);
+      return;
+    }
+    strings.put(s, strings.size());
+    byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+    writeVarint(0);
+    writeVarint(bytes.length);
+    writeBytes(bytes, 0, bytes.length);
+  }
+
+  private void writeSigned(int n) throws IOException {
+    writeVarint((n << 1) ^ (n >> 31));
+  }
+
+  // seven bits a byte, low bits first, the high bit set on all but the last
+
+  private void writeVarint(int n) throws IOException {
+    if (count + 5 > buffer.length) {
+      out.write(buffer, 0, count);
+      count = 0;
+    }
+    while ((n & ~0x7f) != 0) {
+      buffer[count++] = (byte) ((n & 0x7f) | 0x80);
+      n >>>= 7;
+    }
+    buffer[count++] = (byte) n;
+  }
+
+  private void writeBytes(byte[] bytes, int offset, int length) throws IOException {
+    if (count + length > buffer.length) {
+      out.write(buffer, 0, count);
+      count = 0;
+      if (length > buffer.length) {
+        out.write(bytes, offset, length);
+        return;
+      }
+    }
+    System.arraycopy(bytes, offset, buffer, count, length);
+    count += length;
+  }
+
+}
@@ -0,0 +1,23 @@
+/*
+ * NodeListener.java
+ *
+ * The events ASTReader.read(NodeListener) reports for a tree, in the
+ * order its nodes were written (pre-order), without building it.
+ */
+
+package VC.BinaryAST;
+
+import VC.Scanner.SourcePosition;
+
+public interface NodeListener {
+
+  // Called when a node starts; its children follow, then exit.
+  // spelling is that of a Terminal and listKind that of a FlatList,
+  // null and -1 otherwise. The reader reuses position from one call
+  // to the next.
+  public abstract void enter(int kind, String spelling, int listKind,
+                             SourcePosition position, int childCount);
+
+  public abstract void exit(int kind);
+
+}
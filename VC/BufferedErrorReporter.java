@@ -0,0 +1,75 @@
+/*
+ * BufferedErrorReporter.java
+ *
+ * An ErrorReporter that holds on to its errors instead of printing
+ * them, so that work done on another thread can report its errors
+ * later, in a deterministic order, through the real reporter.
+ */
+
+package VC;
+
+import java.util.ArrayList;
+
+import VC.Scanner.SourcePosition;
+
+public class BufferedErrorReporter extends ErrorReporter {
+
+  // the errors and restrictions in the order reported; a restriction
+  // has no position
+  private ArrayList<Entry> entries = new ArrayList<Entry>();
+
+  private static final class Entry {
+
+    final String message, tokenName;
+    final SourcePosition pos;
+
+    Entry(String message, String tokenName, SourcePosition pos) {
+      this.message = message;
+      this.tokenName = tokenName;
+      this.pos = pos;
+    }
+  }
+
+  public void reportError(String message, String tokenName, SourcePosition pos) {
+    entries.add(new Entry(message, tokenName, pos));
+    numErrors++;
+  }
+
+  public void reportRestriction(String message) {
+    entries.add(new Entry(message, null, null));
+  }
+
+  // the position of the i-th error reported
+
+  public SourcePosition getPosition(int i) {
+    int k = i;
+    for (Entry e : entries)
+      if (e.pos != null && k-- == 0)
+        return e.pos;
+    throw new IndexOutOfBoundsException("error " + i);
+  }
+
+  // Passes the buffered errors and restrictions on to reporter, in the
+  // order they were reported, and empties the buffer.
+
+  public void flushTo(ErrorReporter reporter) {
+    replayTo(reporter);
+    reset();
+  }
+
+  // The same, but keeps the buffer, to be passed on again.
+
+  public void replayTo(ErrorReporter reporter) {
+    for (Entry e : entries)
+      if (e.pos != null)
+        reporter.reportError(e.message, e.tokenName, e.pos);
+      else
+        reporter.reportRestriction(e.message);
+  }
+
+  public void reset() {
+    entries.clear();
+    numErrors = 0;
+  }
+
+}
@@ -0,0 +1,30 @@
+/*
+ * ByteBufferOutputStream.java
+ *
+ * An OutputStream that writes into a ByteBuffer, starting at the
+ * buffer's position. Writing past the buffer's limit throws a
+ * BufferOverflowException.
+ */
+
+package VC;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+public class ByteBufferOutputStream extends OutputStream {
+
+  private ByteBuffer buffer;
+
+  public ByteBufferOutputStream(ByteBuffer buffer) {
+    this.buffer = buffer;
+  }
+
+  public void write(int b) {
+    buffer.put((byte) b);
+  }
+
+  public void write(byte[] b, int off, int len) {
+    buffer.put(b, off, len);
+  }
+
+}
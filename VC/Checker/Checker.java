@@ -0,0 +1,604 @@
+/*
+ * Checker.java
+ *
+ * Checks that a program, represented by its AST, satisfies the
+ * language's scope rules and type rules, and decorates the AST:
+ *
+ *  (1) each occurrence of an identifier is linked by Ident.decl to
+ *      the declaration of that identifier (a declaration's own
+ *      identifier to the declaration itself), and
+ *  (2) each expression is decorated by its type (Expr.type), and each
+ *      variable by that of its declaration (Var.type).
+ *
+ * The checker does both in one walk of the AST with a TreeWalker, so
+ * the depth of the AST is not limited by the Java stack. Declarations
+ * are entered in the SymbolTable as they are met, so an identifier must
+ * be declared before it is used; a function is entered before its
+ * parameters and body, so it may call itself. The parameters and the
+ * body of a function share a scope. An expression is typed when it is
+ * exited, from the types of its children; an ill-typed one is given
+ * errorType, which is compatible with every type, so that an error is
+ * reported once rather than at every enclosing expression.
+ *
+ * A ParallelChecker checks the bodies of the functions of a program
+ * with a Checker per thread, each body on its own, against the
+ * top-level declarations entered by a serial pass (checkTopLevel) in
+ * a GlobalEnvironment.
+ *
+ * With enableDefUseIndex, check also records the uses of every
+ * declaration in a DefUseIndex as it resolves them.
+ *
+ * An IncrementalChecker checks each top-level declaration on its own
+ * (checkUnit) against a GlobalEnvironment, recording the global
+ * identifiers it looks up, so that after an edit only the declarations
+ * affected need to be checked again.
+ *
+ * A Checker may check one program after another, but is not
+ * thread-safe. A tree with shared subtrees (see ExprTable) must not be
+ * checked.
+ */
+
+package VC.Checker;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import VC.ASTs.*;
+import VC.ErrorReporter;
+import VC.StdEnvironment;
+import VC.Scanner.SourcePosition;
+
+public final class Checker extends WalkAdapter {
+
+  private static final String errMesg[] = {
+    "*0: main function is missing",
+    "*1: return type of main is not int",
+
+    // defined occurrences of identifiers
+    // for global, local and parameters
+    "*2: identifier redeclared",
+    "*3: identifier declared void",
+    "*4: identifier declared void[]",
+
+    // applied occurrences of identifiers
+    "*5: identifier undeclared",
+
+    // assignments
+    "*6: incompatible type for =",
+    "*7: invalid lvalue in assignment",
+
+     // types for expressions
+    "*8: incompatible type for return",
+    "*9: incompatible type for this binary operator",
+    "*10: incompatible type for this unary operator",
+
+     // scalars
+     "*11: attempt to use an array/function as a scalar",
+
+     // arrays
+     "*12: attempt to use a scalar/function as an array",
+     "*13: wrong type for element in array initialiser",
+     "*14: invalid initialiser: array initialiser for scalar",
+     "*15: invalid initialiser: scalar initialiser for array",
+     "*16: excess elements in array initialiser",
+     "*17: array subscript is not an integer",
+     "*18: array size missing",
+
+     // functions
+     "*19: attempt to reference a scalar/array as a function",
+
+     // conditional expressions in if, for and while
+    "*20: if conditional is not boolean",
+    "*21: for conditional is not boolean",
+    "*22: while conditional is not boolean",
+
+    // break and continue
+    "*23: break must be in a while/for",
+    "*24: continue must be in a while/for",
+
+    // parameters
+    "*25: too many actual parameters",
+    "*26: too few actual parameters",
+    "*27: wrong type for actual parameter",
+  };
+
+  private SymbolTable idTable = new SymbolTable();
+  private TreeWalker walker = new TreeWalker();
+  private ErrorReporter reporter;
+
+  private FuncDecl currentFunc;
+  private int loopDepth;
+
+  // when a body is checked on its own: the top-level declarations, the
+  // unit of the body, and its function, declared already
+  private GlobalEnvironment globals;
+  private int unit;
+  private FuncDecl declared;
+  private Set<String> uses;
+
+  // the def-use index being built, and the ids of the nodes on the
+  // path being walked
+  private boolean indexing;
+  private DefUseIndex.Builder defUse;
+  private DefUseIndex index;
+  private int[] ids = new int[64];
+  private int nodeCount;
+
+  public Checker (ErrorReporter reporter) {
+    this.reporter = reporter;
+  }
+
+  public void check(AST ast) {
+    begin();
+    if (indexing) {
+      defUse = new DefUseIndex.Builder();
+      nodeCount = 0;
+    }
+    try {
+      walker.walk(ast, this);
+      if (indexing)
+        index = defUse.build();
+    } finally {
+      defUse = null;
+    }
+  }
+
+  public void enableDefUseIndex() {
+    indexing = true;
+  }
+
+  // the index built by the last check, or null
+  public DefUseIndex defUseIndex() {
+    return index;
+  }
+
+  // The serial pass of a ParallelChecker, which calls begin, then
+  // checkTopLevel on each top-level declaration, in order, and then
+  // checkMain. A function is only declared; its parameters and body
+  // are left to checkBody.
+
+  void begin() {
+    idTable.clear();
+    idTable.openScope();
+    for (FuncDecl decl : StdEnvironment.functions)
+      idTable.insert(decl.I.spelling, decl);
+    currentFunc = null;
+    loopDepth = 0;
+    globals = null;
+    declared = null;
+  }
+
+  void checkTopLevel(Decl decl, ErrorReporter reporter) {
+    this.reporter = reporter;
+    if (decl.isFuncDecl())
+      declare(decl.I, decl);
+    else
+      walker.walk(decl, this);
+  }
+
+  void checkMain(AST program, ErrorReporter reporter) {
+    this.reporter = reporter;
+    checkMain(program, idTable.retrieveOneLevel("main"));
+  }
+
+  void checkMain(AST program, Decl main, ErrorReporter reporter) {
+    this.reporter = reporter;
+    checkMain(program, main);
+  }
+
+  // Checks the parameters and body of f, the declaration of the given
+  // unit, whose identifiers not declared in f are looked up in globals.
+
+  void checkBody(FuncDecl f, GlobalEnvironment globals, int unit,
+                 ErrorReporter reporter) {
+    idTable.clear();
+    this.reporter = reporter;
+    this.globals = globals;
+    this.unit = unit;
+    declared = f;
+    currentFunc = null;
+    loopDepth = 0;
+    try {
+      walker.walk(f, this);
+    } finally {
+      this.globals = null;
+      declared = null;
+    }
+  }
+
+  // Checks a top-level declaration, the given unit of its program, on
+  // its own: the identifiers it does not declare itself are looked up
+  // in globals, as they are declared before it (a function, with
+  // itself), and added to uses, if not null, with its own.
+
+  void checkUnit(Decl decl, GlobalEnvironment globals, int unit,
+                 Set<String> uses, ErrorReporter reporter) {
+    idTable.clear();
+    this.reporter = reporter;
+    this.globals = globals;
+    this.uses = uses;
+    currentFunc = null;
+    loopDepth = 0;
+    if (uses != null)
+      uses.add(decl.I.spelling);
+    try {
+      if (decl.isFuncDecl()) {
+        if (globals.retrieve(decl.I.spelling, unit - 1) != null)
+          error(2, decl.I.spelling, decl.I.position);
+        decl.I.decl = decl;
+        declared = (FuncDecl) decl;
+        this.unit = unit;
+      } else
+        this.unit = unit - 1; // a variable is not in scope in its initialiser
+      walker.walk(decl, this);
+    } finally {
+      this.globals = null;
+      this.uses = null;
+      declared = null;
+    }
+  }
+
+  public boolean enter(AST ast, Object o) {
+    if (defUse != null) {
+      int depth = walker.depth();
+      if (depth > ids.length)
+        ids = Arrays.copyOf(ids, 2 * depth);
+      ids[depth - 1] = nodeCount++;
+    }
+    switch (ast.kind) {
+      case AST.FUNCDECL: {
+        FuncDecl f = (FuncDecl) ast;
+        if (f != declared)
+          declare(f.I, f);
+        if (defUse != null)
+          defUse.declare(f, ids[walker.depth() - 1]);
+        currentFunc = f;
+        idTable.openScope();
+        break;
+      }
+      case AST.COMPOUNDSTMT:
+        // a function's body is in the scope of its parameters
+        if (walker.depth() < 2 || walker.ancestor(1).kind != AST.FUNCDECL)
+          idTable.openScope();
+        break;
+      case AST.WHILESTMT:
+      case AST.FORSTMT:
+        loopDepth++;
+        break;
+    }
+    return true;
+  }
+
+  public void exit(AST ast, Object o) {
+    switch (ast.kind) {
+      case AST.PROGRAM:
+        checkMain(ast, idTable.retrieveOneLevel("main"));
+        break;
+
+      // Declarations
+
+      case AST.FUNCDECL:
+        idTable.closeScope();
+        currentFunc = null;
+        break;
+      case AST.GLOBALVARDECL:
+        checkVarDecl((Decl) ast, ((GlobalVarDecl) ast).E);
+        break;
+      case AST.LOCALVARDECL:
+        checkVarDecl((Decl) ast, ((LocalVarDecl) ast).E);
+        break;
+      case AST.PARADECL: {
+        ParaDecl p = (ParaDecl) ast;
+        checkDeclType(p);
+        declare(p.I, p);
+        break;
+      }
+
+      case AST.IDENT:
+        // an applied occurrence: of a variable, or a function called
+        if (walker.depth() > 0) {
+          int parent = walker.ancestor(0).kind;
+          if (parent == AST.SIMPLEVAR || parent == AST.CALLEXPR)
+            resolve((Ident) ast);
+        }
+        break;
+
+      // Statements
+
+      case AST.COMPOUNDSTMT:
+        if (walker.depth() == 0 || walker.ancestor(0).kind != AST.FUNCDECL)
+          idTable.closeScope();
+        break;
+      case AST.IFSTMT:
+        checkCondition(((IfStmt) ast).E, 20);
+        break;
+      case AST.WHILESTMT:
+        loopDepth--;
+        checkCondition(((WhileStmt) ast).E, 22);
+        break;
+      case AST.FORSTMT: {
+        loopDepth--;
+        Expr e = ((ForStmt) ast).E2;
+        if (!e.isEmptyExpr())
+          checkCondition(e, 21);
+        break;
+      }
+      case AST.BREAKSTMT:
+        if (loopDepth == 0)
+          error(23, "", ast.position);
+        break;
+      case AST.CONTINUESTMT:
+        if (loopDepth == 0)
+          error(24, "", ast.position);
+        break;
+      case AST.RETURNSTMT:
+        checkReturn((ReturnStmt) ast);
+        break;
+
+      // Expressions
+
+      case AST.INTEXPR:
+        ((Expr) ast).type = StdEnvironment.intType;
+        break;
+      case AST.FLOATEXPR:
+        ((Expr) ast).type = StdEnvironment.floatType;
+        break;
+      case AST.BOOLEANEXPR:
+        ((Expr) ast).type = StdEnvironment.booleanType;
+        break;
+      case AST.STRINGEXPR:
+        ((Expr) ast).type = StdEnvironment.stringType;
+        break;
+      case AST.EMPTYEXPR:
+        ((Expr) ast).type = StdEnvironment.errorType;
+        break;
+      case AST.UNARYEXPR:
+        checkUnaryExpr((UnaryExpr) ast);
+        break;
+      case AST.BINARYEXPR:
+        checkBinaryExpr((BinaryExpr) ast);
+        break;
+      case AST.INITEXPR:
+        // checked by the declaration initialised
+        ((Expr) ast).type = StdEnvironment.errorType;
+        break;
+      case AST.SIMPLEVAR: {
+        SimpleVar v = (SimpleVar) ast;
+        AST decl = v.I.decl;
+        v.type = (decl == null) ? StdEnvironment.errorType : ((Decl) decl).T;
+        break;
+      }
+      case AST.VAREXPR:
+        checkVarExpr((VarExpr) ast);
+        break;
+      case AST.ARRAYEXPR:
+        checkArrayExpr((ArrayExpr) ast);
+        break;
+      case AST.CALLEXPR:
+        checkCallExpr((CallExpr) ast);
+        break;
+      case AST.ASSIGNEXPR:
+        checkAssignExpr((AssignExpr) ast);
+        break;
+      case AST.ARG: {
+        Arg a = (Arg) ast;
+        a.type = a.E.type;
+        break;
+      }
+    }
+  }
+
+  // auxiliary methods
+
+  private void error(int n, String spelling, SourcePosition pos) {
+    if (spelling.isEmpty())
+      reporter.reportError(errMesg[n], "", pos);
+    else
+      reporter.reportError(errMesg[n] + ": %", spelling, pos);
+  }
+
+  private void declare(Ident ident, Decl decl) {
+    int id = idTable.intern(ident.spelling);
+    if (idTable.retrieveOneLevel(id) != null
+        || (globals != null && idTable.level() == 0
+            && globals.retrieve(ident.spelling, unit) != null))
+      error(2, ident.spelling, ident.position);
+    idTable.insert(id, decl);
+    ident.decl = decl;
+    if (defUse != null && !decl.isFuncDecl())
+      defUse.declare(decl, ids[walker.depth()]); // on exit from decl
+  }
+
+  // Links an applied occurrence of an identifier to its declaration,
+  // which is returned, or null if there is none.
+
+  private Decl resolve(Ident ident) {
+    Decl decl = idTable.retrieve(ident.spelling);
+    if (decl == null && globals != null) {
+      decl = globals.retrieve(ident.spelling, unit);
+      if (uses != null)
+        uses.add(ident.spelling);
+    }
+    if (decl == null)
+      error(5, ident.spelling, ident.position);
+    else if (defUse != null)
+      defUse.use(decl, ids[walker.depth()], ident.position);
+    ident.decl = decl;
+    return decl;
+  }
+
+  private void checkMain(AST program, Decl main) {
+    if (main == null || !main.isFuncDecl())
+      error(0, "", program.position);
+    else if (!main.T.isIntType())
+      error(1, "", main.position);
+  }
+
+  private void checkDeclType(Decl decl) {
+    if (decl.T.isVoidType())
+      error(3, decl.I.spelling, decl.I.position);
+    else if (decl.T.isArrayType() && ((ArrayType) decl.T).T.isVoidType())
+      error(4, decl.I.spelling, decl.I.position);
+  }
+
+  private void checkVarDecl(Decl decl, Expr init) {
+    checkDeclType(decl);
+    if (decl.T.isArrayType()) {
+      ArrayType t = (ArrayType) decl.T;
+      if (init instanceof InitExpr) {
+        AST[] elements = Nodes.elements(((InitExpr) init).IL);
+        for (AST e : elements)
+          if (!t.T.assignable(((Expr) e).type))
+            error(13, decl.I.spelling, e.position);
+        if (t.E instanceof IntExpr) {
+          int size = Integer.parseInt(((IntExpr) t.E).IL.spelling);
+          if (elements.length > size)
+            error(16, decl.I.spelling, init.position);
+        }
+      } else if (init.isEmptyExpr()) {
+        if (t.E.isEmptyExpr())
+          error(18, decl.I.spelling, decl.position);
+      } else
+        error(15, decl.I.spelling, init.position);
+    } else if (init instanceof InitExpr)
+      error(14, decl.I.spelling, init.position);
+    else if (!init.isEmptyExpr() && !decl.T.assignable(init.type))
+      error(6, decl.I.spelling, init.position);
+    declare(decl.I, decl);
+  }
+
+  private void checkCondition(Expr e, int n) {
+    if (!e.type.isBooleanType() && !e.type.isErrorType())
+      error(n, "", e.position);
+  }
+
+  private void checkReturn(ReturnStmt ast) {
+    if (currentFunc == null)
+      return;
+    Type t = currentFunc.T;
+    if (t.isVoidType()) {
+      if (!ast.E.isEmptyExpr())
+        error(8, "", ast.position);
+    } else if (ast.E.isEmptyExpr() || !t.assignable(ast.E.type))
+      error(8, "", ast.position);
+  }
+
+  private static boolean isNumeric(Type t) {
+    return t.isIntType() || t.isFloatType();
+  }
+
+  private void checkUnaryExpr(UnaryExpr ast) {
+    Type t = ast.E.type;
+    String op = ast.O.spelling;
+    if (t.isErrorType())
+      ast.type = t;
+    else if (op.equals("!") ? t.isBooleanType() : isNumeric(t))
+      ast.type = t;
+    else {
+      error(10, op, ast.O.position);
+      ast.type = StdEnvironment.errorType;
+    }
+  }
+
+  private void checkBinaryExpr(BinaryExpr ast) {
+    Type t1 = ast.E1.type, t2 = ast.E2.type;
+    String op = ast.O.spelling;
+    Type t = null;
+    if (t1.isErrorType() || t2.isErrorType())
+      t = StdEnvironment.errorType;
+    else if (op.equals("&&") || op.equals("||")) {
+      if (t1.isBooleanType() && t2.isBooleanType())
+        t = StdEnvironment.booleanType;
+    } else if (op.equals("==") || op.equals("!=")) {
+      if ((isNumeric(t1) && isNumeric(t2))
+          || (t1.isBooleanType() && t2.isBooleanType()))
+        t = StdEnvironment.booleanType;
+    } else if (isNumeric(t1) && isNumeric(t2)) {
+      if (op.equals("<") || op.equals("<=") || op.equals(">") || op.equals(">="))
+        t = StdEnvironment.booleanType;
+      else if (t1.isIntType() && t2.isIntType())
+        t = StdEnvironment.intType;
+      else
+        t = StdEnvironment.floatType;
+    }
+    if (t == null) {
+      error(9, op, ast.O.position);
+      t = StdEnvironment.errorType;
+    }
+    ast.type = t;
+  }
+
+  private void checkVarExpr(VarExpr ast) {
+    SimpleVar v = (SimpleVar) ast.V;
+    Type t = v.type;
+    AST decl = v.I.decl;
+    boolean argument = walker.depth() > 0 && walker.ancestor(0).kind == AST.ARG;
+    if (decl != null && (decl.kind == AST.FUNCDECL || (t.isArrayType() && !argument))) {
+      error(11, v.I.spelling, v.I.position);
+      t = StdEnvironment.errorType;
+    }
+    ast.type = t;
+  }
+
+  private void checkArrayExpr(ArrayExpr ast) {
+    SimpleVar v = (SimpleVar) ast.V;
+    Type t = StdEnvironment.errorType;
+    if (v.I.decl != null) {
+      if (v.I.decl.kind != AST.FUNCDECL && v.type.isArrayType())
+        t = ((ArrayType) v.type).T;
+      else
+        error(12, v.I.spelling, v.I.position);
+    }
+    if (!ast.E.type.isIntType() && !ast.E.type.isErrorType())
+      error(17, v.I.spelling, ast.E.position);
+    ast.type = t;
+  }
+
+  private void checkAssignExpr(AssignExpr ast) {
+    Type t1 = ast.E1.type;
+    boolean lvalue = ast.E1.kind == AST.ARRAYEXPR
+      || (ast.E1.kind == AST.VAREXPR && !t1.isErrorType());
+    if (!lvalue) {
+      if (!t1.isErrorType())
+        error(7, "", ast.E1.position);
+      ast.type = StdEnvironment.errorType;
+    } else if (!t1.assignable(ast.E2.type)) {
+      error(6, "", ast.position);
+      ast.type = StdEnvironment.errorType;
+    } else
+      ast.type = t1;
+  }
+
+  private void checkCallExpr(CallExpr ast) {
+    Decl decl = (Decl) ast.I.decl;
+    ast.type = StdEnvironment.errorType;
+    if (decl == null)
+      return;
+    if (!decl.isFuncDecl()) {
+      error(19, ast.I.spelling, ast.I.position);
+      return;
+    }
+    FuncDecl f = (FuncDecl) decl;
+    AST[] formals = Nodes.elements(f.PL);
+    AST[] actuals = Nodes.elements(ast.AL);
+    for (int i = 0; i < formals.length && i < actuals.length; i++) {
+      Type ft = ((Decl) formals[i]).T;
+      Type at = ((Arg) actuals[i]).type;
+      boolean ok;
+      if (at.isErrorType())
+        ok = true;
+      else if (ft.isArrayType())
+        ok = at.isArrayType() && ((ArrayType) ft).T.equals(((ArrayType) at).T);
+      else
+        ok = !at.isArrayType() && ft.assignable(at);
+      if (!ok)
+        error(27, ((Decl) formals[i]).I.spelling, actuals[i].position);
+    }
+    if (actuals.length > formals.length)
+      error(25, ast.I.spelling, ast.position);
+    else if (actuals.length < formals.length)
+      error(26, ast.I.spelling, ast.position);
+    ast.type = f.T;
+  }
+
+}
@@ -0,0 +1,226 @@
+/*
+ * DefUseIndex.java
+ *
+ * The uses of every declaration of a program, recorded by a Checker as
+ * it resolves the identifiers (see Checker.enableDefUseIndex), so that
+ * the references to a declaration are found in time proportional to
+ * their number rather than by walking the tree.
+ *
+ * Nodes are named by their ids, their places in the pre-order of the
+ * tree as a TreeWalker walks it, the root being 0: the order in which
+ * ASTWriter writes them and ASTReader reports them, so ids stay valid
+ * for a tree written and read back. A declaration is indexed by d, from
+ * 0 to size() - 1, in the order met; a built-in function used by the
+ * program has id -1. The uses of d are its applied occurrences (Idents)
+ * in source order, each an id and a position, held in int arrays, those
+ * of each declaration in one run.
+ *
+ * write and read store an index without its Decls, which a reader
+ * finds by their ids; decl(d) is then null.
+ */
+
+package VC.Checker;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+import VC.ASTs.*;
+import VC.Scanner.SourcePosition;
+
+public final class DefUseIndex {
+
+  private static final int MAGIC = 0x56434455; // "VCDU"
+  public static final int VERSION = 1;
+
+  private Decl[] decls;
+  private int[] declIds;
+  private int size;
+  private IdentityHashMap<AST, Integer> indices;
+
+  // the uses of d are from starts[d] to starts[d + 1]; each has an id
+  // and four ints of position
+  private int[] starts;
+  private int[] useIds;
+  private int[] positions;
+
+  private DefUseIndex() { }
+
+  // the number of declarations
+  public int size() {
+    return size;
+  }
+
+  // d for the given declaration, or -1 if it is not indexed
+
+  public int indexOf(AST decl) {
+    if (indices == null) {
+      indices = new IdentityHashMap<AST, Integer>(2 * size);
+      for (int d = 0; d < size; d++)
+        if (decls[d] != null)
+          indices.put(decls[d], d);
+    }
+    Integer d = indices.get(decl);
+    return (d == null) ? -1 : d;
+  }
+
+  public Decl decl(int d) {
+    return decls[d];
+  }
+
+  public int declId(int d) {
+    return declIds[d];
+  }
+
+  public int useCount(int d) {
+    return starts[d + 1] - starts[d];
+  }
+
+  public int useId(int d, int k) {
+    return useIds[starts[d] + k];
+  }
+
+  public SourcePosition usePosition(int d, int k) {
+    int p = 4 * (starts[d] + k);
+    SourcePosition pos = new SourcePosition();
+    pos.lineStart = positions[p];
+    pos.charStart = positions[p + 1];
+    pos.lineFinish = positions[p + 2];
+    pos.charFinish = positions[p + 3];
+    return pos;
+  }
+
+  // the ids of the uses of d
+  public int[] useIds(int d) {
+    return Arrays.copyOfRange(useIds, starts[d], starts[d + 1]);
+  }
+
+  public void write(OutputStream out) throws IOException {
+    DataOutputStream data = new DataOutputStream(out);
+    data.writeInt(MAGIC);
+    data.writeInt(VERSION);
+    data.writeInt(size);
+    int uses = starts[size];
+    data.writeInt(uses);
+    for (int d = 0; d < size; d++) {
+      data.writeInt(declIds[d]);
+      data.writeInt(starts[d + 1] - starts[d]);
+    }
+    for (int u = 0; u < uses; u++)
+      data.writeInt(useIds[u]);
+    for (int p = 0; p < 4 * uses; p++)
+      data.writeInt(positions[p]);
+    data.flush();
+  }
+
+  public static DefUseIndex read(InputStream in) throws IOException {
+    DataInputStream data = new DataInputStream(in);
+    if (data.readInt() != MAGIC)
+      throw new IOException("not a def-use index");
+    int version = data.readInt();
+    if (version != VERSION)
+      throw new IOException("def-use index version " + version + ", expected " + VERSION);
+    DefUseIndex index = new DefUseIndex();
+    int size = data.readInt(), uses = data.readInt();
+    if (size < 0 || uses < 0)
+      throw new IOException("bad def-use index");
+    index.size = size;
+    index.decls = new Decl[size];
+    index.declIds = new int[size];
+    index.starts = new int[size + 1];
+    for (int d = 0; d < size; d++) {
+      index.declIds[d] = data.readInt();
+      index.starts[d + 1] = index.starts[d] + data.readInt();
+    }
+    if (index.starts[size] != uses)
+      throw new IOException("bad def-use index");
+    index.useIds = new int[uses];
+    for (int u = 0; u < uses; u++)
+      index.useIds[u] = data.readInt();
+    index.positions = new int[4 * uses];
+    for (int p = 0; p < 4 * uses; p++)
+      index.positions[p] = data.readInt();
+    return index;
+  }
+
+  // Collects the declarations and uses as the Checker meets them, and
+  // groups the uses by declaration when done.
+
+  static final class Builder {
+
+    private Decl[] decls = new Decl[64];
+    private int[] declIds = new int[64];
+    private int size;
+    private IdentityHashMap<AST, Integer> indices = new IdentityHashMap<AST, Integer>();
+
+    // the uses in the order met: declaration, id and position
+    private int[] useDecls = new int[256];
+    private int[] useIds = new int[256];
+    private int[] positions = new int[1024];
+    private int uses;
+
+    void declare(Decl decl, int id) {
+      if (!indices.containsKey(decl))
+        add(decl, id);
+    }
+
+    void use(Decl decl, int id, SourcePosition pos) {
+      Integer d = indices.get(decl);
+      int n = (d != null) ? d : add(decl, -1);
+      if (uses == useIds.length) {
+        useDecls = Arrays.copyOf(useDecls, 2 * uses);
+        useIds = Arrays.copyOf(useIds, 2 * uses);
+        positions = Arrays.copyOf(positions, 8 * uses);
+      }
+      useDecls[uses] = n;
+      useIds[uses] = id;
+      int p = 4 * uses;
+      positions[p] = pos.lineStart;
+      positions[p + 1] = pos.charStart;
+      positions[p + 2] = pos.lineFinish;
+      positions[p + 3] = pos.charFinish;
+      uses++;
+    }
+
+    private int add(Decl decl, int id) {
+      if (size == decls.length) {
+        decls = Arrays.copyOf(decls, 2 * size);
+        declIds = Arrays.copyOf(declIds, 2 * size);
+      }
+      decls[size] = decl;
+      declIds[size] = id;
+      indices.put(decl, size);
+      return size++;
+    }
+
+    DefUseIndex build() {
+      DefUseIndex index = new DefUseIndex();
+      index.size = size;
+      index.decls = Arrays.copyOf(decls, size);
+      index.declIds = Arrays.copyOf(declIds, size);
+      index.indices = indices;
+
+      // a counting sort of the uses by declaration, keeping their order
+      int[] starts = new int[size + 1];
+      for (int u = 0; u < uses; u++)
+        starts[useDecls[u] + 1]++;
+      for (int d = 0; d < size; d++)
+        starts[d + 1] += starts[d];
+      int[] next = Arrays.copyOf(starts, size);
+      index.useIds = new int[uses];
+      index.positions = new int[4 * uses];
+      for (int u = 0; u < uses; u++) {
+        int k = next[useDecls[u]]++;
+        index.useIds[k] = useIds[u];
+        System.arraycopy(positions, 4 * u, index.positions, 4 * k, 4);
+      }
+      index.starts = starts;
+      return index;
+    }
+  }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * GlobalEnvironment.java
+ *
+ * The top-level declarations of a program, with the built-in
+ * functions, as the serial pass of a ParallelChecker enters them. Each
+ * declaration is entered with the number of its unit, its place in the
+ * program's declaration list (-1 for a built-in), and the body of unit
+ * i sees only the declarations of units up to i, the latest one for an
+ * identifier declared more than once, as it would in one Checker walk.
+ *
+ * Once built, the environment is not changed, so the threads checking
+ * function bodies share it without locking.
+ */
+
+package VC.Checker;
+
+import java.util.Arrays;
+
+import VC.ASTs.Decl;
+
+final class GlobalEnvironment {
+
+  // the identifiers, interned
+  private SymbolTable names = new SymbolTable();
+
+  // the latest entry for each identifier, -1 for none
+  private int[] latest = new int[64];
+
+  // the entries: declaration, unit, and the previous entry for the
+  // same identifier, -1 for none
+  private Decl[] decls = new Decl[64];
+  private int[] units = new int[64];
+  private int[] previous = new int[64];
+  private int count;
+
+  GlobalEnvironment() {
+    Arrays.fill(latest, -1);
+  }
+
+  // Enters decl as the declaration of id in unit, which must not be
+  // less than that of any declaration entered before.
+
+  void insert(String id, Decl decl, int unit) {
+    int n = names.intern(id);
+    if (n >= latest.length) {
+      int length = latest.length;
+      latest = Arrays.copyOf(latest, 2 * n);
+      Arrays.fill(latest, length, 2 * n, -1);
+    }
+    int e = count++;
+    if (e == decls.length) {
+      decls = Arrays.copyOf(decls, 2 * e);
+      units = Arrays.copyOf(units, 2 * e);
+      previous = Arrays.copyOf(previous, 2 * e);
+    }
+    decls[e] = decl;
+    units[e] = unit;
+    previous[e] = latest[n];
+    latest[n] = e;
+  }
+
+  // The declaration of id seen from the body of unit, or null.
+
+  Decl retrieve(String id, int unit) {
+    int n = names.lookup(id);
+    if (n < 0)
+      return null;
+    for (int e = latest[n]; e >= 0; e = previous[e])
+      if (units[e] <= unit)
+        return decls[e];
+    return null;
+  }
+
+}
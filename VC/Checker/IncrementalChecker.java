@@ -0,0 +1,227 @@
+/*
+ * IncrementalChecker.java
+ *
+ * Checks a program as a Checker does, and then, after an edit to one
+ * of its top-level declarations, checks again only the declarations
+ * the edit can affect, keeping the decorations (Expr.type, Ident.decl)
+ * and the errors of all the others.
+ *
+ * Each top-level declaration, a unit, is checked on its own against a
+ * GlobalEnvironment of them all (see Checker.checkUnit), and the global
+ * identifiers it looks up, found or not, and its own, are recorded as
+ * its dependencies. A unit's errors are kept with it, and report passes
+ * those of every unit on, in order, followed by those about main,
+ * which are the errors a Checker reports.
+ *
+ * An edit is made through this class:
+ *
+ *   updateBody   gives a function a new body. Only the function is
+ *                checked again; its signature and identity are kept,
+ *                so the links to it remain valid.
+ *   replace      puts a new declaration in the place of one. If the
+ *                signature (name and types) is the same, the function
+ *                or variable is checked again and the links to the old
+ *                declaration in other units are moved to the new one.
+ *                Otherwise every unit depending on the old or the new
+ *                name is checked again as well.
+ *   update       makes the program another version of it, with as many
+ *                top-level declarations, by one of the two edits above
+ *                for each declaration that differs from its new version
+ *                in structure or place; updateBody if only the body does.
+ *
+ * An IncrementalChecker is not thread-safe.
+ */
+
+package VC.Checker;
+
+import java.util.HashSet;
+
+import VC.ASTs.*;
+import VC.BufferedErrorReporter;
+import VC.ErrorReporter;
+import VC.Scanner.SourcePosition;
+import VC.StdEnvironment;
+
+public final class IncrementalChecker {
+
+  private Checker checker = new Checker(null);
+  private TreeWalker walker = new TreeWalker();
+
+  private Program program;
+  private AST[] decls;
+  private GlobalEnvironment globals;
+
+  // for each unit: its errors, and the global identifiers it depends on
+  private BufferedErrorReporter[] errors;
+  private HashSet<String>[] uses;
+
+  // the number of units checked since the last check or edit
+  private int checked;
+
+  // Checks every unit of program, which the later edits are made to.
+
+  public void check(Program program) {
+    this.program = program;
+    decls = Nodes.elements(program.FL);
+    errors = new BufferedErrorReporter[decls.length];
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    HashSet<String>[] sets = new HashSet[decls.length];
+    uses = sets;
+    buildGlobals();
+    checked = 0;
+    for (int i = 0; i < decls.length; i++)
+      checkUnit(i);
+  }
+
+  // Passes the errors of the program as it now is on to reporter.
+
+  public void report(ErrorReporter reporter) {
+    for (int i = 0; i < decls.length; i++)
+      errors[i].replayTo(reporter);
+    checker.checkMain(program, globals.retrieve("main", decls.length - 1), reporter);
+  }
+
+  // the number of units checked by the last check or edit
+  public int checkedUnits() {
+    return checked;
+  }
+
+  // Gives f, a function of the program, a new body.
+
+  public void updateBody(FuncDecl f, Stmt body) {
+    int unit = unitOf(f);
+    f.S = body;
+    body.parent = f;
+    checked = 0;
+    checkUnit(unit);
+  }
+
+  // Puts replacement in the place of old, a top-level declaration of
+  // the program.
+
+  public void replace(Decl old, Decl replacement) {
+    int unit = unitOf(old);
+    setElement(unit, replacement);
+    decls[unit] = replacement;
+    buildGlobals();
+    checked = 0;
+    if (signature(old).equals(signature(replacement))) {
+      checkUnit(unit);
+      relink(old, replacement);
+      return;
+    }
+    String oldName = old.I.spelling, newName = replacement.I.spelling;
+    for (int i = 0; i < decls.length; i++)
+      if (i == unit || uses[i].contains(oldName) || uses[i].contains(newName))
+        checkUnit(i);
+  }
+
+  // Edits the program into edited, which has as many top-level
+  // declarations, taking over those of them that differ. checkedUnits
+  // is then the sum over the edits made.
+
+  public void update(Program edited) {
+    AST[] next = Nodes.elements(edited.FL);
+    if (next.length != decls.length)
+      throw new IllegalArgumentException("not as many top-level declarations as the program");
+    int total = 0;
+    for (int i = 0; i < next.length; i++) {
+      Decl old = (Decl) decls[i], now = (Decl) next[i];
+      if (samePlace(old, now) && ExprTable.equal(old, now))
+        continue;
+      if (old.isFuncDecl() && now.isFuncDecl()
+          && sameHeader((FuncDecl) old, (FuncDecl) now)) {
+        updateBody((FuncDecl) old, ((FuncDecl) now).S);
+        old.position = now.position;
+      } else
+        replace(old, now);
+      total += checked;
+    }
+    checked = total;
+  }
+
+  private void checkUnit(int i) {
+    if (errors[i] == null)
+      errors[i] = new BufferedErrorReporter();
+    else
+      errors[i].reset();
+    uses[i] = new HashSet<String>();
+    checker.checkUnit((Decl) decls[i], globals, i, uses[i], errors[i]);
+    checked++;
+  }
+
+  private void buildGlobals() {
+    globals = new GlobalEnvironment();
+    for (FuncDecl f : StdEnvironment.functions)
+      globals.insert(f.I.spelling, f, -1);
+    for (int i = 0; i < decls.length; i++)
+      globals.insert(((Decl) decls[i]).I.spelling, (Decl) decls[i], i);
+  }
+
+  // Moves the links to old in the units depending on its name to
+  // replacement, which has the same signature, so the types stay.
+
+  private void relink(final Decl old, final Decl replacement) {
+    WalkAdapter relinker = new WalkAdapter() {
+      public boolean enter(AST ast, Object o) {
+        if (ast.kind == AST.IDENT && ((Ident) ast).decl == old)
+          ((Ident) ast).decl = replacement;
+        return true;
+      }
+    };
+    String name = old.I.spelling;
+    for (int i = 0; i < decls.length; i++)
+      if (decls[i] != replacement && uses[i].contains(name))
+        walker.walk(decls[i], relinker);
+  }
+
+  private int unitOf(AST decl) {
+    for (int i = 0; i < decls.length; i++)
+      if (decls[i] == decl)
+        return i;
+    throw new IllegalArgumentException("not a top-level declaration of the program");
+  }
+
+  // puts decl in the program's declaration list as its unit-th element
+  private void setElement(int unit, Decl decl) {
+    List list = program.FL;
+    if (list.kind == AST.FLATLIST) {
+      ((FlatList) list).set(unit, decl);
+      return;
+    }
+    AST cell = list;
+    for (int i = 0; i < unit; i++)
+      cell = Nodes.child(cell, 1);
+    Nodes.setChild(cell, 0, decl);
+  }
+
+  private static boolean samePlace(AST a, AST b) {
+    SourcePosition p = a.position, q = b.position;
+    return p.lineStart == q.lineStart && p.charStart == q.charStart
+        && p.lineFinish == q.lineFinish && p.charFinish == q.charFinish;
+  }
+
+  // an edit of the body only keeps the header, positions and all
+  private static boolean sameHeader(FuncDecl a, FuncDecl b) {
+    if (!ExprTable.equal(a.T, b.T) || !ExprTable.equal(a.I, b.I)
+        || !ExprTable.equal(a.PL, b.PL) || !samePlace(a.I, b.I))
+      return false;
+    AST[] p = Nodes.elements(a.PL), q = Nodes.elements(b.PL);
+    for (int i = 0; i < p.length; i++)
+      if (!samePlace(p[i], q[i]))
+        return false;
+    return a.position.lineStart == b.position.lineStart
+        && a.position.charStart == b.position.charStart;
+  }
+
+  // the name and types of a declaration, which the other units see
+  private static String signature(Decl decl) {
+    StringBuilder s = new StringBuilder();
+    s.append(decl.kind).append(' ').append(decl.I.spelling).append(' ').append(decl.T);
+    if (decl.isFuncDecl())
+      for (AST p : Nodes.elements(((FuncDecl) decl).PL))
+        s.append(' ').append(((Decl) p).T);
+    return s.toString();
+  }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * ParallelChecker.java
+ *
+ * Checks a program as a Checker does, with the bodies of its functions
+ * checked on the threads of a ForkJoinPool.
+ *
+ * A serial pass goes over the top-level declarations in order: it
+ * checks each global variable declaration in full and declares each
+ * function, entering both, with the built-in functions, in a
+ * GlobalEnvironment. The bodies are then independent: each is checked,
+ * with its parameters, by a Checker of the thread's own, whose symbol
+ * table holds only the function's scopes, and an identifier not found
+ * there is looked up in the environment as it stood at the function's
+ * declaration. The errors of each declaration are buffered and passed
+ * on to the reporter in the order of the declarations, followed by
+ * those about main, so the diagnostics and the decorated tree are the
+ * same as a Checker's.
+ *
+ * With a pool of one thread, the program is checked by a Checker
+ * alone.
+ *
+ * A body that a lazy parser left unparsed is expanded by the serial
+ * pass, since its syntax errors go to the parser's reporter.
+ */
+
+package VC.Checker;
+
+import java.util.IdentityHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+import VC.ASTs.*;
+import VC.BufferedErrorReporter;
+import VC.ErrorReporter;
+import VC.StdEnvironment;
+
+public final class ParallelChecker {
+
+  private ErrorReporter reporter;
+  private ForkJoinPool pool;
+
+  public ParallelChecker(ErrorReporter reporter) {
+    this(reporter, ForkJoinPool.commonPool());
+  }
+
+  public ParallelChecker(ErrorReporter reporter, ForkJoinPool pool) {
+    this.reporter = reporter;
+    this.pool = pool;
+  }
+
+  public void check(Program program) {
+    if (pool.getParallelism() == 1) {
+      // nothing to gain from the serial pass and the buffering
+      new Checker(reporter).check(program);
+      return;
+    }
+    AST[] decls = Nodes.elements(program.FL);
+    final BufferedErrorReporter[] errors = new BufferedErrorReporter[decls.length];
+    final IdentityHashMap<AST, Integer> units = new IdentityHashMap<AST, Integer>();
+    final GlobalEnvironment globals = new GlobalEnvironment();
+
+    for (FuncDecl f : StdEnvironment.functions)
+      globals.insert(f.I.spelling, f, -1);
+
+    Checker checker = new Checker(reporter);
+    checker.begin();
+    for (int i = 0; i < decls.length; i++) {
+      Decl decl = (Decl) decls[i];
+      errors[i] = new BufferedErrorReporter();
+      checker.checkTopLevel(decl, errors[i]);
+      globals.insert(decl.I.spelling, decl, i);
+      if (decl.isFuncDecl())
+        ((FuncDecl) decl).S.resolve();
+      units.put(decl, i);
+    }
+
+    BufferedErrorReporter all = new ParallelVisit<Checker, BufferedErrorReporter>(pool) {
+      protected Checker newState() {
+        return new Checker(reporter);
+      }
+
+      protected BufferedErrorReporter visit(AST unit, Checker state) {
+        int i = units.get(unit);
+        if (unit.kind == AST.FUNCDECL)
+          state.checkBody((FuncDecl) unit, globals, i, errors[i]);
+        return errors[i];
+      }
+
+      protected BufferedErrorReporter merge(BufferedErrorReporter left,
+                                            BufferedErrorReporter right) {
+        right.flushTo(left);
+        return left;
+      }
+    }.visitAll(decls);
+
+    if (all != null)
+      all.flushTo(reporter);
+    checker.checkMain(program, reporter);
+  }
+
+}
@@ -0,0 +1,188 @@
+/*
+ * SymbolTable.java
+ *
+ * The declarations in scope at a point of the program, for the
+ * Checker. There is one table for the whole program, as a stack of
+ * entries, each an identifier and its declaration; a scope is the run
+ * of entries made since it was opened.
+ *
+ * Identifiers are interned into small ints, by open addressing on their
+ * spellings, and the table keeps for each one the index of its
+ * innermost entry, and for each entry that of the entry it shadows.
+ * retrieve is thus a hash lookup and an array access, however deep the
+ * scopes are nested and however many identifiers are in scope. A scope
+ * is opened by marking the top of the stack and closed by rolling the
+ * stack back to the mark, restoring the entries shadowed on the way;
+ * no table is allocated per scope, and the arrays are reused from one
+ * scope, and one program, to the next.
+ *
+ * The ids of identifiers are those of this table only; they stay
+ * valid when scopes are closed. A table is not thread-safe.
+ */
+
+package VC.Checker;
+
+import java.util.Arrays;
+
+import VC.ASTs.Decl;
+
+public final class SymbolTable {
+
+  // the interned identifiers: spelling by id, and an open-addressing
+  // table from spelling to id + 1, 0 where free
+  private String[] names = new String[64];
+  private int nameCount;
+  private int[] slots = new int[128];
+
+  // the innermost entry for each id, -1 for none
+  private int[] innermost = new int[64];
+
+  // the entries: id, declaration, and the entry shadowed, -1 for none
+  private int[] entryIds = new int[64];
+  private Decl[] decls = new Decl[64];
+  private int[] shadowed = new int[64];
+  private int entryCount;
+
+  // the number of entries when each open scope was opened
+  private int[] marks = new int[16];
+  private int level;
+
+  public SymbolTable () {
+    Arrays.fill(innermost, -1);
+  }
+
+  // the number of scopes open
+  public int level() {
+    return level;
+  }
+
+  // Opens a new scope, nested in the current one.
+
+  public void openScope () {
+    if (level == marks.length)
+      marks = Arrays.copyOf(marks, 2 * level);
+    marks[level++] = entryCount;
+  }
+
+  // Closes the current scope, discarding the entries made in it.
+
+  public void closeScope () {
+    int mark = marks[--level];
+    while (entryCount > mark) {
+      int e = --entryCount;
+      innermost[entryIds[e]] = shadowed[e];
+      decls[e] = null;
+    }
+  }
+
+  // Discards every entry and scope, keeping the interned identifiers.
+
+  public void clear() {
+    while (level > 0)
+      closeScope();
+    while (entryCount > 0) {
+      int e = --entryCount;
+      innermost[entryIds[e]] = shadowed[e];
+      decls[e] = null;
+    }
+  }
+
+  // Makes a new entry for the given identifier and declaration in the
+  // current scope.
+
+  public void insert(String id, Decl attr) {
+    insert(intern(id), attr);
+  }
+
+  public void insert(int id, Decl attr) {
+    int e = entryCount++;
+    if (e == decls.length) {
+      entryIds = Arrays.copyOf(entryIds, 2 * e);
+      decls = Arrays.copyOf(decls, 2 * e);
+      shadowed = Arrays.copyOf(shadowed, 2 * e);
+    }
+    entryIds[e] = id;
+    decls[e] = attr;
+    shadowed[e] = innermost[id];
+    innermost[id] = e;
+  }
+
+  // The declaration of the innermost entry for the given identifier,
+  // or null if there is none.
+
+  public Decl retrieve (String id) {
+    int n = lookup(id);
+    return (n < 0) ? null : retrieve(n);
+  }
+
+  public Decl retrieve (int id) {
+    int e = innermost[id];
+    return (e < 0) ? null : decls[e];
+  }
+
+  // The declaration of the entry for the given identifier in the
+  // current scope, or null if there is none.
+
+  public Decl retrieveOneLevel(String id) {
+    int n = lookup(id);
+    return (n < 0) ? null : retrieveOneLevel(n);
+  }
+
+  public Decl retrieveOneLevel(int id) {
+    int e = innermost[id];
+    int mark = (level > 0) ? marks[level - 1] : 0;
+    return (e < mark) ? null : decls[e];
+  }
+
+  // The id of the given identifier, interning it if it is new.
+
+  public int intern(String id) {
+    int mask = slots.length - 1;
+    int i = hash(id) & mask;
+    for (int s; (s = slots[i]) != 0; i = (i + 1) & mask)
+      if (names[s - 1].equals(id))
+        return s - 1;
+    int n = nameCount++;
+    if (n == names.length) {
+      names = Arrays.copyOf(names, 2 * n);
+      innermost = Arrays.copyOf(innermost, 2 * n);
+      Arrays.fill(innermost, n, 2 * n, -1);
+    }
+    names[n] = id;
+    slots[i] = n + 1;
+    if (2 * nameCount > slots.length)
+      rehash();
+    return n;
+  }
+
+  // The id of the given identifier, or -1 if it has not been interned.
+
+  public int lookup(String id) {
+    int mask = slots.length - 1;
+    for (int i = hash(id) & mask, s; (s = slots[i]) != 0; i = (i + 1) & mask)
+      if (names[s - 1].equals(id))
+        return s - 1;
+    return -1;
+  }
+
+  public String name(int id) {
+    return names[id];
+  }
+
+  private void rehash() {
+    slots = new int[2 * slots.length];
+    int mask = slots.length - 1;
+    for (int n = 0; n < nameCount; n++) {
+      int i = hash(names[n]) & mask;
+      while (slots[i] != 0)
+        i = (i + 1) & mask;
+      slots[i] = n + 1;
+    }
+  }
+
+  private static int hash(String id) {
+    int h = id.hashCode() * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+}
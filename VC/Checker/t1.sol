@@ -0,0 +1,3 @@
+======= The VC compiler =======
+ERROR: 1(1)..1(26): *0: main function is missing
+Compilation was unsuccessful.
@@ -0,0 +1,4 @@
+======= The VC compiler =======
+[# vc #]: edited into t10.vce, 2 declaration(s) checked again
+ERROR: 5(11)..5(17): *6: incompatible type for =: h
+Compilation was unsuccessful.
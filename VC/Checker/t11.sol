@@ -0,0 +1,4 @@
+======= The VC compiler =======
+ERROR: 4(15)..4(15): *9: incompatible type for this binary operator: +
+[# vc #]: edited into t11.vce, 2 declaration(s) checked again
+Compilation was successful.
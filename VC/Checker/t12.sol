@@ -0,0 +1,3 @@
+======= The VC compiler =======
+[# vc #]: can't edit into t12.vce: not as many top-level declarations as the program
+Compilation was unsuccessful.
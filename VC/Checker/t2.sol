@@ -0,0 +1,3 @@
+======= The VC compiler =======
+ERROR: 1(1)..1(15): *1: return type of main is not int
+Compilation was unsuccessful.
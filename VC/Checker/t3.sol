@@ -0,0 +1,7 @@
+======= The VC compiler =======
+ERROR: 2(7)..2(7): *2: identifier redeclared: x
+ERROR: 3(6)..3(6): *3: identifier declared void: v
+ERROR: 4(6)..4(6): *4: identifier declared void[]: w
+ERROR: 5(25)..5(25): *2: identifier redeclared: y
+ERROR: 5(39)..5(39): *5: identifier undeclared: z
+Compilation was unsuccessful.
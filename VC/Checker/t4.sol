@@ -0,0 +1,7 @@
+======= The VC compiler =======
+ERROR: 4(3)..4(10): *6: incompatible type for =
+ERROR: 5(3)..5(3): *7: invalid lvalue in assignment
+ERROR: 6(7)..6(7): *10: incompatible type for this unary operator: -
+ERROR: 7(9)..7(9): *9: incompatible type for this binary operator: +
+ERROR: 8(3)..8(13): *8: incompatible type for return
+Compilation was unsuccessful.
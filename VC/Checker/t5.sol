@@ -0,0 +1,11 @@
+======= The VC compiler =======
+ERROR: 1(16)..1(19): *13: wrong type for element in array initialiser: a
+ERROR: 3(12)..3(17): *16: excess elements in array initialiser: c
+ERROR: 4(9)..4(11): *14: invalid initialiser: array initialiser for scalar: d
+ERROR: 5(12)..5(12): *15: invalid initialiser: scalar initialiser for array: e
+ERROR: 6(1)..6(7): *18: array size missing: g
+ERROR: 9(7)..9(7): *11: attempt to use an array/function as a scalar: a
+ERROR: 10(7)..10(7): *12: attempt to use a scalar/function as an array: s
+ERROR: 11(9)..11(12): *17: array subscript is not an integer: a
+ERROR: 12(10)..12(10): *19: attempt to reference a scalar/array as a function: s
+Compilation was unsuccessful.
@@ -0,0 +1,7 @@
+======= The VC compiler =======
+ERROR: 3(7)..3(7): *20: if conditional is not boolean
+ERROR: 4(10)..4(10): *21: for conditional is not boolean
+ERROR: 5(10)..5(10): *22: while conditional is not boolean
+ERROR: 6(3)..6(8): *23: break must be in a while/for
+ERROR: 7(3)..7(11): *24: continue must be in a while/for
+Compilation was unsuccessful.
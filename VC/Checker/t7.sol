@@ -0,0 +1,5 @@
+======= The VC compiler =======
+ERROR: 3(3)..3(6): *26: too few actual parameters: f
+ERROR: 4(3)..4(12): *25: too many actual parameters: f
+ERROR: 5(5)..5(8): *27: wrong type for actual parameter: a
+Compilation was unsuccessful.
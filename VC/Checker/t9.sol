@@ -0,0 +1,4 @@
+======= The VC compiler =======
+[# vc #]: edited into t9.vce, 1 declaration(s) checked again
+ERROR: 7(19)..7(19): *5: identifier undeclared: k
+Compilation was unsuccessful.
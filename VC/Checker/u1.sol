@@ -0,0 +1,8 @@
+======= The VC compiler =======
+total 1(5): 3(3) 3(11) 9(12) 10(10)
+add 2(6): 8(5)
+n 2(14): 3(19)
+main 5(5):
+i 6(7): 7(8) 7(15) 7(23) 7(27) 8(9)
+putIntLn (built-in): 9(3)
+Compilation was successful.
@@ -0,0 +1,110 @@
+/*
+ * Bytes.java
+ *
+ * A growable array of bytes, written big-endian as the class file
+ * format has it. reset empties it but keeps the array, so one Bytes
+ * serves class after class.
+ */
+
+package VC.CodeGen;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+final class Bytes {
+
+  byte[] data;
+  int length;
+
+  Bytes(int capacity) {
+    data = new byte[capacity];
+  }
+
+  void reset() {
+    length = 0;
+  }
+
+  void putByte(int b) {
+    if (length == data.length)
+      grow(1);
+    data[length++] = (byte) b;
+  }
+
+  void putShort(int s) {
+    if (length + 2 > data.length)
+      grow(2);
+    data[length] = (byte) (s >>> 8);
+    data[length + 1] = (byte) s;
+    length += 2;
+  }
+
+  void putInt(int i) {
+    if (length + 4 > data.length)
+      grow(4);
+    data[length] = (byte) (i >>> 24);
+    data[length + 1] = (byte) (i >>> 16);
+    data[length + 2] = (byte) (i >>> 8);
+    data[length + 3] = (byte) i;
+    length += 4;
+  }
+
+  void putBytes(Bytes b) {
+    putBytes(b.data, 0, b.length);
+  }
+
+  void putBytes(byte[] b, int off, int len) {
+    if (length + len > data.length)
+      grow(len);
+    System.arraycopy(b, off, data, length, len);
+    length += len;
+  }
+
+  // overwrites the two bytes at pos
+  void setShort(int pos, int s) {
+    data[pos] = (byte) (s >>> 8);
+    data[pos + 1] = (byte) s;
+  }
+
+  // s in the modified UTF-8 of the class file format, preceded by its
+  // length in bytes
+
+  void putUTF8(String s) {
+    int n = s.length(), bytes = 0;
+    for (int i = 0; i < n; i++) {
+      char c = s.charAt(i);
+      bytes += (c >= 1 && c <= 0x7f) ? 1 : (c <= 0x7ff) ? 2 : 3;
+    }
+    if (bytes > 0xffff)
+      throw new IllegalArgumentException("string constant too long");
+    putShort(bytes);
+    if (length + bytes > data.length)
+      grow(bytes);
+    for (int i = 0; i < n; i++) {
+      char c = s.charAt(i);
+      if (c >= 1 && c <= 0x7f)
+        data[length++] = (byte) c;
+      else if (c <= 0x7ff) {
+        data[length++] = (byte) (0xc0 | (c >> 6));
+        data[length++] = (byte) (0x80 | (c & 0x3f));
+      } else {
+        data[length++] = (byte) (0xe0 | (c >> 12));
+        data[length++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+        data[length++] = (byte) (0x80 | (c & 0x3f));
+      }
+    }
+  }
+
+  byte[] toByteArray() {
+    return Arrays.copyOf(data, length);
+  }
+
+  void writeTo(OutputStream out) throws IOException {
+    out.write(data, 0, length);
+  }
+
+  private void grow(int n) {
+    data = Arrays.copyOf(data, Math.max(2 * data.length, length + n));
+  }
+
+}
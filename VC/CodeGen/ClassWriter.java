@@ -0,0 +1,202 @@
+/*
+ * ClassWriter.java
+ *
+ * Assembles a class file: its constant pool, fields and methods, each
+ * written into a Bytes as it is added, and the whole put together by
+ * finish. A constant is entered in the pool once, however often it is
+ * asked for; the pool is looked up by a key made of its tag and its
+ * contents.
+ *
+ * A ClassWriter is reused, class after class; begin starts another
+ * and keeps the buffers.
+ */
+
+package VC.CodeGen;
+
+import java.util.HashMap;
+
+final class ClassWriter {
+
+  private Bytes pool = new Bytes(1024);
+  private Bytes fields = new Bytes(256);
+  private Bytes methods = new Bytes(4096);
+  private Bytes out = new Bytes(8192);
+  private HashMap<String, Integer> constants = new HashMap<String, Integer>();
+  private int poolCount;
+  private int fieldCount, methodCount;
+  private int thisClass, superClass;
+  private int codeName, stackMapName;
+
+  void begin(String className) {
+    pool.reset();
+    fields.reset();
+    methods.reset();
+    constants.clear();
+    poolCount = 1;
+    fieldCount = methodCount = 0;
+    thisClass = classRef(className);
+    superClass = classRef("java/lang/Object");
+    codeName = utf8("Code");
+    stackMapName = utf8("StackMapTable");
+  }
+
+  int thisClass() {
+    return thisClass;
+  }
+
+  // Constants: each returns the index of the entry
+
+  int utf8(String s) {
+    String key = "\1" + s;
+    Integer index = constants.get(key);
+    if (index != null)
+      return index;
+    pool.putByte(JVM.CONSTANT_Utf8);
+    pool.putUTF8(s);
+    return enter(key);
+  }
+
+  int integer(int i) {
+    String key = "\3" + i;
+    Integer index = constants.get(key);
+    if (index != null)
+      return index;
+    pool.putByte(JVM.CONSTANT_Integer);
+    pool.putInt(i);
+    return enter(key);
+  }
+
+  int floatConstant(float f) {
+    int bits = Float.floatToRawIntBits(f);
+    String key = "\4" + bits;
+    Integer index = constants.get(key);
+    if (index != null)
+      return index;
+    pool.putByte(JVM.CONSTANT_Float);
+    pool.putInt(bits);
+    return enter(key);
+  }
+
+  int classRef(String internalName) {
+    String key = "\7" + internalName;
+    Integer index = constants.get(key);
+    if (index != null)
+      return index;
+    int name = utf8(internalName);
+    pool.putByte(JVM.CONSTANT_Class);
+    pool.putShort(name);
+    return enter(key);
+  }
+
+  int string(String s) {
+    String key = "\10" + s;
+    Integer index = constants.get(key);
+    if (index != null)
+      return index;
+    int chars = utf8(s);
+    pool.putByte(JVM.CONSTANT_String);
+    pool.putShort(chars);
+    return enter(key);
+  }
+
+  int fieldRef(String owner, String name, String descriptor) {
+    return memberRef(JVM.CONSTANT_Fieldref, owner, name, descriptor);
+  }
+
+  int methodRef(String owner, String name, String descriptor) {
+    return memberRef(JVM.CONSTANT_Methodref, owner, name, descriptor);
+  }
+
+  private int memberRef(int tag, String owner, String name, String descriptor) {
+    String key = (char) tag + owner + '\0' + name + '\0' + descriptor;
+    Integer index = constants.get(key);
+    if (index != null)
+      return index;
+    int ownerIndex = classRef(owner);
+    int nameAndType = nameAndType(name, descriptor);
+    pool.putByte(tag);
+    pool.putShort(ownerIndex);
+    pool.putShort(nameAndType);
+    return enter(key);
+  }
+
+  private int nameAndType(String name, String descriptor) {
+    String key = "\14" + name + '\0' + descriptor;
+    Integer index = constants.get(key);
+    if (index != null)
+      return index;
+    int nameIndex = utf8(name);
+    int descriptorIndex = utf8(descriptor);
+    pool.putByte(JVM.CONSTANT_NameAndType);
+    pool.putShort(nameIndex);
+    pool.putShort(descriptorIndex);
+    return enter(key);
+  }
+
+  private int enter(String key) {
+    if (poolCount > 0xffff)
+      throw new IllegalStateException("too many constants");
+    constants.put(key, poolCount);
+    return poolCount++;
+  }
+
+  // Members
+
+  void field(int access, String name, String descriptor) {
+    fields.putShort(access);
+    fields.putShort(utf8(name));
+    fields.putShort(utf8(descriptor));
+    fields.putShort(0); // attributes
+    fieldCount++;
+  }
+
+  // Adds a method whose body has been assembled, and ended, in code.
+
+  void method(int access, String name, String descriptor, Code code) {
+    methods.putShort(access);
+    methods.putShort(utf8(name));
+    methods.putShort(utf8(descriptor));
+    methods.putShort(1); // attributes: Code
+    Bytes bytecode = code.bytecode(), frames = code.frames();
+    int frameCount = code.frameCount();
+    int length = 12 + bytecode.length + ((frameCount > 0) ? 8 + frames.length : 0);
+    methods.putShort(codeName);
+    methods.putInt(length);
+    methods.putShort(code.maxStack());
+    methods.putShort(code.maxLocals());
+    methods.putInt(bytecode.length);
+    methods.putBytes(bytecode);
+    methods.putShort(0); // exception table
+    if (frameCount > 0) {
+      methods.putShort(1);
+      methods.putShort(stackMapName);
+      methods.putInt(2 + frames.length);
+      methods.putShort(frameCount);
+      methods.putBytes(frames);
+    } else
+      methods.putShort(0);
+    methodCount++;
+  }
+
+  // The class file, in a buffer reused by the next class.
+
+  Bytes finish() {
+    out.reset();
+    out.putInt(JVM.MAGIC);
+    out.putShort(0);
+    out.putShort(JVM.MAJOR_VERSION);
+    out.putShort(poolCount);
+    out.putBytes(pool);
+    out.putShort(JVM.ACC_PUBLIC | JVM.ACC_FINAL | JVM.ACC_SUPER);
+    out.putShort(thisClass);
+    out.putShort(superClass);
+    out.putShort(0); // interfaces
+    out.putShort(fieldCount);
+    out.putBytes(fields);
+    out.putShort(methodCount);
+    out.putBytes(methods);
+    out.putShort(0); // attributes
+    return out;
+  }
+
+}
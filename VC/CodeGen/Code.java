@@ -0,0 +1,456 @@
+/*
+ * Code.java
+ *
+ * Assembles the body of a method: its instructions, with the maximum
+ * depth of the operand stack and the number of local variables, and
+ * the StackMapTable the verifier needs.
+ *
+ * The types on the operand stack and in the local variables are kept
+ * as the instructions are added, as verification types (see JVM), so
+ * that max_stack is known and a frame can be written wherever one is
+ * needed. Local variables are allocated like a stack: newLocal takes
+ * the next slot, and setLocals frees the slots of a scope left. Every
+ * local variable must be stored to when it is allocated, so that the
+ * locals in scope are exactly those of a frame.
+ *
+ * Jumps go to labels, which are bound to an offset once, before or
+ * after the jumps to them. A frame is written when a label that has
+ * been jumped to is bound, and when a loop's head is bound with
+ * bindLoop, for the jumps back to come; its locals are those in scope
+ * there and its stack is that of the jumps. After a goto or a return,
+ * the code is unreachable until a label jumped to is bound, and
+ * instructions added meanwhile are dropped: a method has no dead code,
+ * which would need frames of its own.
+ *
+ * Frames are written as compactly as the format allows, each relative
+ * to the one before (same, same_locals_1_stack_item, chop, append),
+ * and in full otherwise.
+ *
+ * A Code is reused, method after method; begin starts another.
+ */
+
+package VC.CodeGen;
+
+import java.util.Arrays;
+
+final class Code {
+
+  private static final int[] NO_TYPES = new int[0];
+
+  private ClassWriter cw;
+  private Bytes code = new Bytes(1024);
+  private Bytes frames = new Bytes(256);
+  private int frameCount;
+
+  // the operand stack and the locals, as verification types
+  private int[] stack = new int[16];
+  private int sp, maxStack;
+  private int[] locals = new int[16];
+  private int localCount, maxLocals;
+  private boolean reachable;
+
+  // the locals of the last frame written (initially those of the
+  // method's entry, its parameters, fixed by the first instruction)
+  private int[] frameLocals = new int[16];
+  private int frameLocalCount = -1;
+  private int frameOffset;
+
+  // labels: the offset bound to (-1 for none yet), and the stack at the
+  // first jump to it (null for no jump)
+  private int[] labelOffsets = new int[16];
+  private int[][] labelStacks = new int[16][];
+  private int labelCount;
+
+  // the jumps, to be patched by end: where and to which label
+  private int[] jumpOffsets = new int[16];
+  private int[] jumpLabels = new int[16];
+  private int jumpCount;
+
+  Code(ClassWriter cw) {
+    this.cw = cw;
+  }
+
+  void begin() {
+    code.reset();
+    frames.reset();
+    frameCount = 0;
+    sp = maxStack = 0;
+    localCount = maxLocals = 0;
+    reachable = true;
+    frameLocalCount = -1;
+    frameOffset = -1;
+    Arrays.fill(labelStacks, 0, labelCount, null);
+    labelCount = 0;
+    jumpCount = 0;
+  }
+
+  boolean reachable() {
+    return reachable;
+  }
+
+  int length() {
+    return code.length;
+  }
+
+  // Local variables
+
+  int newLocal(int type) {
+    if (localCount == locals.length)
+      locals = Arrays.copyOf(locals, 2 * localCount);
+    locals[localCount] = type;
+    if (++localCount > maxLocals)
+      maxLocals = localCount;
+    return localCount - 1;
+  }
+
+  int locals() {
+    return localCount;
+  }
+
+  void setLocals(int n) {
+    localCount = n;
+  }
+
+  // Instructions
+
+  // one with no operands, whose effect on the stack is fixed
+  void op(int opcode) {
+    if (!start(opcode))
+      return;
+    switch (opcode) {
+      case JVM.ICONST_M1: case JVM.ICONST_0: case JVM.ICONST_1:
+      case JVM.ICONST_1 + 1: case JVM.ICONST_1 + 2: case JVM.ICONST_1 + 3:
+      case JVM.ICONST_5:
+        push(JVM.ITEM_Integer);
+        break;
+      case JVM.FCONST_0: case JVM.FCONST_1: case JVM.FCONST_2:
+        push(JVM.ITEM_Float);
+        break;
+      case JVM.IALOAD: case JVM.BALOAD:
+        sp -= 2;
+        push(JVM.ITEM_Integer);
+        break;
+      case JVM.FALOAD:
+        sp -= 2;
+        push(JVM.ITEM_Float);
+        break;
+      case JVM.IASTORE: case JVM.FASTORE: case JVM.BASTORE:
+        sp -= 3;
+        break;
+      case JVM.POP:
+        sp--;
+        break;
+      case JVM.DUP:
+        push(stack[sp - 1]);
+        break;
+      case JVM.DUP_X2: {
+        int v = stack[sp - 1];
+        push(v);
+        stack[sp - 2] = stack[sp - 3];
+        stack[sp - 3] = stack[sp - 4];
+        stack[sp - 4] = v;
+        break;
+      }
+      case JVM.IADD: case JVM.ISUB: case JVM.IMUL: case JVM.IDIV:
+      case JVM.IXOR: case JVM.FCMPL: case JVM.FCMPG:
+        sp -= 2;
+        push(JVM.ITEM_Integer);
+        break;
+      case JVM.FADD: case JVM.FSUB: case JVM.FMUL: case JVM.FDIV:
+        sp--;
+        break;
+      case JVM.INEG: case JVM.FNEG:
+        break;
+      case JVM.I2F:
+        stack[sp - 1] = JVM.ITEM_Float;
+        break;
+      case JVM.IRETURN: case JVM.FRETURN: case JVM.ARETURN: case JVM.RETURN:
+        sp = 0;
+        reachable = false;
+        break;
+      default:
+        throw new IllegalArgumentException("opcode " + opcode);
+    }
+  }
+
+  void iconst(int i) {
+    if (i >= -1 && i <= 5)
+      op(JVM.ICONST_0 + i);
+    else if (i >= Byte.MIN_VALUE && i <= Byte.MAX_VALUE) {
+      if (start(JVM.BIPUSH)) {
+        code.putByte(i);
+        push(JVM.ITEM_Integer);
+      }
+    } else if (i >= Short.MIN_VALUE && i <= Short.MAX_VALUE) {
+      if (start(JVM.SIPUSH)) {
+        code.putShort(i);
+        push(JVM.ITEM_Integer);
+      }
+    } else
+      ldc(cw.integer(i), JVM.ITEM_Integer);
+  }
+
+  void fconst(float f) {
+    if (Float.floatToRawIntBits(f) == 0 || f == 1.0f || f == 2.0f)
+      op(JVM.FCONST_0 + (int) f);
+    else
+      ldc(cw.floatConstant(f), JVM.ITEM_Float);
+  }
+
+  void sconst(String s) {
+    ldc(cw.string(s), object("java/lang/String"));
+  }
+
+  private void ldc(int index, int type) {
+    if (index <= 0xff) {
+      if (!start(JVM.LDC))
+        return;
+      code.putByte(index);
+    } else {
+      if (!start(JVM.LDC_W))
+        return;
+      code.putShort(index);
+    }
+    push(type);
+  }
+
+  void load(int type, int slot) {
+    int opcode = (type == JVM.ITEM_Integer) ? JVM.ILOAD
+      : (type == JVM.ITEM_Float) ? JVM.FLOAD : JVM.ALOAD;
+    if (local(opcode, slot, (type == JVM.ITEM_Integer) ? JVM.ILOAD_0
+              : (type == JVM.ITEM_Float) ? JVM.FLOAD_0 : JVM.ALOAD_0))
+      push(type);
+  }
+
+  void store(int type, int slot) {
+    int opcode = (type == JVM.ITEM_Integer) ? JVM.ISTORE
+      : (type == JVM.ITEM_Float) ? JVM.FSTORE : JVM.ASTORE;
+    if (local(opcode, slot, (type == JVM.ITEM_Integer) ? JVM.ISTORE_0
+              : (type == JVM.ITEM_Float) ? JVM.FSTORE_0 : JVM.ASTORE_0))
+      sp--;
+  }
+
+  private boolean local(int opcode, int slot, int opcode0) {
+    if (slot <= 3)
+      return start(opcode0 + slot);
+    if (slot <= 0xff) {
+      if (!start(opcode))
+        return false;
+      code.putByte(slot);
+    } else {
+      if (!start(JVM.WIDE))
+        return false;
+      code.putByte(opcode);
+      code.putShort(slot);
+    }
+    return true;
+  }
+
+  // GETSTATIC or PUTSTATIC of a field of the given type
+  void field(int opcode, int fieldRef, int type) {
+    if (!start(opcode))
+      return;
+    code.putShort(fieldRef);
+    if (opcode == JVM.GETSTATIC)
+      push(type);
+    else
+      sp--;
+  }
+
+  // INVOKESTATIC of a method of the given number of parameters and
+  // result type (ITEM_Top for void)
+  void invoke(int methodRef, int parameters, int result) {
+    if (!start(JVM.INVOKESTATIC))
+      return;
+    code.putShort(methodRef);
+    sp -= parameters;
+    if (result != JVM.ITEM_Top)
+      push(result);
+  }
+
+  void newArray(int elementType, int arrayType) {
+    if (!start(JVM.NEWARRAY))
+      return;
+    code.putByte(elementType);
+    stack[sp - 1] = arrayType;
+  }
+
+  // the verification type of an object of the given class
+  int object(String internalName) {
+    return (cw.classRef(internalName) << 8) | JVM.ITEM_Object;
+  }
+
+  // Labels and jumps
+
+  int newLabel() {
+    if (labelCount == labelOffsets.length) {
+      labelOffsets = Arrays.copyOf(labelOffsets, 2 * labelCount);
+      labelStacks = Arrays.copyOf(labelStacks, 2 * labelCount);
+    }
+    labelOffsets[labelCount] = -1;
+    return labelCount++;
+  }
+
+  // an IFxx, IF_ICMPxx or GOTO to label
+  void jump(int opcode, int label) {
+    if (!start(opcode))
+      return;
+    if (jumpCount == jumpOffsets.length) {
+      jumpOffsets = Arrays.copyOf(jumpOffsets, 2 * jumpCount);
+      jumpLabels = Arrays.copyOf(jumpLabels, 2 * jumpCount);
+    }
+    jumpOffsets[jumpCount] = code.length - 1;
+    jumpLabels[jumpCount++] = label;
+    code.putShort(0);
+    if (opcode == JVM.GOTO)
+      reachable = false;
+    else
+      sp -= (opcode >= JVM.IF_ICMPEQ) ? 2 : 1;
+    if (labelStacks[label] == null)
+      labelStacks[label] = (sp == 0) ? NO_TYPES : Arrays.copyOf(stack, sp);
+    if (opcode == JVM.GOTO)
+      sp = 0;
+  }
+
+  void bind(int label) {
+    labelOffsets[label] = code.length;
+    int[] s = labelStacks[label];
+    if (s == null)
+      return;
+    if (!reachable) {
+      System.arraycopy(s, 0, stack, 0, s.length);
+      sp = s.length;
+      reachable = true;
+    }
+    frame();
+  }
+
+  // binds the head of a loop, which the loop jumps back to
+  void bindLoop(int label) {
+    labelOffsets[label] = code.length;
+    if (reachable)
+      frame();
+  }
+
+  // Ends the method, patching the jumps.
+
+  void end() {
+    for (int j = 0; j < jumpCount; j++) {
+      int offset = labelOffsets[jumpLabels[j]] - jumpOffsets[j];
+      if (offset < Short.MIN_VALUE || offset > Short.MAX_VALUE)
+        throw new IllegalStateException("method too large");
+      code.setShort(jumpOffsets[j] + 1, offset);
+    }
+    if (code.length > 0xffff)
+      throw new IllegalStateException("method too large");
+  }
+
+  Bytes bytecode() {
+    return code;
+  }
+
+  Bytes frames() {
+    return frames;
+  }
+
+  int frameCount() {
+    return frameCount;
+  }
+
+  int maxStack() {
+    return maxStack;
+  }
+
+  int maxLocals() {
+    return maxLocals;
+  }
+
+  // auxiliary methods
+
+  // Starts an instruction, returning false if it is unreachable and so
+  // dropped.
+
+  private boolean start(int opcode) {
+    if (!reachable)
+      return false;
+    if (frameLocalCount < 0)
+      setFrameLocals();
+    code.putByte(opcode);
+    return true;
+  }
+
+  private void push(int type) {
+    if (sp == stack.length)
+      stack = Arrays.copyOf(stack, 2 * sp);
+    stack[sp++] = type;
+    if (sp > maxStack)
+      maxStack = sp;
+  }
+
+  private void setFrameLocals() {
+    if (frameLocals.length < localCount)
+      frameLocals = Arrays.copyOf(locals, localCount);
+    else
+      System.arraycopy(locals, 0, frameLocals, 0, localCount);
+    frameLocalCount = localCount;
+  }
+
+  // Writes the frame at the current offset.
+
+  private void frame() {
+    int offset = code.length;
+    if (frameLocalCount < 0)
+      setFrameLocals();
+    else if (offset == frameOffset)
+      return; // written for another label bound here
+    int delta = (frameOffset < 0) ? offset : offset - frameOffset - 1;
+    int common = 0, n = Math.min(localCount, frameLocalCount);
+    while (common < n && locals[common] == frameLocals[common])
+      common++;
+    boolean sameLocals = common == localCount && common == frameLocalCount;
+
+    if (sameLocals && sp == 0) {
+      if (delta <= 63)
+        frames.putByte(delta);
+      else {
+        frames.putByte(251);
+        frames.putShort(delta);
+      }
+    } else if (sameLocals && sp == 1) {
+      if (delta <= 63)
+        frames.putByte(64 + delta);
+      else {
+        frames.putByte(247);
+        frames.putShort(delta);
+      }
+      putType(stack[0]);
+    } else if (sp == 0 && common == frameLocalCount && localCount - common <= 3) {
+      frames.putByte(251 + localCount - common); // append
+      frames.putShort(delta);
+      for (int i = common; i < localCount; i++)
+        putType(locals[i]);
+    } else if (sp == 0 && common == localCount && frameLocalCount - common <= 3) {
+      frames.putByte(251 - (frameLocalCount - common)); // chop
+      frames.putShort(delta);
+    } else {
+      frames.putByte(255);
+      frames.putShort(delta);
+      frames.putShort(localCount);
+      for (int i = 0; i < localCount; i++)
+        putType(locals[i]);
+      frames.putShort(sp);
+      for (int i = 0; i < sp; i++)
+        putType(stack[i]);
+    }
+    frameCount++;
+    frameOffset = offset;
+    setFrameLocals();
+  }
+
+  private void putType(int type) {
+    frames.putByte(type & 0xff);
+    if ((type & 0xff) == JVM.ITEM_Object)
+      frames.putShort(type >>> 8);
+  }
+
+}
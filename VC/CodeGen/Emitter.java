@@ -0,0 +1,629 @@
+/*
+ * Emitter.java
+ *
+ * Generates a JVM class file for a program the Checker has checked and
+ * found no errors in, straight into bytes, with no assembly language
+ * in between.
+ *
+ * The class is named by the caller. Each function is a public static
+ * method of it and each global variable a static field, initialised by
+ * <clinit>; the built-in functions are those of VC.lang.System. A
+ * main function of no parameters is also called by a method
+ * main(String[]), so the class can be run with java, which then exits
+ * with what main returns, as vc -r and -i do.
+ *
+ * The types are mapped to the JVM's: int, float and boolean to I, F
+ * and Z, arrays to arrays of these, and string (an argument of
+ * putString or putStringLn only) to java/lang/String. A parameter or
+ * local variable is given its slot in Decl.index. A local variable
+ * declared without an initialiser is set to 0 (or false, 0.0), as a
+ * global one is by the JVM.
+ *
+ * The emitter walks each declaration with a TreeWalker, as the Checker
+ * does, and emits an expression's code when it is exited. A condition
+ * (of an if, while or for, or an operand of && in one) is walked with
+ * a label as its argument and jumps there if false, rather than
+ * leaving a boolean to be tested; an expression whose value is
+ * discarded is walked with DISCARD. Code after a return, break or
+ * continue is not emitted (see Code).
+ *
+ * An Emitter reuses its buffers from one program to the next, so it
+ * is not thread-safe.
+ */
+
+package VC.CodeGen;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+import VC.ASTs.*;
+import VC.StdEnvironment;
+
+public final class Emitter extends WalkAdapter {
+
+  private static final String RUNTIME = "VC/lang/System";
+
+  // the arguments an expression is walked with, but for a label: its
+  // value is discarded, or it is the array element assigned to
+  private static final Object DISCARD = new Object(), LVALUE = new Object();
+
+  private TreeWalker walker = new TreeWalker();
+  private ClassWriter cw = new ClassWriter();
+  private Code methodCode = new Code(cw), initCode = new Code(cw);
+  private Code code;
+  private String className;
+  private FuncDecl currentFunc;
+
+  // the constant pool entries of the fields and methods used
+  private IdentityHashMap<Decl, Integer> refs = new IdentityHashMap<Decl, Integer>();
+
+  // for each node on the path being walked: its labels, or the locals
+  // in scope when it was entered
+  private int[] labels = new int[64], moreLabels = new int[64];
+
+  // the labels of the loops around the statement being walked
+  private int[] breakLabels = new int[16], continueLabels = new int[16];
+  private int loops;
+
+  // The class file of program, as a new array.
+
+  public byte[] emit(AST program, String className) {
+    return generate((Program) program, className).toByteArray();
+  }
+
+  // Writes the class file of program to out, from the emitter's buffer.
+
+  public void emit(AST program, String className, OutputStream out) throws IOException {
+    generate((Program) program, className).writeTo(out);
+  }
+
+  private Bytes generate(Program program, String className) {
+    this.className = className;
+    cw.begin(className);
+    initCode.begin();
+    refs.clear();
+    loops = 0;
+
+    FuncDecl main = null;
+    for (AST ast : Nodes.elements(program.FL)) {
+      Decl decl = (Decl) ast;
+      if (decl.isFuncDecl()) {
+        code = methodCode;
+        walker.walk(decl, this);
+        if (decl.I.spelling.equals("main"))
+          main = (FuncDecl) decl;
+      } else {
+        cw.field(JVM.ACC_PUBLIC | JVM.ACC_STATIC, decl.I.spelling, descriptor(decl.T));
+        code = initCode;
+        walker.walk(decl, this);
+      }
+    }
+
+    if (initCode.length() > 0) {
+      initCode.op(JVM.RETURN);
+      initCode.end();
+      cw.method(JVM.ACC_STATIC, "<clinit>", "()V", initCode);
+    }
+    if (main != null && Nodes.elements(main.PL).length == 0) {
+      code = methodCode;
+      code.begin();
+      code.newLocal(code.object("[Ljava/lang/String;"));
+      code.invoke(methodRef(main), 0, type(main.T));
+      if (main.T.isIntType())
+        code.invoke(cw.methodRef(RUNTIME, "exit", "(I)V"), 1, JVM.ITEM_Top);
+      else if (!main.T.isVoidType())
+        code.op(JVM.POP);
+      code.op(JVM.RETURN);
+      code.end();
+      cw.method(JVM.ACC_PUBLIC | JVM.ACC_STATIC, "main", "([Ljava/lang/String;)V", code);
+    }
+    return cw.finish();
+  }
+
+  public boolean enter(AST ast, Object o) {
+    int at = walker.depth() - 1;
+    if (at >= labels.length) {
+      labels = Arrays.copyOf(labels, 2 * at);
+      moreLabels = Arrays.copyOf(moreLabels, 2 * at);
+    }
+    switch (ast.kind) {
+      case AST.FUNCDECL: {
+        FuncDecl f = (FuncDecl) ast;
+        currentFunc = f;
+        code.begin();
+        for (AST p : Nodes.elements(f.PL))
+          ((Decl) p).index = code.newLocal(type(((Decl) p).T));
+        break;
+      }
+      case AST.GLOBALVARDECL:
+      case AST.LOCALVARDECL:
+      case AST.INTEXPR:
+      case AST.FLOATEXPR:
+      case AST.BOOLEANEXPR:
+      case AST.STRINGEXPR:
+      case AST.VAREXPR:
+      case AST.CALLEXPR:
+        return false; // done on exit
+      case AST.COMPOUNDSTMT:
+        labels[at] = code.locals();
+        break;
+      case AST.IFSTMT:
+        labels[at] = code.newLabel(); // else
+        moreLabels[at] = code.newLabel(); // end
+        break;
+      case AST.WHILESTMT: {
+        int head = code.newLabel(), end = code.newLabel();
+        code.bindLoop(head);
+        labels[at] = head;
+        moreLabels[at] = end;
+        enterLoop(end, head);
+        break;
+      }
+      case AST.FORSTMT: {
+        int head = code.newLabel(), next = code.newLabel(), end = code.newLabel();
+        labels[at] = head;
+        moreLabels[at] = end;
+        enterLoop(end, next);
+        break;
+      }
+      case AST.BINARYEXPR: {
+        String op = ((BinaryExpr) ast).O.spelling;
+        if (op.equals("||") || (op.equals("&&") && !(o instanceof Integer)))
+          labels[at] = code.newLabel(); // true, or false
+        break;
+      }
+      case AST.ARRAYEXPR:
+        load(((ArrayExpr) ast).V);
+        break;
+    }
+    return true;
+  }
+
+  public Object child(AST ast, int i, Object o) {
+    int at = walker.depth() - 1;
+    if (ast.kind == AST.IFSTMT && i == 2) {
+      // the else part, if any, after a jump over it
+      boolean empty = ((IfStmt) ast).S2.kind == AST.EMPTYSTMT;
+      if (!empty)
+        code.jump(JVM.GOTO, moreLabels[at]);
+      code.bind(labels[at]);
+      if (empty)
+        return TreeWalker.SKIP;
+    }
+    if (!code.reachable() && isStatement(Nodes.child(ast, i).kind))
+      return TreeWalker.SKIP;
+    switch (ast.kind) {
+      case AST.FUNCDECL:
+        return (i == 3) ? null : TreeWalker.SKIP;
+      case AST.IFSTMT:
+        return (i == 0) ? (Object) labels[at] : null;
+      case AST.WHILESTMT:
+        return (i == 0) ? (Object) moreLabels[at] : null;
+      case AST.FORSTMT:
+        switch (i) {
+          case 0:
+            return DISCARD;
+          case 1:
+            code.bindLoop(labels[at]);
+            return ((ForStmt) ast).E2.isEmptyExpr() ? TreeWalker.SKIP : (Object) moreLabels[at];
+          case 2:
+            return TreeWalker.SKIP; // after the body
+          default:
+            return null;
+        }
+      case AST.EXPRSTMT:
+        return DISCARD;
+      case AST.UNARYEXPR:
+        return (i == 0) ? TreeWalker.SKIP : null;
+      case AST.BINARYEXPR: {
+        if (i == 1)
+          return TreeWalker.SKIP;
+        String op = ((BinaryExpr) ast).O.spelling;
+        if (op.equals("&&"))
+          return (o instanceof Integer) ? o : (Object) labels[at];
+        return null;
+      }
+      case AST.ARRAYEXPR:
+        return (i == 0) ? TreeWalker.SKIP : null;
+      case AST.ASSIGNEXPR:
+        if (i == 0)
+          return (((AssignExpr) ast).E1.kind == AST.ARRAYEXPR) ? LVALUE : TreeWalker.SKIP;
+        return null;
+      default:
+        return null;
+    }
+  }
+
+  public void afterChild(AST ast, int i, Object o) {
+    int at = walker.depth() - 1;
+    switch (ast.kind) {
+      case AST.FORSTMT:
+        if (i == 0)
+          discard(((ForStmt) ast).E1);
+        break;
+      case AST.BINARYEXPR: {
+        BinaryExpr e = (BinaryExpr) ast;
+        String op = e.O.spelling;
+        if (op.equals("||")) {
+          if (i == 0)
+            code.jump(JVM.IFNE, labels[at]);
+        } else if (!op.equals("&&"))
+          convert((i == 0) ? e.E1.type : e.E2.type, operandType(e));
+        break;
+      }
+    }
+  }
+
+  public void exit(AST ast, Object o) {
+    int at = walker.depth();
+    switch (ast.kind) {
+
+      // Declarations
+
+      case AST.FUNCDECL: {
+        FuncDecl f = (FuncDecl) ast;
+        if (code.reachable()) {
+          // falling off the end
+          if (f.T.isVoidType())
+            code.op(JVM.RETURN);
+          else {
+            pushDefault(f.T);
+            code.op(returnOp(f.T));
+          }
+        }
+        code.end();
+        cw.method(JVM.ACC_PUBLIC | JVM.ACC_STATIC, f.I.spelling, descriptor(f), code);
+        currentFunc = null;
+        break;
+      }
+      case AST.GLOBALVARDECL:
+        initialise((Decl) ast, ((GlobalVarDecl) ast).E);
+        break;
+      case AST.LOCALVARDECL:
+        initialise((Decl) ast, ((LocalVarDecl) ast).E);
+        break;
+
+      // Statements
+
+      case AST.COMPOUNDSTMT:
+        code.setLocals(labels[at]);
+        break;
+      case AST.IFSTMT:
+        code.bind(moreLabels[at]);
+        break;
+      case AST.WHILESTMT:
+        code.jump(JVM.GOTO, labels[at]);
+        code.bind(moreLabels[at]);
+        loops--;
+        break;
+      case AST.FORSTMT: {
+        int head = labels[at], end = moreLabels[at];
+        code.bind(continueLabels[loops - 1]);
+        Expr e3 = ((ForStmt) ast).E3;
+        walker.walk(e3, this, DISCARD);
+        discard(e3);
+        code.jump(JVM.GOTO, head);
+        code.bind(end);
+        loops--;
+        break;
+      }
+      case AST.BREAKSTMT:
+        code.jump(JVM.GOTO, breakLabels[loops - 1]);
+        break;
+      case AST.CONTINUESTMT:
+        code.jump(JVM.GOTO, continueLabels[loops - 1]);
+        break;
+      case AST.RETURNSTMT: {
+        Expr e = ((ReturnStmt) ast).E;
+        if (e.isEmptyExpr())
+          code.op(JVM.RETURN);
+        else {
+          convert(e.type, currentFunc.T);
+          code.op(returnOp(currentFunc.T));
+        }
+        break;
+      }
+      case AST.EXPRSTMT:
+        discard(((ExprStmt) ast).E);
+        break;
+
+      // Expressions
+
+      case AST.INTEXPR:
+        code.iconst(Integer.parseInt(((IntExpr) ast).IL.spelling));
+        break;
+      case AST.FLOATEXPR:
+        code.fconst(Float.parseFloat(((FloatExpr) ast).FL.spelling));
+        break;
+      case AST.BOOLEANEXPR:
+        code.iconst(((BooleanExpr) ast).BL.spelling.equals("true") ? 1 : 0);
+        break;
+      case AST.STRINGEXPR:
+        code.sconst(((StringExpr) ast).SL.spelling);
+        break;
+      case AST.VAREXPR:
+        load(((VarExpr) ast).V);
+        break;
+      case AST.ARRAYEXPR:
+        if (o != LVALUE)
+          code.op(arrayOp(((ArrayExpr) ast).type, false));
+        break;
+      case AST.UNARYEXPR: {
+        UnaryExpr e = (UnaryExpr) ast;
+        String op = e.O.spelling;
+        if (op.equals("-"))
+          code.op(e.type.isFloatType() ? JVM.FNEG : JVM.INEG);
+        else if (op.equals("!")) {
+          code.op(JVM.ICONST_1);
+          code.op(JVM.IXOR);
+        }
+        break;
+      }
+      case AST.BINARYEXPR:
+        exitBinaryExpr((BinaryExpr) ast, o, at);
+        return;
+      case AST.ASSIGNEXPR: {
+        AssignExpr e = (AssignExpr) ast;
+        convert(e.E2.type, e.E1.type);
+        if (e.E1.kind == AST.ARRAYEXPR) {
+          if (o != DISCARD)
+            code.op(JVM.DUP_X2);
+          code.op(arrayOp(e.E1.type, true));
+        } else {
+          if (o != DISCARD)
+            code.op(JVM.DUP);
+          store((Decl) ((SimpleVar) ((VarExpr) e.E1).V).I.decl);
+        }
+        break;
+      }
+      case AST.CALLEXPR:
+        call((CallExpr) ast);
+        break;
+    }
+    if (o instanceof Integer)
+      code.jump(JVM.IFEQ, (Integer) o); // a condition
+  }
+
+  // auxiliary methods
+
+  private static boolean isStatement(int kind) {
+    return (kind >= AST.IFSTMT && kind <= AST.EMPTYSTMT)
+      || kind == AST.LOCALVARDECL || kind == AST.DEFERRED;
+  }
+
+  private void enterLoop(int breakLabel, int continueLabel) {
+    if (loops == breakLabels.length) {
+      breakLabels = Arrays.copyOf(breakLabels, 2 * loops);
+      continueLabels = Arrays.copyOf(continueLabels, 2 * loops);
+    }
+    breakLabels[loops] = breakLabel;
+    continueLabels[loops++] = continueLabel;
+  }
+
+  // Pops the value of e, an expression walked with DISCARD.
+
+  private void discard(Expr e) {
+    if (e.kind != AST.ASSIGNEXPR && !e.isEmptyExpr() && !e.type.isVoidType())
+      code.op(JVM.POP);
+  }
+
+  // Stores the value of the initialiser of a variable in it, or that of
+  // an array made for it, or, for a local one, its default value.
+
+  private void initialise(Decl decl, Expr init) {
+    Type t = decl.T;
+    if (t.isArrayType()) {
+      ArrayType at = (ArrayType) t;
+      AST[] elements = (init.kind == AST.INITEXPR)
+        ? Nodes.elements(((InitExpr) init).IL) : new AST[0];
+      int size = at.E.isEmptyExpr() ? elements.length
+        : Integer.parseInt(((IntExpr) at.E).IL.spelling);
+      code.iconst(size);
+      code.newArray(at.T.isIntType() ? JVM.T_INT : at.T.isFloatType() ? JVM.T_FLOAT : JVM.T_BOOLEAN,
+                    type(t));
+      for (int i = 0; i < elements.length; i++) {
+        Expr e = (Expr) elements[i];
+        code.op(JVM.DUP);
+        code.iconst(i);
+        walker.walk(e, this);
+        convert(e.type, at.T);
+        code.op(arrayOp(at.T, true));
+      }
+    } else if (!init.isEmptyExpr()) {
+      walker.walk(init, this);
+      convert(init.type, t);
+    } else if (decl.isLocalVarDecl())
+      pushDefault(t);
+    else
+      return;
+    if (decl.isLocalVarDecl())
+      decl.index = code.newLocal(type(t));
+    store(decl);
+  }
+
+  private void exitBinaryExpr(BinaryExpr e, Object o, int at) {
+    String op = e.O.spelling;
+    boolean condition = o instanceof Integer;
+    if (op.equals("&&")) {
+      if (!condition) {
+        // the operands jumped to labels[at] if false
+        int end = code.newLabel();
+        code.op(JVM.ICONST_1);
+        code.jump(JVM.GOTO, end);
+        code.bind(labels[at]);
+        code.op(JVM.ICONST_0);
+        code.bind(end);
+      }
+      return;
+    }
+    if (op.equals("||")) {
+      // the first operand jumped to labels[at] if true
+      if (condition) {
+        code.jump(JVM.IFEQ, (Integer) o);
+        code.bind(labels[at]);
+      } else {
+        int end = code.newLabel();
+        code.jump(JVM.IFNE, labels[at]);
+        code.op(JVM.ICONST_0);
+        code.jump(JVM.GOTO, end);
+        code.bind(labels[at]);
+        code.op(JVM.ICONST_1);
+        code.bind(end);
+      }
+      return;
+    }
+
+    boolean isFloat = operandType(e).isFloatType();
+    int arithmetic = op.equals("+") ? JVM.IADD : op.equals("-") ? JVM.ISUB
+      : op.equals("*") ? JVM.IMUL : op.equals("/") ? JVM.IDIV : 0;
+    if (arithmetic != 0) {
+      code.op(isFloat ? arithmetic + 2 : arithmetic);
+      return;
+    }
+
+    // a comparison, which jumps to the false label if false
+    int ifFalse;
+    if (isFloat) {
+      boolean less = op.equals("<") || op.equals("<=");
+      code.op(less ? JVM.FCMPG : JVM.FCMPL);
+      ifFalse = op.equals("<") ? JVM.IFGE : op.equals("<=") ? JVM.IFGT
+        : op.equals(">") ? JVM.IFLE : op.equals(">=") ? JVM.IFLT
+        : op.equals("==") ? JVM.IFNE : JVM.IFEQ;
+    } else
+      ifFalse = op.equals("<") ? JVM.IF_ICMPGE : op.equals("<=") ? JVM.IF_ICMPGT
+        : op.equals(">") ? JVM.IF_ICMPLE : op.equals(">=") ? JVM.IF_ICMPLT
+        : op.equals("==") ? JVM.IF_ICMPNE : JVM.IF_ICMPEQ;
+    if (condition)
+      code.jump(ifFalse, (Integer) o);
+    else {
+      int no = code.newLabel(), end = code.newLabel();
+      code.jump(ifFalse, no);
+      code.op(JVM.ICONST_1);
+      code.jump(JVM.GOTO, end);
+      code.bind(no);
+      code.op(JVM.ICONST_0);
+      code.bind(end);
+    }
+  }
+
+  // the type the operands of a binary operator are converted to
+  private static Type operandType(BinaryExpr e) {
+    return (e.E1.type.isFloatType() || e.E2.type.isFloatType())
+      ? StdEnvironment.floatType : e.E1.type;
+  }
+
+  private void call(CallExpr e) {
+    FuncDecl f = (FuncDecl) e.I.decl;
+    AST[] formals = Nodes.elements(f.PL);
+    AST[] actuals = Nodes.elements(e.AL);
+    for (int i = 0; i < actuals.length; i++) {
+      Expr arg = ((Arg) actuals[i]).E;
+      walker.walk(arg, this);
+      convert(arg.type, ((Decl) formals[i]).T);
+    }
+    code.invoke(methodRef(f), formals.length, type(f.T));
+  }
+
+  private void convert(Type from, Type to) {
+    if (to.isFloatType() && from.isIntType())
+      code.op(JVM.I2F);
+  }
+
+  private void pushDefault(Type t) {
+    if (t.isFloatType())
+      code.op(JVM.FCONST_0);
+    else
+      code.op(JVM.ICONST_0);
+  }
+
+  private void load(Var v) {
+    load((Decl) ((SimpleVar) v).I.decl);
+  }
+
+  private void load(Decl decl) {
+    if (decl.isGlobalVarDecl())
+      code.field(JVM.GETSTATIC, fieldRef(decl), type(decl.T));
+    else
+      code.load(type(decl.T), decl.index);
+  }
+
+  private void store(Decl decl) {
+    if (decl.isGlobalVarDecl())
+      code.field(JVM.PUTSTATIC, fieldRef(decl), type(decl.T));
+    else
+      code.store(type(decl.T), decl.index);
+  }
+
+  private int fieldRef(Decl decl) {
+    Integer ref = refs.get(decl);
+    if (ref == null) {
+      ref = cw.fieldRef(className, decl.I.spelling, descriptor(decl.T));
+      refs.put(decl, ref);
+    }
+    return ref;
+  }
+
+  private int methodRef(FuncDecl f) {
+    Integer ref = refs.get(f);
+    if (ref == null) {
+      String owner = isBuiltIn(f) ? RUNTIME : className;
+      ref = cw.methodRef(owner, f.I.spelling, descriptor(f));
+      refs.put(f, ref);
+    }
+    return ref;
+  }
+
+  private static boolean isBuiltIn(FuncDecl f) {
+    for (FuncDecl g : StdEnvironment.functions)
+      if (f == g)
+        return true;
+    return false;
+  }
+
+  private static int arrayOp(Type elementType, boolean store) {
+    if (elementType.isIntType())
+      return store ? JVM.IASTORE : JVM.IALOAD;
+    if (elementType.isFloatType())
+      return store ? JVM.FASTORE : JVM.FALOAD;
+    return store ? JVM.BASTORE : JVM.BALOAD;
+  }
+
+  private static int returnOp(Type t) {
+    return t.isFloatType() ? JVM.FRETURN : JVM.IRETURN;
+  }
+
+  // the verification type of a value of type t, ITEM_Top for void
+  private int type(Type t) {
+    if (t.isIntType() || t.isBooleanType())
+      return JVM.ITEM_Integer;
+    if (t.isFloatType())
+      return JVM.ITEM_Float;
+    if (t.isVoidType())
+      return JVM.ITEM_Top;
+    return code.object(t.isArrayType() ? descriptor(t) : "java/lang/String");
+  }
+
+  private static String descriptor(Type t) {
+    if (t.isIntType())
+      return "I";
+    if (t.isFloatType())
+      return "F";
+    if (t.isBooleanType())
+      return "Z";
+    if (t.isVoidType())
+      return "V";
+    if (t.isArrayType())
+      return "[" + descriptor(((ArrayType) t).T);
+    return "Ljava/lang/String;";
+  }
+
+  private static String descriptor(FuncDecl f) {
+    StringBuilder s = new StringBuilder("(");
+    for (AST p : Nodes.elements(f.PL))
+      s.append(descriptor(((Decl) p).T));
+    return s.append(')').append(descriptor(f.T)).toString();
+  }
+
+}
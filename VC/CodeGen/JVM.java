@@ -0,0 +1,126 @@
+/*
+ * JVM.java
+ *
+ * The parts of the class file format (the JVM spec, chapter 4) and the
+ * instruction set (chapter 6) that the code generator uses.
+ */
+
+package VC.CodeGen;
+
+final class JVM {
+
+  private JVM() { }
+
+  static final int MAGIC = 0xCAFEBABE;
+  static final int MAJOR_VERSION = 52; // the first to require StackMapTable is 51
+
+  // access flags
+
+  static final int
+    ACC_PUBLIC = 0x0001,
+    ACC_STATIC = 0x0008,
+    ACC_FINAL = 0x0010,
+    ACC_SUPER = 0x0020;
+
+  // constant pool tags
+
+  static final int
+    CONSTANT_Utf8 = 1,
+    CONSTANT_Integer = 3,
+    CONSTANT_Float = 4,
+    CONSTANT_Class = 7,
+    CONSTANT_String = 8,
+    CONSTANT_Fieldref = 9,
+    CONSTANT_Methodref = 10,
+    CONSTANT_NameAndType = 12;
+
+  // verification types, as in a StackMapTable; an object type is
+  // ITEM_Object with the index of its class in the constant pool above
+  // the low 8 bits
+
+  static final int
+    ITEM_Top = 0,
+    ITEM_Integer = 1,
+    ITEM_Float = 2,
+    ITEM_Object = 7;
+
+  // newarray element types
+
+  static final int
+    T_BOOLEAN = 4,
+    T_FLOAT = 6,
+    T_INT = 10;
+
+  // opcodes
+
+  static final int
+    ICONST_M1 = 2,
+    ICONST_0 = 3,
+    ICONST_1 = 4,
+    ICONST_5 = 8,
+    FCONST_0 = 11,
+    FCONST_1 = 12,
+    FCONST_2 = 13,
+    BIPUSH = 16,
+    SIPUSH = 17,
+    LDC = 18,
+    LDC_W = 19,
+    ILOAD = 21,
+    FLOAD = 23,
+    ALOAD = 25,
+    ILOAD_0 = 26,
+    FLOAD_0 = 34,
+    ALOAD_0 = 42,
+    IALOAD = 46,
+    FALOAD = 48,
+    BALOAD = 51,
+    ISTORE = 54,
+    FSTORE = 56,
+    ASTORE = 58,
+    ISTORE_0 = 59,
+    FSTORE_0 = 67,
+    ASTORE_0 = 75,
+    IASTORE = 79,
+    FASTORE = 81,
+    BASTORE = 84,
+    POP = 87,
+    DUP = 89,
+    DUP_X2 = 91,
+    IADD = 96,
+    FADD = 98,
+    ISUB = 100,
+    FSUB = 102,
+    IMUL = 104,
+    FMUL = 106,
+    IDIV = 108,
+    FDIV = 110,
+    INEG = 116,
+    FNEG = 118,
+    IXOR = 130,
+    I2F = 134,
+    FCMPL = 149,
+    FCMPG = 150,
+    IFEQ = 153,
+    IFNE = 154,
+    IFLT = 155,
+    IFGE = 156,
+    IFGT = 157,
+    IFLE = 158,
+    IF_ICMPEQ = 159,
+    IF_ICMPNE = 160,
+    IF_ICMPLT = 161,
+    IF_ICMPGE = 162,
+    IF_ICMPGT = 163,
+    IF_ICMPLE = 164,
+    GOTO = 167,
+    IRETURN = 172,
+    FRETURN = 174,
+    ARETURN = 176,
+    RETURN = 177,
+    GETSTATIC = 178,
+    PUTSTATIC = 179,
+    INVOKESTATIC = 184,
+    NEWARRAY = 188,
+    WIDE = 196;
+
+}
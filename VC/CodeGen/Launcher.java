@@ -0,0 +1,92 @@
+/*
+ * Launcher.java
+ *
+ * Runs a program in the JVM it is compiled in: the class the Emitter
+ * generates for it is defined from memory as a hidden class
+ * (MethodHandles.Lookup.defineHiddenClass), and its main called in the
+ * calling thread, with the input and output of VC.lang.System set for
+ * the run. Nothing is written to disk and no JVM is started, so a
+ * worker can run program after program in a warm JVM.
+ *
+ * A hidden class cannot be found by name and is not kept by a class
+ * loader, so the classes of programs run are unloaded when no longer
+ * used, and need not have different names; they are all emitted under
+ * one name in this package, as defineHiddenClass requires.
+ *
+ * A Launcher reuses its emitter and output buffer from one run to the
+ * next, so it is not thread-safe; use one per thread.
+ */
+
+package VC.CodeGen;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.nio.charset.StandardCharsets;
+
+import VC.ASTs.AST;
+
+public final class Launcher {
+
+  private static final String CLASS_NAME = "VC/CodeGen/Program";
+  private static final MethodType MAIN = MethodType.methodType(int.class);
+  private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+  private Emitter emitter = new Emitter();
+  private ByteArrayOutputStream captured = new ByteArrayOutputStream();
+  private PrintStream capture = new PrintStream(captured, false, StandardCharsets.UTF_8);
+
+  // Runs program, which the Checker has found no errors in, reading
+  // input (the standard input if null) and appending its output to
+  // output (writing it to the standard output if null). Returns what
+  // main returns. An exception the program throws, such as an
+  // ArithmeticException for a division by zero or an
+  // ArrayIndexOutOfBoundsException, is thrown on, once the output up to
+  // it has been appended.
+
+  public int run(AST program, String input, StringBuilder output) {
+    Reader in = VC.lang.System.setIn((input == null) ? null : new StringReader(input));
+    PrintStream out = VC.lang.System.setOut((output == null) ? null : capture);
+    try {
+      // the global variables are initialised, and may write, here
+      Class<?> c = define(program);
+      MethodHandle main;
+      try {
+        main = lookup.findStatic(c, "main", MAIN);
+      } catch (ReflectiveOperationException e) {
+        throw new IllegalArgumentException("the program has no function int main()");
+      }
+      return (int) main.invokeExact();
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new UndeclaredThrowableException(e);
+    } finally {
+      VC.lang.System.setIn(in);
+      VC.lang.System.setOut(out);
+      if (output != null) {
+        capture.flush();
+        output.append(captured.toString(StandardCharsets.UTF_8));
+        captured.reset();
+      }
+    }
+  }
+
+  // Defines and initialises the class of program, whose functions and
+  // global variables are its static methods and fields.
+
+  public Class<?> define(AST program) {
+    byte[] classFile = emitter.emit(program, CLASS_NAME);
+    try {
+      return lookup.defineHiddenClass(classFile, true).lookupClass();
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException(e); // the class is in this package
+    }
+  }
+
+}
@@ -0,0 +1,6 @@
+======= The VC compiler =======
+Compilation was successful.
+3628800
+21
+1024.0
+0.125
@@ -0,0 +1,5 @@
+======= The VC compiler =======
+Compilation was successful.
+28
+-1 0 0 3 4 9 
+11.5
@@ -0,0 +1,6 @@
+======= The VC compiler =======
+Compilation was successful.
+53
+right
+2
+10
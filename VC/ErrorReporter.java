@@ -14,6 +14,13 @@ public class ErrorReporter {
     numErrors = 0;
   }
 
+  // Forgets the errors counted so far, so that the reporter can be
+  // reused for another program.
+
+  public void reset() {
+    numErrors = 0;
+  }
+
   public void reportError(String message, String tokenName, SourcePosition pos) {
     System.out.print ("ERROR: ");
     System.out.print(pos.lineStart + "(" + pos.charStart + ").." +
@@ -0,0 +1,655 @@
+/*
+ * Interpreter.java
+ *
+ * Runs a program, which the Checker has found no errors in, by walking
+ * its AST, with no code generated. It behaves as the class the Emitter
+ * generates does: a local variable declared without an initialiser is
+ * set to 0, a function that ends without a return returns 0, a
+ * division by zero throws an ArithmeticException and a subscript out
+ * of bounds an ArrayIndexOutOfBoundsException, and the built-in
+ * functions are those of VC.lang.System.
+ *
+ * Values are never boxed. A variable lives in a slot of one of three
+ * arrays, by its type: ints (int and boolean, as 0 or 1), floats, and
+ * refs (arrays, as int[], float[] and boolean[]). Before a run, each
+ * global variable, parameter and local variable is given the number of
+ * its slot among those of its kind in Decl.index (overwriting the
+ * Emitter's), and each function its number in FuncDecl.index. The
+ * slots of the globals are arrays of their own; those of a call are a
+ * frame on three stacks, found by adding Decl.index to the frame's
+ * base. An expression is evaluated by the method for its type (evalInt,
+ * evalFloat, or test for a condition), using the types the Checker
+ * decorated the tree with, and a statement's execution returns how it
+ * completed (normally, or by break, continue or return), with the value
+ * returned in intResult or floatResult.
+ *
+ * A list of statements is executed in a loop, however long, but
+ * expressions and statements nest on the Java stack, as do calls; deep
+ * recursion in a program needs a large thread stack.
+ *
+ * An Interpreter is not thread-safe.
+ */
+
+package VC.Interpreter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import VC.ASTs.*;
+
+public final class Interpreter {
+
+  // how a statement completed
+  private static final int NORMAL = 0, BREAK = 1, CONTINUE = 2, RETURN = 3;
+
+  // the kinds of slot
+  private static final int INT = 0, FLOAT = 1, REF = 2;
+
+  private TreeWalker walker = new TreeWalker();
+
+  // the functions of the program, by number, their parameters, and the
+  // number of slots of each kind in their frames
+  private FuncDecl[] functions;
+  private Decl[][] params;
+  private int[] intSizes, floatSizes, refSizes;
+
+  // the slots of the global variables
+  private int[] globalInts;
+  private float[] globalFloats;
+  private Object[] globalRefs;
+
+  // the stacks of frames, the current frame's base and its end
+  private int[] ints = new int[1024];
+  private float[] floats = new float[256];
+  private Object[] refs = new Object[64];
+  private int intBase, floatBase, refBase;
+  private int intTop, floatTop, refTop;
+
+  // the result type of the function being run, and the value returned
+  private Type resultType;
+  private int intResult;
+  private float floatResult;
+
+  private ByteArrayOutputStream captured = new ByteArrayOutputStream();
+  private PrintStream capture = new PrintStream(captured, false, StandardCharsets.UTF_8);
+
+  // Runs program, reading input (the standard input if null) and
+  // appending its output to output (writing it to the standard output
+  // if null), and returns what main returns, as Launcher.run does.
+
+  public int run(AST program, String input, StringBuilder output) {
+    Reader in = VC.lang.System.setIn((input == null) ? null : new StringReader(input));
+    PrintStream out = VC.lang.System.setOut((output == null) ? null : capture);
+    try {
+      return run((Program) program);
+    } finally {
+      VC.lang.System.setIn(in);
+      VC.lang.System.setOut(out);
+      if (output != null) {
+        capture.flush();
+        output.append(captured.toString(StandardCharsets.UTF_8));
+        captured.reset();
+      }
+      Arrays.fill(refs, null);
+      globalRefs = null;
+    }
+  }
+
+  private int run(Program program) {
+    AST[] decls = Nodes.elements(program.FL);
+    layout(decls);
+    intBase = floatBase = refBase = 0;
+    intTop = floatTop = refTop = 0;
+    resultType = null;
+
+    FuncDecl main = null;
+    for (AST decl : decls) {
+      if (decl.kind == AST.FUNCDECL) {
+        FuncDecl f = (FuncDecl) decl;
+        if (f.I.spelling.equals("main") && params[f.index].length == 0)
+          main = f;
+      } else
+        initialise((Decl) decl, ((GlobalVarDecl) decl).E);
+    }
+    if (main == null)
+      throw new IllegalArgumentException("the program has no function int main()");
+    push(main.index);
+    invoke(main, 0, 0, 0);
+    return intResult;
+  }
+
+  // Numbers the functions and the slots of the variables.
+
+  private void layout(AST[] decls) {
+    int n = 0;
+    for (AST decl : decls)
+      if (decl.kind == AST.FUNCDECL)
+        n++;
+    functions = new FuncDecl[n];
+    params = new Decl[n][];
+    intSizes = new int[n];
+    floatSizes = new int[n];
+    refSizes = new int[n];
+
+    final int[] counts = new int[3];
+    WalkAdapter locals = new WalkAdapter() {
+      public boolean enter(AST ast, Object o) {
+        if (ast.kind == AST.LOCALVARDECL) {
+          Decl decl = (Decl) ast;
+          decl.index = counts[slotKind(decl.T)]++;
+        }
+        return true;
+      }
+    };
+
+    int f = 0;
+    for (AST ast : decls) {
+      Decl decl = (Decl) ast;
+      if (decl.kind != AST.FUNCDECL) {
+        decl.index = counts[slotKind(decl.T)]++;
+        continue;
+      }
+      int[] globals = counts.clone();
+      Arrays.fill(counts, 0);
+      FuncDecl func = (FuncDecl) decl;
+      func.index = f;
+      functions[f] = func;
+      AST[] ps = Nodes.elements(func.PL);
+      params[f] = new Decl[ps.length];
+      for (int i = 0; i < ps.length; i++) {
+        Decl p = (Decl) ps[i];
+        p.index = counts[slotKind(p.T)]++;
+        params[f][i] = p;
+      }
+      walker.walk(func.S, locals);
+      intSizes[f] = counts[INT];
+      floatSizes[f] = counts[FLOAT];
+      refSizes[f] = counts[REF];
+      System.arraycopy(globals, 0, counts, 0, 3);
+      f++;
+    }
+    globalInts = new int[counts[INT]];
+    globalFloats = new float[counts[FLOAT]];
+    globalRefs = new Object[counts[REF]];
+  }
+
+  private static int slotKind(Type t) {
+    return t.isFloatType() ? FLOAT : t.isArrayType() ? REF : INT;
+  }
+
+  // Statements
+
+  private int exec(AST s) {
+    switch (s.kind) {
+      case AST.COMPOUNDSTMT: {
+        CompoundStmt c = (CompoundStmt) s;
+        int completion = execList(c.DL);
+        return (completion != NORMAL) ? completion : execList(c.SL);
+      }
+      case AST.DEFERRED:
+        return exec(s.resolve());
+      case AST.LOCALVARDECL:
+        initialise((Decl) s, ((LocalVarDecl) s).E);
+        return NORMAL;
+      case AST.IFSTMT: {
+        IfStmt i = (IfStmt) s;
+        return test(i.E) ? exec(i.S1) : exec(i.S2);
+      }
+      case AST.WHILESTMT: {
+        WhileStmt w = (WhileStmt) s;
+        while (test(w.E)) {
+          int completion = exec(w.S);
+          if (completion == BREAK)
+            break;
+          if (completion == RETURN)
+            return RETURN;
+        }
+        return NORMAL;
+      }
+      case AST.FORSTMT: {
+        ForStmt f = (ForStmt) s;
+        discard(f.E1);
+        boolean always = f.E2.isEmptyExpr();
+        while (always || test(f.E2)) {
+          int completion = exec(f.S);
+          if (completion == BREAK)
+            break;
+          if (completion == RETURN)
+            return RETURN;
+          discard(f.E3);
+        }
+        return NORMAL;
+      }
+      case AST.BREAKSTMT:
+        return BREAK;
+      case AST.CONTINUESTMT:
+        return CONTINUE;
+      case AST.RETURNSTMT: {
+        Expr e = ((ReturnStmt) s).E;
+        if (resultType.isFloatType())
+          floatResult = evalFloat(e);
+        else if (!resultType.isVoidType())
+          intResult = evalInt(e);
+        return RETURN;
+      }
+      case AST.EXPRSTMT:
+        discard(((ExprStmt) s).E);
+        return NORMAL;
+      default: // EMPTYSTMT, EMPTYCOMPSTMT
+        return NORMAL;
+    }
+  }
+
+  // Executes a list of statements, with the local variable declarations
+  // among them, until one completes otherwise than normally.
+
+  private int execList(List list) {
+    AST l = list;
+    while (true) {
+      switch (l.kind) {
+        case AST.STMTLIST: {
+          int completion = exec(((StmtList) l).S);
+          if (completion != NORMAL)
+            return completion;
+          l = ((StmtList) l).SL;
+          break;
+        }
+        case AST.DECLLIST:
+          exec(((DeclList) l).D);
+          l = ((DeclList) l).DL;
+          break;
+        case AST.FLATLIST: {
+          FlatList f = (FlatList) l;
+          for (int i = 0, n = f.size(); i < n; i++) {
+            int completion = exec(f.get(i));
+            if (completion != NORMAL)
+              return completion;
+          }
+          return NORMAL;
+        }
+        default: // an empty list
+          return NORMAL;
+      }
+    }
+  }
+
+  // Stores the value of the initialiser of a variable in its slot, or
+  // that of an array made for it, or, for a local one, 0.
+
+  private void initialise(Decl decl, Expr init) {
+    Type t = decl.T;
+    if (t.isArrayType()) {
+      ArrayType at = (ArrayType) t;
+      AST[] elements = (init.kind == AST.INITEXPR)
+        ? Nodes.elements(((InitExpr) init).IL) : new AST[0];
+      int size = at.E.isEmptyExpr() ? elements.length
+        : Integer.parseInt(((IntExpr) at.E).IL.spelling);
+      Object array;
+      if (at.T.isIntType()) {
+        int[] a = new int[size];
+        for (int i = 0; i < elements.length; i++)
+          a[i] = evalInt((Expr) elements[i]);
+        array = a;
+      } else if (at.T.isFloatType()) {
+        float[] a = new float[size];
+        for (int i = 0; i < elements.length; i++)
+          a[i] = evalFloat((Expr) elements[i]);
+        array = a;
+      } else {
+        boolean[] a = new boolean[size];
+        for (int i = 0; i < elements.length; i++)
+          a[i] = test((Expr) elements[i]);
+        array = a;
+      }
+      setRef(decl, array);
+    } else if (t.isFloatType())
+      setFloat(decl, init.isEmptyExpr() ? 0.0f : evalFloat(init));
+    else
+      setInt(decl, init.isEmptyExpr() ? 0 : evalInt(init));
+  }
+
+  // Expressions
+
+  // the value of an int or boolean expression (0 or 1)
+
+  private int evalInt(Expr e) {
+    switch (e.kind) {
+      case AST.INTEXPR:
+        return Integer.parseInt(((IntExpr) e).IL.spelling);
+      case AST.BOOLEANEXPR:
+        return ((BooleanExpr) e).BL.spelling.equals("true") ? 1 : 0;
+      case AST.VAREXPR:
+        return getInt(decl(((VarExpr) e).V));
+      case AST.ARRAYEXPR: {
+        ArrayExpr a = (ArrayExpr) e;
+        Object array = getRef(decl(a.V));
+        int i = evalInt(a.E);
+        return e.type.isIntType() ? ((int[]) array)[i] : ((boolean[]) array)[i] ? 1 : 0;
+      }
+      case AST.UNARYEXPR: {
+        UnaryExpr u = (UnaryExpr) e;
+        String op = u.O.spelling;
+        if (op.equals("!"))
+          return (evalInt(u.E) == 0) ? 1 : 0;
+        return op.equals("-") ? -evalInt(u.E) : evalInt(u.E);
+      }
+      case AST.BINARYEXPR: {
+        BinaryExpr b = (BinaryExpr) e;
+        if (e.type.isBooleanType())
+          return test(b) ? 1 : 0;
+        int x = evalInt(b.E1), y = evalInt(b.E2);
+        switch (b.O.spelling) {
+          case "+": return x + y;
+          case "-": return x - y;
+          case "*": return x * y;
+          default: return x / y;
+        }
+      }
+      case AST.ASSIGNEXPR: {
+        AssignExpr a = (AssignExpr) e;
+        int v = evalInt(a.E2);
+        if (a.E1.kind == AST.VAREXPR)
+          setInt(decl(((VarExpr) a.E1).V), v);
+        else {
+          ArrayExpr x = (ArrayExpr) a.E1;
+          Object array = getRef(decl(x.V));
+          int i = evalInt(x.E);
+          if (x.type.isIntType())
+            ((int[]) array)[i] = v;
+          else
+            ((boolean[]) array)[i] = v != 0;
+        }
+        return v;
+      }
+      case AST.CALLEXPR:
+        call((CallExpr) e);
+        return intResult;
+      default:
+        throw new IllegalArgumentException("not an int or boolean expression: " + e.kind);
+    }
+  }
+
+  // the value of a float expression, or of an int one converted
+
+  private float evalFloat(Expr e) {
+    if (e.type.isIntType())
+      return evalInt(e);
+    switch (e.kind) {
+      case AST.FLOATEXPR:
+        return Float.parseFloat(((FloatExpr) e).FL.spelling);
+      case AST.VAREXPR:
+        return getFloat(decl(((VarExpr) e).V));
+      case AST.ARRAYEXPR: {
+        ArrayExpr a = (ArrayExpr) e;
+        float[] array = (float[]) getRef(decl(a.V));
+        return array[evalInt(a.E)];
+      }
+      case AST.UNARYEXPR: {
+        UnaryExpr u = (UnaryExpr) e;
+        return u.O.spelling.equals("-") ? -evalFloat(u.E) : evalFloat(u.E);
+      }
+      case AST.BINARYEXPR: {
+        BinaryExpr b = (BinaryExpr) e;
+        float x = evalFloat(b.E1), y = evalFloat(b.E2);
+        switch (b.O.spelling) {
+          case "+": return x + y;
+          case "-": return x - y;
+          case "*": return x * y;
+          default: return x / y;
+        }
+      }
+      case AST.ASSIGNEXPR: {
+        AssignExpr a = (AssignExpr) e;
+        float v = evalFloat(a.E2);
+        if (a.E1.kind == AST.VAREXPR)
+          setFloat(decl(((VarExpr) a.E1).V), v);
+        else {
+          ArrayExpr x = (ArrayExpr) a.E1;
+          float[] array = (float[]) getRef(decl(x.V));
+          array[evalInt(x.E)] = v;
+        }
+        return v;
+      }
+      case AST.CALLEXPR:
+        call((CallExpr) e);
+        return floatResult;
+      default:
+        throw new IllegalArgumentException("not a float expression: " + e.kind);
+    }
+  }
+
+  // the value of a boolean expression, a condition
+
+  private boolean test(Expr e) {
+    if (e.kind != AST.BINARYEXPR)
+      return evalInt(e) != 0;
+    BinaryExpr b = (BinaryExpr) e;
+    String op = b.O.spelling;
+    switch (op) {
+      case "&&":
+        return test(b.E1) && test(b.E2);
+      case "||":
+        return test(b.E1) || test(b.E2);
+    }
+    if (b.E1.type.isFloatType() || b.E2.type.isFloatType()) {
+      float x = evalFloat(b.E1), y = evalFloat(b.E2);
+      switch (op) {
+        case "<": return x < y;
+        case "<=": return x <= y;
+        case ">": return x > y;
+        case ">=": return x >= y;
+        case "==": return x == y;
+        default: return x != y;
+      }
+    }
+    int x = evalInt(b.E1), y = evalInt(b.E2);
+    switch (op) {
+      case "<": return x < y;
+      case "<=": return x <= y;
+      case ">": return x > y;
+      case ">=": return x >= y;
+      case "==": return x == y;
+      default: return x != y;
+    }
+  }
+
+  // Evaluates e, an expression statement, for its effects.
+
+  private void discard(Expr e) {
+    if (e.isEmptyExpr())
+      return;
+    if (e.type.isVoidType())
+      call((CallExpr) e);
+    else if (e.type.isFloatType())
+      evalFloat(e);
+    else
+      evalInt(e);
+  }
+
+  // Calls
+
+  private void call(CallExpr e) {
+    FuncDecl f = (FuncDecl) e.I.decl;
+    int n = f.index;
+    // a built-in function is not among those numbered
+    if (n >= functions.length || functions[n] != f) {
+      callBuiltIn(f.I.spelling, e.AL);
+      return;
+    }
+
+    // the frame is put on the stacks, and any call made by an argument
+    // above it
+    int ib = intTop, fb = floatTop, rb = refTop;
+    push(n);
+    Decl[] formals = params[n];
+    List args = e.AL;
+    if (args.kind == AST.FLATLIST) {
+      FlatList l = (FlatList) args;
+      for (int i = 0; i < formals.length; i++)
+        pass(formals[i], l.get(i), ib, fb, rb);
+    } else {
+      AST l = args;
+      for (int i = 0; i < formals.length; i++) {
+        pass(formals[i], Nodes.child(l, 0), ib, fb, rb);
+        l = Nodes.child(l, 1);
+      }
+    }
+
+    invoke(f, ib, fb, rb);
+  }
+
+  // Makes room on the stacks for a frame of function n.
+
+  private void push(int n) {
+    intTop += intSizes[n];
+    floatTop += floatSizes[n];
+    refTop += refSizes[n];
+    if (intTop > ints.length)
+      ints = Arrays.copyOf(ints, Math.max(2 * ints.length, intTop));
+    if (floatTop > floats.length)
+      floats = Arrays.copyOf(floats, Math.max(2 * floats.length, floatTop));
+    if (refTop > refs.length)
+      refs = Arrays.copyOf(refs, Math.max(2 * refs.length, refTop));
+  }
+
+  // Runs the body of f in the frame at the given bases, the top one,
+  // and takes the frame off the stacks.
+
+  private void invoke(FuncDecl f, int ib, int fb, int rb) {
+    int intCaller = intBase, floatCaller = floatBase, refCaller = refBase;
+    Type callerType = resultType;
+    intBase = ib;
+    floatBase = fb;
+    refBase = rb;
+    resultType = f.T;
+    intResult = 0;
+    floatResult = 0.0f;
+    exec(f.S);
+    if (rb < refTop)
+      Arrays.fill(refs, rb, refTop, null);
+    intBase = intCaller;
+    floatBase = floatCaller;
+    refBase = refCaller;
+    intTop = ib;
+    floatTop = fb;
+    refTop = rb;
+    resultType = callerType;
+  }
+
+  // Stores the value of an argument in the slot of its parameter in the
+  // frame at the given bases.
+
+  private void pass(Decl formal, AST arg, int ib, int fb, int rb) {
+    int slot = formal.index;
+    Expr e = ((Arg) arg).E;
+    switch (slotKind(formal.T)) {
+      case INT: {
+        int v = evalInt(e);
+        ints[ib + slot] = v;
+        break;
+      }
+      case FLOAT: {
+        float v = evalFloat(e);
+        floats[fb + slot] = v;
+        break;
+      }
+      default:
+        refs[rb + slot] = getRef(decl(((VarExpr) e).V));
+    }
+  }
+
+  private void callBuiltIn(String name, List args) {
+    AST arg = null;
+    if (args.kind == AST.FLATLIST) {
+      if (((FlatList) args).size() > 0)
+        arg = ((FlatList) args).get(0);
+    } else if (Nodes.childCount(args) == 2)
+      arg = Nodes.child(args, 0);
+    switch (name) {
+      case "getInt":
+        intResult = VC.lang.System.getInt();
+        break;
+      case "getFloat":
+        floatResult = VC.lang.System.getFloat();
+        break;
+      case "putInt":
+        VC.lang.System.putInt(intArg(arg));
+        break;
+      case "putIntLn":
+        VC.lang.System.putIntLn(intArg(arg));
+        break;
+      case "putFloat":
+        VC.lang.System.putFloat(floatArg(arg));
+        break;
+      case "putFloatLn":
+        VC.lang.System.putFloatLn(floatArg(arg));
+        break;
+      case "putBool":
+        VC.lang.System.putBool(intArg(arg) != 0);
+        break;
+      case "putBoolLn":
+        VC.lang.System.putBoolLn(intArg(arg) != 0);
+        break;
+      case "putString":
+        VC.lang.System.putString(((StringExpr) ((Arg) arg).E).SL.spelling);
+        break;
+      case "putStringLn":
+        VC.lang.System.putStringLn(((StringExpr) ((Arg) arg).E).SL.spelling);
+        break;
+      default: // putLn
+        VC.lang.System.putLn();
+    }
+  }
+
+  private int intArg(AST arg) {
+    return evalInt(((Arg) arg).E);
+  }
+
+  private float floatArg(AST arg) {
+    return evalFloat(((Arg) arg).E);
+  }
+
+  // Slots
+
+  private static Decl decl(Var v) {
+    return (Decl) ((SimpleVar) v).I.decl;
+  }
+
+  private int getInt(Decl d) {
+    return d.isGlobalVarDecl() ? globalInts[d.index] : ints[intBase + d.index];
+  }
+
+  private void setInt(Decl d, int v) {
+    if (d.isGlobalVarDecl())
+      globalInts[d.index] = v;
+    else
+      ints[intBase + d.index] = v;
+  }
+
+  private float getFloat(Decl d) {
+    return d.isGlobalVarDecl() ? globalFloats[d.index] : floats[floatBase + d.index];
+  }
+
+  private void setFloat(Decl d, float v) {
+    if (d.isGlobalVarDecl())
+      globalFloats[d.index] = v;
+    else
+      floats[floatBase + d.index] = v;
+  }
+
+  private Object getRef(Decl d) {
+    return d.isGlobalVarDecl() ? globalRefs[d.index] : refs[refBase + d.index];
+  }
+
+  private void setRef(Decl d, Object v) {
+    if (d.isGlobalVarDecl())
+      globalRefs[d.index] = v;
+    else
+      refs[refBase + d.index] = v;
+  }
+
+}
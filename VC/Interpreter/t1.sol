@@ -0,0 +1,6 @@
+======= The VC compiler =======
+Compilation was successful.
+1 2
+12
+9
+6765
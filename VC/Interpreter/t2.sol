@@ -0,0 +1,10 @@
+======= The VC compiler =======
+Compilation was successful.
+7.0
+3.5
+3.25
+5.5
+3.5
+true
+true
+3.0
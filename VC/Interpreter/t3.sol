@@ -0,0 +1,10 @@
+======= The VC compiler =======
+Compilation was successful.
+-42
+2147483647
+3.5
+0.001
+true
+false
+tab	and quote " done
+
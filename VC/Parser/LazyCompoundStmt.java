@@ -0,0 +1,75 @@
+/*
+ * LazyCompoundStmt.java
+ *
+ * The placeholder body that a parser in lazy mode installs in every
+ * FuncDecl: the tokens of the compound statement, found by brace
+ * matching, but not yet parsed. The body is parsed the first time the
+ * placeholder is visited (or expand() is called), and kept. The
+ * placeholder stays in FuncDecl.S and stands for the body from then
+ * on, so that expanding it changes no node of the tree but itself,
+ * which a reader of the tree in another thread might be walking.
+ *
+ * A syntax error in the body is reported to the parser's ErrorReporter
+ * when the body is expanded, and the body becomes an EmptyCompStmt.
+ */
+
+package VC.Parser;
+
+import VC.ASTs.*;
+import VC.ErrorReporter;
+import VC.Scanner.SourcePosition;
+import VC.Scanner.Token;
+
+public class LazyCompoundStmt extends Stmt {
+
+  private Token[] tokens;
+  private ErrorReporter errorReporter;
+  private boolean flatLists;
+  private Stmt body;
+
+  LazyCompoundStmt(Token[] tokens, ErrorReporter reporter, boolean flatLists,
+                   SourcePosition position) {
+    super (position, DEFERRED);
+    this.tokens = tokens;
+    errorReporter = reporter;
+    this.flatLists = flatLists;
+  }
+
+  public synchronized Stmt expand() {
+    if (body == null) {
+      Parser parser = new Parser(tokens, 0, tokens.length, errorReporter);
+      if (flatLists)
+        parser.enableFlatLists();
+      try {
+        body = parser.parseWholeCompoundStmt();
+      } catch (SyntaxError s) {
+        body = new EmptyCompStmt(position);
+      }
+      body.parent = parent;
+      tokens = null;
+      errorReporter = null;
+    }
+    return body;
+  }
+
+  public AST resolve() {
+    return expand();
+  }
+
+  public synchronized boolean isExpanded() {
+    return body != null;
+  }
+
+  public Object visit(Visitor v, Object o) {
+    return expand().visit(v, o);
+  }
+
+  public <R, A> R accept(TypedVisitor<R, A> v, A arg) {
+    return expand().accept(v, arg);
+  }
+
+  public <A> int accept(IntVisitor<A> v, A arg) {
+    return expand().accept(v, arg);
+  }
+
+}
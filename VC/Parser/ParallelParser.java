@@ -0,0 +1,240 @@
+/*
+ * ParallelParser.java
+ *
+ * Parses the top-level declarations of a program concurrently.
+ *
+ * Function and global variable declarations are syntactically
+ * independent, so after the whole token stream has been read, it is
+ * split at top-level declaration boundaries: a ";" or the "}" closing
+ * a function body, outside any parentheses or braces. Consecutive
+ * declarations are grouped into chunks of roughly CHUNK_TOKENS tokens,
+ * each chunk is parsed by its own Parser, and the resulting DeclLists
+ * are linked together in source order. The AST, positions included,
+ * is the same as the one built by Parser.parseProgram.
+ *
+ * Syntax errors are buffered per chunk; as with Parser, only the first
+ * one in the program is reported and parseProgram then returns null.
+ * Lexical errors are reported while the tokens are read, so all of
+ * them are reported even if a syntax error occurs earlier.
+ */
+
+package VC.Parser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import VC.ASTs.*;
+import VC.BufferedErrorReporter;
+import VC.ErrorReporter;
+import VC.Scanner.Scanner;
+import VC.Scanner.SourcePosition;
+import VC.Scanner.Token;
+
+public class ParallelParser {
+
+  static final int CHUNK_TOKENS = 2048;
+
+  private Scanner scanner;
+  private ErrorReporter errorReporter;
+  private ExecutorService executor;
+  private boolean flatLists;
+  private boolean hashConsing;
+
+  private Token[] tokens = new Token[1024];
+  private int tokenCount;
+
+  public ParallelParser (Scanner lexer, ErrorReporter reporter) {
+    this(lexer, reporter, ForkJoinPool.commonPool());
+  }
+
+  public ParallelParser (Scanner lexer, ErrorReporter reporter, ExecutorService executor) {
+    scanner = lexer;
+    errorReporter = reporter;
+    this.executor = executor;
+  }
+
+  // The chunk parsers build flat lists, and the chunks' lists are
+  // concatenated into one FlatList.
+
+  public void enableFlatLists() {
+    flatLists = true;
+  }
+
+  // Each chunk parser shares the expressions of its own chunk, as an
+  // ExprTable may only be used by one thread.
+
+  public void enableHashConsing() {
+    hashConsing = true;
+  }
+
+  public Program parseProgram() {
+    readTokens();
+    int[] bounds = split();
+    int chunks = bounds.length - 1;
+
+    if (chunks <= 1) // nothing to gain; includes the empty program
+      return newParser(0, tokenCount, errorReporter).parseProgram();
+
+    ArrayList<Future<List>> results = new ArrayList<Future<List>>(chunks);
+    BufferedErrorReporter[] reporters = new BufferedErrorReporter[chunks];
+    for (int c = 0; c < chunks; c++) {
+      final BufferedErrorReporter reporter = new BufferedErrorReporter();
+      final int from = bounds[c], to = bounds[c + 1];
+      reporters[c] = reporter;
+      results.add(executor.submit(new Callable<List>() {
+        public List call() {
+          try {
+            return newParser(from, to, reporter).parseDeclarations();
+          } catch (SyntaxError s) {
+            return null;
+          }
+        }
+      }));
+    }
+
+    List[] lists = new List[chunks];
+    for (int c = 0; c < chunks; c++) {
+      try {
+        lists[c] = results.get(c).get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(e);
+      } catch (ExecutionException e) {
+        throw new RuntimeException(e.getCause());
+      }
+    }
+
+    for (int c = 0; c < chunks; c++)
+      if (lists[c] == null || reporters[c].numErrors > 0) {
+        reporters[c].flushTo(errorReporter);
+        return null;
+      }
+
+    List dlAST;
+    if (flatLists) { // copy each element once
+      dlAST = lists[0];
+      for (int c = 1; c < chunks; c++)
+        dlAST = append(dlAST, lists[c]);
+    } else {
+      dlAST = lists[chunks - 1];
+      for (int c = chunks - 2; c >= 0; c--)
+        dlAST = append(lists[c], dlAST);
+    }
+
+    // from the first character of the first token to the last
+    // character of the last token before EOF
+    SourcePosition first = tokens[0].position;
+    SourcePosition last = tokens[tokenCount - 2].position;
+    SourcePosition programPos = new SourcePosition();
+    programPos.lineStart = first.lineStart;
+    programPos.charStart = first.charStart;
+    programPos.lineFinish = last.lineFinish;
+    programPos.charFinish = last.charFinish;
+    return new Program(dlAST, programPos);
+  }
+
+  private Parser newParser(int from, int to, ErrorReporter reporter) {
+    Parser parser = new Parser(tokens, from, to, reporter);
+    if (flatLists)
+      parser.enableFlatLists();
+    if (hashConsing)
+      parser.enableHashConsing();
+    return parser;
+  }
+
+  // Reads every token, up to and including EOF.
+
+  private void readTokens() {
+    tokenCount = 0;
+    Token token;
+    do {
+      token = scanner.getToken();
+      if (tokenCount == tokens.length)
+        tokens = Arrays.copyOf(tokens, 2 * tokenCount);
+      tokens[tokenCount++] = token;
+    } while (token.kind != Token.EOF);
+  }
+
+  // Returns the chunk boundaries b[0] = 0 < b[1] < ... < b[n] = tokenCount.
+  // The last chunk keeps the EOF token.
+
+  private int[] split() {
+    int[] bounds = new int[8];
+    int n = 1;
+    int depth = 0;
+    boolean header = false; // seen "(" at the top level of this declaration
+
+    for (int i = 0; i < tokenCount - 1; i++) {
+      boolean end = false;
+      switch (tokens[i].kind) {
+        case Token.LPAREN:
+          if (depth == 0)
+            header = true;
+          depth++;
+          break;
+        case Token.LCURLY:
+        case Token.LBRACKET:
+          depth++;
+          break;
+        case Token.RPAREN:
+        case Token.RBRACKET:
+          depth--;
+          break;
+        case Token.RCURLY:
+          depth--;
+          end = (depth == 0 && header);
+          break;
+        case Token.SEMICOLON:
+          end = (depth == 0);
+          break;
+      }
+      if (depth < 0) // unbalanced: leave the rest to one parser
+        break;
+      if (end) {
+        header = false;
+        if (i + 1 - bounds[n - 1] >= CHUNK_TOKENS && i + 1 < tokenCount - 1) {
+          if (n == bounds.length)
+            bounds = Arrays.copyOf(bounds, 2 * n);
+          bounds[n++] = i + 1;
+        }
+      }
+    }
+    if (n == bounds.length)
+      bounds = Arrays.copyOf(bounds, n + 1);
+    bounds[n++] = tokenCount;
+    return Arrays.copyOf(bounds, n);
+  }
+
+  // Links list2 to the end of list1, which is a DeclList chain, or
+  // appends its elements if both are FlatLists. Either way, list1 then
+  // finishes where list2 does, as does each cell of a chain, which
+  // spans from its element to the end of the list (see Parser.makeList).
+
+  private List append(List list1, List list2) {
+    if (list1 instanceof FlatList) {
+      ((FlatList) list1).addAll((FlatList) list2);
+      list1.position.lineFinish = list2.position.lineFinish;
+      list1.position.charFinish = list2.position.charFinish;
+      return list1;
+    }
+    if (list1 instanceof EmptyDeclList)
+      return list2;
+    DeclList tail = (DeclList) list1;
+    while (true) {
+      tail.position.lineFinish = list2.position.lineFinish;
+      tail.position.charFinish = list2.position.charFinish;
+      if (!(tail.DL instanceof DeclList))
+        break;
+      tail = (DeclList) tail.DL;
+    }
+    tail.DL = list2;
+    list2.parent = tail;
+    return list1;
+  }
+
+}
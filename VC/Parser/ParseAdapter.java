@@ -0,0 +1,33 @@
+/*
+ * ParseAdapter.java
+ *
+ * A ParseListener that ignores every event. Extend it and override
+ * only the events of interest.
+ */
+
+package VC.Parser;
+
+import VC.Scanner.Token;
+
+public abstract class ParseAdapter implements ParseListener {
+
+  public void enterProgram() { }
+  public void exitProgram() { }
+
+  public void enterFuncDecl(Token type, Token name) { }
+  public void exitFuncDecl() { }
+  public void enterVarDecl(Token type, Token name) { }
+  public void exitVarDecl() { }
+  public void enterParaDecl(Token type, Token name) { }
+  public void exitParaDecl() { }
+
+  public void enterCompoundStmt() { }
+  public void exitCompoundStmt() { }
+  public void enterStmt(Token first) { }
+  public void exitStmt() { }
+
+  public void onIdent(Token ident) { }
+  public void onOperator(Token operator) { }
+  public void onLiteral(Token literal) { }
+
+}
@@ -0,0 +1,47 @@
+/*
+ * ParseListener.java
+ *
+ * Receives the phrases of a VC program from the Parser as they are
+ * parsed, in document order; see Parser.parseProgram(ParseListener).
+ * Every enterX is matched by an exitX unless a syntax error stops the
+ * parser, in which case the remaining exits are not delivered.
+ *
+ * A declaration of several variables is reported as if each had been
+ * declared on its own. The type and name of a declaration are passed
+ * to its enterX only; onIdent reports the identifiers used in
+ * expressions.
+ *
+ * The tokens passed in are the scanner's own; a listener that needs
+ * one after the call returns may keep it, as tokens are never reused.
+ */
+
+package VC.Parser;
+
+import VC.Scanner.Token;
+
+public interface ParseListener {
+
+  // Programs
+  public abstract void enterProgram();
+  public abstract void exitProgram();
+
+  // Declarations: type and name are the two tokens of the declarator
+  public abstract void enterFuncDecl(Token type, Token name);
+  public abstract void exitFuncDecl();
+  public abstract void enterVarDecl(Token type, Token name);
+  public abstract void exitVarDecl();
+  public abstract void enterParaDecl(Token type, Token name);
+  public abstract void exitParaDecl();
+
+  // Stmts: first is the first token of the statement
+  public abstract void enterCompoundStmt();
+  public abstract void exitCompoundStmt();
+  public abstract void enterStmt(Token first);
+  public abstract void exitStmt();
+
+  // Terminals
+  public abstract void onIdent(Token ident);
+  public abstract void onOperator(Token operator);
+  public abstract void onLiteral(Token literal);
+
+}
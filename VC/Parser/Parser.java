@@ -2,14 +2,13 @@
 /*
  * Parser.java
  *
- * This parser for a subset of the VC language is intended to
- *  demonstrate how to create the AST nodes, including (among others):
- *  [1] a list (of statements)
- *  [2] a function
- *  [3] a statement (which is an expression statement),
- *  [4] a unary expression
- *  [5] a binary expression
- *  [6] terminals (identifiers, integer literals and operators)
+ * This parser for the VC language builds the AST of a program,
+ *  including (among others):
+ *  [1] lists (of declarations, statements, parameters and arguments)
+ *  [2] functions and variables
+ *  [3] statements
+ *  [4] unary and binary expressions, calls and array accesses
+ *  [5] terminals (identifiers, literals and operators)
  *
  * In addition, it also demonstrates how to use the two methods start
  * and finish to determine the position information for the start and
@@ -18,28 +17,58 @@
  * NOTE THAT THE POSITION INFORMATION WILL NOT BE MARKED. HOWEVER, IT CAN BE
  * USEFUL TO DEBUG YOUR IMPLEMENTATION.
  *
- * --- 5-March-2020 ---
-program       -> func-decl
-func-decl     -> type identifier "(" ")" compound-stmt
-type          -> void
+ * A declaration of several variables is parsed as if each had been
+ * declared on its own.
+ *
+program       -> ( func-decl | var-decl )*
+func-decl     -> type identifier para-list compound-stmt
+var-decl      -> type init-declarator-list ";"
+init-declarator-list -> init-declarator ( "," init-declarator )*
+init-declarator      -> declarator ( "=" initialiser )?
+declarator    -> identifier | identifier "[" INTLITERAL? "]"
+initialiser   -> expr | "{" expr ( "," expr )* "}"
+type          -> void | boolean | int | float
 identifier    -> ID
 // statements
-compound-stmt -> "{" stmt* "}"
-stmt          -> expr-stmt
+compound-stmt -> "{" var-decl* stmt* "}"
+stmt          -> compound-stmt | if-stmt | for-stmt | while-stmt
+              |  break-stmt | continue-stmt | return-stmt | expr-stmt
+if-stmt       -> if "(" expr ")" stmt ( else stmt )?
+for-stmt      -> for "(" expr? ";" expr? ";" expr? ")" stmt
+while-stmt    -> while "(" expr ")" stmt
+break-stmt    -> break ";"
+continue-stmt -> continue ";"
+return-stmt   -> return expr? ";"
 expr-stmt     -> expr? ";"
 // expressions
-expr                -> additive-expr
+expr                -> assignment-expr
+assignment-expr     -> ( cond-or-expr "=" )* cond-or-expr
+cond-or-expr        -> cond-and-expr
+                    |  cond-or-expr "||" cond-and-expr
+cond-and-expr       -> equality-expr
+                    |  cond-and-expr "&&" equality-expr
+equality-expr       -> rel-expr
+                    |  equality-expr "==" rel-expr
+                    |  equality-expr "!=" rel-expr
+rel-expr            -> additive-expr
+                    |  rel-expr ( "<" | "<=" | ">" | ">=" ) additive-expr
 additive-expr       -> multiplicative-expr
                     |  additive-expr "+" multiplicative-expr
                     |  additive-expr "-" multiplicative-expr
 multiplicative-expr -> unary-expr
 	            |  multiplicative-expr "*" unary-expr
 	            |  multiplicative-expr "/" unary-expr
-unary-expr          -> "-" unary-expr
+unary-expr          -> ( "+" | "-" | "!" ) unary-expr
 		    |  primary-expr
-primary-expr        -> identifier
- 		    |  INTLITERAL
+primary-expr        -> identifier arg-list?
+		    |  identifier "[" expr "]"
 		    | "(" expr ")"
+ 		    |  INTLITERAL | FLOATLITERAL | BOOLLITERAL | STRINGLITERAL
+// parameters
+para-list           -> "(" ( para-decl ( "," para-decl )* )? ")"
+para-decl           -> type declarator
+arg-list            -> "(" ( arg ( "," arg )* )? ")"
+arg                 -> expr
  */
 
 package VC.Parser;
@@ -50,6 +79,8 @@ import VC.Scanner.Token;
 import VC.ErrorReporter;
 import VC.ASTs.*;
 
+import java.util.Arrays;
+
 public class Parser {
 
   private Scanner scanner;
@@ -58,8 +89,30 @@ public class Parser {
   private SourcePosition previousTokenPosition;
   private SourcePosition dummyPos = new SourcePosition();
 
-  private String[] typeDeclaration = {"void", "boolean", "int", "float", "id"};
-  private String[] stmt = {"if", "for", "while", "break", "continue", "return"};
+  // When tokens is non-null the parser reads tokens[tokenPos..tokenEnd)
+  // instead of asking the scanner, followed by an EOF token.
+  private Token[] tokens;
+  private int tokenPos, tokenEnd;
+
+  // In lazy mode function bodies are only brace-matched; see
+  // LazyCompoundStmt. bodyTokens collects the tokens of one body.
+  private boolean lazy;
+  private Token[] bodyTokens = new Token[64];
+
+  // With flat lists, declaration, statement and parameter lists are
+  // built as FlatLists rather than as nested chains.
+  private boolean flatLists;
+
+  // With hash consing, identical expression subtrees are shared through
+  // exprTable; see ExprTable. Lazily parsed bodies are not shared.
+  private ExprTable exprTable;
+
+  // the elements of the lists being parsed; see makeList
+  private AST[] elements = new AST[64];
+  private int elementCount;
+
+  // receives the phrases parsed by parseProgram(ParseListener)
+  private ParseListener listener;
 
   public Parser (Scanner lexer, ErrorReporter reporter) {
     scanner = lexer;
@@ -67,26 +120,75 @@ public class Parser {
 
     previousTokenPosition = new SourcePosition();
 
-    currentToken = scanner.getToken();
+    currentToken = nextToken();
   }
 
-  boolean isTypeDeclaration() {
-      for(int i = 0; i < typeDeclaration.length; i++) {
-          if(typeDeclaration[i] == currentToken.spell(currentToken.kind)){
-              return true;
-          }
-      }
-      return false;
+  // Makes the parser parse the program read by lexer, reusing its
+  // buffers. The ErrorReporter, the lazy mode, the flat-list mode and
+  // the hash-consing table are kept.
+
+  public void reset(Scanner lexer) {
+    scanner = lexer;
+    tokens = null;
+    currentToken = null;
+    clearElements(0);
+
+    previousTokenPosition = new SourcePosition();
+
+    currentToken = nextToken();
   }
-  
-  boolean isStmtDeclaration() {
-      for(int i = 0; i < stmt.length; i++) {
-          if(stmt[i] == currentToken.spell(currentToken.kind)) {
-              return true;
-          }
-      }
-      return false;
+
+  // Parses tokens[from..to) as if they were the whole input.
+
+  Parser (Token[] tokens, int from, int to, ErrorReporter reporter) {
+    this.tokens = tokens;
+    tokenPos = from;
+    tokenEnd = to;
+    errorReporter = reporter;
+
+    previousTokenPosition = new SourcePosition();
+
+    currentToken = nextToken();
+  }
+
+  // Function bodies are not parsed until first visited, which makes
+  // parsing much cheaper for tools that only need the declarations.
+
+  public void enableLazyParsing() {
+    lazy = true;
   }
+
+  public void enableFlatLists() {
+    flatLists = true;
+  }
+
+  public void enableHashConsing() {
+    enableHashConsing(new ExprTable());
+  }
+
+  // Shares subtrees with those already in table, e.g., from programs
+  // parsed before.
+
+  public void enableHashConsing(ExprTable table) {
+    exprTable = table;
+  }
+
+  private <T extends AST> T share(T ast) {
+    return (exprTable == null) ? ast : exprTable.share(ast);
+  }
+
+  Token nextToken() {
+    if (tokens == null)
+      return scanner.getToken();
+    if (tokenPos < tokenEnd)
+      return tokens[tokenPos++];
+    if (currentToken != null && currentToken.kind == Token.EOF)
+      return currentToken;
+    SourcePosition last = (tokenEnd > 0) ? tokens[tokenEnd - 1].position : dummyPos;
+    return new Token(Token.EOF, "$", new SourcePosition(last.lineFinish,
+                     last.charFinish + 1, last.charFinish + 1));
+  }
+
 // match checks to see f the current token matches tokenExpected.
 // If so, fetches the next token.
 // If not, reports a syntactic error.
@@ -94,7 +196,7 @@ public class Parser {
   void match(int tokenExpected) throws SyntaxError {
     if (currentToken.kind == tokenExpected) {
       previousTokenPosition = currentToken.position;
-      currentToken = scanner.getToken();
+      currentToken = nextToken();
     } else {
       syntacticError("\"%\" expected here", Token.spell(tokenExpected));
     }
@@ -102,7 +204,7 @@ public class Parser {
 
   void accept() {
     previousTokenPosition = currentToken.position;
-    currentToken = scanner.getToken();
+    currentToken = nextToken();
   }
 
   void syntacticError(String messageTemplate, String tokenQuoted) throws SyntaxError {
@@ -151,123 +253,310 @@ public class Parser {
         syntacticError("\"%\" unknown type", currentToken.spelling);
       }
     }
-    catch (SyntaxError s) { return null; }
+    catch (SyntaxError s) {
+      clearElements(0);
+      return null;
+    }
     return programAST;
   }
 
-// ========================== DECLARATIONS ========================
-
-  List parseFuncDeclList() throws SyntaxError {
-    List dlAST = null;
-    Decl dAST = null;
-    DeclList currASTHead  = null;
+// Reports the phrases of the program to listener as they are parsed,
+// without returning an AST. Each top-level declaration is dropped once
+// it has been parsed, so the memory used is bounded by the largest
+// declaration rather than by the program; function bodies are parsed
+// even in lazy mode. Returns true iff the program has no syntax errors.
 
-    if(currentToken.kind == Token.EOF) {
-        return new EmptyDeclList(dummyPos);
+  public boolean parseProgram(ParseListener listener) {
+    this.listener = listener;
+    try {
+      listener.enterProgram();
+      while (currentToken.kind != Token.EOF) {
+        int mark = elementCount;
+        parseFuncDecl();
+        clearElements(mark);
+      }
+      listener.exitProgram();
+      return true;
     }
-    
-    SourcePosition funcPos = new SourcePosition();
-    start(funcPos);
-
-    dAST = parseFuncDecl();
-
-    if(dAST != null) {
-        finish(funcPos);
-        dlAST = new DeclList(dAST, new EmptyDeclList(dummyPos), funcPos);
+    catch (SyntaxError s) {
+      clearElements(0);
+      return false;
     }
-    
-    currASTHead = (DeclList) dlAST;
-    
-    while(!(currASTHead.DL instanceof EmptyDeclList)) {
-        currASTHead = (DeclList) currASTHead.DL;
+    finally {
+      this.listener = null;
     }
-    
-    if(currentToken.kind != Token.EOF || currentToken.kind != Token.RPAREN) {
-        currASTHead.DL = parseFuncDeclList();
+  }
+
+// Parses the whole input as a list of declarations, the way
+// parseProgram does but without a Program node; ParallelParser
+// uses it for each chunk of the program.
+
+  List parseDeclarations() throws SyntaxError {
+    List dlAST = parseFuncDeclList();
+    if (currentToken.kind != Token.EOF) {
+      syntacticError("\"%\" unknown type", currentToken.spelling);
     }
     return dlAST;
   }
 
-  Decl parseFuncDecl() throws SyntaxError {
+// ========================== LISTS ========================
+
+// The elements of the lists being parsed are collected in elements,
+// those of an inner list above those of the lists enclosing it, and
+// made into a list node when the list ends. So a list is parsed in a
+// loop, however long, whether it is built as a FlatList or as a chain
+// of cells.
+
+  private void addElement(AST ast) {
+    if (elementCount == elements.length)
+      elements = Arrays.copyOf(elements, 2 * elementCount);
+    elements[elementCount++] = ast;
+  }
+
+  private void clearElements(int mark) {
+    Arrays.fill(elements, mark, elementCount, null);
+    elementCount = mark;
+  }
+
+  // Makes the elements added since mark into a list of the given kind
+  // (see FlatList) spanning listPos. Each cell of a chain spans from
+  // its element to the end of the list, as in FlatList.nested.
+
+  private List makeList(int listKind, int mark, SourcePosition listPos) {
+    List list;
+    if (flatLists) {
+      FlatList flat = new FlatList(listKind, listPos);
+      for (int i = mark; i < elementCount; i++)
+        flat.add(elements[i]);
+      list = flat;
+    } else {
+      switch (listKind) {
+        case FlatList.DECLS:
+          list = new EmptyDeclList(dummyPos);
+          break;
+        case FlatList.STMTS:
+          list = new EmptyStmtList(dummyPos);
+          break;
+        case FlatList.EXPRS:
+          list = new EmptyExprList(dummyPos);
+          break;
+        case FlatList.PARAS:
+          list = new EmptyParaList(dummyPos);
+          break;
+        default:
+          list = new EmptyArgList(dummyPos);
+          break;
+      }
+      for (int i = elementCount - 1; i >= mark; i--) {
+        AST element = elements[i];
+        SourcePosition pos = new SourcePosition();
+        copyStart(element.position, pos);
+        pos.lineFinish = listPos.lineFinish;
+        pos.charFinish = listPos.charFinish;
+        switch (listKind) {
+          case FlatList.DECLS:
+            list = new DeclList((Decl) element, list, pos);
+            break;
+          case FlatList.STMTS:
+            list = new StmtList((Stmt) element, list, pos);
+            break;
+          case FlatList.EXPRS:
+            list = new ExprList((Expr) element, list, pos);
+            ((ExprList) list).index = i - mark;
+            break;
+          case FlatList.PARAS:
+            list = new ParaList((ParaDecl) element, list, pos);
+            break;
+          default:
+            list = new ArgList((Arg) element, list, pos);
+            break;
+        }
+      }
+    }
+    clearElements(mark);
+    return list;
+  }
+
+// ========================== DECLARATIONS ========================
+
+  List parseFuncDeclList() throws SyntaxError {
+    int mark = elementCount;
+    SourcePosition listPos = new SourcePosition();
+    start(listPos);
+    while (currentToken.kind != Token.EOF)
+      parseFuncDecl();
+    finish(listPos);
+    return makeList(FlatList.DECLS, mark, listPos);
+  }
+
+  // Parses a function declaration, or a declaration of one or more
+  // global variables, and adds them to the list being parsed.
+
+  void parseFuncDecl() throws SyntaxError {
 
-    Decl fAST = null;
- 
     SourcePosition funcPos = new SourcePosition();
     start(funcPos);
+    if (!isType())
+      syntacticError("\"%\" wrong result type for a function", currentToken.spelling);
+    Token typeToken = currentToken;
     Type tAST = parseType();
+    Token nameToken = currentToken;
     Ident iAST = parseIdent();
-    if(currentToken.kind == Token.LPAREN){
-        match(Token.LPAREN);
-        List fplAST = parseParaList();
-        Stmt cAST = parseCompoundStmt();
-        finish(funcPos);
-        fAST = new FuncDecl(tAST, iAST, fplAST, cAST, funcPos);
-    } else {
-        fAST = parseVarDeclaration(tAST, iAST, "global");
+    if (currentToken.kind == Token.LPAREN) {
+      if (listener != null) listener.enterFuncDecl(typeToken, nameToken);
+      List fplAST = parseParaList();
+      Stmt cAST = (lazy && listener == null) ? skipCompoundStmt() : parseCompoundStmt();
+      finish(funcPos);
+      addElement(new FuncDecl(tAST, iAST, fplAST, cAST, funcPos));
+      if (listener != null) listener.exitFuncDecl();
+    } else
+      parseVarDeclaration(tAST, typeToken, iAST, nameToken, true, funcPos);
+  }
 
+  // Parses the local variable declarations at the start of a block.
+
+  List parseVarDeclList() throws SyntaxError {
+    int mark = elementCount;
+    SourcePosition listPos = new SourcePosition();
+    start(listPos);
+    while (isType()) {
+      SourcePosition declPos = new SourcePosition();
+      start(declPos);
+      Token typeToken = currentToken;
+      Type tAST = parseType();
+      Token nameToken = currentToken;
+      Ident iAST = parseIdent();
+      parseVarDeclaration(tAST, typeToken, iAST, nameToken, false, declPos);
     }
-    return fAST;
+    finish(listPos);
+    return makeList(FlatList.DECLS, mark, listPos);
   }
 
-  Decl parseVarDeclaration(Type tAST, Ident iAST, String declrType) throws SyntaxError {
-    Decl var = null;
-    SourcePosition pos = new SourcePosition();
-    start(pos);
-    /*
-    Type tAST = parseType();
-    Ident iAST = parseIdent();
-    */
-    Expr assign = new EmptyExpr(dummyPos);
-    if(currentToken.kind == Token.EQ) {
-        match(Token.EQ);
-        assign = parseExpr();
-    }
-    if(currentToken.kind == Token.SEMICOLON){
-        match(Token.SEMICOLON);
+  // Parses the rest of a declaration of variables, whose type and first
+  // identifier have been parsed, and adds a declaration for each
+  // variable to the list being parsed, as if each had been declared on
+  // its own. pos has been started at the declaration's type; typeToken
+  // and nameToken are the tokens of tAST and iAST.
+
+  void parseVarDeclaration(Type tAST, Token typeToken, Ident iAST, Token nameToken,
+                           boolean global, SourcePosition pos) throws SyntaxError {
+    parseInitDeclarator(tAST, typeToken, iAST, nameToken, global, pos);
+    while (currentToken.kind == Token.COMMA) {
+      accept();
+      SourcePosition declPos = new SourcePosition();
+      start(declPos);
+      Token nextToken = currentToken;
+      Ident nextAST = parseIdent();
+      parseInitDeclarator(tAST, typeToken, nextAST, nextToken, global, declPos);
     }
-    if(declrType == "local"){
-        var = new LocalVarDecl(tAST, iAST, assign, pos);
-    } else if(declrType == "global") {
-        var = new GlobalVarDecl(tAST, iAST, assign, pos);
+    match(Token.SEMICOLON);
+  }
+
+  void parseInitDeclarator(Type tAST, Token typeToken, Ident iAST, Token nameToken,
+                           boolean global, SourcePosition pos) throws SyntaxError {
+    if (listener != null) listener.enterVarDecl(typeToken, nameToken);
+    Type varType = tAST;
+    if (currentToken.kind == Token.LBRACKET)
+      varType = parseArrayType(tAST);
+    Expr initAST = new EmptyExpr(dummyPos);
+    if (currentToken.kind == Token.EQ) {
+      accept();
+      initAST = parseInitialiser();
     }
+    finish(pos);
+    if (global)
+      addElement(new GlobalVarDecl(varType, iAST, initAST, pos));
+    else
+      addElement(new LocalVarDecl(varType, iAST, initAST, pos));
+    if (listener != null) listener.exitVarDecl();
+  }
 
-    return var;
+  Expr parseInitialiser() throws SyntaxError {
+    if (currentToken.kind != Token.LCURLY)
+      return parseExpr();
+
+    SourcePosition initPos = new SourcePosition();
+    start(initPos);
+    match(Token.LCURLY);
+    int mark = elementCount;
+    SourcePosition listPos = new SourcePosition();
+    start(listPos);
+    addElement(parseExpr());
+    while (currentToken.kind == Token.COMMA) {
+      accept();
+      addElement(parseExpr());
+    }
+    finish(listPos);
+    List ilAST = makeList(FlatList.EXPRS, mark, listPos);
+    match(Token.RCURLY);
+    finish(initPos);
+    return new InitExpr(ilAST, initPos);
   }
+
 //  ======================== TYPES ==========================
 
+  boolean isType() {
+    switch (currentToken.kind) {
+      case Token.VOID:
+      case Token.BOOLEAN:
+      case Token.INT:
+      case Token.FLOAT:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  // The primitive types are shared (see Type), so they carry no
+  // position of their own; the enclosing declaration's covers them.
+
   Type parseType() throws SyntaxError {
     Type typeAST = null;
 
-    SourcePosition typePos = new SourcePosition();
-    start(typePos);
-
     switch(currentToken.kind) {
         case Token.VOID:
             match(Token.VOID);
-            typeAST = new VoidType(dummyPos);
+            typeAST = Type.voidType;
             break;
         case Token.BOOLEAN:
             match(Token.BOOLEAN);
-            typeAST = new BooleanType(dummyPos);
+            typeAST = Type.booleanType;
             break;
         case Token.INT:
             match(Token.INT);
-            typeAST = new IntType(dummyPos);
+            typeAST = Type.intType;
             break;
         case Token.FLOAT:
             match(Token.FLOAT);
-            typeAST = new FloatType(dummyPos);
+            typeAST = Type.floatType;
             break;
         default:
-            syntacticError("ERROR", currentToken.spelling);
+            syntacticError("type expected here", "");
     }
 
-    finish(typePos);
-    typeAST.position = typePos;
-
     return typeAST;
     }
 
+  // The "[size]" of an array variable or parameter whose elements are
+  // of type tAST; the size may be omitted.
+
+  Type parseArrayType(Type tAST) throws SyntaxError {
+    SourcePosition typePos = new SourcePosition();
+    start(typePos);
+    match(Token.LBRACKET);
+    Expr sizeAST = new EmptyExpr(dummyPos);
+    if (currentToken.kind == Token.INTLITERAL) {
+      SourcePosition sizePos = new SourcePosition();
+      start(sizePos);
+      IntLiteral ilAST = parseIntLiteral();
+      finish(sizePos);
+      sizeAST = new IntExpr(ilAST, sizePos);
+    }
+    match(Token.RBRACKET);
+    finish(typePos);
+    return new ArrayType(tAST, sizeAST, typePos);
+  }
+
 // ======================= STATEMENTS ==============================
 
   Stmt parseCompoundStmt() throws SyntaxError {
@@ -277,67 +566,80 @@ public class Parser {
     start(stmtPos);
 
     match(Token.LCURLY);
-
-    // Insert code here to build a DeclList node for variable declarations
+    if (listener != null) listener.enterCompoundStmt();
+    List dlAST = parseVarDeclList();
     List slAST = parseStmtList();
     match(Token.RCURLY);
     finish(stmtPos);
+    if (listener != null) listener.exitCompoundStmt();
 
-    /* In the subset of the VC grammar, no variable declarations are
-     * allowed. Therefore, a block is empty iff it has no statements.
-     */
-    if (slAST instanceof EmptyStmtList)
+    // a block is empty iff it has neither declarations nor statements
+    if (dlAST.isEmptyDeclList() && slAST.isEmptyStmtList())
       cAST = new EmptyCompStmt(stmtPos);
     else
-      cAST = new CompoundStmt(new EmptyDeclList(dummyPos), slAST, stmtPos);
+      cAST = new CompoundStmt(dlAST, slAST, stmtPos);
     return cAST;
   }
 
 
-  List parseStmtList() throws SyntaxError {
-    List slAST = null;
-    Stmt sAST = null;
-    Decl localDeclVar = null;
+  // Collects the tokens of a compound statement by brace matching and
+  // returns a placeholder that parses them when first visited.
 
+  Stmt skipCompoundStmt() throws SyntaxError {
     SourcePosition stmtPos = new SourcePosition();
     start(stmtPos);
 
-    if (currentToken.kind != Token.RCURLY) {
-      if(isTypeDeclaration()){
-          Type tAST = parseType();
-          Ident iAST = parseIdent();
-         localDeclVar = parseVarDeclaration(tAST, iAST, "local");
-         if(currentToken.kind != Token.RCURLY) {
-            slAST = parseStmtList();
-            finish(stmtPos);
-            slAST = new DeclList (localDeclVar, slAST, stmtPos);
-         } else {
-               finish(stmtPos);
-                slAST = new DeclList(localDeclVar, new EmptyDeclList(dummyPos), stmtPos);
-           }
-      } else {
-            sAST = parseExprStmt();
-          {
-            if (currentToken.kind != Token.RCURLY) {
-              slAST = parseStmtList();
-              finish(stmtPos);
-              slAST = new StmtList(sAST, slAST, stmtPos);
-            } else {
-              finish(stmtPos);
-              slAST = new StmtList(sAST, new EmptyStmtList(dummyPos), stmtPos);
-            }
-          }
-        }
-    }
-    else
-      slAST = new EmptyStmtList(dummyPos);
-    
-    return slAST;
+    if (currentToken.kind != Token.LCURLY)
+      match(Token.LCURLY); // reports the error
+
+    int n = 0;
+    int depth = 0;
+    do {
+      if (currentToken.kind == Token.LCURLY)
+        depth++;
+      else if (currentToken.kind == Token.RCURLY)
+        depth--;
+      else if (currentToken.kind == Token.EOF)
+        match(Token.RCURLY); // reports the error
+      if (n == bodyTokens.length)
+        bodyTokens = Arrays.copyOf(bodyTokens, 2 * n);
+      bodyTokens[n++] = currentToken;
+      accept();
+    } while (depth > 0);
+    finish(stmtPos);
+
+    return new LazyCompoundStmt(Arrays.copyOf(bodyTokens, n), errorReporter,
+                                flatLists, stmtPos);
+  }
+
+  // Parses a compound statement that makes up the whole input.
+
+  Stmt parseWholeCompoundStmt() throws SyntaxError {
+    Stmt cAST = parseCompoundStmt();
+    if (currentToken.kind != Token.EOF)
+      syntacticError("\"%\" unexpected after the function body", currentToken.spelling);
+    return cAST;
+  }
+
+
+  List parseStmtList() throws SyntaxError {
+    int mark = elementCount;
+    SourcePosition listPos = new SourcePosition();
+    start(listPos);
+    while (currentToken.kind != Token.RCURLY)
+      addElement(parseStmt());
+    finish(listPos);
+    return makeList(FlatList.STMTS, mark, listPos);
   }
 
+  // A compound statement is reported by enter/exitCompoundStmt alone.
+
   Stmt parseStmt() throws SyntaxError {
     Stmt sAST = null;
-    
+
+    boolean simple = listener != null && currentToken.kind != Token.LCURLY;
+    if (simple) listener.enterStmt(currentToken);
+
     if (currentToken.kind == Token.LCURLY) {
         sAST = parseCompoundStmt();
     } else if (currentToken.kind == Token.IF) {
@@ -356,13 +658,11 @@ public class Parser {
         sAST = parseExprStmt();
     }
 
+    if (simple) listener.exitStmt();
     return sAST;
   }
   
   Stmt parseIfStmt() throws SyntaxError {
-    match(Token.IF);
-    match(Token.LPAREN);
-    
     Stmt ifStmt = null;
     Expr expr = null;
     Stmt compStmt = null;
@@ -370,6 +670,8 @@ public class Parser {
     SourcePosition pos = new SourcePosition();
     start(pos);
 
+    match(Token.IF);
+    match(Token.LPAREN);
     expr = parseExpr();
     match(Token.RPAREN);
     compStmt = parseStmt();
@@ -387,48 +689,38 @@ public class Parser {
   }
 
   Stmt parseForStmt() throws SyntaxError {
-    match(Token.FOR);
-    match(Token.LPAREN);
-    
-    Stmt forStmt = null;
-    Expr one = null;
-    Expr two = null;
-    Expr three = null;
+    Expr one = new EmptyExpr(dummyPos);
+    Expr two = new EmptyExpr(dummyPos);
+    Expr three = new EmptyExpr(dummyPos);
     Stmt compStmt = null;
     SourcePosition pos = new SourcePosition();
     start(pos);
 
-    while(currentToken.kind != Token.RPAREN) {
+    match(Token.FOR);
+    match(Token.LPAREN);
+    if (currentToken.kind != Token.SEMICOLON)
         one = parseExpr();
-        if(currentToken.kind == Token.SEMICOLON) {
-            match(Token.SEMICOLON);
-        }
+    match(Token.SEMICOLON);
+    if (currentToken.kind != Token.SEMICOLON)
         two = parseExpr();
-        if(currentToken.kind == Token.SEMICOLON) {
-            match(Token.SEMICOLON);
-        }
+    match(Token.SEMICOLON);
+    if (currentToken.kind != Token.RPAREN)
         three = parseExpr();
-        if(currentToken.kind == Token.SEMICOLON) {
-            match(Token.SEMICOLON);
-        }
-    }
     match(Token.RPAREN);
-    compStmt = parseStmt();;
+    compStmt = parseStmt();
     finish(pos);
-    forStmt = new ForStmt(one, two, three, compStmt, pos);
-    return forStmt;
+    return new ForStmt(one, two, three, compStmt, pos);
   }
   
   Stmt parseWhileStmt() throws SyntaxError {
-    match(Token.WHILE);
-    match(Token.LPAREN);
-
     Stmt whileStmt = null;
     Expr whileExpr = null;
     Stmt body = null;
     SourcePosition pos = new SourcePosition();
     start(pos);
 
+    match(Token.WHILE);
+    match(Token.LPAREN);
     whileExpr = parseExpr();
     match(Token.RPAREN);
 
@@ -483,12 +775,7 @@ public class Parser {
 
     SourcePosition stmtPos = new SourcePosition();
     start(stmtPos);
-    if(isStmtDeclaration()) {
-        sAST = parseStmt();
-    }
-     else if (currentToken.kind == Token.ID
-        || currentToken.kind == Token.INTLITERAL
-        || currentToken.kind == Token.LPAREN) {
+    if (isExprStart()) {
         Expr eAST = parseExpr();
         match(Token.SEMICOLON);
         finish(stmtPos);
@@ -501,31 +788,82 @@ public class Parser {
     return sAST;
   }
 
+  // whether the current token can start an expression
+  boolean isExprStart() {
+    switch (currentToken.kind) {
+      case Token.ID:
+      case Token.INTLITERAL:
+      case Token.FLOATLITERAL:
+      case Token.BOOLEANLITERAL:
+      case Token.STRINGLITERAL:
+      case Token.LPAREN:
+      case Token.PLUS:
+      case Token.MINUS:
+      case Token.NOT:
+        return true;
+      default:
+        return false;
+    }
+  }
+
 
 // ======================= PARAMETERS =======================
  
   List parseParaList() throws SyntaxError {
+    int mark = elementCount;
+    SourcePosition listPos = new SourcePosition();
+    start(listPos);
+    match(Token.LPAREN);
+    if (currentToken.kind != Token.RPAREN) {
+      addElement(parseParaDecl());
+      while (currentToken.kind == Token.COMMA) {
+        accept();
+        addElement(parseParaDecl());
+      }
+    }
+    match(Token.RPAREN);
+    finish(listPos);
+    return makeList(FlatList.PARAS, mark, listPos);
+  }
 
+  ParaDecl parseParaDecl() throws SyntaxError {
     SourcePosition paraPos = new SourcePosition();
-    List paraList = new EmptyParaList(dummyPos);
-    
     start(paraPos);
-    if(currentToken.kind != Token.RPAREN) {
-        Type paraType = parseType();
-        Ident paraIdent = parseIdent();
-        if(currentToken.kind == Token.COMMA){
-            match(Token.COMMA);
-        }
-        ParaDecl paraDecl = new ParaDecl(paraType, paraIdent, paraPos);
-        paraList = new ParaList(paraDecl, parseParaList(), paraPos);
-        finish(paraPos);
-        paraList.position = paraPos;
-    }
-    
-    if(currentToken.kind == Token.RPAREN){
-        match(Token.RPAREN);
+    Token typeToken = currentToken;
+    Type paraType = parseType();
+    Token nameToken = currentToken;
+    Ident paraIdent = parseIdent();
+    if (listener != null) listener.enterParaDecl(typeToken, nameToken);
+    if (currentToken.kind == Token.LBRACKET)
+      paraType = parseArrayType(paraType);
+    finish(paraPos);
+    if (listener != null) listener.exitParaDecl();
+    return new ParaDecl(paraType, paraIdent, paraPos);
+  }
+
+  List parseArgList() throws SyntaxError {
+    int mark = elementCount;
+    SourcePosition listPos = new SourcePosition();
+    start(listPos);
+    match(Token.LPAREN);
+    if (currentToken.kind != Token.RPAREN) {
+      addElement(parseArg());
+      while (currentToken.kind == Token.COMMA) {
+        accept();
+        addElement(parseArg());
+      }
     }
-    return paraList;
+    match(Token.RPAREN);
+    finish(listPos);
+    return makeList(FlatList.ARGS, mark, listPos);
+  }
+
+  Arg parseArg() throws SyntaxError {
+    SourcePosition argPos = new SourcePosition();
+    start(argPos);
+    Expr eAST = parseExpr();
+    finish(argPos);
+    return new Arg(eAST, argPos);
   }
 
 
@@ -538,19 +876,18 @@ public class Parser {
     return exprAST;
   }
 
+  // = is right-associative: a = b = c is a = (b = c).
+
   Expr parseAssignExpr() throws SyntaxError {
-    SourcePosition addStartPos = new SourcePosition();
-    start(addStartPos);
+    SourcePosition assignPos = new SourcePosition();
+    start(assignPos);
     Expr exprAST = parseCondOrExpr();
 
-    while(currentToken.kind == Token.EQ) {
-        Operator opAST = acceptOperator();
-        Expr e2AST = parseCondOrExpr();
-        
-        SourcePosition addPos = new SourcePosition();
-        copyStart(addStartPos, addPos);
-        finish(addPos);
-        exprAST = new AssignExpr(exprAST, e2AST, addPos);
+    if (currentToken.kind == Token.EQ) {
+        acceptOperator();
+        Expr e2AST = parseAssignExpr();
+        finish(assignPos);
+        exprAST = share(new AssignExpr(exprAST, e2AST, assignPos));
     }
     
     return exprAST;
@@ -568,7 +905,7 @@ public class Parser {
           SourcePosition addPos = new SourcePosition();
           copyStart(addStartPos, addPos);
           finish(addPos);
-          exprAST = new BinaryExpr(exprAST, opAST, e2AST, addPos);
+          exprAST = share(new BinaryExpr(exprAST, share(opAST), e2AST, addPos));
       }
       
       return exprAST;
@@ -586,7 +923,7 @@ public class Parser {
           SourcePosition addPos = new SourcePosition();
           copyStart(addStartPos, addPos);
           finish(addPos);
-          exprAST = new BinaryExpr(exprAST, opAST, e2AST, addPos);
+          exprAST = share(new BinaryExpr(exprAST, share(opAST), e2AST, addPos));
       }
 
       return exprAST;
@@ -604,7 +941,7 @@ public class Parser {
           SourcePosition addPos = new SourcePosition();
           copyStart(addStartPos, addPos);
           finish(addPos);
-          exprAST = new BinaryExpr(exprAST, opAST, e2AST, addPos);
+          exprAST = share(new BinaryExpr(exprAST, share(opAST), e2AST, addPos));
       }
 
       return exprAST;
@@ -623,7 +960,7 @@ public class Parser {
           SourcePosition addPos = new SourcePosition();
           copyStart(addStartPos, addPos);
           finish(addPos);
-          exprAST = new BinaryExpr(exprAST, opAST, e2AST, addPos);
+          exprAST = share(new BinaryExpr(exprAST, share(opAST), e2AST, addPos));
       }
 
       return exprAST;
@@ -644,7 +981,7 @@ public class Parser {
       SourcePosition addPos = new SourcePosition();
       copyStart(addStartPos, addPos);
       finish(addPos);
-      exprAST = new BinaryExpr(exprAST, opAST, e2AST, addPos);
+      exprAST = share(new BinaryExpr(exprAST, share(opAST), e2AST, addPos));
     }
     return exprAST;
   }
@@ -664,7 +1001,7 @@ public class Parser {
       SourcePosition multPos = new SourcePosition();
       copyStart(multStartPos, multPos);
       finish(multPos);
-      exprAST = new BinaryExpr(exprAST, opAST, e2AST, multPos);
+      exprAST = share(new BinaryExpr(exprAST, share(opAST), e2AST, multPos));
     }
     return exprAST;
   }
@@ -677,12 +1014,14 @@ public class Parser {
     start(unaryPos);
 
     switch (currentToken.kind) {
+      case Token.PLUS:
       case Token.MINUS:
+      case Token.NOT:
         {
           Operator opAST = acceptOperator();
           Expr e2AST = parseUnaryExpr();
           finish(unaryPos);
-          exprAST = new UnaryExpr(opAST, e2AST, unaryPos);
+          exprAST = share(new UnaryExpr(share(opAST), e2AST, unaryPos));
         }
         break;
 
@@ -704,22 +1043,26 @@ public class Parser {
     switch (currentToken.kind) {
 
       case Token.ID:
-        Ident iAST = parseIdent();
+        if (listener != null) listener.onIdent(currentToken);
+        Ident iAST = share(parseIdent());
         finish(primPos);
         
-        Var simVAST = new SimpleVar(iAST, primPos);
-        exprAST = new VarExpr(simVAST, primPos);
-
         if(currentToken.kind == Token.LBRACKET) {
+            Var simVAST = share(new SimpleVar(iAST, primPos));
             match(Token.LBRACKET);
             Expr arrayExpr = parseExpr();
             match(Token.RBRACKET);
             finish(primPos);
-            exprAST = new ArrayExpr(simVAST, arrayExpr, primPos);
+            exprAST = share(new ArrayExpr(simVAST, arrayExpr, primPos));
         } else if(currentToken.kind == Token.LPAREN) {
-            List args = parseParaList();
+            List args = parseArgList();
+            if (exprTable != null)
+              args = (List) exprTable.intern(args);
             finish(primPos);
-            exprAST = new CallExpr(iAST, args, primPos);
+            exprAST = share(new CallExpr(iAST, args, primPos));
+        } else {
+            Var simVAST = share(new SimpleVar(iAST, primPos));
+            exprAST = share(new VarExpr(simVAST, primPos));
         }
 
         break;
@@ -735,25 +1078,26 @@ public class Parser {
       case Token.INTLITERAL:
         IntLiteral ilAST = parseIntLiteral();
         finish(primPos);
-        exprAST = new IntExpr(ilAST, primPos);
+        exprAST = share(new IntExpr(share(ilAST), primPos));
         break;
       
       case Token.BOOLEANLITERAL:
         BooleanLiteral booAST = parseBooleanLiteral();
         finish(primPos);
-        exprAST = new BooleanExpr(booAST, primPos);
+        exprAST = share(new BooleanExpr(share(booAST), primPos));
         break;
 
       case Token.FLOATLITERAL:
         FloatLiteral fltAST = parseFloatLiteral();
         finish(primPos);
-        exprAST = new FloatExpr(fltAST, primPos);
+        exprAST = share(new FloatExpr(share(fltAST), primPos));
         break;
 
       case Token.STRINGLITERAL:
         StringLiteral strAST = parseStringLiteral();
         finish(primPos);
-        exprAST = new StringExpr(strAST, primPos);
+        exprAST = share(new StringExpr(share(strAST), primPos));
+        break;
 
       default:
         syntacticError("illegal primary expression", currentToken.spelling);
@@ -772,7 +1116,7 @@ public class Parser {
       previousTokenPosition = currentToken.position;
       String spelling = currentToken.spelling;
       I = new Ident(spelling, previousTokenPosition);
-      currentToken = scanner.getToken();
+      currentToken = nextToken();
     } else
       syntacticError("identifier expected here", "");
     return I;
@@ -783,10 +1127,11 @@ public class Parser {
   Operator acceptOperator() throws SyntaxError {
     Operator O = null;
 
+    if (listener != null) listener.onOperator(currentToken);
     previousTokenPosition = currentToken.position;
     String spelling = currentToken.spelling;
     O = new Operator(spelling, previousTokenPosition);
-    currentToken = scanner.getToken();
+    currentToken = nextToken();
     return O;
   }
 
@@ -795,6 +1140,7 @@ public class Parser {
     IntLiteral IL = null;
 
     if (currentToken.kind == Token.INTLITERAL) {
+      if (listener != null) listener.onLiteral(currentToken);
       String spelling = currentToken.spelling;
       accept();
       IL = new IntLiteral(spelling, previousTokenPosition);
@@ -807,6 +1153,7 @@ public class Parser {
     FloatLiteral FL = null;
 
     if (currentToken.kind == Token.FLOATLITERAL) {
+      if (listener != null) listener.onLiteral(currentToken);
       String spelling = currentToken.spelling;
       accept();
       FL = new FloatLiteral(spelling, previousTokenPosition);
@@ -819,6 +1166,7 @@ public class Parser {
     BooleanLiteral BL = null;
 
     if (currentToken.kind == Token.BOOLEANLITERAL) {
+      if (listener != null) listener.onLiteral(currentToken);
       String spelling = currentToken.spelling;
       accept();
       BL = new BooleanLiteral(spelling, previousTokenPosition);
@@ -831,6 +1179,7 @@ public class Parser {
     StringLiteral SL = null;
     
     if (currentToken.kind == Token.STRINGLITERAL) {
+        if (listener != null) listener.onLiteral(currentToken);
         String spelling = currentToken.spelling;
         accept();
         SL = new StringLiteral(spelling, previousTokenPosition);
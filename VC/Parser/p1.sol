@@ -0,0 +1,466 @@
+Program 1(1)..39(1)
+  DeclList 1(1)..39(1)
+    GloablVarDecl 1(1)..1(10)
+      int
+      g1
+      =
+      IntExpr 1(10)..1(10)
+        1
+    DeclList 1(13)..39(1)
+      GloablVarDecl 1(13)..1(26)
+        ArrayType 1(15)..1(17)
+          int
+          IntExpr 1(16)..1(16)
+            2
+        h1
+        =
+        InitExpr 1(21)..1(26)
+          ExprList 1(22)..1(25)
+            IntExpr 1(22)..1(22)
+              1
+            ExprList 1(25)..1(25)
+              IntExpr 1(25)..1(25)
+                2
+              EmptyExprList
+      DeclList 2(1)..39(1)
+        FuncDecl 2(1)..6(1)
+          int
+          f1
+          ParaList 2(8)..2(13)
+            ParaDecl 2(8)..2(12)
+              int
+              n
+            EmptyParaList
+          CompoundStmt 2(15)..6(1)
+            DeclList 3(3)..3(317)
+              LocalVarDecl 3(3)..3(316)
+                int
+                s
+                =
+                BinaryExpr 3(161)..3(166)
+                  VarExpr 3(161)..3(161)
+                    SimpleVar 3(161)..3(161)
+                      n
+                  +
+                  VarExpr 3(165)..3(166)
+                    SimpleVar 3(165)..3(166)
+                      g1
+              EmptyDeclList
+            StmtList 4(3)..5(315)
+              ExprStmt 4(3)..4(316)
+                AssignExpr 4(3)..4(315)
+                  VarExpr 4(3)..4(3)
+                    SimpleVar 4(3)..4(3)
+                      s
+                  BinaryExpr 4(7)..4(315)
+                    VarExpr 4(7)..4(7)
+                      SimpleVar 4(7)..4(7)
+                        s
+                    +
+                    ArrayExpr 4(161)..4(165)
+                      SimpleVar 4(161)..4(165)
+                        h1
+                      IntExpr 4(164)..4(164)
+                        1
+              StmtList 5(3)..5(315)
+                ReturnStmt 5(3)..5(315)
+                  BinaryExpr 5(10)..5(314)
+                    VarExpr 5(10)..5(10)
+                      SimpleVar 5(10)..5(10)
+                        s
+                    -
+                    IntExpr 5(164)..5(164)
+                      3
+                EmptyStmtList
+        DeclList 7(1)..39(1)
+          GloablVarDecl 7(1)..7(10)
+            int
+            g2
+            =
+            IntExpr 7(10)..7(10)
+              2
+          DeclList 7(13)..39(1)
+            GloablVarDecl 7(13)..7(26)
+              ArrayType 7(15)..7(17)
+                int
+                IntExpr 7(16)..7(16)
+                  2
+              h2
+              =
+              InitExpr 7(21)..7(26)
+                ExprList 7(22)..7(25)
+                  IntExpr 7(22)..7(22)
+                    2
+                  ExprList 7(25)..7(25)
+                    IntExpr 7(25)..7(25)
+                      3
+                    EmptyExprList
+            DeclList 8(1)..39(1)
+              FuncDecl 8(1)..12(1)
+                int
+                f2
+                ParaList 8(8)..8(13)
+                  ParaDecl 8(8)..8(12)
+                    int
+                    n
+                  EmptyParaList
+                CompoundStmt 8(15)..12(1)
+                  DeclList 9(3)..9(317)
+                    LocalVarDecl 9(3)..9(316)
+                      int
+                      s
+                      =
+                      BinaryExpr 9(161)..9(166)
+                        VarExpr 9(161)..9(161)
+                          SimpleVar 9(161)..9(161)
+                            n
+                        +
+                        VarExpr 9(165)..9(166)
+                          SimpleVar 9(165)..9(166)
+                            g2
+                    EmptyDeclList
+                  StmtList 10(3)..11(315)
+                    ExprStmt 10(3)..10(316)
+                      AssignExpr 10(3)..10(315)
+                        VarExpr 10(3)..10(3)
+                          SimpleVar 10(3)..10(3)
+                            s
+                        BinaryExpr 10(7)..10(315)
+                          VarExpr 10(7)..10(7)
+                            SimpleVar 10(7)..10(7)
+                              s
+                          +
+                          ArrayExpr 10(161)..10(165)
+                            SimpleVar 10(161)..10(165)
+                              h2
+                            IntExpr 10(164)..10(164)
+                              1
+                    StmtList 11(3)..11(315)
+                      ReturnStmt 11(3)..11(315)
+                        BinaryExpr 11(10)..11(314)
+                          VarExpr 11(10)..11(10)
+                            SimpleVar 11(10)..11(10)
+                              s
+                          -
+                          IntExpr 11(164)..11(164)
+                            5
+                      EmptyStmtList
+              DeclList 13(1)..39(1)
+                GloablVarDecl 13(1)..13(10)
+                  int
+                  g3
+                  =
+                  IntExpr 13(10)..13(10)
+                    3
+                DeclList 13(13)..39(1)
+                  GloablVarDecl 13(13)..13(26)
+                    ArrayType 13(15)..13(17)
+                      int
+                      IntExpr 13(16)..13(16)
+                        2
+                    h3
+                    =
+                    InitExpr 13(21)..13(26)
+                      ExprList 13(22)..13(25)
+                        IntExpr 13(22)..13(22)
+                          3
+                        ExprList 13(25)..13(25)
+                          IntExpr 13(25)..13(25)
+                            4
+                          EmptyExprList
+                  DeclList 14(1)..39(1)
+                    FuncDecl 14(1)..18(1)
+                      int
+                      f3
+                      ParaList 14(8)..14(13)
+                        ParaDecl 14(8)..14(12)
+                          int
+                          n
+                        EmptyParaList
+                      CompoundStmt 14(15)..18(1)
+                        DeclList 15(3)..15(317)
+                          LocalVarDecl 15(3)..15(316)
+                            int
+                            s
+                            =
+                            BinaryExpr 15(161)..15(166)
+                              VarExpr 15(161)..15(161)
+                                SimpleVar 15(161)..15(161)
+                                  n
+                              +
+                              VarExpr 15(165)..15(166)
+                                SimpleVar 15(165)..15(166)
+                                  g3
+                          EmptyDeclList
+                        StmtList 16(3)..17(315)
+                          ExprStmt 16(3)..16(316)
+                            AssignExpr 16(3)..16(315)
+                              VarExpr 16(3)..16(3)
+                                SimpleVar 16(3)..16(3)
+                                  s
+                              BinaryExpr 16(7)..16(315)
+                                VarExpr 16(7)..16(7)
+                                  SimpleVar 16(7)..16(7)
+                                    s
+                                +
+                                ArrayExpr 16(161)..16(165)
+                                  SimpleVar 16(161)..16(165)
+                                    h3
+                                  IntExpr 16(164)..16(164)
+                                    1
+                          StmtList 17(3)..17(315)
+                            ReturnStmt 17(3)..17(315)
+                              BinaryExpr 17(10)..17(314)
+                                VarExpr 17(10)..17(10)
+                                  SimpleVar 17(10)..17(10)
+                                    s
+                                -
+                                IntExpr 17(164)..17(164)
+                                  7
+                            EmptyStmtList
+                    DeclList 19(1)..39(1)
+                      GloablVarDecl 19(1)..19(10)
+                        int
+                        g4
+                        =
+                        IntExpr 19(10)..19(10)
+                          4
+                      DeclList 19(13)..39(1)
+                        GloablVarDecl 19(13)..19(26)
+                          ArrayType 19(15)..19(17)
+                            int
+                            IntExpr 19(16)..19(16)
+                              2
+                          h4
+                          =
+                          InitExpr 19(21)..19(26)
+                            ExprList 19(22)..19(25)
+                              IntExpr 19(22)..19(22)
+                                4
+                              ExprList 19(25)..19(25)
+                                IntExpr 19(25)..19(25)
+                                  5
+                                EmptyExprList
+                        DeclList 20(1)..39(1)
+                          FuncDecl 20(1)..24(1)
+                            int
+                            f4
+                            ParaList 20(8)..20(13)
+                              ParaDecl 20(8)..20(12)
+                                int
+                                n
+                              EmptyParaList
+                            CompoundStmt 20(15)..24(1)
+                              DeclList 21(3)..21(317)
+                                LocalVarDecl 21(3)..21(316)
+                                  int
+                                  s
+                                  =
+                                  BinaryExpr 21(161)..21(166)
+                                    VarExpr 21(161)..21(161)
+                                      SimpleVar 21(161)..21(161)
+                                        n
+                                    +
+                                    VarExpr 21(165)..21(166)
+                                      SimpleVar 21(165)..21(166)
+                                        g4
+                                EmptyDeclList
+                              StmtList 22(3)..23(315)
+                                ExprStmt 22(3)..22(316)
+                                  AssignExpr 22(3)..22(315)
+                                    VarExpr 22(3)..22(3)
+                                      SimpleVar 22(3)..22(3)
+                                        s
+                                    BinaryExpr 22(7)..22(315)
+                                      VarExpr 22(7)..22(7)
+                                        SimpleVar 22(7)..22(7)
+                                          s
+                                      +
+                                      ArrayExpr 22(161)..22(165)
+                                        SimpleVar 22(161)..22(165)
+                                          h4
+                                        IntExpr 22(164)..22(164)
+                                          1
+                                StmtList 23(3)..23(315)
+                                  ReturnStmt 23(3)..23(315)
+                                    BinaryExpr 23(10)..23(314)
+                                      VarExpr 23(10)..23(10)
+                                        SimpleVar 23(10)..23(10)
+                                          s
+                                      -
+                                      IntExpr 23(164)..23(164)
+                                        9
+                                  EmptyStmtList
+                          DeclList 25(1)..39(1)
+                            GloablVarDecl 25(1)..25(10)
+                              int
+                              g5
+                              =
+                              IntExpr 25(10)..25(10)
+                                5
+                            DeclList 25(13)..39(1)
+                              GloablVarDecl 25(13)..25(26)
+                                ArrayType 25(15)..25(17)
+                                  int
+                                  IntExpr 25(16)..25(16)
+                                    2
+                                h5
+                                =
+                                InitExpr 25(21)..25(26)
+                                  ExprList 25(22)..25(25)
+                                    IntExpr 25(22)..25(22)
+                                      5
+                                    ExprList 25(25)..25(25)
+                                      IntExpr 25(25)..25(25)
+                                        6
+                                      EmptyExprList
+                              DeclList 26(1)..39(1)
+                                FuncDecl 26(1)..30(1)
+                                  int
+                                  f5
+                                  ParaList 26(8)..26(13)
+                                    ParaDecl 26(8)..26(12)
+                                      int
+                                      n
+                                    EmptyParaList
+                                  CompoundStmt 26(15)..30(1)
+                                    DeclList 27(3)..27(317)
+                                      LocalVarDecl 27(3)..27(316)
+                                        int
+                                        s
+                                        =
+                                        BinaryExpr 27(161)..27(166)
+                                          VarExpr 27(161)..27(161)
+                                            SimpleVar 27(161)..27(161)
+                                              n
+                                          +
+                                          VarExpr 27(165)..27(166)
+                                            SimpleVar 27(165)..27(166)
+                                              g5
+                                      EmptyDeclList
+                                    StmtList 28(3)..29(316)
+                                      ExprStmt 28(3)..28(316)
+                                        AssignExpr 28(3)..28(315)
+                                          VarExpr 28(3)..28(3)
+                                            SimpleVar 28(3)..28(3)
+                                              s
+                                          BinaryExpr 28(7)..28(315)
+                                            VarExpr 28(7)..28(7)
+                                              SimpleVar 28(7)..28(7)
+                                                s
+                                            +
+                                            ArrayExpr 28(161)..28(165)
+                                              SimpleVar 28(161)..28(165)
+                                                h5
+                                              IntExpr 28(164)..28(164)
+                                                1
+                                      StmtList 29(3)..29(316)
+                                        ReturnStmt 29(3)..29(316)
+                                          BinaryExpr 29(10)..29(315)
+                                            VarExpr 29(10)..29(10)
+                                              SimpleVar 29(10)..29(10)
+                                                s
+                                            -
+                                            IntExpr 29(164)..29(165)
+                                              11
+                                        EmptyStmtList
+                                DeclList 31(1)..39(1)
+                                  GloablVarDecl 31(1)..31(10)
+                                    int
+                                    g6
+                                    =
+                                    IntExpr 31(10)..31(10)
+                                      6
+                                  DeclList 31(13)..39(1)
+                                    GloablVarDecl 31(13)..31(26)
+                                      ArrayType 31(15)..31(17)
+                                        int
+                                        IntExpr 31(16)..31(16)
+                                          2
+                                      h6
+                                      =
+                                      InitExpr 31(21)..31(26)
+                                        ExprList 31(22)..31(25)
+                                          IntExpr 31(22)..31(22)
+                                            6
+                                          ExprList 31(25)..31(25)
+                                            IntExpr 31(25)..31(25)
+                                              7
+                                            EmptyExprList
+                                    DeclList 32(1)..39(1)
+                                      FuncDecl 32(1)..36(1)
+                                        int
+                                        f6
+                                        ParaList 32(8)..32(13)
+                                          ParaDecl 32(8)..32(12)
+                                            int
+                                            n
+                                          EmptyParaList
+                                        CompoundStmt 32(15)..36(1)
+                                          DeclList 33(3)..33(317)
+                                            LocalVarDecl 33(3)..33(316)
+                                              int
+                                              s
+                                              =
+                                              BinaryExpr 33(161)..33(166)
+                                                VarExpr 33(161)..33(161)
+                                                  SimpleVar 33(161)..33(161)
+                                                    n
+                                                +
+                                                VarExpr 33(165)..33(166)
+                                                  SimpleVar 33(165)..33(166)
+                                                    g6
+                                            EmptyDeclList
+                                          StmtList 34(3)..35(316)
+                                            ExprStmt 34(3)..34(316)
+                                              AssignExpr 34(3)..34(315)
+                                                VarExpr 34(3)..34(3)
+                                                  SimpleVar 34(3)..34(3)
+                                                    s
+                                                BinaryExpr 34(7)..34(315)
+                                                  VarExpr 34(7)..34(7)
+                                                    SimpleVar 34(7)..34(7)
+                                                      s
+                                                  +
+                                                  ArrayExpr 34(161)..34(165)
+                                                    SimpleVar 34(161)..34(165)
+                                                      h6
+                                                    IntExpr 34(164)..34(164)
+                                                      1
+                                            StmtList 35(3)..35(316)
+                                              ReturnStmt 35(3)..35(316)
+                                                BinaryExpr 35(10)..35(315)
+                                                  VarExpr 35(10)..35(10)
+                                                    SimpleVar 35(10)..35(10)
+                                                      s
+                                                  -
+                                                  IntExpr 35(164)..35(165)
+                                                    13
+                                              EmptyStmtList
+                                      DeclList 37(1)..39(1)
+                                        FuncDecl 37(1)..39(1)
+                                          int
+                                          main
+                                          EmptyParaList
+                                          CompoundStmt 37(12)..39(1)
+                                            EmptyDeclList
+                                            StmtList 38(3)..38(23)
+                                              ReturnStmt 38(3)..38(23)
+                                                BinaryExpr 38(10)..38(22)
+                                                  CallExpr 38(10)..38(14)
+                                                    f1
+                                                    ArgList 38(13)..38(14)
+                                                      Arg 38(13)..38(13)
+                                                        IntExpr 38(13)..38(13)
+                                                          0
+                                                      EmptyArgList
+                                                  +
+                                                  CallExpr 38(18)..38(22)
+                                                    f6
+                                                    ArgList 38(21)..38(22)
+                                                      Arg 38(21)..38(21)
+                                                        IntExpr 38(21)..38(21)
+                                                          0
+                                                      EmptyArgList
+                                              EmptyStmtList
+                                        EmptyDeclList
@@ -0,0 +1,98 @@
+/*
+ * Pipeline.java
+ *
+ * The parser, tree printer and unparser of one thread, kept from one
+ * compilation to the next, so that a worker compiling many programs
+ * does not build a new set of them for each program. Only the Scanner,
+ * which cannot be reset, is created per compilation. So are the checker
+ * and launcher of a worker running programs.
+ *
+ * A Pipeline must only be used by the thread it belongs to.
+ */
+
+package VC;
+
+import VC.ASTs.AST;
+import VC.Checker.Checker;
+import VC.CodeGen.Launcher;
+import VC.Parser.Parser;
+import VC.Scanner.Scanner;
+import VC.Scanner.SourceFile;
+import VC.TreePrinter.Printer;
+import VC.UnParser.UnParser;
+
+public final class Pipeline {
+
+  private static final ThreadLocal<Pipeline> pipelines =
+    new ThreadLocal<Pipeline>() {
+      protected Pipeline initialValue() {
+        return new Pipeline();
+      }
+    };
+
+  private Parser parser;
+  private ErrorReporter parserReporter; // the one parser was built with
+  private Printer printer;
+  private UnParser unparser;
+  private Checker checker;
+  private ErrorReporter checkerReporter;
+  private Launcher launcher;
+
+  private Pipeline() { }
+
+  public static Pipeline forCurrentThread() {
+    return pipelines.get();
+  }
+
+  // See vc.compile.
+
+  public AST compile(SourceFile source, ErrorReporter reporter,
+                     Appendable astOut, Appendable vcOut) {
+    Scanner scanner = new Scanner(source, reporter);
+    if (parser == null || parserReporter != reporter) {
+      parser = new Parser(scanner, reporter);
+      parserReporter = reporter;
+    } else
+      parser.reset(scanner);
+
+    AST ast = parser.parseProgram();
+    if (ast == null || reporter.numErrors != 0)
+      return null;
+
+    if (astOut != null) {
+      if (printer == null)
+        printer = new Printer(astOut);
+      else
+        printer.reset(astOut);
+      printer.print(ast);
+    }
+    if (vcOut != null) {
+      if (unparser == null)
+        unparser = new UnParser(vcOut);
+      else
+        unparser.reset(vcOut);
+      unparser.unparse(ast);
+    }
+    return ast;
+  }
+
+  // See vc.run.
+
+  public Integer run(SourceFile source, ErrorReporter reporter,
+                     String input, StringBuilder output) {
+    AST ast = compile(source, reporter, null, null);
+    if (ast == null)
+      return null;
+    if (checker == null || checkerReporter != reporter) {
+      checker = new Checker(reporter);
+      checkerReporter = reporter;
+    }
+    checker.check(ast);
+    if (reporter.numErrors != 0)
+      return null;
+    if (launcher == null)
+      launcher = new Launcher();
+    return launcher.run(ast, input, output);
+  }
+
+}
@@ -4,42 +4,62 @@
  * *
  ***/
 
-/* At this stage, this parser accepts a subset of VC defined	by
- * the following grammar.
- *
- * You need to modify the supplied parsing methods (if necessary) and
- * add the missing ones to obtain a parser for the VC language.
+/* This recogniser accepts exactly the VC programs that the Parser
+ * accepts, reporting the same first syntax error, but builds no AST.
+ * Its methods mirror those of the Parser, from which the grammar below
+ * is copied; a change to either must be made to both.
  *
  * (27---Feb---2019)
 
-program       -> func-decl
-
-// declaration
-
-func-decl     -> void identifier "(" ")" compound-stmt
-
+program       -> ( func-decl | var-decl )*
+func-decl     -> type identifier para-list compound-stmt
+var-decl      -> type init-declarator-list ";"
+init-declarator-list -> init-declarator ( "," init-declarator )*
+init-declarator      -> declarator ( "=" initialiser )?
+declarator    -> identifier | identifier "[" INTLITERAL? "]"
+initialiser   -> expr | "{" expr ( "," expr )* "}"
+type          -> void | boolean | int | float
 identifier    -> ID
-
 // statements
-compound-stmt -> "{" stmt* "}"
-stmt          -> continue-stmt
-    	      |  expr-stmt
+compound-stmt -> "{" var-decl* stmt* "}"
+stmt          -> compound-stmt | if-stmt | for-stmt | while-stmt
+              |  break-stmt | continue-stmt | return-stmt | expr-stmt
+if-stmt       -> if "(" expr ")" stmt ( else stmt )?
+for-stmt      -> for "(" expr? ";" expr? ";" expr? ")" stmt
+while-stmt    -> while "(" expr ")" stmt
+break-stmt    -> break ";"
 continue-stmt -> continue ";"
+return-stmt   -> return expr? ";"
 expr-stmt     -> expr? ";"
-
 // expressions
 expr                -> assignment-expr
-assignment-expr     -> additive-expr
+assignment-expr     -> ( cond-or-expr "=" )* cond-or-expr
+cond-or-expr        -> cond-and-expr
+                    |  cond-or-expr "||" cond-and-expr
+cond-and-expr       -> equality-expr
+                    |  cond-and-expr "&&" equality-expr
+equality-expr       -> rel-expr
+                    |  equality-expr "==" rel-expr
+                    |  equality-expr "!=" rel-expr
+rel-expr            -> additive-expr
+                    |  rel-expr ( "<" | "<=" | ">" | ">=" ) additive-expr
 additive-expr       -> multiplicative-expr
                     |  additive-expr "+" multiplicative-expr
+                    |  additive-expr "-" multiplicative-expr
 multiplicative-expr -> unary-expr
-	                |  multiplicative-expr "*" unary-expr
-unary-expr          -> "-" unary-expr
-		            |  primary-expr
-
-primary-expr        -> identifier
- 		            |  INTLITERAL
-		            | "(" expr ")"
+	            |  multiplicative-expr "*" unary-expr
+	            |  multiplicative-expr "/" unary-expr
+unary-expr          -> ( "+" | "-" | "!" ) unary-expr
+		    |  primary-expr
+primary-expr        -> identifier arg-list?
+		    |  identifier "[" expr "]"
+		    | "(" expr ")"
+ 		    |  INTLITERAL | FLOATLITERAL | BOOLLITERAL | STRINGLITERAL
+// parameters
+para-list           -> "(" ( para-decl ( "," para-decl )* )? ")"
+para-decl           -> type declarator
+arg-list            -> "(" ( arg ( "," arg )* )? ")"
+arg                 -> expr
 */
 
 package VC.Recogniser;
@@ -54,8 +74,6 @@ public class Recogniser {
   private Scanner scanner;
   private ErrorReporter errorReporter;
   private Token currentToken;
-  private String[] typeDeclaration = {"void", "boolean", "int", "float", "id"};
-  private String[] stmt = {"if", "for", "while", "break", "continue", "return"};
 
   public Recogniser (Scanner lexer, ErrorReporter reporter) {
     scanner = lexer;
@@ -63,24 +81,14 @@ public class Recogniser {
     currentToken = scanner.getToken();
   }
 
+  // Makes the recogniser recognise the program read by lexer. The
+  // ErrorReporter is kept.
 
-  boolean isTypeDeclaration() {
-      for(int i = 0; i < typeDeclaration.length; i++) {
-          if(typeDeclaration[i] == currentToken.spell(currentToken.kind)){
-              return true;
-          }
-      }
-      return false;
-  }
-  
-  boolean isStmtDeclaration() {
-      for(int i = 0; i < stmt.length; i++) {
-          if(stmt[i] == currentToken.spell(currentToken.kind)) {
-              return true;
-          }
-      }
-      return false;
+  public void reset(Scanner lexer) {
+    scanner = lexer;
+    currentToken = scanner.getToken();
   }
+
 // match checks to see f the current token matches tokenExpected.
 // If so, fetches the next token.
 // If not, reports a syntactic error.
@@ -110,193 +118,114 @@ public class Recogniser {
   public void parseProgram() {
 
     try {
-      while(currentToken.kind != Token.EOF) {
-          parseFuncDecl();
-      }
-      if (currentToken.kind != Token.EOF) {
-        syntacticError("\"%\" wrong result type for a function", currentToken.spelling);
-      }
+      while (currentToken.kind != Token.EOF)
+        parseFuncDecl();
     }
     catch (SyntaxError s) {  }
   }
 
 // ========================== DECLARATIONS ========================
 
-    void parseFuncDecl() throws SyntaxError {
-     
- //System.out.println("1");
+  // A function declaration, or a declaration of one or more global
+  // variables.
+
+  void parseFuncDecl() throws SyntaxError {
+
+    if (!isType())
+      syntacticError("\"%\" wrong result type for a function", currentToken.spelling);
     parseType();
- //System.out.println("2");
     parseIdent();
- //System.out.println("3");
-    // have to parse through para-list
-    if(currentToken.kind == Token.LPAREN){
-        parseParraList();
-        parseCompoundStmt();
-    }   else {
-        parseVarDeclaration();
-    }
+    if (currentToken.kind == Token.LPAREN) {
+      parseParaList();
+      parseCompoundStmt();
+    } else
+      parseVarDeclaration();
+  }
 
-    // have to parse through parseCompoundStmt if applicable.
-    //System.out.println("4");
-    
-    //System.out.println("5");
-    /*
-    match(Token.VOID);
-    parseIdent();
-    match(Token.LPAREN);
-    match(Token.RPAREN);
-    parseCompoundStmt();
-    */
-  }
-    
-    public void parseVarDeclaration() throws SyntaxError {
-        switch(currentToken.kind) {
-            case Token.EQ:
-                match(Token.EQ);
-                parseNewAssignedValue();
-                break;
-            case Token.COMMA:
-                match(Token.COMMA);
-                parseDeclarationList();
-                break;
-            case Token.LBRACKET:
-                match(Token.LBRACKET);
-                if(currentToken.kind == Token.INTLITERAL) match(Token.INTLITERAL);
-                match(Token.RBRACKET);
-                break;
-            default:
-                break;
-        }
-        match(Token.SEMICOLON);
-    }
-    
-    
-
-    public void parseDeclarationList() throws SyntaxError {
-            parseDeclaration();
-            while(currentToken.kind == Token.COMMA) {
-                match(Token.COMMA);
-                parseDeclaration();
-            }
+  // The local variable declarations at the start of a block.
+
+  void parseVarDeclList() throws SyntaxError {
+    while (isType()) {
+      parseType();
+      parseIdent();
+      parseVarDeclaration();
     }
-    
-    void parseDeclaration() throws SyntaxError {
-        parseNewAssignedValue();
-        if(currentToken.kind == Token.EQ){
-            match(Token.EQ);
-            parseNewArray();
-        }
+  }
+
+  // The rest of a declaration of variables, whose type and first
+  // identifier have been parsed.
+
+  void parseVarDeclaration() throws SyntaxError {
+    parseInitDeclarator();
+    while (currentToken.kind == Token.COMMA) {
+      accept();
+      parseIdent();
+      parseInitDeclarator();
     }
-    
-    void parseNewArray() throws SyntaxError {
-        switch(currentToken.kind) {
-            case Token.LBRACKET:
-                match(Token.LBRACKET);
-                parseExpr();
-                while(currentToken.kind == Token.COMMA) {
-                    match(Token.COMMA);
-                    parseExpr();
-                }
-                match(Token.RBRACKET);
-                break;
-            default:
-                parseExpr();
-        }
+    match(Token.SEMICOLON);
+  }
+
+  void parseInitDeclarator() throws SyntaxError {
+    if (currentToken.kind == Token.LBRACKET)
+      parseArrayType();
+    if (currentToken.kind == Token.EQ) {
+      accept();
+      parseInitialiser();
     }
-    
-    void parseNewAssignedValue() throws SyntaxError {
-        switch(currentToken.kind) {
-            case Token.LCURLY:
-                match(Token.LCURLY);
-                parseExpr();
-                while(currentToken.kind == Token.COMMA) {
-                    match(Token.COMMA);
-                    parseExpr();
-                }
-                match(Token.RCURLY);
-                break;
-            default:
-                parseExpr();
-        }
+  }
+
+  void parseInitialiser() throws SyntaxError {
+    if (currentToken.kind != Token.LCURLY) {
+      parseExpr();
+      return;
     }
 
-    public void parseParraList() throws SyntaxError {
-        match(Token.LPAREN);
-        while(currentToken.kind != Token.RPAREN) {
-            parseType();
-            parseIdent();
-            if(currentToken.kind == Token.COMMA){
-                match(Token.COMMA);
-            }
-        }
-        match(Token.RPAREN);
+    match(Token.LCURLY);
+    parseExpr();
+    while (currentToken.kind == Token.COMMA) {
+      accept();
+      parseExpr();
     }
+    match(Token.RCURLY);
+  }
 
-    public void parseFunctionCall() throws SyntaxError {
-        match(Token.LPAREN);
-        while(currentToken.kind != Token.RPAREN) {
-            parseType();
-            if(currentToken.kind == Token.COMMA){
-                match(Token.COMMA);
-            }
-        }
-        match(Token.RPAREN);
+//  ======================== TYPES ==========================
+
+  boolean isType() {
+    switch (currentToken.kind) {
+      case Token.VOID:
+      case Token.BOOLEAN:
+      case Token.INT:
+      case Token.FLOAT:
+        return true;
+      default:
+        return false;
     }
+  }
 
-    public void parseType() throws SyntaxError {
-        switch(currentToken.kind) {
-            case Token.VOID:
-                match(Token.VOID);
-                break;
-            case Token.BOOLEAN:
-                match(Token.BOOLEAN);
-                break;
-            case Token.INT:
-                match(Token.INT);
-                break;
-            case Token.FLOAT:
-                match(Token.FLOAT);
-                break;
-            case Token.ID:
-                match(Token.ID);
-                break;
-            case Token.INTLITERAL:
-                parseIntLiteral();
-                break;
-            case Token.FLOATLITERAL:
-                parseFloatLiteral();
-                break;
-            case Token.BOOLEANLITERAL:
-                parseBooleanLiteral();
-                break;
-            case Token.STRINGLITERAL:
-                parseStringLiteral();
-                break;
-            default:
-                syntacticError("ERROR", currentToken.spelling);
-      }
+  void parseType() throws SyntaxError {
+    if (isType())
+      accept();
+    else
+      syntacticError("type expected here", "");
+  }
+
+  // The "[size]" of an array variable or parameter; the size may be
+  // omitted.
+
+  void parseArrayType() throws SyntaxError {
+    match(Token.LBRACKET);
+    if (currentToken.kind == Token.INTLITERAL)
+      parseIntLiteral();
+    match(Token.RBRACKET);
   }
-// ======================= STATEMENTS ==============================
 
+// ======================= STATEMENTS ==============================
 
   void parseCompoundStmt() throws SyntaxError {
-    
-     //System.out.println("Blahhh");
-    //System.out.println(currentToken.spell(currentToken.kind));
     match(Token.LCURLY);
-    //System.out.println("Blob");
-    while(currentToken.kind != Token.RCURLY) {
-        if(isStmtDeclaration()) {
-            parseStmt();
-        } else {
-            parseExpr();
-        }
-        if(currentToken.kind == Token.SEMICOLON){
-            match(Token.SEMICOLON);
-        }
-    }
-    
+    parseVarDeclList();
+    parseStmtList();
     match(Token.RCURLY);
   }
 
@@ -315,98 +244,137 @@ public class Recogniser {
         parseCompoundStmt();
         break;
     case Token.IF:
-        match(Token.IF);
         parseIfStmt();
         break;
     case Token.FOR:
-        match(Token.FOR);
         parseForStmt();
         break;
     case Token.WHILE:
-        match(Token.WHILE);
         parseWhileStmt();
         break;
     case Token.BREAK:
-        match(Token.BREAK);
         parseBreakStmt();
         break;
-    case Token.RETURN:
-        match(Token.RETURN);
-        parseReturnStmt();
-        break;
     case Token.CONTINUE:
-        match(Token.CONTINUE);
         parseContinueStmt();
         break;
-    
+    case Token.RETURN:
+        parseReturnStmt();
+        break;
     default:
-        //System.out.println("Im here");
         parseExprStmt();
         break;
-
     }
   }
 
   void parseIfStmt() throws SyntaxError {
+    match(Token.IF);
     match(Token.LPAREN);
     parseExpr();
     match(Token.RPAREN);
     parseStmt();
-    if(currentToken.kind == Token.ELSE) {
-        match(Token.ELSE);
-        parseStmt();
+    if (currentToken.kind == Token.ELSE) {
+      match(Token.ELSE);
+      parseStmt();
     }
   }
 
   void parseForStmt() throws SyntaxError {
+    match(Token.FOR);
     match(Token.LPAREN);
-    parseExpr();
+    if (currentToken.kind != Token.SEMICOLON)
+      parseExpr();
+    match(Token.SEMICOLON);
+    if (currentToken.kind != Token.SEMICOLON)
+      parseExpr();
+    match(Token.SEMICOLON);
+    if (currentToken.kind != Token.RPAREN)
+      parseExpr();
     match(Token.RPAREN);
     parseStmt();
   }
-  
+
   void parseWhileStmt() throws SyntaxError {
+    match(Token.WHILE);
     match(Token.LPAREN);
-    while(currentToken.kind != Token.RPAREN) {
-        if(currentToken.kind == Token.SEMICOLON) {
-            match(Token.SEMICOLON);
-        } else {
-            parseExpr();
-        }
-    }
+    parseExpr();
     match(Token.RPAREN);
     parseStmt();
   }
 
   void parseBreakStmt() throws SyntaxError {
+    match(Token.BREAK);
     match(Token.SEMICOLON);
   }
 
-  void parseReturnStmt() throws SyntaxError {
-    if(currentToken.kind == Token.SEMICOLON) {
-        match(Token.SEMICOLON);
-    }
-    parseExpr();
-
+  void parseContinueStmt() throws SyntaxError {
+    match(Token.CONTINUE);
+    match(Token.SEMICOLON);
   }
 
-  void parseContinueStmt() throws SyntaxError {
+  void parseReturnStmt() throws SyntaxError {
+    match(Token.RETURN);
+    if (currentToken.kind != Token.SEMICOLON)
+      parseExpr();
     match(Token.SEMICOLON);
   }
 
   void parseExprStmt() throws SyntaxError {
+    if (isExprStart())
+      parseExpr();
+    match(Token.SEMICOLON);
+  }
 
-    if (currentToken.kind == Token.ID
-        || currentToken.kind == Token.INTLITERAL
-        || currentToken.kind == Token.MINUS
-        || currentToken.kind == Token.LPAREN) {
-        parseExpr();
-        match(Token.SEMICOLON);
-    } else {
-      match(Token.SEMICOLON);
+  // whether the current token can start an expression
+  boolean isExprStart() {
+    switch (currentToken.kind) {
+      case Token.ID:
+      case Token.INTLITERAL:
+      case Token.FLOATLITERAL:
+      case Token.BOOLEANLITERAL:
+      case Token.STRINGLITERAL:
+      case Token.LPAREN:
+      case Token.PLUS:
+      case Token.MINUS:
+      case Token.NOT:
+        return true;
+      default:
+        return false;
     }
   }
 
+// ======================= PARAMETERS =======================
+
+  void parseParaList() throws SyntaxError {
+    match(Token.LPAREN);
+    if (currentToken.kind != Token.RPAREN) {
+      parseParaDecl();
+      while (currentToken.kind == Token.COMMA) {
+        accept();
+        parseParaDecl();
+      }
+    }
+    match(Token.RPAREN);
+  }
+
+  void parseParaDecl() throws SyntaxError {
+    parseType();
+    parseIdent();
+    if (currentToken.kind == Token.LBRACKET)
+      parseArrayType();
+  }
+
+  void parseArgList() throws SyntaxError {
+    match(Token.LPAREN);
+    if (currentToken.kind != Token.RPAREN) {
+      parseExpr();
+      while (currentToken.kind == Token.COMMA) {
+        accept();
+        parseExpr();
+      }
+    }
+    match(Token.RPAREN);
+  }
 
 // ======================= IDENTIFIERS ======================
 
@@ -439,56 +407,54 @@ public class Recogniser {
     parseAssignExpr();
   }
 
+  // = is right-associative: a = b = c is a = (b = c).
 
   void parseAssignExpr() throws SyntaxError {
     parseCondOrExpr();
-    while(currentToken.kind == Token.EQ){
-        match(Token.EQ);
-        parseCondOrExpr();
+    if (currentToken.kind == Token.EQ) {
+      acceptOperator();
+      parseAssignExpr();
     }
-    // this is the original function call parseAdditiveExpr();
-
   }
 
-  //TO DO
   void parseCondOrExpr() throws SyntaxError {
     parseCondAndExpr();
-    while(currentToken.kind == Token.OROR) {
-        acceptOperator();
-        parseCondAndExpr();
+    while (currentToken.kind == Token.OROR) {
+      acceptOperator();
+      parseCondAndExpr();
     }
   }
-  
-    //TO DO
+
   void parseCondAndExpr() throws SyntaxError {
     parseEqualityExpr();
-    while(currentToken.kind == Token.ANDAND){
-        acceptOperator();
-        parseEqualityExpr();
+    while (currentToken.kind == Token.ANDAND) {
+      acceptOperator();
+      parseEqualityExpr();
     }
   }
-    //TO DO
+
   void parseEqualityExpr() throws SyntaxError {
     parseRelExpr();
-    while(currentToken.kind == Token.EQEQ || currentToken.kind == Token.NOTEQ) {
-        acceptOperator();
-        parseRelExpr();
+    while (currentToken.kind == Token.EQEQ || currentToken.kind == Token.NOTEQ) {
+      acceptOperator();
+      parseRelExpr();
     }
   }
-    //TO DO
+
   void parseRelExpr() throws SyntaxError {
     parseAdditiveExpr();
-    while(currentToken.kind == Token.LT || currentToken.kind == Token.LTEQ
+    while (currentToken.kind == Token.LT || currentToken.kind == Token.LTEQ
            || currentToken.kind == Token.GT || currentToken.kind == Token.GTEQ) {
-        acceptOperator();
-        parseAdditiveExpr();
+      acceptOperator();
+      parseAdditiveExpr();
     }
   }
 
   void parseAdditiveExpr() throws SyntaxError {
 
     parseMultiplicativeExpr();
-    while (currentToken.kind == Token.PLUS) {
+    while (currentToken.kind == Token.PLUS
+           || currentToken.kind == Token.MINUS) {
       acceptOperator();
       parseMultiplicativeExpr();
     }
@@ -497,7 +463,8 @@ public class Recogniser {
   void parseMultiplicativeExpr() throws SyntaxError {
 
     parseUnaryExpr();
-    while (currentToken.kind == Token.MULT) {
+    while (currentToken.kind == Token.MULT
+           || currentToken.kind == Token.DIV) {
       acceptOperator();
       parseUnaryExpr();
     }
@@ -506,17 +473,16 @@ public class Recogniser {
   void parseUnaryExpr() throws SyntaxError {
 
     switch (currentToken.kind) {
+      case Token.PLUS:
       case Token.MINUS:
-        {
-          acceptOperator();
-          parseUnaryExpr();
-        }
+      case Token.NOT:
+        acceptOperator();
+        parseUnaryExpr();
         break;
 
       default:
         parsePrimaryExpr();
         break;
-       
     }
   }
 
@@ -527,30 +493,37 @@ public class Recogniser {
       case Token.ID:
         parseIdent();
         if (currentToken.kind == Token.LBRACKET) {
-					match(Token.LBRACKET);
-					parseExpr();
-					match(Token.RBRACKET);
-				} else if (currentToken.kind == Token.LPAREN){
-					parseFunctionCall();
-				}
+          match(Token.LBRACKET);
+          parseExpr();
+          match(Token.RBRACKET);
+        } else if (currentToken.kind == Token.LPAREN)
+          parseArgList();
         break;
 
       case Token.LPAREN:
-        {
-          accept();
-          parseExpr();
-	  match(Token.RPAREN);
-        }
+        accept();
+        parseExpr();
+        match(Token.RPAREN);
         break;
 
       case Token.INTLITERAL:
         parseIntLiteral();
         break;
 
-      default:
-        parseType();
-        //syntacticError("illegal parimary expression", currentToken.spelling);
+      case Token.FLOATLITERAL:
+        parseFloatLiteral();
+        break;
+
+      case Token.BOOLEANLITERAL:
+        parseBooleanLiteral();
+        break;
+
+      case Token.STRINGLITERAL:
+        parseStringLiteral();
         break;
+
+      default:
+        syntacticError("illegal primary expression", currentToken.spelling);
     }
   }
 
@@ -559,14 +532,6 @@ public class Recogniser {
   // Call these methods rather than accept().  In Assignment 3,
   // literal AST nodes will be constructed inside these methods.
 
-  //might have to change the string one cause i just copied the previous ones
-  void parseStringLiteral() throws SyntaxError {
-    if(currentToken.kind == Token.STRINGLITERAL) {
-        currentToken = scanner.getToken();
-    } else
-        syntacticError("String literal expected here", "");
-  }
-  
   void parseIntLiteral() throws SyntaxError {
 
     if (currentToken.kind == Token.INTLITERAL) {
@@ -591,4 +556,12 @@ public class Recogniser {
       syntacticError("boolean literal expected here", "");
   }
 
+  void parseStringLiteral() throws SyntaxError {
+
+    if (currentToken.kind == Token.STRINGLITERAL) {
+      currentToken = scanner.getToken();
+    } else
+      syntacticError("string literal expected here", "");
+  }
+
 }
@@ -0,0 +1,103 @@
+/*
+ * Validator.java
+ *
+ * A syntax-only check of a VC program held in memory, built on the
+ * Recogniser: no AST is constructed and nothing is printed. A program
+ * passes iff neither the scanner nor the recogniser reports an error,
+ * that is, iff the Parser would accept it.
+ *
+ * The methods are static and may be called from any number of threads
+ * at once. Each thread reuses its own SourceFile, Recogniser and error
+ * reporter; only the Scanner, which cannot be reset, is new per call.
+ */
+
+package VC.Recogniser;
+
+import VC.Scanner.Scanner;
+import VC.Scanner.SourceFile;
+import VC.Scanner.SourcePosition;
+import VC.ErrorReporter;
+
+public final class Validator {
+
+  private static final ThreadLocal<Worker> workers =
+    new ThreadLocal<Worker>() {
+      protected Worker initialValue() {
+        return new Worker();
+      }
+    };
+
+  private Validator() { }
+
+  // Returns null if the program is syntactically valid, and the
+  // position of the first (lexical or syntactic) error otherwise.
+
+  public static SourcePosition check(CharSequence text) {
+    Worker worker = workers.get();
+    worker.source.reset(text);
+    return worker.check();
+  }
+
+  public static SourcePosition check(byte[] bytes) {
+    return check(bytes, 0, bytes.length);
+  }
+
+  public static SourcePosition check(byte[] bytes, int offset, int length) {
+    Worker worker = workers.get();
+    worker.source.reset(bytes, offset, length);
+    return worker.check();
+  }
+
+  public static boolean isValid(CharSequence text) {
+    return check(text) == null;
+  }
+
+  public static boolean isValid(byte[] bytes) {
+    return check(bytes) == null;
+  }
+
+  // The objects one thread reuses from one program to the next.
+
+  private static final class Worker {
+
+    FirstErrorReporter reporter = new FirstErrorReporter();
+    SourceFile source = SourceFile.fromText("");
+    Recogniser recogniser;
+
+    SourcePosition check() {
+      reporter.reset();
+      Scanner scanner = new Scanner(source, reporter);
+      if (recogniser == null)
+        recogniser = new Recogniser(scanner, reporter);
+      else
+        recogniser.reset(scanner);
+      recogniser.parseProgram();
+      SourcePosition pos = reporter.first;
+      reporter.reset(); // do not pin the program last checked
+      source.reset("");
+      return pos;
+    }
+  }
+
+  // Records where the first error occurred and discards the messages.
+
+  static final class FirstErrorReporter extends ErrorReporter {
+
+    SourcePosition first;
+
+    public void reset() {
+      numErrors = 0;
+      first = null;
+    }
+
+    public void reportError(String message, String tokenName, SourcePosition pos) {
+      if (numErrors == 0)
+        first = pos;
+      numErrors++;
+    }
+
+    public void reportRestriction(String message) {
+    }
+  }
+
+}
@@ -1,2 +1,3 @@
 ======= The VC compiler =======
-Compilation was successful.
+ERROR: 1(15)..1(20): type expected here
+Compilation was unsuccessful.
@@ -0,0 +1,2 @@
+======= The VC compiler =======
+Compilation was successful.
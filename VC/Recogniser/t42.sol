@@ -0,0 +1,3 @@
+======= The VC compiler =======
+ERROR: 1(17)..1(17): ";" expected here
+Compilation was unsuccessful.
@@ -0,0 +1,3 @@
+======= The VC compiler =======
+ERROR: 3(5)..3(7): illegal primary expression
+Compilation was unsuccessful.
@@ -0,0 +1,3 @@
+======= The VC compiler =======
+ERROR: 5(3)..5(5): ";" expected here
+Compilation was unsuccessful.
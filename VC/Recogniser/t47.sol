@@ -0,0 +1,4 @@
+======= The VC compiler =======
+ERROR: 2(13)..2(13): abc: unterminated string
+ERROR: 3(1)..3(1): ")" expected here
+Compilation was unsuccessful.
@@ -0,0 +1,42 @@
+/*
+ *
+ */
+
+package VC;
+
+import VC.Scanner.Scanner;
+import VC.Scanner.SourceFile;
+import VC.Recogniser.Recogniser;
+
+public class vc {
+
+    private static Scanner scanner;
+    private static ErrorReporter reporter;
+    private static Recogniser recogniser;
+
+    private static String inputFilename;
+
+    public static void main(String[] args) {
+
+        if (args.length != 1) {
+          System.out.println("Usage: java VC.vc filename");
+          System.exit(1);
+        } else
+          inputFilename = args[0];
+
+        System.out.println("======= The VC compiler =======");
+
+        SourceFile source = new SourceFile(inputFilename);
+
+        reporter = new ErrorReporter();
+        scanner  = new Scanner(source, reporter);
+        recogniser = new Recogniser(scanner, reporter);
+
+        recogniser.parseProgram();
+
+        if (reporter.numErrors == 0)
+           System.out.println ("Compilation was successful.");
+        else
+           System.out.println ("Compilation was unsuccessful.");
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * SourceFile.java
+ *
+ * A VC program is read either from a file or, for tools that already
+ * hold the program in memory, straight out of a CharSequence, a byte
+ * array or a ByteBuffer (one char per byte, which covers the ASCII
+ * character set of VC). An in-memory SourceFile can be reset to another
+ * program and reused.
+ * In every case the line terminators "\r\n" and "\r" are delivered to
+ * the scanner as a single '\n', exactly as LineNumberReader does, and
+ * a program that does not end in a line terminator is delivered as if
+ * it did, since the scanner reads on for one at the end of a "//"
+ * comment or an unterminated string.
+ */
+
+package VC.Scanner;
+
+import java.io.FileReader;
+import java.io.BufferedReader;
+import java.io.LineNumberReader;
+import java.nio.ByteBuffer;
+
+public class SourceFile {
+
+  static final char eof = '\u0000';
+  private LineNumberReader reader;
+  private char last = '\n'; // the last char read from reader
+
+  // in-memory sources: exactly one of text, bytes and buffer is non-null
+  private CharSequence text;
+  private byte[] bytes;
+  private ByteBuffer buffer;
+  private int pos, end;
+  private boolean finalNewline; // a '\n' is delivered at end
+
+  public SourceFile(String filename) {
+    try {
+      reader = new LineNumberReader(new BufferedReader(new FileReader(filename)));
+    } catch (java.io.FileNotFoundException e) {
+      System.out.println("[# vc #]: can't read: " + filename);
+      System.exit(1);
+    } catch (Exception e) {
+      e.printStackTrace();
+      System.out.println("Caught IOException: " + e.getMessage());
+      System.exit(1);
+    }
+  }
+
+  private SourceFile() {
+  }
+
+  // The program text is not copied, so it must not change while it
+  // is being scanned.
+
+  public static SourceFile fromText(CharSequence text) {
+    SourceFile source = new SourceFile();
+    source.reset(text);
+    return source;
+  }
+
+  public static SourceFile fromBytes(byte[] bytes) {
+    return fromBytes(bytes, 0, bytes.length);
+  }
+
+  public static SourceFile fromBytes(byte[] bytes, int offset, int length) {
+    SourceFile source = new SourceFile();
+    source.reset(bytes, offset, length);
+    return source;
+  }
+
+  // Reads the bytes between the buffer's position and its limit,
+  // without moving its position. Direct buffers are not copied either.
+
+  public static SourceFile fromBuffer(ByteBuffer buffer) {
+    SourceFile source = new SourceFile();
+    source.reset(buffer);
+    return source;
+  }
+
+  // The reset methods make an in-memory SourceFile read another
+  // program from its beginning. A Scanner must not be reading it.
+
+  public void reset(CharSequence text) {
+    setSource(text, null, null, 0, text.length());
+  }
+
+  public void reset(byte[] bytes, int offset, int length) {
+    if (offset < 0 || length < 0 || offset + length > bytes.length)
+      throw new IndexOutOfBoundsException("offset " + offset + ", length " + length);
+    setSource(null, bytes, null, offset, offset + length);
+  }
+
+  public void reset(ByteBuffer buffer) {
+    setSource(null, null, buffer, buffer.position(), buffer.limit());
+  }
+
+  private void setSource(CharSequence text, byte[] bytes, ByteBuffer buffer,
+                         int from, int to) {
+    if (reader != null)
+      throw new IllegalStateException("a file-based SourceFile cannot be reset");
+    this.text = text;
+    this.bytes = bytes;
+    this.buffer = buffer;
+    pos = from;
+    end = to;
+    if (from < to) {
+      char c = charAt(to - 1);
+      finalNewline = c != '\n' && c != '\r';
+    } else
+      finalNewline = false;
+  }
+
+  private char charAt(int i) {
+    if (text != null)
+      return text.charAt(i);
+    else if (bytes != null)
+      return (char) (bytes[i] & 0xff);
+    else
+      return (char) (buffer.get(i) & 0xff);
+  }
+
+  char getNextChar() {
+    if (reader == null) {
+      if (pos >= end) {
+        if (pos == end && finalNewline) {
+          pos++;
+          return '\n';
+        }
+        return eof;
+      }
+      char c = charAt(pos++);
+      if (c == '\r') {
+        if (pos < end && charAt(pos) == '\n')
+          pos++;
+        c = '\n';
+      }
+      return c;
+    }
+    try {
+      int  c = reader.read();
+      if (c == -1)
+        c = (last == '\n') ? eof : '\n';
+      last = (char) c;
+      return (char) c;
+    } catch (java.io.IOException e) {
+      System.out.println("Caught IOException: " + e.getMessage());
+      return eof;
+    }
+  }
+
+  char inspectChar(int nthChar) {
+  // nthChar must be >= 1.
+    int c;
+
+    if (reader == null) {
+      int p = pos;
+      c = eof;
+      do {
+        if (p >= end) {
+          if (p > end || !finalNewline)
+            return eof;
+          p++;
+          c = '\n';
+        } else
+          c = charAt(p++);
+        if (c == '\r') {
+          if (p < end && charAt(p) == '\n')
+            p++;
+          c = '\n';
+        }
+        nthChar --;
+      } while (nthChar != 0);
+      return (char) c;
+    }
+
+    try {
+    reader.mark(nthChar);
+    int previous = last;
+    do {
+      c = reader.read();
+      if (c == -1)
+        c = (previous == '\n' || previous == eof) ? eof : '\n';
+      previous = c;
+      nthChar --;
+    } while (nthChar != 0);
+    reader.reset();
+    return (char) c;
+    } catch (java.io.IOException e) {
+      System.out.println("Caught IOException: " + e.getMessage());
+      return eof;
+    }
+  }
+
+  // The supplied Scanner.class was built against a SourceFile whose
+  // two accessors had been renamed; keep those names so it still links.
+
+  char a() {
+    return getNextChar();
+  }
+
+  char a(int nthChar) {
+    return inspectChar(nthChar);
+  }
+
+}
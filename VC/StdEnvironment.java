@@ -0,0 +1,74 @@
+/*
+ * StdEnvironment.java
+ *
+ * Most programming languages contain a standard collection of
+ * pre-defined constants, variables, types and functions that the
+ * programmer can use without having to introduce them. For example,
+ * there is the package java.lang for Java and the standard prelude in
+ * Haskell. Such a collection is called the standard environment.
+ *
+ * In VC, the standard environment contains five built-in primitive
+ * types and 11 built-in I/O functions. There is also an errorType,
+ * which is assigned to an expression when there is a type error
+ * detected in it, so as to reduce the number of spurious errors.
+ *
+ * The types are the shared instances of Type. A built-in function has
+ * no declaration in the program, so a small FuncDecl is made for each
+ * here; the Checker enters them in its symbol table before the
+ * program's own declarations. They are never changed, so one set
+ * serves every Checker, in any thread.
+ */
+
+package VC;
+
+import VC.ASTs.*;
+import VC.Scanner.SourcePosition;
+
+public final class StdEnvironment {
+
+  public static final Type
+    booleanType = Type.booleanType,
+    intType = Type.intType,
+    floatType = Type.floatType,
+    stringType = Type.stringType,
+    voidType = Type.voidType,
+    errorType = Type.errorType;
+
+  // Small ASTs representing "declarations" of the built-in functions
+
+  public static final FuncDecl
+    getIntDecl = declare(intType, "getInt", null),
+    putIntDecl = declare(voidType, "putInt", intType),
+    putIntLnDecl = declare(voidType, "putIntLn", intType),
+    getFloatDecl = declare(floatType, "getFloat", null),
+    putFloatDecl = declare(voidType, "putFloat", floatType),
+    putFloatLnDecl = declare(voidType, "putFloatLn", floatType),
+    putBoolDecl = declare(voidType, "putBool", booleanType),
+    putBoolLnDecl = declare(voidType, "putBoolLn", booleanType),
+    putStringDecl = declare(voidType, "putString", stringType),
+    putStringLnDecl = declare(voidType, "putStringLn", stringType),
+    putLnDecl = declare(voidType, "putLn", null);
+
+  public static final FuncDecl[] functions = {
+    getIntDecl, putIntDecl, putIntLnDecl,
+    getFloatDecl, putFloatDecl, putFloatLnDecl,
+    putBoolDecl, putBoolLnDecl,
+    putStringDecl, putStringLnDecl, putLnDecl
+  };
+
+  private StdEnvironment() { }
+
+  // a function of at most one parameter, of type paraType
+  private static FuncDecl declare(Type resultType, String id, Type paraType) {
+    SourcePosition dummyPos = new SourcePosition();
+    List pl = new EmptyParaList(dummyPos);
+    if (paraType != null)
+      pl = new ParaList(new ParaDecl(paraType, new Ident("x", dummyPos), dummyPos),
+                        pl, dummyPos);
+    FuncDecl decl = new FuncDecl(resultType, new Ident(id, dummyPos), pl,
+                                 new EmptyStmt(dummyPos), dummyPos);
+    decl.I.decl = decl;
+    return decl;
+  }
+
+}
@@ -45,7 +45,7 @@ public class Drawer {
     LayoutVisitor layout = new LayoutVisitor(fontMetrics);
     if (debug)
       layout.enableDebugging();
-    theDrawing = (DrawingTree) theAST.visit(layout, null);
+    theDrawing = layout.layout(theAST);
     theDrawing.position(new Point(500, 10));
 
     frame.setVisible(true);
@@ -7,13 +7,19 @@ package VC.TreeDrawer;
 import java.awt.*;
 import java.awt.event.*;
 import javax.swing.*;
+import java.util.Arrays;
 
 // import VC.ASTs.Visitor;
 import VC.ASTs.*;
 
 import VC.Scanner.SourcePosition;
 
-public class LayoutVisitor implements Visitor {
+// The AST is walked by a TreeWalker rather than visited, so that the
+// depth of the AST is not limited by the Java stack. A node is laid
+// out when it is exited, from the layouts of its children, which are
+// kept on a stack of their own until then.
+
+public class LayoutVisitor extends WalkAdapter {
 
   private final int BORDER = 5;
   private final int PARENT_SEP = 30;
@@ -22,6 +28,15 @@ public class LayoutVisitor implements Visitor {
 
   private boolean debug;
 
+  private TreeWalker walker = new TreeWalker();
+
+  // the layouts of the children of the nodes being walked, and where
+  // the children of each such node start
+  private DrawingTree[] trees = new DrawingTree[64];
+  private int treeCount;
+  private int[] firstChild = new int[64];
+  private int nodeCount;
+
   public LayoutVisitor (FontMetrics fontMetrics) {
     this.fontMetrics = fontMetrics;
     debug = false; // do not draw SourcePosition
@@ -31,244 +46,137 @@ public class LayoutVisitor implements Visitor {
     debug = true;
   }
 
-  // Programs
-  public Object visitProgram(Program ast, Object obj) {
-    return layoutUnary("Program", ast.FL);
-  }
-
- // Lists
-
-  public Object visitEmptyDeclList(EmptyDeclList ast, Object obj) {
-    return layoutNullary("EmptyDecList");
-  }
-
-  public Object visitEmptyStmtList(EmptyStmtList ast, Object obj) {
-    return layoutNullary("EmptyStmtList");
-  }
-
-  public Object visitEmptyExprList(EmptyExprList ast, Object obj) {
-    return layoutNullary("EmptyExprList");
-  }
-
-  public Object visitEmptyStmt(EmptyStmt ast, Object obj) {
-    return layoutNullary("EmptyStmt");
-  }
-
-  public Object visitEmptyParaList(EmptyParaList ast, Object obj) {
-    return layoutNullary("EmptyParaList");
-  }
-
-  public Object visitEmptyArgList(EmptyArgList ast, Object obj) {
-    return layoutNullary("EmptyArgList");
-  }
-
-
-  // Declarations
-  public Object visitDeclList(DeclList ast, Object obj) {
-    return layoutBinary("DecList", ast.D, ast.DL);
-  }
-
-  public Object visitFuncDecl(FuncDecl ast, Object obj) {
-    return layoutQuaternary("FunDec", ast.T, ast.I, ast.PL, ast.S);
-  }
-
-  public Object visitGlobalVarDecl(GlobalVarDecl ast, Object obj) {
-    return layoutTernary("G.VarDec", ast.T, ast.I, ast.E);
-  }
-
-  public Object visitLocalVarDecl(LocalVarDecl ast, Object obj) {
-    return layoutTernary("L.VarDec", ast.T, ast.I, ast.E);
-  }
-
-  // Stmts
-
-  public Object visitStmtList(StmtList ast, Object obj) {
-    return layoutBinary("StmtList", ast.S, ast.SL);
-  }
-
-  public Object visitIfStmt(IfStmt ast, Object obj) {
-    if (ast.S2 instanceof EmptyStmt)
-      return layoutBinary("IfStmt", ast.E, ast.S1);
-    else
-      return layoutTernary("IfStmt", ast.E, ast.S1, ast.S2);
-  }
-
-  public Object visitWhileStmt(WhileStmt ast, Object obj) {
-    return layoutBinary("WhileStmt", ast.E, ast.S);
-  }
-
-  public Object visitForStmt(ForStmt ast, Object obj) {
-    return layoutQuaternary("ForStmt", ast.E1, ast.E2, ast.E3, ast.S);
-  }
-
-  public Object visitBreakStmt(BreakStmt ast, Object obj) {
-    return layoutNullary("BrkStmt");
-  }
-
-  public Object visitContinueStmt(ContinueStmt ast, Object obj) {
-    return layoutNullary("ConStmt");
-  }
-
-  public Object visitReturnStmt(ReturnStmt ast, Object obj) {
-    return layoutUnary("RetStmt", ast.E);
-  }
-
-  public Object visitCompoundStmt(CompoundStmt ast, Object obj) {
-    return layoutBinary("CompStmt", ast.DL, ast.SL);
-  }
-
-  public Object visitExprStmt(ExprStmt ast, Object obj) {
-    return layoutUnary("ExpStmt", ast.E);
-  }
-
-  public Object visitEmptyCompStmt(EmptyCompStmt ast, Object obj) {
-    return layoutNullary("EmptyCompStmt");
-  }
-
-
-  // Expressions
-
-  public Object visitAssignExpr(AssignExpr ast, Object obj) {
-    return layoutBinary("AssignExp", ast.E1, ast.E2);
-  }
-
-  public Object visitBinaryExpr(BinaryExpr ast, Object obj) {
-    return layoutTernary("BinExp", ast.E1, ast.O, ast.E2);
-  }
-
-  public Object visitUnaryExpr(UnaryExpr ast, Object obj) {
-    return layoutBinary("UnaExp", ast.O, ast.E);
-  }
-
-  public Object visitIntExpr(IntExpr ast, Object obj) {
-    return layoutUnary("IntExp", ast.IL);
-  }
-
-  public Object visitStringExpr(StringExpr ast, Object obj) {
-    return layoutUnary("StrExp", ast.SL);
-  }
-
-  public Object visitFloatExpr(FloatExpr ast, Object obj) {
-    return layoutUnary("FloatExp", ast.FL);
-  }
-
-  public Object visitBooleanExpr(BooleanExpr ast, Object obj) {
-    return layoutUnary("BoolExp", ast.BL);
-  }
-
-  public Object visitCallExpr(CallExpr ast, Object obj) {
-    return layoutBinary("CallExp", ast.I, ast.AL);
-  }
-
-  public Object visitVarExpr(VarExpr ast, Object obj) {
-    return layoutUnary("VarExp", ast.V);
-  }
-
-  public Object visitArrayExpr(ArrayExpr ast, Object obj) {
-    return layoutBinary("ArrExp", ast.V, ast.E);
-  }
-
-  public Object visitInitExpr(InitExpr ast, Object obj) {
-    return layoutUnary("InitExp", ast.IL);
-  }
-
-  public Object visitExprList(ExprList ast, Object obj) {
-    return layoutBinary("ExprList", ast.E, ast.EL);
-  }
-
-  public Object visitEmptyExpr(EmptyExpr ast, Object obj) {
-    return layoutNullary("EmptyExp");
-  }
-
-  // Formal Parameters
-
-  public Object visitParaList (ParaList ast, Object obj) {
-    return layoutBinary("ParaLst", ast.P, ast.PL);
-  }
-
-  public Object visitParaDecl(ParaDecl ast, Object obj) {
-    return layoutBinary("ParaDec", ast.T, ast.I);
-  }
-
-  // Arguments
-
-  public Object visitArgList(ArgList ast, Object obj) {
-    return layoutBinary("ArgList", ast.A, ast.AL);
-  }
-
-  public Object visitArg(Arg ast, Object obj) {
-    return layoutUnary("Arg", ast.E);
-  }
-
-
-  // Types
-
-  public Object visitBooleanType(BooleanType ast, Object obj) {
-    return layoutNullary("bool");
-  }
-
-  public Object visitIntType(IntType ast, Object obj) {
-    return layoutNullary("int");
-  }
-
-  public Object visitFloatType(FloatType ast, Object obj) {
-    return layoutNullary("float");
-  }
-
-  public Object visitVoidType(VoidType ast, Object obj) {
-    return layoutNullary("void");
-  }
-
-  // not called
-  public Object visitStringType(StringType ast, Object obj) {
-    return layoutNullary("string");
-  }
-
-  public Object visitArrayType(ArrayType ast, Object obj) {
-    return layoutBinary("ArrType", ast.T, ast.E);
-  }
-
-  public Object visitErrorType(ErrorType ast, Object obj) {
-    return layoutNullary("err");
-  }
-
-  // Literals, Identifiers and Operators
-
-  public Object visitIntLiteral(IntLiteral ast, Object obj) {
-    return layoutNullary(ast.spelling);
-  }
-
-  public Object visitFloatLiteral(FloatLiteral ast, Object obj) {
-    return layoutNullary(ast.spelling);
-  }
-
-  public Object visitBooleanLiteral(BooleanLiteral ast, Object obj) {
-    return layoutNullary(ast.spelling);
-  }
-
-  public Object visitStringLiteral(StringLiteral ast, Object obj) {
-    return layoutNullary(ast.spelling);
-  }
-
-  public Object visitIdent(Ident ast, Object obj) {
-    return layoutNullary(ast.spelling);
-  }
-
-  public Object visitOperator(Operator ast, Object obj) {
-    return layoutNullary(ast.spelling);
+  public DrawingTree layout(AST ast) {
+    treeCount = nodeCount = 0;
+    walker.walk(ast, this);
+    DrawingTree dt = trees[0];
+    trees[0] = null;
+    return dt;
   }
 
-  // Variable names
-
-  public Object visitSimpleVar(SimpleVar ast, Object obj) {
-    return layoutUnary("SimVar", ast.I);
+  // the caption of each kind of node; a terminal shows its spelling
+
+  private static final String[] captions = new String[AST.NUM_KINDS];
+
+  static {
+    captions[AST.PROGRAM] = "Program";
+    captions[AST.EMPTYDECLLIST] = "EmptyDecList";
+    captions[AST.EMPTYSTMTLIST] = "EmptyStmtList";
+    captions[AST.EMPTYEXPRLIST] = "EmptyExprList";
+    captions[AST.EMPTYSTMT] = "EmptyStmt";
+    captions[AST.EMPTYPARALIST] = "EmptyParaList";
+    captions[AST.EMPTYARGLIST] = "EmptyArgList";
+    captions[AST.DECLLIST] = "DecList";
+    captions[AST.FUNCDECL] = "FunDec";
+    captions[AST.GLOBALVARDECL] = "G.VarDec";
+    captions[AST.LOCALVARDECL] = "L.VarDec";
+    captions[AST.STMTLIST] = "StmtList";
+    captions[AST.IFSTMT] = "IfStmt";
+    captions[AST.WHILESTMT] = "WhileStmt";
+    captions[AST.FORSTMT] = "ForStmt";
+    captions[AST.BREAKSTMT] = "BrkStmt";
+    captions[AST.CONTINUESTMT] = "ConStmt";
+    captions[AST.RETURNSTMT] = "RetStmt";
+    captions[AST.COMPOUNDSTMT] = "CompStmt";
+    captions[AST.EXPRSTMT] = "ExpStmt";
+    captions[AST.EMPTYCOMPSTMT] = "EmptyCompStmt";
+    captions[AST.ASSIGNEXPR] = "AssignExp";
+    captions[AST.BINARYEXPR] = "BinExp";
+    captions[AST.UNARYEXPR] = "UnaExp";
+    captions[AST.INTEXPR] = "IntExp";
+    captions[AST.STRINGEXPR] = "StrExp";
+    captions[AST.FLOATEXPR] = "FloatExp";
+    captions[AST.BOOLEANEXPR] = "BoolExp";
+    captions[AST.CALLEXPR] = "CallExp";
+    captions[AST.VAREXPR] = "VarExp";
+    captions[AST.ARRAYEXPR] = "ArrExp";
+    captions[AST.INITEXPR] = "InitExp";
+    captions[AST.EXPRLIST] = "ExprList";
+    captions[AST.EMPTYEXPR] = "EmptyExp";
+    captions[AST.PARALIST] = "ParaLst";
+    captions[AST.PARADECL] = "ParaDec";
+    captions[AST.ARGLIST] = "ArgList";
+    captions[AST.ARG] = "Arg";
+    captions[AST.BOOLEANTYPE] = "bool";
+    captions[AST.INTTYPE] = "int";
+    captions[AST.FLOATTYPE] = "float";
+    captions[AST.VOIDTYPE] = "void";
+    captions[AST.STRINGTYPE] = "string";
+    captions[AST.ARRAYTYPE] = "ArrType";
+    captions[AST.ERRORTYPE] = "err";
+    captions[AST.SIMPLEVAR] = "SimVar";
+  }
+
+  public boolean enter(AST ast, Object obj) {
+    if (nodeCount == firstChild.length)
+      firstChild = Arrays.copyOf(firstChild, 2 * nodeCount);
+    firstChild[nodeCount++] = treeCount;
+    return true;
+  }
+
+  public Object child(AST ast, int i, Object obj) {
+    if (ast.kind == AST.IFSTMT && i == 2 && ((IfStmt) ast).S2 instanceof EmptyStmt)
+      return TreeWalker.SKIP; // drawn without its empty else-part
+    return obj;
+  }
+
+  public void exit(AST ast, Object obj) {
+    int first = firstChild[--nodeCount];
+    int n = treeCount - first;
+    DrawingTree dt;
+    if (ast.kind == AST.FLATLIST)
+      dt = layoutFlatList((FlatList) ast, first);
+    else if (ast instanceof Terminal)
+      dt = layoutNullary(((Terminal) ast).spelling);
+    else if (n == 0)
+      dt = layoutNullary(captions[ast.kind]);
+    else {
+      DrawingTree[] children = new DrawingTree[n];
+      System.arraycopy(trees, first, children, 0, n);
+      dt = layoutNode(captions[ast.kind], ast.position, children);
+    }
+    for (int i = first; i < treeCount; i++)
+      trees[i] = null;
+    treeCount = first;
+    if (treeCount == trees.length)
+      trees = Arrays.copyOf(trees, 2 * treeCount);
+    trees[treeCount++] = dt;
+  }
+
+  // Draws the same tree as the list's nested view: the cells are
+  // joined from the last one back, each cell spanning from its element
+  // to the end of the list.
+
+  private DrawingTree layoutFlatList(FlatList ast, int first) {
+    DrawingTree tail = layoutNullary(captions[ast.emptyList().kind]);
+    for (int i = ast.size() - 1; i >= 0; i--) {
+      AST element = ast.get(i);
+      SourcePosition pos = new SourcePosition();
+      pos.lineStart = element.position.lineStart;
+      pos.charStart = element.position.charStart;
+      pos.lineFinish = ast.position.lineFinish;
+      pos.charFinish = ast.position.charFinish;
+      tail = layoutNode(cellName(ast.listKind), pos,
+                        new DrawingTree[] {trees[first + i], tail});
+    }
+    return tail;
+  }
+
+  private String cellName(int listKind) {
+    switch (listKind) {
+      case FlatList.DECLS:
+        return "DecList";
+      case FlatList.STMTS:
+        return "StmtList";
+      case FlatList.EXPRS:
+        return "ExprList";
+      case FlatList.PARAS:
+        return "ParaLst";
+      default:
+        return "ArgList";
+    }
   }
 
-//   for lecture 7 only
-//  public Object visitS(S ast, Object obj) {
-//     return layoutUnary("S", ast.E);
-// }
-
   private DrawingTree layoutCaption (String name) {
     int w = fontMetrics.stringWidth(name) + 4;
     int h = fontMetrics.getHeight() + 4;
@@ -284,70 +192,16 @@ public class LayoutVisitor implements Visitor {
     return dt;
   }
 
-  private DrawingTree layoutUnary (String name, AST child1) {
-    if (debug) {
-      SourcePosition pos = child1.parent.position;
-      name += " " + pos.lineStart 
-              + "(" + pos.charStart + ").." 
-              + pos.lineFinish+ "(" 
-              + pos.charFinish + ")";
-    }
-    DrawingTree dt = layoutCaption(name);
-    DrawingTree d1 = (DrawingTree) child1.visit(this, null);
-    dt.setChildren(new DrawingTree[] {d1});
-    attachParent(dt, join(dt));
-    return dt;
-  }
-
-  private DrawingTree layoutBinary (String name, AST child1, AST child2) {
-    if (debug) {
-      SourcePosition pos = child1.parent.position;
-      name += " " + pos.lineStart 
-              + "(" + pos.charStart + ").." 
-              + pos.lineFinish+ "(" 
-              + pos.charFinish + ")";
-    }
-    DrawingTree dt = layoutCaption(name);
-    DrawingTree d1 = (DrawingTree) child1.visit(this, null);
-    DrawingTree d2 = (DrawingTree) child2.visit(this, null);
-    dt.setChildren(new DrawingTree[] {d1, d2});
-    attachParent(dt, join(dt));
-    return dt;
-  }
-
-  private DrawingTree layoutTernary (String name, AST child1, AST child2,
-                                     AST child3) {
-    if (debug) {
-      SourcePosition pos = child1.parent.position;
-      name += " " + pos.lineStart 
-              + "(" + pos.charStart + ").." 
-              + pos.lineFinish+ "(" 
-              + pos.charFinish + ")";
-    }
-    DrawingTree dt = layoutCaption(name);
-    DrawingTree d1 = (DrawingTree) child1.visit(this, null);
-    DrawingTree d2 = (DrawingTree) child2.visit(this, null);
-    DrawingTree d3 = (DrawingTree) child3.visit(this, null);
-    dt.setChildren(new DrawingTree[] {d1, d2, d3});
-    attachParent(dt, join(dt));
-    return dt;
-  }
-
-  private DrawingTree layoutQuaternary (String name, AST child1, AST child2,
-                                        AST child3, AST child4) {
+  private DrawingTree layoutNode (String name, SourcePosition pos,
+                                  DrawingTree[] children) {
     if (debug) {
-      SourcePosition pos = child1.parent.position;
       name += " " + pos.lineStart 
               + "(" + pos.charStart + ").." 
               + pos.lineFinish+ "(" 
               + pos.charFinish + ")";
     }
     DrawingTree dt = layoutCaption(name);
-    DrawingTree d1 = (DrawingTree) child1.visit(this, null);
-    DrawingTree d2 = (DrawingTree) child2.visit(this, null);
-    DrawingTree d3 = (DrawingTree) child3.visit(this, null);
-    DrawingTree d4 = (DrawingTree) child4.visit(this, null);
-    dt.setChildren(new DrawingTree[] {d1, d2, d3, d4});
+    dt.setChildren(children);
     attachParent(dt, join(dt));
     return dt;
   }
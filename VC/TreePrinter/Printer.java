@@ -14,14 +14,25 @@ import VC.ASTs.*;
 import java.io.FileWriter;
 import java.io.PrintWriter;
 
-public class Printer implements Visitor {
+import VC.AppendableWriter;
+import VC.Scanner.SourcePosition;
+
+// The AST is walked by a TreeWalker rather than visited, so that the
+// depth of the AST is not limited by the Java stack.
+
+public class Printer extends WalkAdapter {
 
   private int indent;
   private boolean firstFunction; 
   private PrintWriter textOut;
+  private boolean ownsOut; // close textOut when done, rather than flush it
+  private AppendableWriter sink; // textOut's Writer unless printing to a file
+  private TreeWalker walker = new TreeWalker();
+  private boolean debug; // print SourcePosition
 
   public Printer(String filename) {
     indent = 0;
+    ownsOut = true;
 
     try {
       textOut = new PrintWriter(new FileWriter(filename));
@@ -31,444 +42,180 @@ public class Printer implements Visitor {
     }
   }
 
-  private String indentString() {
-    StringBuffer sb = new StringBuffer();
-    for (int i = 0; i < indent; ++i) {
-      sb.append("  ");
-    }
-    return sb.toString();
-  }
-
-  void print(String s) {
-    textOut.println(s);
-  }
-
-  public final void print(AST ast) {
-    ast.visit(this, null);
-    textOut.close();
-  }
-
-  /*
-   * In all methods,
-   * (1) The second argument "o" is not used, and
-   * (2) The returned object is not used.
-   */
-
-  // Programs
-  public Object visitProgram(Program ast, Object o) {
-    print(indentString() + "Program");
-    ++indent;
-    ast.FL.visit(this, o);
-    --indent;
-    return null;
-  }
-
- // Lists
+  // Prints into out, e.g., a StringBuilder or a Writer, which is
+  // flushed but not closed when printing is done. For an OutputStream
+  // (a ByteBufferOutputStream, say), pass an OutputStreamWriter.
 
-  public Object visitEmptyDeclList(EmptyDeclList ast, Object o) {
-    print(indentString() + "EmptyDeclList");
-    return null;
+  public Printer(Appendable out) {
+    reset(out);
   }
 
-  public Object visitEmptyStmtList(EmptyStmtList ast, Object o) {
-    print(indentString() + "EmptyStmtList");
-    return null;
-  }
+  // Makes the printer print the next AST into out; no objects are
+  // allocated once the printer has printed into an Appendable before.
 
-  public Object visitEmptyExprList(EmptyExprList ast, Object o) {
-    print(indentString() + "EmptyExprList");
-    return null;
+  public void reset(Appendable out) {
+    indent = 0;
+    ownsOut = false;
+    if (sink == null) {
+      sink = new AppendableWriter(out);
+      textOut = new PrintWriter(sink);
+    } else
+      sink.setOut(out);
   }
 
-  public Object visitEmptyParaList(EmptyParaList ast, Object o) {
-    print(indentString() + "EmptyParaList");
-    return null;
-  }
+  // Prints the SourcePosition of every node with children after its
+  // caption, as the Drawer draws it when debugging.
 
-  public Object visitEmptyArgList(EmptyArgList ast, Object o) {
-    print(indentString() + "EmptyArgList");
-    return null;
+  public void enableDebugging() {
+    debug = true;
   }
 
-
-  // Declarations
-  public Object visitDeclList(DeclList ast, Object o) {
-    print(indentString() + "DeclList");
-    ++indent;
-    ast.D.visit(this, o);
-    ast.DL.visit(this, o);
-    --indent;
-    return null;
+  private String indentString() {
+    StringBuffer sb = new StringBuffer();
+    for (int i = 0; i < indent; ++i) {
+      sb.append("  ");
+    }
+    return sb.toString();
   }
 
-  public Object visitFuncDecl(FuncDecl ast, Object o) {
-    print(indentString() + "FuncDecl");
-    ++indent;
-    ast.T.visit(this, o);
-    ast.I.visit(this, o);
-    ast.PL.visit(this, o);
-    ast.S.visit(this, o); 
-    --indent;
-    return null;
+  void print(String s) {
+    textOut.println(s);
   }
 
-  public Object visitGlobalVarDecl(GlobalVarDecl ast, Object o) {
-    print(indentString() + "GloablVarDecl");
-    ++indent;
-    ast.T.visit(this, o);
-    ast.I.visit(this, o);
-    if (! (ast.E instanceof EmptyExpr)) {
-      print(indentString() + "=");
-      ast.E.visit(this, o);
+  public final void print(AST ast) {
+    walker.walk(ast, this);
+    if (ownsOut)
+      textOut.close();
+    else
+      textOut.flush();
+  }
+
+  // the caption of each kind of node; a terminal prints its spelling
+
+  private static final String[] captions = new String[AST.NUM_KINDS];
+
+  static {
+    captions[AST.PROGRAM] = "Program";
+    captions[AST.EMPTYDECLLIST] = "EmptyDeclList";
+    captions[AST.EMPTYSTMTLIST] = "EmptyStmtList";
+    captions[AST.EMPTYEXPRLIST] = "EmptyExprList";
+    captions[AST.EMPTYPARALIST] = "EmptyParaList";
+    captions[AST.EMPTYARGLIST] = "EmptyArgList";
+    captions[AST.DECLLIST] = "DeclList";
+    captions[AST.FUNCDECL] = "FuncDecl";
+    captions[AST.GLOBALVARDECL] = "GloablVarDecl";
+    captions[AST.LOCALVARDECL] = "LocalVarDecl";
+    captions[AST.STMTLIST] = "StmtList";
+    captions[AST.IFSTMT] = "IfStmt";
+    captions[AST.WHILESTMT] = "WhileStmt";
+    captions[AST.FORSTMT] = "ForStmt";
+    captions[AST.BREAKSTMT] = "BreakStmt";
+    captions[AST.CONTINUESTMT] = "ContinuekStmt";
+    captions[AST.RETURNSTMT] = "ReturnStmt";
+    captions[AST.COMPOUNDSTMT] = "CompoundStmt";
+    captions[AST.EXPRSTMT] = "ExprStmt";
+    captions[AST.EMPTYCOMPSTMT] = "EmptyCompStmt";
+    captions[AST.EMPTYSTMT] = "EmptyStmt";
+    captions[AST.ASSIGNEXPR] = "AssignExpr";
+    captions[AST.BINARYEXPR] = "BinaryExpr";
+    captions[AST.UNARYEXPR] = "UnaryExpr";
+    captions[AST.INTEXPR] = "IntExpr";
+    captions[AST.FLOATEXPR] = "FloatExpr";
+    captions[AST.BOOLEANEXPR] = "BooleanExpr";
+    captions[AST.STRINGEXPR] = "StringExpr";
+    captions[AST.CALLEXPR] = "CallExpr";
+    captions[AST.VAREXPR] = "VarExpr";
+    captions[AST.ARRAYEXPR] = "ArrayExpr";
+    captions[AST.INITEXPR] = "InitExpr";
+    captions[AST.EXPRLIST] = "ExprList";
+    captions[AST.EMPTYEXPR] = "EmptyExpr";
+    captions[AST.PARALIST] = "ParaList";
+    captions[AST.PARADECL] = "ParaDecl";
+    captions[AST.ARGLIST] = "ArgList";
+    captions[AST.ARG] = "Arg";
+    captions[AST.BOOLEANTYPE] = "boolean";
+    captions[AST.INTTYPE] = "int";
+    captions[AST.FLOATTYPE] = "float";
+    captions[AST.STRINGTYPE] = "string";
+    captions[AST.VOIDTYPE] = "void";
+    captions[AST.ARRAYTYPE] = "ArrayType";
+    captions[AST.ERRORTYPE] = "error";
+    captions[AST.SIMPLEVAR] = "SimpleVar";
+  }
+
+  // Every node is printed on a line of its own, and its children one
+  // level deeper.
+
+  public boolean enter(AST ast, Object o) {
+    if (ast.kind == AST.FLATLIST) // its cells are printed by child()
+      return true;
+    if (ast instanceof Terminal)
+      print(indentString() + ((Terminal) ast).spelling);
+    else if (debug && Nodes.childCount(ast) > 0)
+      print(indentString() + captions[ast.kind] + " " + positionString(ast.position));
+    else
+      print(indentString() + captions[ast.kind]);
+    ++indent;
+    return true;
+  }
+
+  public Object child(AST ast, int i, Object o) {
+    switch (ast.kind) {
+      case AST.GLOBALVARDECL:
+      case AST.LOCALVARDECL:
+        if (i == 2) { // the initialiser, if any
+          if (Nodes.child(ast, i) instanceof EmptyExpr)
+            return TreeWalker.SKIP;
+          print(indentString() + "=");
+        }
+        break;
+
+      case AST.FLATLIST:
+        // printed as its nested view: each cell one level deeper,
+        // spanning from its element to the end of the list
+        String cell = cellName(((FlatList) ast).listKind);
+        if (debug) {
+          SourcePosition pos = new SourcePosition();
+          pos.lineStart = Nodes.child(ast, i).position.lineStart;
+          pos.charStart = Nodes.child(ast, i).position.charStart;
+          pos.lineFinish = ast.position.lineFinish;
+          pos.charFinish = ast.position.charFinish;
+          cell += " " + positionString(pos);
+        }
+        print(indentString() + cell);
+        ++indent;
+        break;
     }
-    --indent;
-    return null;
-  }
-
-  public Object visitLocalVarDecl(LocalVarDecl ast, Object o) {
-    print(indentString() + "LocalVarDecl");
-    ++indent;
-    ast.T.visit(this, o);
-    ast.I.visit(this, o);
-    if (! (ast.E instanceof EmptyExpr)) {
-      print(indentString() + "=");
-      ast.E.visit(this, o);
+    return o;
+  }
+
+  public void exit(AST ast, Object o) {
+    if (ast.kind == AST.FLATLIST) {
+      FlatList list = (FlatList) ast;
+      print(indentString() + captions[list.emptyList().kind]);
+      indent -= list.size();
+    } else
+      --indent;
+  }
+
+  private static String positionString(SourcePosition pos) {
+    return pos.lineStart + "(" + pos.charStart + ").."
+           + pos.lineFinish + "(" + pos.charFinish + ")";
+  }
+
+  private String cellName(int listKind) {
+    switch (listKind) {
+      case FlatList.DECLS:
+        return "DeclList";
+      case FlatList.STMTS:
+        return "StmtList";
+      case FlatList.EXPRS:
+        return "ExprList";
+      case FlatList.PARAS:
+        return "ParaList";
+      default:
+        return "ArgList";
     }
-    --indent;
-    return null;
-  }
-
-  // Stmts
-
-  public Object visitStmtList(StmtList ast, Object o) {
-    print(indentString() + "StmtList");
-    ++indent;
-    ast.S.visit(this, o);
-    ast.SL.visit(this, o);
-    --indent;
-    return null;
-  }
-
-  public Object visitIfStmt(IfStmt ast, Object o) {
-
-    print(indentString() + "IfStmt");
-    ++indent;
-    ast.E.visit(this, o);
-    ast.S1.visit(this, null);
-    ast.S2.visit(this, null);
-    --indent;
-    return null;
-  }
-
-  public Object visitWhileStmt(WhileStmt ast, Object o) {
-    print(indentString() + "WhileStmt");
-    ++indent;
-    ast.E.visit(this, o); 
-    ast.S.visit(this, o); 
-    --indent;
-    return null;
-  }
-
-  public Object visitForStmt(ForStmt ast, Object o) {
-    print(indentString() + "ForStmt");
-    ++indent;
-    ast.E1.visit(this, o); 
-    ast.E2.visit(this, o); 
-    ast.E3.visit(this, o); 
-    ast.S.visit(this, o); 
-    --indent;
-    return null;
-  }
-
-  public Object visitBreakStmt(BreakStmt ast, Object o) {
-    print(indentString() + "BreakStmt");
-    return null;
-  }
-
-  public Object visitContinueStmt(ContinueStmt ast, Object o) {
-    print(indentString() + "ContinuekStmt");
-    return null;
-  }
-
-  public Object visitReturnStmt(ReturnStmt ast, Object o) {
-    print(indentString() + "ReturnStmt");
-    ++indent;
-    ast.E.visit(this, o);
-    --indent;
-    return null;
-  }
-
-  public Object visitCompoundStmt(CompoundStmt ast, Object o) {
-    print(indentString() + "CompoundStmt");
-    ++indent;
-    ast.DL.visit(this, o);
-    ast.SL.visit(this, o);
-    --indent;
-    return null;
-  }
-
-  public Object visitExprStmt(ExprStmt ast, Object o) {
-    print(indentString() + "ExprStmt");
-    ++indent;
-    ast.E.visit(this, o);
-    --indent;
-    return null;
-  }
-
-  public Object visitEmptyCompStmt(EmptyCompStmt ast, Object o) {
-    print(indentString() + "EmptyCompStmt");
-    return null;
-  }
-
-  public Object visitEmptyStmt(EmptyStmt ast, Object o) {
-    print(indentString() + "EmptyStmt");
-    return null;
-  }
-
-
-  // Expressions
-
-  public Object visitAssignExpr(AssignExpr ast, Object o) {
-    print(indentString() + "AssignExpr");
-    ++indent;
-    ast.E1.visit(this, o);
-    ast.E2.visit(this, o);
-    --indent;
-    return null;
-  }
-
-  public Object visitBinaryExpr(BinaryExpr ast, Object o) {
-    print(indentString() + "BinaryExpr");
-    ++indent;
-    ast.E1.visit(this, o);
-    ast.O.visit(this, o);
-    ast.E2.visit(this, o);
-    --indent;
-    return null;
-  }
-
-  public Object visitUnaryExpr(UnaryExpr ast, Object o) {
-    print(indentString() + "UnaryExpr");
-    ++indent;
-    ast.O.visit(this, o);
-    ast.E.visit(this, o);
-    --indent;
-    return null;
-  }
-
-  public Object visitIntExpr(IntExpr ast, Object o) {
-    print(indentString() + "IntExpr");
-    ++indent;
-    ast.IL.visit(this, o);
-    --indent;
-    return null;
-  }
-
-  public Object visitFloatExpr(FloatExpr ast, Object o) {
-    print(indentString() + "FloatExpr");
-    ++indent;
-    ast.FL.visit(this, o);
-    --indent;
-    return null;
-  }
-
-  public Object visitBooleanExpr(BooleanExpr ast, Object o) {
-    print(indentString() + "BooleanExpr");
-    ++indent;
-    ast.BL.visit(this, o);
-    --indent;
-    return null;
-  }
-
-  public Object visitStringExpr(StringExpr ast, Object o) {
-    print(indentString() + "StringExpr");
-    ++indent;
-    ast.SL.visit(this, o);
-    --indent;
-    return null;
-  }
-
-  public Object visitCallExpr(CallExpr ast, Object o) {
-    print(indentString() + "CallExpr");
-    ++indent;
-    ast.I.visit(this, o);
-    ast.AL.visit(this, o);
-    --indent;
-    return null;
-  }
-
-  public Object visitVarExpr(VarExpr ast, Object o) {
-    print(indentString() + "VarExpr");
-    ++indent;
-    ast.V.visit(this, o);
-    --indent;
-    return null;
-  }
-
-  public Object visitArrayExpr(ArrayExpr ast, Object o) {
-    print(indentString() + "ArrayExpr");
-    ++indent;
-    ast.V.visit(this, o);
-    ast.E.visit(this, o);
-    --indent;
-    return null;
-  }
-
-  public Object visitInitExpr(InitExpr ast, Object o) {
-    print(indentString() + "InitExpr");
-    ++indent;
-    ast.IL.visit(this, o);
-    --indent;
-    return null;
-  }
-
-  public Object visitExprList(ExprList ast, Object o) {
-    print(indentString() + "ExprList");
-    ++indent;
-    ast.E.visit(this, o);
-    ast.EL.visit(this, o);
-    --indent;
-    return null;
-  }
-
-  public Object visitEmptyExpr(EmptyExpr ast, Object o) {
-    print(indentString() + "EmptyExpr");
-    return null;
-  }
-
-
-  // Parameters
-
-  public Object visitParaList (ParaList ast, Object o) {
-    print(indentString() + "ParaList");
-    ++indent;
-    ast.P.visit(this, o);
-    ast.PL.visit(this, o);
-    --indent;
-    return null;
-  }
-
-  public Object visitParaDecl(ParaDecl ast, Object o) {
-    print(indentString() + "ParaDecl");
-    ++indent;
-    ast.T.visit(this, o);
-    ast.I.visit(this, o);
-    --indent;
-    return null;
-  }
-
-
-  // Arguments
-
-  public Object visitArgList(ArgList ast, Object o) {
-    print(indentString() + "ArgList");
-    ++indent;
-    ast.A.visit(this, o);
-    ast.AL.visit(this, o);
-    --indent;
-    return null;
-  }
-
-  public Object visitArg(Arg ast, Object o) {
-    print(indentString() + "Arg");
-    ++indent;
-    ast.E.visit(this, o);
-    --indent;
-    return null;
-  }
-
-  // Types
-  public Object visitBooleanType(BooleanType ast, Object o) {
-    print(indentString() + "boolean");
-    return null;
-  }
-
-  public Object visitIntType(IntType ast, Object o) {
-    print(indentString() + "int");
-    return null;
-  }
-
-  public Object visitFloatType(FloatType ast, Object o) {
-    print(indentString() + "float");
-    return null;
-  }
-
-  // not called
-  public Object visitStringType(StringType ast, Object o) {
-    print(indentString() + "string");
-    return null;
-  }
-
-  public Object visitVoidType(VoidType ast, Object o) {
-    print(indentString() + "void");
-    return null;
-  }
-
-  public Object visitArrayType(ArrayType ast, Object o) {
-    print(indentString() + "ArrayType");
-    ++indent;
-    ast.T.visit(this, o);
-    ast.E.visit(this, o);
-    --indent;
- /*
-    if (ast.T instanceof IntType)
-      print(indentString() + "int");
-    else if (ast.T instanceof FloatType)
-      print(indentString() + "float");
-    else if (ast.T instanceof BooleanType)
-      print(indentString() + "bool");
-    else // if (ast.T instanceof VoidType)
-      print(indentString() + "void");
-*/
-    return null;
-  }
-
-
-  public Object visitErrorType(ErrorType ast, Object o) {
-    print(indentString() + "error");
-    return null;
-  }
-
-  // Literals, Identifiers and Operators
-
-  public Object visitIntLiteral(IntLiteral ast, Object o) {
-    print(indentString() + ast.spelling);
-    return null;
-  }
-
-  public Object visitFloatLiteral(FloatLiteral ast, Object o) {
-    print(indentString() + ast.spelling);
-    return null;
-  }
-
-  public Object visitBooleanLiteral(BooleanLiteral ast, Object o) {
-    print(indentString() + ast.spelling);
-    return null;
-  }
-
-  public Object visitStringLiteral(StringLiteral ast, Object o) {
-    print(indentString() + ast.spelling);
-    return null;
-  }
-
-  public Object visitIdent(Ident ast, Object o) {
-    print(indentString() + ast.spelling);
-    return null;
-  }
-
-  public Object visitOperator(Operator ast, Object o) {
-    print(indentString() + ast.spelling);
-    return null;
-  }
-
-  // Variable names
-
-  public Object visitSimpleVar(SimpleVar ast, Object o) {
-    print(indentString() + "SimpleVar");
-    ++indent;
-    ast.I.visit(this, o);
-    --indent;
-    return null;
   }
 
 }
@@ -0,0 +1,290 @@
+Program
+  DeclList
+    GloablVarDecl
+      int
+      n
+      =
+      IntExpr
+        3
+    DeclList
+      GloablVarDecl
+        ArrayType
+          int
+          IntExpr
+            4
+        a
+        =
+        InitExpr
+          ExprList
+            IntExpr
+              1
+            ExprList
+              IntExpr
+                2
+              ExprList
+                IntExpr
+                  3
+                EmptyExprList
+      DeclList
+        GloablVarDecl
+          ArrayType
+            int
+            EmptyExpr
+          b
+          =
+          InitExpr
+            ExprList
+              IntExpr
+                4
+              ExprList
+                IntExpr
+                  5
+                EmptyExprList
+        DeclList
+          GloablVarDecl
+            float
+            x
+          DeclList
+            GloablVarDecl
+              float
+              y
+              =
+              FloatExpr
+                1.5
+            DeclList
+              GloablVarDecl
+                boolean
+                done
+                =
+                BooleanExpr
+                  false
+              DeclList
+                FuncDecl
+                  void
+                  skip
+                  EmptyParaList
+                  EmptyCompStmt
+                DeclList
+                  FuncDecl
+                    int
+                    pick
+                    ParaList
+                      ParaDecl
+                        ArrayType
+                          int
+                          EmptyExpr
+                        v
+                      ParaList
+                        ParaDecl
+                          int
+                          i
+                        ParaList
+                          ParaDecl
+                            float
+                            scale
+                          ParaList
+                            ParaDecl
+                              boolean
+                              flag
+                            EmptyParaList
+                    CompoundStmt
+                      DeclList
+                        LocalVarDecl
+                          int
+                          k
+                        DeclList
+                          LocalVarDecl
+                            float
+                            f
+                            =
+                            VarExpr
+                              SimpleVar
+                                scale
+                          EmptyDeclList
+                      StmtList
+                        IfStmt
+                          VarExpr
+                            SimpleVar
+                              flag
+                          ReturnStmt
+                            ArrayExpr
+                              SimpleVar
+                                v
+                              VarExpr
+                                SimpleVar
+                                  i
+                          IfStmt
+                            BinaryExpr
+                              VarExpr
+                                SimpleVar
+                                  i
+                              >
+                              IntExpr
+                                0
+                            CompoundStmt
+                              EmptyDeclList
+                              StmtList
+                                ExprStmt
+                                  AssignExpr
+                                    VarExpr
+                                      SimpleVar
+                                        k
+                                    BinaryExpr
+                                      VarExpr
+                                        SimpleVar
+                                          i
+                                      -
+                                      IntExpr
+                                        1
+                                EmptyStmtList
+                            ExprStmt
+                              AssignExpr
+                                VarExpr
+                                  SimpleVar
+                                    k
+                                IntExpr
+                                  0
+                        StmtList
+                          WhileStmt
+                            BinaryExpr
+                              VarExpr
+                                SimpleVar
+                                  k
+                              <
+                              VarExpr
+                                SimpleVar
+                                  n
+                            CompoundStmt
+                              EmptyDeclList
+                              StmtList
+                                IfStmt
+                                  BinaryExpr
+                                    ArrayExpr
+                                      SimpleVar
+                                        v
+                                      VarExpr
+                                        SimpleVar
+                                          k
+                                    ==
+                                    IntExpr
+                                      0
+                                  BreakStmt
+                                  EmptyStmt
+                                StmtList
+                                  ExprStmt
+                                    AssignExpr
+                                      VarExpr
+                                        SimpleVar
+                                          k
+                                      BinaryExpr
+                                        VarExpr
+                                          SimpleVar
+                                            k
+                                        +
+                                        IntExpr
+                                          1
+                                  StmtList
+                                    ContinuekStmt
+                                    EmptyStmtList
+                          StmtList
+                            ForStmt
+                              EmptyExpr
+                              EmptyExpr
+                              EmptyExpr
+                              BreakStmt
+                            StmtList
+                              ForStmt
+                                AssignExpr
+                                  VarExpr
+                                    SimpleVar
+                                      k
+                                  IntExpr
+                                    0
+                                BinaryExpr
+                                  VarExpr
+                                    SimpleVar
+                                      k
+                                  <
+                                  IntExpr
+                                    2
+                                AssignExpr
+                                  VarExpr
+                                    SimpleVar
+                                      k
+                                  BinaryExpr
+                                    VarExpr
+                                      SimpleVar
+                                        k
+                                    +
+                                    IntExpr
+                                      1
+                                ExprStmt
+                                  EmptyExpr
+                              StmtList
+                                CompoundStmt
+                                  DeclList
+                                    LocalVarDecl
+                                      int
+                                      inner
+                                      =
+                                      VarExpr
+                                        SimpleVar
+                                          k
+                                    EmptyDeclList
+                                  StmtList
+                                    CompoundStmt
+                                      EmptyDeclList
+                                      StmtList
+                                        ExprStmt
+                                          EmptyExpr
+                                        EmptyStmtList
+                                    EmptyStmtList
+                                StmtList
+                                  ReturnStmt
+                                    ArrayExpr
+                                      SimpleVar
+                                        v
+                                      VarExpr
+                                        SimpleVar
+                                          k
+                                  EmptyStmtList
+                  DeclList
+                    FuncDecl
+                      int
+                      main
+                      EmptyParaList
+                      CompoundStmt
+                        EmptyDeclList
+                        StmtList
+                          ExprStmt
+                            CallExpr
+                              skip
+                              EmptyArgList
+                          StmtList
+                            ReturnStmt
+                              BinaryExpr
+                                CallExpr
+                                  pick
+                                  ArgList
+                                    Arg
+                                      VarExpr
+                                        SimpleVar
+                                          a
+                                    ArgList
+                                      Arg
+                                        IntExpr
+                                          1
+                                      ArgList
+                                        Arg
+                                          FloatExpr
+                                            2.0
+                                        ArgList
+                                          Arg
+                                            BooleanExpr
+                                              true
+                                          EmptyArgList
+                                -
+                                IntExpr
+                                  2
+                            EmptyStmtList
+                    EmptyDeclList
@@ -0,0 +1,313 @@
+Program
+  DeclList
+    FuncDecl
+      int
+      f
+      ParaList
+        ParaDecl
+          int
+          p
+        ParaList
+          ParaDecl
+            float
+            q
+          EmptyParaList
+      CompoundStmt
+        EmptyDeclList
+        StmtList
+          ReturnStmt
+            VarExpr
+              SimpleVar
+                p
+          EmptyStmtList
+    DeclList
+      FuncDecl
+        int
+        main
+        EmptyParaList
+        CompoundStmt
+          DeclList
+            LocalVarDecl
+              int
+              i
+            DeclList
+              LocalVarDecl
+                int
+                j
+              DeclList
+                LocalVarDecl
+                  ArrayType
+                    int
+                    IntExpr
+                      3
+                  v
+                DeclList
+                  LocalVarDecl
+                    float
+                    r
+                  DeclList
+                    LocalVarDecl
+                      boolean
+                      b
+                    DeclList
+                      LocalVarDecl
+                        boolean
+                        c
+                      EmptyDeclList
+          StmtList
+            ExprStmt
+              AssignExpr
+                VarExpr
+                  SimpleVar
+                    i
+                AssignExpr
+                  VarExpr
+                    SimpleVar
+                      j
+                  AssignExpr
+                    ArrayExpr
+                      SimpleVar
+                        v
+                      IntExpr
+                        0
+                    IntExpr
+                      7
+            StmtList
+              ExprStmt
+                AssignExpr
+                  VarExpr
+                    SimpleVar
+                      r
+                  BinaryExpr
+                    BinaryExpr
+                      BinaryExpr
+                        BinaryExpr
+                          VarExpr
+                            SimpleVar
+                              i
+                          *
+                          IntExpr
+                            2
+                        +
+                        BinaryExpr
+                          VarExpr
+                            SimpleVar
+                              j
+                          /
+                          IntExpr
+                            3
+                      -
+                      UnaryExpr
+                        -
+                        VarExpr
+                          SimpleVar
+                            i
+                    +
+                    UnaryExpr
+                      +
+                      VarExpr
+                        SimpleVar
+                          j
+              StmtList
+                ExprStmt
+                  AssignExpr
+                    VarExpr
+                      SimpleVar
+                        r
+                    BinaryExpr
+                      BinaryExpr
+                        FloatExpr
+                          1.0
+                        +
+                        FloatExpr
+                          2.5e3
+                      -
+                      BinaryExpr
+                        BinaryExpr
+                          FloatExpr
+                            .5
+                          *
+                          FloatExpr
+                            3.0
+                        /
+                        FloatExpr
+                          1E2
+                StmtList
+                  ExprStmt
+                    AssignExpr
+                      VarExpr
+                        SimpleVar
+                          b
+                      BinaryExpr
+                        BinaryExpr
+                          BinaryExpr
+                            VarExpr
+                              SimpleVar
+                                i
+                            <
+                            VarExpr
+                              SimpleVar
+                                j
+                          ||
+                          BinaryExpr
+                            BinaryExpr
+                              VarExpr
+                                SimpleVar
+                                  i
+                              <=
+                              VarExpr
+                                SimpleVar
+                                  j
+                            &&
+                            BinaryExpr
+                              VarExpr
+                                SimpleVar
+                                  i
+                              >
+                              VarExpr
+                                SimpleVar
+                                  j
+                        ||
+                        UnaryExpr
+                          !
+                          BinaryExpr
+                            VarExpr
+                              SimpleVar
+                                i
+                            >=
+                            VarExpr
+                              SimpleVar
+                                j
+                  StmtList
+                    ExprStmt
+                      AssignExpr
+                        VarExpr
+                          SimpleVar
+                            c
+                        BinaryExpr
+                          BinaryExpr
+                            BinaryExpr
+                              VarExpr
+                                SimpleVar
+                                  i
+                              ==
+                              VarExpr
+                                SimpleVar
+                                  j
+                            !=
+                            BinaryExpr
+                              VarExpr
+                                SimpleVar
+                                  b
+                              ==
+                              BooleanExpr
+                                true
+                          &&
+                          BooleanExpr
+                            false
+                    StmtList
+                      ExprStmt
+                        AssignExpr
+                          VarExpr
+                            SimpleVar
+                              j
+                          BinaryExpr
+                            CallExpr
+                              f
+                              ArgList
+                                Arg
+                                  VarExpr
+                                    SimpleVar
+                                      i
+                                ArgList
+                                  Arg
+                                    VarExpr
+                                      SimpleVar
+                                        r
+                                  EmptyArgList
+                            +
+                            CallExpr
+                              f
+                              ArgList
+                                Arg
+                                  CallExpr
+                                    f
+                                    ArgList
+                                      Arg
+                                        IntExpr
+                                          1
+                                      ArgList
+                                        Arg
+                                          FloatExpr
+                                            2.0
+                                        EmptyArgList
+                                ArgList
+                                  Arg
+                                    UnaryExpr
+                                      -
+                                      VarExpr
+                                        SimpleVar
+                                          r
+                                  EmptyArgList
+                      StmtList
+                        ExprStmt
+                          CallExpr
+                            putStringLn
+                            ArgList
+                              Arg
+                                StringExpr
+                                  tab	 quote" backslash\ newline
+
+                              EmptyArgList
+                        StmtList
+                          ExprStmt
+                            CallExpr
+                              putString
+                              ArgList
+                                Arg
+                                  StringExpr
+                                    
+                                EmptyArgList
+                          StmtList
+                            ExprStmt
+                              CallExpr
+                                putBoolLn
+                                ArgList
+                                  Arg
+                                    BinaryExpr
+                                      VarExpr
+                                        SimpleVar
+                                          b
+                                      !=
+                                      VarExpr
+                                        SimpleVar
+                                          c
+                                  EmptyArgList
+                            StmtList
+                              ExprStmt
+                                CallExpr
+                                  putFloatLn
+                                  ArgList
+                                    Arg
+                                      VarExpr
+                                        SimpleVar
+                                          r
+                                    EmptyArgList
+                              StmtList
+                                ReturnStmt
+                                  BinaryExpr
+                                    ArrayExpr
+                                      SimpleVar
+                                        v
+                                      BinaryExpr
+                                        VarExpr
+                                          SimpleVar
+                                            i
+                                        -
+                                        IntExpr
+                                          7
+                                    -
+                                    IntExpr
+                                      7
+                                EmptyStmtList
+      EmptyDeclList
@@ -21,11 +21,21 @@ import VC.ASTs.*;
 import java.io.FileWriter;
 import java.io.PrintWriter;
 
-public class UnParser implements Visitor {
+import VC.AppendableWriter;
+
+// The AST is walked by a TreeWalker rather than visited, so that the
+// depth of the AST is not limited by the Java stack. As with the
+// visitor this replaced, the argument of a node is the IfStmt whose
+// else-part it is (so that "else if" stays on one line), or null.
+
+public class UnParser extends WalkAdapter {
 
   private int level;
   private boolean firstFunction; 
   private PrintWriter textOut;
+  private boolean ownsOut; // close textOut when done, rather than flush it
+  private AppendableWriter sink; // textOut's Writer unless unparsing to a file
+  private TreeWalker walker = new TreeWalker();
   
   private char[] escapeChars = { '\b', '\f', '\n', '\r', '\t', '\'', '\"', '\\' };      
   private String[] escapeStrings = { "\\b", "\\f", "\\n", "\\r", "\\t", "\\\'",
@@ -35,6 +45,7 @@ public class UnParser implements Visitor {
     // By definition, all function declarations are in scope level 1
     level = 1;
     firstFunction = true; 
+    ownsOut = true;
 
     try {
       textOut = new PrintWriter(new FileWriter(filename));
@@ -44,9 +55,34 @@ public class UnParser implements Visitor {
     }
   }
 
+  // Unparses into out, e.g., a StringBuilder or a Writer, which is
+  // flushed but not closed when unparsing is done. For an OutputStream
+  // (a ByteBufferOutputStream, say), pass an OutputStreamWriter.
+
+  public UnParser(Appendable out) {
+    reset(out);
+  }
+
+  // Makes the unparser unparse the next AST into out; no objects are
+  // allocated once the unparser has written into an Appendable before.
+
+  public void reset(Appendable out) {
+    level = 1;
+    firstFunction = true; 
+    ownsOut = false;
+    if (sink == null) {
+      sink = new AppendableWriter(out);
+      textOut = new PrintWriter(sink);
+    } else
+      sink.setOut(out);
+  }
+
   public final void unparse(AST ast) {
-    ast.visit(this, null);
-    textOut.close();
+    walker.walk(ast, this);
+    if (ownsOut)
+      textOut.close();
+    else
+      textOut.flush();
   }
 
   String  addEscape(String s) {
@@ -79,433 +115,297 @@ public class UnParser implements Visitor {
   }
 
 
-  // Programs
-  public Object visitProgram(Program ast, Object o) {
-    ast.FL.visit(this, o);
-    textOut.println();
-    return null;
-  }
-
- // Lists
-
-  public Object visitEmptyDeclList(EmptyDeclList ast, Object o) {
-    return null;
-  }
-
-  public Object visitEmptyStmtList(EmptyStmtList ast, Object o) {
-    return null;
-  }
-
-  public Object visitEmptyExprList(EmptyExprList ast, Object o) {
-    return null;
-  }
-
-  public Object visitEmptyParaList(EmptyParaList ast, Object o) {
-    print(")");
-    return null;
-  }
-
-  public Object visitEmptyArgList(EmptyArgList ast, Object o) {
-    print(")");
-    return null;
-  }
-
-
-  // Declarations
-  public Object visitDeclList(DeclList ast, Object o) {
-    ast.D.visit(this, o);
-    ast.DL.visit(this, o);
-    return null;
-  }
-
-  public Object visitFuncDecl(FuncDecl ast, Object o) {
-    printIndentation();
-    ast.T.visit(this, o);
-    print(" ");
-    ast.I.visit(this, o);
-    print("(");
-    ast.PL.visit(this, o);
-    ast.S.visit(this, o); // must be a block
-    return null;
-  }
-
-/*
-  public Object visitGlobalVarDecl(GlobalVarDecl ast, Object o) {
-    printIndentation();
-    ast.T.visit(this, o);
-    print(" ");
-    ast.I.visit(this, o);
-    if (! (ast.E instanceof EmptyExpr)) {
-      print(" = ");
-      ast.E.visit(this, o);
-    }
-    print(";");
-    return null;
-  }
-*/
-
-  public Object visitGlobalVarDecl(GlobalVarDecl ast, Object o) {
-    printIndentation();
-    ast.T.visit(this, o);
-    print(" ");
-    ast.I.visit(this, o);
-    if (ast.T instanceof ArrayType) {
-      print("[");
-      if (! (((ArrayType)ast.T).E instanceof EmptyExpr)) {
-        ((ArrayType)ast.T).E.visit(this, o);
-      }
-      print("]");
-    }
-    if (! (ast.E instanceof EmptyExpr)) {
-      print(" = ");
-      ast.E.visit(this, o);
+  public boolean enter(AST ast, Object o) {
+    switch (ast.kind) {
+      case AST.EMPTYPARALIST:
+      case AST.EMPTYARGLIST:
+        print(")");
+        break;
+
+      // Declarations
+      case AST.FUNCDECL:
+      case AST.GLOBALVARDECL:
+      case AST.LOCALVARDECL:
+        printIndentation();
+        break;
+
+      // Stmts
+      case AST.IFSTMT:
+        if (o == null || !(o instanceof IfStmt)) { // the first if
+          printIndentation();
+          print("if (");
+        } else
+          print(" if ("); // else if statement
+        break;
+      case AST.WHILESTMT:
+        printIndentation();
+        print("while (");
+        break;
+      case AST.FORSTMT:
+        printIndentation();
+        print("for (");
+        break;
+      case AST.BREAKSTMT:
+        printIndentation();
+        print("break;");
+        break;
+      case AST.CONTINUESTMT:
+        printIndentation();
+        print("continue;");
+        break;
+      case AST.RETURNSTMT:
+        printIndentation();
+        print("return ");
+        break;
+      case AST.COMPOUNDSTMT:
+        printIndentation();
+        print("{");
+        level++;
+        break;
+      case AST.EXPRSTMT:
+        printIndentation();
+        break;
+      case AST.EMPTYCOMPSTMT:
+        printIndentation();
+        print("{");
+        printIndentation();
+        print("}");
+        break;
+
+      // Expressions
+      case AST.ASSIGNEXPR:
+      case AST.BINARYEXPR:
+        print("(");
+        break;
+      case AST.INITEXPR:
+        print("{");
+        break;
+
+      // Types
+      case AST.BOOLEANTYPE:
+        print("boolean");
+        break;
+      case AST.INTTYPE:
+        print("int");
+        break;
+      case AST.FLOATTYPE:
+        print("float");
+        break;
+      case AST.STRINGTYPE: // not called
+        print("string");
+        break;
+      case AST.VOIDTYPE:
+        print("void");
+        break;
+      case AST.ERRORTYPE:
+        print("error");
+        break;
+
+      // Literals, Identifiers and Operators
+      case AST.STRINGLITERAL:
+        print("\"");
+        print(addEscape(((StringLiteral) ast).spelling));
+        print("\"");
+        break;
+      case AST.INTLITERAL:
+      case AST.FLOATLITERAL:
+      case AST.BOOLEANLITERAL:
+      case AST.IDENT:
+      case AST.OPERATOR:
+        print(((Terminal) ast).spelling);
+        break;
     }
-    print(";");
-    return null;
-  }
-
-  public Object visitLocalVarDecl(LocalVarDecl ast, Object o) {
-    printIndentation();
-    ast.T.visit(this, o);
-    print(" ");
-    ast.I.visit(this, o);
-    if (ast.T instanceof ArrayType) {
-      print("[");
-      if (! (((ArrayType)ast.T).E instanceof EmptyExpr)) {
-        ((ArrayType)ast.T).E.visit(this, o);
-      }
-      print("]");
+    return true;
+  }
+
+  public Object child(AST ast, int i, Object o) {
+    switch (ast.kind) {
+      case AST.FLATLIST:
+        if (i > 0)
+          print(separator(((FlatList) ast).listKind));
+        break;
+
+      case AST.GLOBALVARDECL:
+      case AST.LOCALVARDECL:
+        if (i == 2) { // the initialiser, if any
+          if (Nodes.child(ast, i) instanceof EmptyExpr)
+            return TreeWalker.SKIP;
+          print(" = ");
+        }
+        break;
+
+      case AST.IFSTMT:
+        if (i == 1) {
+          if (! (((IfStmt) ast).S1 instanceof CompoundStmt))
+            level++; // the if has a single statement
+          return null;
+        } else if (i == 2) {
+          AST s2 = ((IfStmt) ast).S2;
+          if (s2 instanceof EmptyStmt)
+            return TreeWalker.SKIP;
+          printIndentation();
+          print("else");
+          if (s2 instanceof IfStmt)
+            return ast; // let the IfStmt know that this is else if
+          else if (s2 instanceof CompoundStmt)
+            return null;
+          level++;
+          return ast;
+        }
+        break;
+
+      case AST.WHILESTMT:
+      case AST.FORSTMT:
+        if (i == Nodes.childCount(ast) - 1 && !(Nodes.child(ast, i) instanceof CompoundStmt))
+          level++;
+        break;
+
+      case AST.ARRAYTYPE:
+        if (i == 1) // only the element type is printed here
+          return TreeWalker.SKIP;
+        break;
     }
-    if (! (ast.E instanceof EmptyExpr)) {
-      print(" = ");
-      ast.E.visit(this, o);
+    return o;
+  }
+
+  public void afterChild(AST ast, int i, Object o) {
+    switch (ast.kind) {
+      case AST.FUNCDECL:
+        if (i == 0)
+          print(" ");
+        else if (i == 1)
+          print("(");
+        break;
+
+      case AST.GLOBALVARDECL:
+      case AST.LOCALVARDECL:
+      case AST.PARADECL:
+        if (i == 0)
+          print(" ");
+        else if (i == 1)
+          printDimension(Nodes.child(ast, 0), o);
+        break;
+
+      case AST.IFSTMT:
+        if (i == 0)
+          print(")");
+        else if (i == 1) {
+          if (! (((IfStmt) ast).S1 instanceof CompoundStmt))
+            level--;
+        } else {
+          AST s2 = ((IfStmt) ast).S2;
+          if (! (s2 instanceof IfStmt) && ! (s2 instanceof CompoundStmt))
+            level--;
+        }
+        break;
+
+      case AST.WHILESTMT:
+        if (i == 0)
+          print(")");
+        else if (! (((WhileStmt) ast).S instanceof CompoundStmt))
+          level--;
+        break;
+
+      case AST.FORSTMT:
+        if (i < 2)
+          print(";");
+        else if (i == 2)
+          print(")");
+        else if (! (((ForStmt) ast).S instanceof CompoundStmt))
+          level--;
+        break;
+
+      case AST.ASSIGNEXPR:
+        if (i == 0)
+          print("=");
+        break;
+
+      case AST.CALLEXPR:
+        if (i == 0)
+          print("(");
+        break;
+
+      case AST.ARRAYEXPR:
+        if (i == 0)
+          print("[");
+        break;
+
+      case AST.EXPRLIST:
+        if (i == 0 && ! (((ExprList) ast).EL instanceof EmptyExprList))
+          print(",");
+        break;
+
+      case AST.PARALIST:
+        if (i == 0 && ! (((ParaList) ast).PL instanceof EmptyParaList))
+          print(", ");
+        break;
+
+      case AST.ARGLIST:
+        if (i == 0 && ! (((ArgList) ast).AL instanceof EmptyArgList))
+          print(", ");
+        break;
     }
-    print(";");
-    return null;
   }
 
-  // Stmts
+  public void exit(AST ast, Object o) {
+    switch (ast.kind) {
+      case AST.PROGRAM:
+        textOut.println();
+        break;
 
-  public Object visitStmtList(StmtList ast, Object o) {
-    ast.S.visit(this, o);
-    ast.SL.visit(this, o);
-    return null;
-  }
+      case AST.FLATLIST: // what ends its nested view
+        int listKind = ((FlatList) ast).listKind;
+        if (listKind == FlatList.PARAS || listKind == FlatList.ARGS)
+          print(")");
+        break;
 
-  public Object visitIfStmt(IfStmt ast, Object o) {
+      case AST.GLOBALVARDECL:
+      case AST.LOCALVARDECL:
+      case AST.RETURNSTMT:
+      case AST.EXPRSTMT:
+        print(";");
+        break;
 
-    if (o == null || !(o instanceof IfStmt)) { // the first if
-      printIndentation();
-      print("if (");
-    } else
-      print(" if ("); // else if statement
-    ast.E.visit(this, o);
-    print(")");
-    if (ast.S1 instanceof CompoundStmt)
-      ast.S1.visit(this, null);
-    else { // the if has a single statement
-      level++;
-      ast.S1.visit(this, null);
-      level--;
-    }
-    if (! (ast.S2 instanceof EmptyStmt)) {
-      printIndentation();
-      print("else");
-      if (ast.S2 instanceof IfStmt)
-        // pass ast to let visitIfStmt know that this is else if
-        ast.S2.visit(this, ast);
-      else if (ast.S2 instanceof CompoundStmt) 
-        ast.S2.visit(this, null);
-      else {
-        level++;
-        ast.S2.visit(this, ast);
+      case AST.COMPOUNDSTMT:
         level--;
-      }
+        printIndentation();
+        print("}");
+        break;
+
+      case AST.ASSIGNEXPR:
+      case AST.BINARYEXPR:
+        print(")");
+        break;
+
+      case AST.ARRAYEXPR:
+        print("]");
+        break;
+
+      case AST.INITEXPR:
+        print("}");
+        break;
     }
-    return null;
-  }
-
-  public Object visitWhileStmt(WhileStmt ast, Object o) {
-    printIndentation();
-    print("while (");
-    ast.E.visit(this, o); 
-    print(")");
-    if (! (ast.S instanceof CompoundStmt))
-      level++;
-    ast.S.visit(this, o); 
-    if (! (ast.S instanceof CompoundStmt))
-      level--;
-    return null;
-  }
-
-  public Object visitForStmt(ForStmt ast, Object o) {
-    printIndentation();
-    print("for (");
-    ast.E1.visit(this, o); 
-    print(";");
-    ast.E2.visit(this, o); 
-    print(";");
-    ast.E3.visit(this, o); 
-    print(")");
-    if (! (ast.S instanceof CompoundStmt))
-      level++;
-    ast.S.visit(this, o); 
-    if (! (ast.S instanceof CompoundStmt))
-      level--;
-    return null;
-  }
-
-  public Object visitBreakStmt(BreakStmt ast, Object o) {
-    printIndentation();
-    print("break;");
-    return null;
-  }
-
-  public Object visitContinueStmt(ContinueStmt ast, Object o) {
-    printIndentation();
-    print("continue;");
-    return null;
-  }
-
-  public Object visitReturnStmt(ReturnStmt ast, Object o) {
-    printIndentation();
-    print("return ");
-    ast.E.visit(this, o);
-    print(";");
-    return null;
-  }
-
-  public Object visitCompoundStmt(CompoundStmt ast, Object o) {
-    printIndentation();
-    print("{");
-    level++;
-    ast.DL.visit(this, o);
-    ast.SL.visit(this, o);
-    level--;
-    printIndentation();
-    print("}");
-    return null;
-  }
-
-  public Object visitExprStmt(ExprStmt ast, Object o) {
-    printIndentation();
-    ast.E.visit(this, o);
-    print(";");
-    return null;
-  }
-
-  public Object visitEmptyCompStmt(EmptyCompStmt ast, Object o) {
-    printIndentation();
-    print("{");
-    printIndentation();
-    print("}");
-    return null;
-  }
-
-  public Object visitEmptyStmt(EmptyStmt ast, Object o) {
-    return null;
-  }
-
-
-  // Expressions
-
-  public Object visitAssignExpr(AssignExpr ast, Object o) {
-    print("(");
-    ast.E1.visit(this, o);
-    print("=");
-    ast.E2.visit(this, o);
-    print(")");
-    return null;
-  }
-
-  public Object visitBinaryExpr(BinaryExpr ast, Object o) {
-    print("(");
-    ast.E1.visit(this, o);
-    ast.O.visit(this, o);
-    ast.E2.visit(this, o);
-    print(")");
-    return null;
-  }
-
-  public Object visitUnaryExpr(UnaryExpr ast, Object o) {
-    ast.O.visit(this, o);
-    ast.E.visit(this, o);
-    return null;
-  }
-
-  public Object visitIntExpr(IntExpr ast, Object o) {
-    return ast.IL.visit(this, o);
-  }
-
-  public Object visitFloatExpr(FloatExpr ast, Object o) {
-    return ast.FL.visit(this, o);
-  }
-
-  public Object visitBooleanExpr(BooleanExpr ast, Object o) {
-    return ast.BL.visit(this, o);
-  }
-
-  public Object visitStringExpr(StringExpr ast, Object o) {
-    return ast.SL.visit(this, o);
   }
 
-  public Object visitCallExpr(CallExpr ast, Object o) {
-    ast.I.visit(this, o);
-    print("(");
-    ast.AL.visit(this, o);
-    return null;
-  }
-
-  public Object visitVarExpr(VarExpr ast, Object o) {
-    ast.V.visit(this, o);
-    return null;
-  }
-
-  public Object visitArrayExpr(ArrayExpr ast, Object o) {
-    ast.V.visit(this, o);
-    print("[");
-    ast.E.visit(this, o);
-    print("]");
-    return null;
-  }
-
-  public Object visitInitExpr(InitExpr ast, Object o) {
-    print("{");
-    ast.IL.visit(this, o);
-    print("}");
-    return null;
-  }
-
-  public Object visitExprList(ExprList ast, Object o) {
-    ast.E.visit(this, o);
-    if (! (ast.EL instanceof EmptyExprList))
-      print(",");
-    ast.EL.visit(this, o);
-    return null;
-  }
+  // The "[size]" after the name of an array variable or parameter.
 
-  public Object visitEmptyExpr(EmptyExpr ast, Object o) {
-    return null;
-  }
-
-
-  // Parameters
-
-  public Object visitParaList (ParaList ast, Object o) {
-    ast.P.visit(this, o);
-    if (! (ast.PL instanceof EmptyParaList))
-      print(", ");
-    ast.PL.visit(this, o);
-    return null;
-  }
-
-  public Object visitParaDecl(ParaDecl ast, Object o) {
-    ast.T.visit(this, o);
-    print(" ");
-    ast.I.visit(this, o);
-    if (ast.T instanceof ArrayType) {
+  private void printDimension(AST type, Object o) {
+    if (type instanceof ArrayType) {
       print("[");
-      if (! (((ArrayType)ast.T).E instanceof EmptyExpr)) {
-        ((ArrayType)ast.T).E.visit(this, o);
+      if (! (((ArrayType) type).E instanceof EmptyExpr)) {
+        walker.walk(((ArrayType) type).E, this, o);
       }
       print("]");
     }
-    return null;
-  }
-
-  // Arguments
-
-  public Object visitArgList(ArgList ast, Object o) {
-    ast.A.visit(this, o);
-    if (! (ast.AL instanceof EmptyArgList))
-      print(", ");
-    ast.AL.visit(this, o);
-    return null;
-  }
-
-  public Object visitArg(Arg ast, Object o) {
-    ast.E.visit(this, o);
-    return null;
-  }
-
-
-  // Types
-
-  public Object visitBooleanType(BooleanType ast, Object o) {
-    print("boolean");
-    return null;
-  }
-
-  public Object visitIntType(IntType ast, Object o) {
-    print("int");
-    return null;
-  }
-
-  public Object visitFloatType(FloatType ast, Object o) {
-    print("float");
-    return null;
-  }
-
-  // not called
-  public Object visitStringType(StringType ast, Object o) {
-    print("string");
-    return null;
-  }
-
-  public Object visitVoidType(VoidType ast, Object o) {
-    print("void");
-    return null;
-  }
-
-  public Object visitArrayType(ArrayType ast, Object o) {
-    ast.T.visit(this, o);
-    return null;
   }
 
-  public Object visitErrorType(ErrorType ast, Object o) {
-    print("error");
-    return null;
-  }
-
-  // Literals, Identifiers and Operators
-
-  public Object visitIntLiteral(IntLiteral ast, Object o) {
-    print(ast.spelling);
-    return null;
-  }
-
-  public Object visitFloatLiteral(FloatLiteral ast, Object o) {
-    print(ast.spelling);
-    return null;
-  }
-
-  public Object visitBooleanLiteral(BooleanLiteral ast, Object o) {
-    print(ast.spelling);
-    return null;
-  }
-
-  public Object visitStringLiteral(StringLiteral ast, Object o) {
-    print("\"");
-    print(addEscape(ast.spelling));
-    print("\"");
-    return null;
-  }
-
-  public Object visitIdent(Ident ast, Object o) {
-    print(ast.spelling);
-    return null;
-  }
-
-  public Object visitOperator(Operator ast, Object o) {
-    print(ast.spelling);
-    return null;
-  }
-
-  // Variable names
-
-  public Object visitSimpleVar(SimpleVar ast, Object o) {
-    ast.I.visit(this, o);
-    return null;
+  private String separator(int listKind) {
+    if (listKind == FlatList.EXPRS)
+      return ",";
+    else if (listKind == FlatList.PARAS || listKind == FlatList.ARGS)
+      return ", ";
+    else
+      return "";
   }
 
 }
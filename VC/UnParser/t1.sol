@@ -0,0 +1,45 @@
+int n = 3;
+int a[4] = {1,2,3};
+int b[] = {4,5};
+float x;
+float y = 1.5;
+boolean done = false;
+void skip()
+{
+}
+int pick(int v[], int i, float scale, boolean flag)
+{
+  int k;
+  float f = scale;
+  if (flag)
+    return v[i];
+  else if ((i>0))
+  {
+    (k=(i-1));
+  }
+  else
+    (k=0);
+  while ((k<n))
+  {
+    if ((v[k]==0))
+      break;
+    (k=(k+1));
+    continue;
+  }
+  for (;;)
+    break;
+  for ((k=0);(k<2);(k=(k+1)))
+    ;
+  {
+    int inner = k;
+    {
+      ;
+    }
+  }
+  return v[k];
+}
+int main()
+{
+  skip();
+  return (pick(a, 1, 2.0, true)-2);
+}
@@ -0,0 +1,24 @@
+int f(int p, float q)
+{
+  return p;
+}
+int main()
+{
+  int i;
+  int j;
+  int v[3];
+  float r;
+  boolean b;
+  boolean c;
+  (i=(j=(v[0]=7)));
+  (r=((((i*2)+(j/3))--i)++j));
+  (r=((1.0+2.5e3)-((.5*3.0)/1E2)));
+  (b=(((i<j)||((i<=j)&&(i>j)))||!(i>=j)));
+  (c=(((i==j)!=(b==true))&&false));
+  (j=(f(i, r)+f(f(1, 2.0), -r)));
+  putStringLn("tab\t quote\" backslash\\ newline\n");
+  putString("");
+  putBoolLn((b!=c));
+  putFloatLn(r);
+  return (v[(i-7)]-7);
+}
@@ -0,0 +1,908 @@
+int main()
+{
+  int x = 1;
+  (x=((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((((x+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1)+1));
+  {
+    {
+      {
+        {
+          {
+            {
+              {
+                {
+                  {
+                    {
+                      {
+                        {
+                          {
+                            {
+                              {
+                                {
+                                  {
+                                    {
+                                      {
+                                        {
+                                          {
+                                            {
+                                              {
+                                                {
+                                                  {
+                                                    {
+                                                      {
+                                                        {
+                                                          {
+                                                            {
+                                                              {
+                                                                {
+                                                                  {
+                                                                    {
+                                                                      {
+                                                                        {
+                                                                          {
+                                                                            {
+                                                                              {
+                                                                                {
+                                                                                  {
+                                                                                    {
+                                                                                      {
+                                                                                        {
+                                                                                          {
+                                                                                            {
+                                                                                              {
+                                                                                                {
+                                                                                                  {
+                                                                                                    {
+                                                                                                      {
+                                                                                                        {
+                                                                                                          {
+                                                                                                            {
+                                                                                                              {
+                                                                                                                {
+                                                                                                                  {
+                                                                                                                    {
+                                                                                                                      {
+                                                                                                                        {
+                                                                                                                          {
+                                                                                                                            {
+                                                                                                                              {
+                                                                                                                                {
+                                                                                                                                  {
+                                                                                                                                    {
+                                                                                                                                      {
+                                                                                                                                        {
+                                                                                                                                          {
+                                                                                                                                            {
+                                                                                                                                              {
+                                                                                                                                                {
+                                                                                                                                                  {
+                                                                                                                                                    {
+                                                                                                                                                      {
+                                                                                                                                                        {
+                                                                                                                                                          {
+                                                                                                                                                            {
+                                                                                                                                                              {
+                                                                                                                                                                {
+                                                                                                                                                                  {
+                                                                                                                                                                    {
+                                                                                                                                                                      {
+                                                                                                                                                                        {
+                                                                                                                                                                          {
+                                                                                                                                                                            {
+                                                                                                                                                                              {
+                                                                                                                                                                                {
+                                                                                                                                                                                  {
+                                                                                                                                                                                    {
+                                                                                                                                                                                      {
+                                                                                                                                                                                        {
+                                                                                                                                                                                          {
+                                                                                                                                                                                            {
+                                                                                                                                                                                              {
+                                                                                                                                                                                                {
+                                                                                                                                                                                                  {
+                                                                                                                                                                                                    {
+                                                                                                                                                                                                      {
+                                                                                                                                                                                                        {
+                                                                                                                                                                                                          {
+                                                                                                                                                                                                            {
+                                                                                                                                                                                                              {
+                                                                                                                                                                                                                {
+                                                                                                                                                                                                                  {
+                                                                                                                                                                                                                    {
+                                                                                                                                                                                                                      {
+                                                                                                                                                                                                                        {
+                                                                                                                                                                                                                          {
+                                                                                                                                                                                                                            {
+                                                                                                                                                                                                                              {
+                                                                                                                                                                                                                                {
+                                                                                                                                                                                                                                  {
+                                                                                                                                                                                                                                    {
+                                                                                                                                                                                                                                      {
+                                                                                                                                                                                                                                        {
+                                                                                                                                                                                                                                          {
+                                                                                                                                                                                                                                            {
+                                                                                                                                                                                                                                              {
+                                                                                                                                                                                                                                                {
+                                                                                                                                                                                                                                                  {
+                                                                                                                                                                                                                                                    {
+                                                                                                                                                                                                                                                      {
+                                                                                                                                                                                                                                                        {
+                                                                                                                                                                                                                                                          {
+                                                                                                                                                                                                                                                            {
+                                                                                                                                                                                                                                                              {
+                                                                                                                                                                                                                                                                {
+                                                                                                                                                                                                                                                                  {
+                                                                                                                                                                                                                                                                    {
+                                                                                                                                                                                                                                                                      {
+                                                                                                                                                                                                                                                                        {
+                                                                                                                                                                                                                                                                          {
+                                                                                                                                                                                                                                                                            {
+                                                                                                                                                                                                                                                                              {
+                                                                                                                                                                                                                                                                                {
+                                                                                                                                                                                                                                                                                  {
+                                                                                                                                                                                                                                                                                    {
+                                                                                                                                                                                                                                                                                      {
+                                                                                                                                                                                                                                                                                        {
+                                                                                                                                                                                                                                                                                          {
+                                                                                                                                                                                                                                                                                            {
+                                                                                                                                                                                                                                                                                              {
+                                                                                                                                                                                                                                                                                                {
+                                                                                                                                                                                                                                                                                                  {
+                                                                                                                                                                                                                                                                                                    {
+                                                                                                                                                                                                                                                                                                      {
+                                                                                                                                                                                                                                                                                                        {
+                                                                                                                                                                                                                                                                                                          {
+                                                                                                                                                                                                                                                                                                            {
+                                                                                                                                                                                                                                                                                                              {
+                                                                                                                                                                                                                                                                                                                {
+                                                                                                                                                                                                                                                                                                                  {
+                                                                                                                                                                                                                                                                                                                    {
+                                                                                                                                                                                                                                                                                                                      {
+                                                                                                                                                                                                                                                                                                                        {
+                                                                                                                                                                                                                                                                                                                          {
+                                                                                                                                                                                                                                                                                                                            {
+                                                                                                                                                                                                                                                                                                                              {
+                                                                                                                                                                                                                                                                                                                                {
+                                                                                                                                                                                                                                                                                                                                  {
+                                                                                                                                                                                                                                                                                                                                    {
+                                                                                                                                                                                                                                                                                                                                      {
+                                                                                                                                                                                                                                                                                                                                        {
+                                                                                                                                                                                                                                                                                                                                          {
+                                                                                                                                                                                                                                                                                                                                            {
+                                                                                                                                                                                                                                                                                                                                              {
+                                                                                                                                                                                                                                                                                                                                                {
+                                                                                                                                                                                                                                                                                                                                                  {
+                                                                                                                                                                                                                                                                                                                                                    {
+                                                                                                                                                                                                                                                                                                                                                      {
+                                                                                                                                                                                                                                                                                                                                                        {
+                                                                                                                                                                                                                                                                                                                                                          {
+                                                                                                                                                                                                                                                                                                                                                            {
+                                                                                                                                                                                                                                                                                                                                                              {
+                                                                                                                                                                                                                                                                                                                                                                {
+                                                                                                                                                                                                                                                                                                                                                                  {
+                                                                                                                                                                                                                                                                                                                                                                    {
+                                                                                                                                                                                                                                                                                                                                                                      {
+                                                                                                                                                                                                                                                                                                                                                                        {
+                                                                                                                                                                                                                                                                                                                                                                          {
+                                                                                                                                                                                                                                                                                                                                                                            {
+                                                                                                                                                                                                                                                                                                                                                                              {
+                                                                                                                                                                                                                                                                                                                                                                                {
+                                                                                                                                                                                                                                                                                                                                                                                  {
+                                                                                                                                                                                                                                                                                                                                                                                    {
+                                                                                                                                                                                                                                                                                                                                                                                      {
+                                                                                                                                                                                                                                                                                                                                                                                        {
+                                                                                                                                                                                                                                                                                                                                                                                          {
+                                                                                                                                                                                                                                                                                                                                                                                            {
+                                                                                                                                                                                                                                                                                                                                                                                              {
+                                                                                                                                                                                                                                                                                                                                                                                                {
+                                                                                                                                                                                                                                                                                                                                                                                                  {
+                                                                                                                                                                                                                                                                                                                                                                                                    {
+                                                                                                                                                                                                                                                                                                                                                                                                      {
+                                                                                                                                                                                                                                                                                                                                                                                                        {
+                                                                                                                                                                                                                                                                                                                                                                                                          {
+                                                                                                                                                                                                                                                                                                                                                                                                            {
+                                                                                                                                                                                                                                                                                                                                                                                                              {
+                                                                                                                                                                                                                                                                                                                                                                                                                {
+                                                                                                                                                                                                                                                                                                                                                                                                                  {
+                                                                                                                                                                                                                                                                                                                                                                                                                    {
+                                                                                                                                                                                                                                                                                                                                                                                                                      {
+                                                                                                                                                                                                                                                                                                                                                                                                                        {
+                                                                                                                                                                                                                                                                                                                                                                                                                          {
+                                                                                                                                                                                                                                                                                                                                                                                                                            {
+                                                                                                                                                                                                                                                                                                                                                                                                                              {
+                                                                                                                                                                                                                                                                                                                                                                                                                                {
+                                                                                                                                                                                                                                                                                                                                                                                                                                  {
+                                                                                                                                                                                                                                                                                                                                                                                                                                    {
+                                                                                                                                                                                                                                                                                                                                                                                                                                      {
+                                                                                                                                                                                                                                                                                                                                                                                                                                        {
+                                                                                                                                                                                                                                                                                                                                                                                                                                          {
+                                                                                                                                                                                                                                                                                                                                                                                                                                            {
+                                                                                                                                                                                                                                                                                                                                                                                                                                              {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                  {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                    {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                      {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                        {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                          {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                            {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                              {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                  {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                    {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                      {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                        {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                          {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                            {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                              {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                  {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                      {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                          {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                              {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                  {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                      {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                          {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                              {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                  {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                      {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                          {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                              {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                  {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                      {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                          {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                              {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                  {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                      {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                          {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                              {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                  {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                      {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                          {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                              {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                  {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                      {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                          {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                              {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                  {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                      {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                          {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                              {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                  {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                      {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        {
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                          (x=(x-1));
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                      }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                  }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                              }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                          }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                      }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                  }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                              }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                          }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                      }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                  }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                              }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                          }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                      }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                  }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                              }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                          }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                      }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                  }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                              }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                          }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                      }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                  }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                              }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                          }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                      }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                  }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                              }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                          }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                      }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                  }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                              }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                          }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                      }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                  }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                              }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                            }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                          }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                        }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                      }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                    }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                  }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                              }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                            }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                          }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                        }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                      }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                    }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                  }
+                                                                                                                                                                                                                                                                                                                                                                                                                                                }
+                                                                                                                                                                                                                                                                                                                                                                                                                                              }
+                                                                                                                                                                                                                                                                                                                                                                                                                                            }
+                                                                                                                                                                                                                                                                                                                                                                                                                                          }
+                                                                                                                                                                                                                                                                                                                                                                                                                                        }
+                                                                                                                                                                                                                                                                                                                                                                                                                                      }
+                                                                                                                                                                                                                                                                                                                                                                                                                                    }
+                                                                                                                                                                                                                                                                                                                                                                                                                                  }
+                                                                                                                                                                                                                                                                                                                                                                                                                                }
+                                                                                                                                                                                                                                                                                                                                                                                                                              }
+                                                                                                                                                                                                                                                                                                                                                                                                                            }
+                                                                                                                                                                                                                                                                                                                                                                                                                          }
+                                                                                                                                                                                                                                                                                                                                                                                                                        }
+                                                                                                                                                                                                                                                                                                                                                                                                                      }
+                                                                                                                                                                                                                                                                                                                                                                                                                    }
+                                                                                                                                                                                                                                                                                                                                                                                                                  }
+                                                                                                                                                                                                                                                                                                                                                                                                                }
+                                                                                                                                                                                                                                                                                                                                                                                                              }
+                                                                                                                                                                                                                                                                                                                                                                                                            }
+                                                                                                                                                                                                                                                                                                                                                                                                          }
+                                                                                                                                                                                                                                                                                                                                                                                                        }
+                                                                                                                                                                                                                                                                                                                                                                                                      }
+                                                                                                                                                                                                                                                                                                                                                                                                    }
+                                                                                                                                                                                                                                                                                                                                                                                                  }
+                                                                                                                                                                                                                                                                                                                                                                                                }
+                                                                                                                                                                                                                                                                                                                                                                                              }
+                                                                                                                                                                                                                                                                                                                                                                                            }
+                                                                                                                                                                                                                                                                                                                                                                                          }
+                                                                                                                                                                                                                                                                                                                                                                                        }
+                                                                                                                                                                                                                                                                                                                                                                                      }
+                                                                                                                                                                                                                                                                                                                                                                                    }
+                                                                                                                                                                                                                                                                                                                                                                                  }
+                                                                                                                                                                                                                                                                                                                                                                                }
+                                                                                                                                                                                                                                                                                                                                                                              }
+                                                                                                                                                                                                                                                                                                                                                                            }
+                                                                                                                                                                                                                                                                                                                                                                          }
+                                                                                                                                                                                                                                                                                                                                                                        }
+                                                                                                                                                                                                                                                                                                                                                                      }
+                                                                                                                                                                                                                                                                                                                                                                    }
+                                                                                                                                                                                                                                                                                                                                                                  }
+                                                                                                                                                                                                                                                                                                                                                                }
+                                                                                                                                                                                                                                                                                                                                                              }
+                                                                                                                                                                                                                                                                                                                                                            }
+                                                                                                                                                                                                                                                                                                                                                          }
+                                                                                                                                                                                                                                                                                                                                                        }
+                                                                                                                                                                                                                                                                                                                                                      }
+                                                                                                                                                                                                                                                                                                                                                    }
+                                                                                                                                                                                                                                                                                                                                                  }
+                                                                                                                                                                                                                                                                                                                                                }
+                                                                                                                                                                                                                                                                                                                                              }
+                                                                                                                                                                                                                                                                                                                                            }
+                                                                                                                                                                                                                                                                                                                                          }
+                                                                                                                                                                                                                                                                                                                                        }
+                                                                                                                                                                                                                                                                                                                                      }
+                                                                                                                                                                                                                                                                                                                                    }
+                                                                                                                                                                                                                                                                                                                                  }
+                                                                                                                                                                                                                                                                                                                                }
+                                                                                                                                                                                                                                                                                                                              }
+                                                                                                                                                                                                                                                                                                                            }
+                                                                                                                                                                                                                                                                                                                          }
+                                                                                                                                                                                                                                                                                                                        }
+                                                                                                                                                                                                                                                                                                                      }
+                                                                                                                                                                                                                                                                                                                    }
+                                                                                                                                                                                                                                                                                                                  }
+                                                                                                                                                                                                                                                                                                                }
+                                                                                                                                                                                                                                                                                                              }
+                                                                                                                                                                                                                                                                                                            }
+                                                                                                                                                                                                                                                                                                          }
+                                                                                                                                                                                                                                                                                                        }
+                                                                                                                                                                                                                                                                                                      }
+                                                                                                                                                                                                                                                                                                    }
+                                                                                                                                                                                                                                                                                                  }
+                                                                                                                                                                                                                                                                                                }
+                                                                                                                                                                                                                                                                                              }
+                                                                                                                                                                                                                                                                                            }
+                                                                                                                                                                                                                                                                                          }
+                                                                                                                                                                                                                                                                                        }
+                                                                                                                                                                                                                                                                                      }
+                                                                                                                                                                                                                                                                                    }
+                                                                                                                                                                                                                                                                                  }
+                                                                                                                                                                                                                                                                                }
+                                                                                                                                                                                                                                                                              }
+                                                                                                                                                                                                                                                                            }
+                                                                                                                                                                                                                                                                          }
+                                                                                                                                                                                                                                                                        }
+                                                                                                                                                                                                                                                                      }
+                                                                                                                                                                                                                                                                    }
+                                                                                                                                                                                                                                                                  }
+                                                                                                                                                                                                                                                                }
+                                                                                                                                                                                                                                                              }
+                                                                                                                                                                                                                                                            }
+                                                                                                                                                                                                                                                          }
+                                                                                                                                                                                                                                                        }
+                                                                                                                                                                                                                                                      }
+                                                                                                                                                                                                                                                    }
+                                                                                                                                                                                                                                                  }
+                                                                                                                                                                                                                                                }
+                                                                                                                                                                                                                                              }
+                                                                                                                                                                                                                                            }
+                                                                                                                                                                                                                                          }
+                                                                                                                                                                                                                                        }
+                                                                                                                                                                                                                                      }
+                                                                                                                                                                                                                                    }
+                                                                                                                                                                                                                                  }
+                                                                                                                                                                                                                                }
+                                                                                                                                                                                                                              }
+                                                                                                                                                                                                                            }
+                                                                                                                                                                                                                          }
+                                                                                                                                                                                                                        }
+                                                                                                                                                                                                                      }
+                                                                                                                                                                                                                    }
+                                                                                                                                                                                                                  }
+                                                                                                                                                                                                                }
+                                                                                                                                                                                                              }
+                                                                                                                                                                                                            }
+                                                                                                                                                                                                          }
+                                                                                                                                                                                                        }
+                                                                                                                                                                                                      }
+                                                                                                                                                                                                    }
+                                                                                                                                                                                                  }
+                                                                                                                                                                                                }
+                                                                                                                                                                                              }
+                                                                                                                                                                                            }
+                                                                                                                                                                                          }
+                                                                                                                                                                                        }
+                                                                                                                                                                                      }
+                                                                                                                                                                                    }
+                                                                                                                                                                                  }
+                                                                                                                                                                                }
+                                                                                                                                                                              }
+                                                                                                                                                                            }
+                                                                                                                                                                          }
+                                                                                                                                                                        }
+                                                                                                                                                                      }
+                                                                                                                                                                    }
+                                                                                                                                                                  }
+                                                                                                                                                                }
+                                                                                                                                                              }
+                                                                                                                                                            }
+                                                                                                                                                          }
+                                                                                                                                                        }
+                                                                                                                                                      }
+                                                                                                                                                    }
+                                                                                                                                                  }
+                                                                                                                                                }
+                                                                                                                                              }
+                                                                                                                                            }
+                                                                                                                                          }
+                                                                                                                                        }
+                                                                                                                                      }
+                                                                                                                                    }
+                                                                                                                                  }
+                                                                                                                                }
+                                                                                                                              }
+                                                                                                                            }
+                                                                                                                          }
+                                                                                                                        }
+                                                                                                                      }
+                                                                                                                    }
+                                                                                                                  }
+                                                                                                                }
+                                                                                                              }
+                                                                                                            }
+                                                                                                          }
+                                                                                                        }
+                                                                                                      }
+                                                                                                    }
+                                                                                                  }
+                                                                                                }
+                                                                                              }
+                                                                                            }
+                                                                                          }
+                                                                                        }
+                                                                                      }
+                                                                                    }
+                                                                                  }
+                                                                                }
+                                                                              }
+                                                                            }
+                                                                          }
+                                                                        }
+                                                                      }
+                                                                    }
+                                                                  }
+                                                                }
+                                                              }
+                                                            }
+                                                          }
+                                                        }
+                                                      }
+                                                    }
+                                                  }
+                                                }
+                                              }
+                                            }
+                                          }
+                                        }
+                                      }
+                                    }
+                                  }
+                                }
+                              }
+                            }
+                          }
+                        }
+                      }
+                    }
+                  }
+                }
+              }
+            }
+          }
+        }
+      }
+    }
+  }
+  if ((x>0))
+    if ((x>0))
+      if ((x>0))
+        if ((x>0))
+          if ((x>0))
+            if ((x>0))
+              if ((x>0))
+                if ((x>0))
+                  if ((x>0))
+                    if ((x>0))
+                      if ((x>0))
+                        if ((x>0))
+                          if ((x>0))
+                            if ((x>0))
+                              if ((x>0))
+                                if ((x>0))
+                                  if ((x>0))
+                                    if ((x>0))
+                                      if ((x>0))
+                                        if ((x>0))
+                                          if ((x>0))
+                                            if ((x>0))
+                                              if ((x>0))
+                                                if ((x>0))
+                                                  if ((x>0))
+                                                    if ((x>0))
+                                                      if ((x>0))
+                                                        if ((x>0))
+                                                          if ((x>0))
+                                                            if ((x>0))
+                                                              if ((x>0))
+                                                                if ((x>0))
+                                                                  if ((x>0))
+                                                                    if ((x>0))
+                                                                      if ((x>0))
+                                                                        if ((x>0))
+                                                                          if ((x>0))
+                                                                            if ((x>0))
+                                                                              if ((x>0))
+                                                                                if ((x>0))
+                                                                                  if ((x>0))
+                                                                                    if ((x>0))
+                                                                                      if ((x>0))
+                                                                                        if ((x>0))
+                                                                                          if ((x>0))
+                                                                                            if ((x>0))
+                                                                                              if ((x>0))
+                                                                                                if ((x>0))
+                                                                                                  if ((x>0))
+                                                                                                    if ((x>0))
+                                                                                                      if ((x>0))
+                                                                                                        if ((x>0))
+                                                                                                          if ((x>0))
+                                                                                                            if ((x>0))
+                                                                                                              if ((x>0))
+                                                                                                                if ((x>0))
+                                                                                                                  if ((x>0))
+                                                                                                                    if ((x>0))
+                                                                                                                      if ((x>0))
+                                                                                                                        if ((x>0))
+                                                                                                                          if ((x>0))
+                                                                                                                            if ((x>0))
+                                                                                                                              if ((x>0))
+                                                                                                                                if ((x>0))
+                                                                                                                                  if ((x>0))
+                                                                                                                                    if ((x>0))
+                                                                                                                                      if ((x>0))
+                                                                                                                                        if ((x>0))
+                                                                                                                                          if ((x>0))
+                                                                                                                                            if ((x>0))
+                                                                                                                                              if ((x>0))
+                                                                                                                                                if ((x>0))
+                                                                                                                                                  if ((x>0))
+                                                                                                                                                    if ((x>0))
+                                                                                                                                                      if ((x>0))
+                                                                                                                                                        if ((x>0))
+                                                                                                                                                          if ((x>0))
+                                                                                                                                                            if ((x>0))
+                                                                                                                                                              if ((x>0))
+                                                                                                                                                                if ((x>0))
+                                                                                                                                                                  if ((x>0))
+                                                                                                                                                                    if ((x>0))
+                                                                                                                                                                      if ((x>0))
+                                                                                                                                                                        if ((x>0))
+                                                                                                                                                                          if ((x>0))
+                                                                                                                                                                            if ((x>0))
+                                                                                                                                                                              if ((x>0))
+                                                                                                                                                                                if ((x>0))
+                                                                                                                                                                                  if ((x>0))
+                                                                                                                                                                                    if ((x>0))
+                                                                                                                                                                                      if ((x>0))
+                                                                                                                                                                                        if ((x>0))
+                                                                                                                                                                                          if ((x>0))
+                                                                                                                                                                                            if ((x>0))
+                                                                                                                                                                                              if ((x>0))
+                                                                                                                                                                                                if ((x>0))
+                                                                                                                                                                                                  if ((x>0))
+                                                                                                                                                                                                    if ((x>0))
+                                                                                                                                                                                                      if ((x>0))
+                                                                                                                                                                                                        if ((x>0))
+                                                                                                                                                                                                          if ((x>0))
+                                                                                                                                                                                                            if ((x>0))
+                                                                                                                                                                                                              if ((x>0))
+                                                                                                                                                                                                                if ((x>0))
+                                                                                                                                                                                                                  if ((x>0))
+                                                                                                                                                                                                                    if ((x>0))
+                                                                                                                                                                                                                      if ((x>0))
+                                                                                                                                                                                                                        if ((x>0))
+                                                                                                                                                                                                                          if ((x>0))
+                                                                                                                                                                                                                            if ((x>0))
+                                                                                                                                                                                                                              if ((x>0))
+                                                                                                                                                                                                                                if ((x>0))
+                                                                                                                                                                                                                                  if ((x>0))
+                                                                                                                                                                                                                                    if ((x>0))
+                                                                                                                                                                                                                                      if ((x>0))
+                                                                                                                                                                                                                                        if ((x>0))
+                                                                                                                                                                                                                                          if ((x>0))
+                                                                                                                                                                                                                                            if ((x>0))
+                                                                                                                                                                                                                                              if ((x>0))
+                                                                                                                                                                                                                                                if ((x>0))
+                                                                                                                                                                                                                                                  if ((x>0))
+                                                                                                                                                                                                                                                    if ((x>0))
+                                                                                                                                                                                                                                                      if ((x>0))
+                                                                                                                                                                                                                                                        if ((x>0))
+                                                                                                                                                                                                                                                          if ((x>0))
+                                                                                                                                                                                                                                                            if ((x>0))
+                                                                                                                                                                                                                                                              if ((x>0))
+                                                                                                                                                                                                                                                                if ((x>0))
+                                                                                                                                                                                                                                                                  if ((x>0))
+                                                                                                                                                                                                                                                                    if ((x>0))
+                                                                                                                                                                                                                                                                      if ((x>0))
+                                                                                                                                                                                                                                                                        if ((x>0))
+                                                                                                                                                                                                                                                                          if ((x>0))
+                                                                                                                                                                                                                                                                            if ((x>0))
+                                                                                                                                                                                                                                                                              if ((x>0))
+                                                                                                                                                                                                                                                                                if ((x>0))
+                                                                                                                                                                                                                                                                                  if ((x>0))
+                                                                                                                                                                                                                                                                                    if ((x>0))
+                                                                                                                                                                                                                                                                                      if ((x>0))
+                                                                                                                                                                                                                                                                                        if ((x>0))
+                                                                                                                                                                                                                                                                                          if ((x>0))
+                                                                                                                                                                                                                                                                                            if ((x>0))
+                                                                                                                                                                                                                                                                                              if ((x>0))
+                                                                                                                                                                                                                                                                                                if ((x>0))
+                                                                                                                                                                                                                                                                                                  if ((x>0))
+                                                                                                                                                                                                                                                                                                    if ((x>0))
+                                                                                                                                                                                                                                                                                                      if ((x>0))
+                                                                                                                                                                                                                                                                                                        if ((x>0))
+                                                                                                                                                                                                                                                                                                          if ((x>0))
+                                                                                                                                                                                                                                                                                                            if ((x>0))
+                                                                                                                                                                                                                                                                                                              if ((x>0))
+                                                                                                                                                                                                                                                                                                                if ((x>0))
+                                                                                                                                                                                                                                                                                                                  if ((x>0))
+                                                                                                                                                                                                                                                                                                                    if ((x>0))
+                                                                                                                                                                                                                                                                                                                      if ((x>0))
+                                                                                                                                                                                                                                                                                                                        if ((x>0))
+                                                                                                                                                                                                                                                                                                                          if ((x>0))
+                                                                                                                                                                                                                                                                                                                            if ((x>0))
+                                                                                                                                                                                                                                                                                                                              if ((x>0))
+                                                                                                                                                                                                                                                                                                                                if ((x>0))
+                                                                                                                                                                                                                                                                                                                                  if ((x>0))
+                                                                                                                                                                                                                                                                                                                                    if ((x>0))
+                                                                                                                                                                                                                                                                                                                                      if ((x>0))
+                                                                                                                                                                                                                                                                                                                                        if ((x>0))
+                                                                                                                                                                                                                                                                                                                                          if ((x>0))
+                                                                                                                                                                                                                                                                                                                                            if ((x>0))
+                                                                                                                                                                                                                                                                                                                                              if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                  if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                    if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                      if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                        if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                          if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                            if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                              if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                  if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                    if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                      if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                        if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                          if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                            if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                              if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                  if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                    if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                      if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                        if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                          if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                            if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                              if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                  if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                    if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                      if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                        if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                          if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                            if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                              if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                  if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                    if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                      if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                        if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                          if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                            if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                              if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                  if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                    if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                      if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                        if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                          if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                            if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                              if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                  if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                    if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                      if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                        if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                          if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                            if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                              if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                  if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                    if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                      if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                        if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                          if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                            if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                              if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                  if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                      if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                          if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                              if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                  if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                      if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                          if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                              if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                  if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                      if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                          if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                              if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                  if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                      if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                          if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                              if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                  if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                      if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                          if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                              if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                  if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                      if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                          if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                              if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                  if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                      if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                          if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                              if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                  if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                      if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                          if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                            if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                              if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                  if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                    if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                      if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                        if ((x>0))
+                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                          (x=0);
+  return (x-x);
+}
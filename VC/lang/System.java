@@ -0,0 +1,143 @@
+/*
+ * System.java
+ *
+ * The built-in functions of VC (see StdEnvironment), which the code
+ * generated by the Emitter calls as static methods of this class.
+ *
+ * getInt and getFloat read the next whitespace-separated token of the
+ * input; at its end, they read 0.
+ *
+ * The input and output are the standard ones unless the thread running
+ * the program has set others with setIn and setOut, as a Launcher does
+ * for each program it runs, so programs run by different threads do
+ * not mix their output.
+ */
+
+package VC.lang;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.Reader;
+
+public final class System {
+
+  private static final Reader stdin =
+    new BufferedReader(new InputStreamReader(java.lang.System.in));
+
+  private static final ThreadLocal<Reader> ins =
+    new ThreadLocal<Reader>() {
+      protected Reader initialValue() {
+        return stdin;
+      }
+    };
+
+  private static final ThreadLocal<PrintStream> outs =
+    new ThreadLocal<PrintStream>() {
+      protected PrintStream initialValue() {
+        return java.lang.System.out;
+      }
+    };
+
+  private System() { }
+
+  // Sets the input of the programs run by the calling thread, null for
+  // the standard input, and returns the previous one.
+
+  public static Reader setIn(Reader in) {
+    Reader previous = ins.get();
+    ins.set((in == null) ? stdin : in);
+    return previous;
+  }
+
+  // Sets the output of the programs run by the calling thread, null for
+  // the standard output, and returns the previous one.
+
+  public static PrintStream setOut(PrintStream out) {
+    PrintStream previous = outs.get();
+    outs.set((out == null) ? java.lang.System.out : out);
+    return previous;
+  }
+
+  public static int getInt() {
+    String s = token();
+    return (s == null) ? 0 : Integer.parseInt(s);
+  }
+
+  public static void putInt(int i) {
+    out().print(i);
+  }
+
+  public static void putIntLn(int i) {
+    out().println(i);
+  }
+
+  public static float getFloat() {
+    String s = token();
+    return (s == null) ? 0.0f : Float.parseFloat(s);
+  }
+
+  public static void putFloat(float f) {
+    out().print(f);
+  }
+
+  public static void putFloatLn(float f) {
+    out().println(f);
+  }
+
+  public static void putBool(boolean b) {
+    out().print(b);
+  }
+
+  public static void putBoolLn(boolean b) {
+    out().println(b);
+  }
+
+  public static void putString(String s) {
+    out().print(s);
+  }
+
+  public static void putStringLn(String s) {
+    out().println(s);
+  }
+
+  public static void putLn() {
+    out().println();
+  }
+
+  // Ends the program with the given status once its output is flushed:
+  // the main(String[]) of a generated class exits with what main
+  // returns. Not a built-in function.
+
+  public static void exit(int status) {
+    out().flush();
+    java.lang.System.exit(status);
+  }
+
+  private static PrintStream out() {
+    return outs.get();
+  }
+
+  // the next token of the input, or null at its end
+
+  private static String token() {
+    Reader in = ins.get();
+    synchronized (in) {
+      try {
+        StringBuilder s = new StringBuilder();
+        int c = in.read();
+        while (c != -1 && Character.isWhitespace(c))
+          c = in.read();
+        while (c != -1 && !Character.isWhitespace(c)) {
+          s.append((char) c);
+          c = in.read();
+        }
+        return (s.length() == 0) ? null : s.toString();
+      } catch (IOException e) {
+        return null;
+      }
+    }
+  }
+
+}
@@ -7,10 +7,28 @@ package VC;
 import VC.Scanner.Scanner;
 import VC.Scanner.SourceFile;
 import VC.Parser.Parser;
+import VC.Parser.ParallelParser;
+import VC.Checker.Checker;
+import VC.Checker.DefUseIndex;
+import VC.Checker.IncrementalChecker;
+import VC.CodeGen.Emitter;
+import VC.CodeGen.Launcher;
+import VC.Interpreter.Interpreter;
 import VC.TreeDrawer.Drawer;
 import VC.TreePrinter.Printer;
 import VC.UnParser.UnParser;
 import VC.ASTs.AST;
+import VC.ASTs.Decl;
+import VC.ASTs.PackedAST;
+import VC.ASTs.Program;
+import VC.BinaryAST.ASTReader;
+import VC.BinaryAST.ASTWriter;
+import VC.Scanner.SourcePosition;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
 
 public class vc {
 
@@ -22,23 +40,134 @@ public class vc {
     private static UnParser unparser;
 
     private static int drawingAST = 0;
+    private static boolean checking = false;
+    private static boolean generating = false;
+    private static boolean running = false;
+    private static boolean interpreting = false;
+    private static boolean listingUses = false;
+    private static boolean packing = false;
+    private static boolean parallel = false;
+    private static boolean printingPositions = false;
     private static String inputFilename; 
     private static String VCFilename = null;
     private static String ASTFilename = null; 
+    private static String binaryFilename = null;
+    private static String editFilename = null;
 
     private static AST theAST;
 
     private static void cmdLineOptions() {
       System.out.println("Usage: java VC.vc [-options] filename");
+      System.out.println("       (a filename ending in .vcb is read as an AST written by -b)");
       System.out.println();
       System.out.println("where options include:");
       System.out.println("	-ast 		    display the AST (without SourcePosition)");
       System.out.println("	-astp 		    display the AST (with SourcePosition)");
       System.out.println("	-t file             print the AST into <file>"); 
+      System.out.println("	-tp file            print the AST (with SourcePosition) into <file>");
       System.out.println("	-u file  	    unparse the AST into <file>"); 
+      System.out.println("	-b file  	    write the AST in binary into <file>");
+      System.out.println("	-p  		    pack the AST off the heap and unpack it again");
+      System.out.println("	-j  		    parse the top-level declarations in parallel");
+      System.out.println("	-c  		    check the program's scope and type rules");
+      System.out.println("	-x  		    list the uses of every declaration (implies -c)");
+      System.out.println("	-e file  	    edit the program into <file> after checking it,");
+      System.out.println("	    		    then check it again incrementally (implies -c)");
+      System.out.println("	-g  		    generate a class file (implies -c)");
+      System.out.println("	-r  		    run the program in this JVM (implies -c)");
+      System.out.println("	-i  		    interpret the program (implies -c)");
+      System.out.println("	    		    (vc exits with what main returns, or 1 if the");
+      System.out.println("	    		    program fails)");
       System.exit(1);
     }
 
+    // Compiles a program without touching the file system: the AST is
+    // printed into astOut and unparsed into vcOut, either of which may
+    // be null. Returns the AST, or null if the program has errors.
+    // The parser, printer and unparser are reused per thread.
+
+    public static AST compile(SourceFile source, ErrorReporter reporter,
+                              Appendable astOut, Appendable vcOut) {
+        return Pipeline.forCurrentThread().compile(source, reporter, astOut, vcOut);
+    }
+
+    // Compiles a program and runs it in this JVM, without touching the
+    // file system: it reads input, or the standard input if that is
+    // null, and its output is appended to output, or written to the
+    // standard output if that is null. Returns what main returns, or
+    // null if the program has errors. An exception the program throws
+    // is thrown on. See Launcher.
+
+    public static Integer run(SourceFile source, ErrorReporter reporter,
+                              String input, StringBuilder output) {
+        return Pipeline.forCurrentThread().run(source, reporter, input, output);
+    }
+
+    // Checks the program, reporting its errors, and then edits it into
+    // the one in editFilename, which has as many top-level declarations,
+    // with an IncrementalChecker, and reports the errors of the edited
+    // program, which the later stages then take.
+
+    private static void edit() {
+        IncrementalChecker checker = new IncrementalChecker();
+        checker.check((Program) theAST);
+        checker.report(reporter);
+
+        reporter = new ErrorReporter();
+        Parser editParser = new Parser(new Scanner(new SourceFile(editFilename), reporter), reporter);
+        Program edited = editParser.parseProgram();
+        if (reporter.numErrors != 0)
+          return;
+        try {
+          checker.update(edited);
+        } catch (IllegalArgumentException e) {
+          System.out.println("[# vc #]: can't edit into " + editFilename + ": " + e.getMessage());
+          reporter.numErrors++;
+          return;
+        }
+        System.out.println("[# vc #]: edited into " + editFilename + ", "
+                           + checker.checkedUnits() + " declaration(s) checked again");
+        checker.report(reporter);
+    }
+
+    // Prints each declaration the index holds, by name and position,
+    // with the positions of its uses.
+
+    private static void listUses(DefUseIndex index) {
+        for (int d = 0; d < index.size(); d++) {
+          Decl decl = index.decl(d);
+          StringBuilder s = new StringBuilder();
+          s.append(decl.I.spelling).append(' ');
+          if (index.declId(d) < 0)
+            s.append("(built-in)");
+          else
+            s.append(decl.I.position.lineStart).append('(').append(decl.I.position.charStart).append(')');
+          s.append(':');
+          for (int k = 0; k < index.useCount(d); k++) {
+            SourcePosition pos = index.usePosition(d, k);
+            s.append(' ').append(pos.lineStart).append('(').append(pos.charStart).append(')');
+          }
+          System.out.println(s);
+        }
+    }
+
+    // Reads the AST in a file written by -b.
+
+    private static AST readAST(String filename) {
+        try {
+          FileInputStream in = new FileInputStream(filename);
+          AST ast = new ASTReader(in).read();
+          in.close();
+          if (ast != null)
+            return ast;
+          System.out.println("[# vc #]: no AST in: " + filename);
+        } catch (IOException e) {
+          System.out.println("[# vc #]: can't read: " + filename + ": " + e.getMessage());
+        }
+        System.exit(1);
+        return null;
+    }
+
     public static void main(String[] args) {
         int i = 0;
         String arg;
@@ -50,6 +179,29 @@ public class vc {
             drawingAST = 1;
           else if (arg.equals("-astp"))
             drawingAST = 2;
+          else if (arg.equals("-c"))
+            checking = true;
+          else if (arg.equals("-g"))
+            checking = generating = true;
+          else if (arg.equals("-r"))
+            checking = running = true;
+          else if (arg.equals("-i"))
+            checking = interpreting = true;
+          else if (arg.equals("-p"))
+            packing = true;
+          else if (arg.equals("-j"))
+            parallel = true;
+          else if (arg.equals("-x"))
+            checking = listingUses = true;
+          else if (arg.equals("-e")) {
+            if (i < args.length) {
+              editFilename = args[i++];
+              checking = true;
+            } else {
+              System.out.println("[# vc #]: invalid option " + arg);
+              cmdLineOptions();
+            }
+          }
           else if (arg.equals("-u")) {
             if (i < args.length)
               VCFilename = args[i++];
@@ -57,13 +209,21 @@ public class vc {
               System.out.println("[# vc #]: invalid option " + arg);
               cmdLineOptions();
             }
-          } else if (arg.equals("-t")) {
+          } else if (arg.equals("-t") || arg.equals("-tp")) {
+            printingPositions = arg.equals("-tp");
             if (i < args.length)
               ASTFilename = args[i++];
             else {
               System.out.println("[# vc #]: invalid option " + arg);
               cmdLineOptions();
             }
+          } else if (arg.equals("-b")) {
+            if (i < args.length)
+              binaryFilename = args[i++];
+            else {
+              System.out.println("[# vc #]: invalid option " + arg);
+              cmdLineOptions();
+            }
           }
         }
         if (i == args.length)
@@ -77,18 +237,27 @@ public class vc {
 
         reporter = new ErrorReporter();
         scanner  = new Scanner(source, reporter);
-        parser   = new Parser(scanner, reporter);
+        // a Parser takes the first token from the scanner when made
+        if (!parallel && !inputFilename.endsWith(".vcb"))
+          parser = new Parser(scanner, reporter);
 
         if (ASTFilename == null)
           ASTFilename = inputFilename + "t";
         printer = new Printer(ASTFilename);
+        if (printingPositions)
+          printer.enableDebugging();
 
         if (VCFilename == null)
           VCFilename = inputFilename + "u";
         unparser = new UnParser(VCFilename);
 
         try {
-        theAST = parser.parseProgram();
+        if (inputFilename.endsWith(".vcb"))
+          theAST = readAST(inputFilename);
+        else if (parallel)
+          theAST = new ParallelParser(scanner, reporter).parseProgram();
+        else
+          theAST = parser.parseProgram();
         }
         catch (Exception e) { 
           System.out.println("PANIC:");
@@ -96,6 +265,23 @@ public class vc {
           System.exit(1);
         }
 
+        // the later stages see only what a PackedAST keeps
+        if (packing && reporter.numErrors == 0)
+          theAST = PackedAST.pack(theAST).unpack();
+
+        if (checking && reporter.numErrors == 0) {
+          if (editFilename != null)
+            edit();
+          else {
+            Checker checker = new Checker(reporter);
+            if (listingUses)
+              checker.enableDefUseIndex();
+            checker.check(theAST);
+            if (listingUses)
+              listUses(checker.defUseIndex());
+          }
+        }
+
         if (reporter.numErrors == 0) {
            System.out.println ("Compilation was successful.");
  	   drawer   = new Drawer();
@@ -107,6 +293,62 @@ public class vc {
            printer.print(theAST);
 
            unparser.unparse(theAST);
+
+           if (binaryFilename != null) {
+             try {
+               ASTWriter writer = new ASTWriter(new FileOutputStream(binaryFilename));
+               writer.write(theAST);
+               writer.close();
+             } catch (IOException e) {
+               System.out.println("[# vc #]: can't write: " + binaryFilename);
+             }
+           }
+
+           if (generating) {
+             // the class is named after the program's file, beside which
+             // it is written
+             File input = new File(inputFilename);
+             String className = input.getName();
+             if (className.endsWith(".vc"))
+               className = className.substring(0, className.length() - 3);
+             File classFile = new File(input.getAbsoluteFile().getParentFile(), className + ".class");
+             try {
+               FileOutputStream out = new FileOutputStream(classFile);
+               new Emitter().emit(theAST, className, out);
+               out.close();
+             } catch (IOException e) {
+               System.out.println("[# vc #]: can't write: " + classFile);
+             }
+           }
+
+           // like a C program, vc exits with what main returns, or 1 if
+           // the program fails
+           int status = 0;
+
+           if (running) {
+             try {
+               status = new Launcher().run(theAST, null, null);
+             } catch (RuntimeException | Error e) {
+               System.out.println("[# vc #]: the program failed: " + e);
+               status = 1;
+             }
+           }
+
+           if (interpreting) {
+             try {
+               int result = new Interpreter().run(theAST, null, null);
+               if (status == 0)
+                 status = result; // a failure under -r stays one
+             } catch (RuntimeException | Error e) {
+               System.out.println("[# vc #]: the program failed: " + e);
+               status = 1;
+             }
+           }
+
+           if (status != 0) {
+             System.out.flush();
+             System.exit(status);
+           }
         } else
            System.out.println ("Compilation was unsuccessful.");
     }